@@ -0,0 +1,4 @@
+// One benchmark body; op is the invocation counter so bodies can pick inputs without allocating.
+interface BenchmarkBody {
+    void run(int op);
+}
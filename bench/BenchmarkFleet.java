@@ -0,0 +1,59 @@
+import java.util.Random;
+
+// Fleet fixture shared by all benchmarks: a mixed fleet registered in a TrainSchedule,
+// plus a fixed table of random lookup ids so the timed loop does not touch Random.
+class BenchmarkFleet {
+    static final int LOOKUP_MASK = 4095;
+
+    final int size;
+    final TrainSchedule schedule = new TrainSchedule();
+    final Train[] trains;
+    final String[] lookupIds = new String[LOOKUP_MASK + 1];
+    final int[] lookupIndexes = new int[LOOKUP_MASK + 1];
+
+    BenchmarkFleet(int size, long seed) {
+        this.size = size;
+        this.trains = new Train[size];
+        for (int i = 0; i < size; i++) {
+            Train train = switch (i % 3) {
+                case 0 -> new ElectricTrain.ElectricTrainBuilder()
+                        .withTrainType("Electric")
+                        .withTrainId("T" + i)
+                        .withDepartureTime("08:00")
+                        .withArrivalTime("10:30")
+                        .withStatus("On Time")
+                        .build();
+                case 1 -> new DieselTrain.DieselTrainBuilder()
+                        .withTrainType("Diesel")
+                        .withTrainId("T" + i)
+                        .withDepartureTime("09:15")
+                        .withArrivalTime("12:45")
+                        .withStatus("On Time")
+                        .build();
+                default -> new CargoTrain.CargoTrainBuilder()
+                        .withCargoWeight(1200)
+                        .withTrainType("Cargo")
+                        .withTrainId("T" + i)
+                        .withDepartureTime("22:00")
+                        .withArrivalTime("05:30")
+                        .withStatus("On Time")
+                        .build();
+            };
+            trains[i] = train;
+            schedule.addTrain(train);
+        }
+        Random random = new Random(seed);
+        for (int i = 0; i < lookupIds.length; i++) {
+            lookupIndexes[i] = random.nextInt(size);
+            lookupIds[i] = trains[lookupIndexes[i]].getTrainId();
+        }
+    }
+
+    Train pick(int op) {
+        return trains[lookupIndexes[op & LOOKUP_MASK]];
+    }
+
+    String pickId(int op) {
+        return lookupIds[op & LOOKUP_MASK];
+    }
+}
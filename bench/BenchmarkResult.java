@@ -0,0 +1,53 @@
+import java.util.Locale;
+
+class BenchmarkResult {
+    final String name;
+    final int fleetSize;
+    final double meanNsPerOp;
+    final double minNsPerOp;
+    final double maxNsPerOp;
+    final double stdevNsPerOp;
+    final long totalOps;
+
+    BenchmarkResult(String name, int fleetSize, double[] samples, long totalOps) {
+        this.name = name;
+        this.fleetSize = fleetSize;
+        this.totalOps = totalOps;
+        double sum = 0, min = Double.MAX_VALUE, max = 0;
+        for (double sample : samples) {
+            sum += sample;
+            min = Math.min(min, sample);
+            max = Math.max(max, sample);
+        }
+        double mean = sum / samples.length;
+        double variance = 0;
+        for (double sample : samples) {
+            variance += (sample - mean) * (sample - mean);
+        }
+        this.meanNsPerOp = mean;
+        this.minNsPerOp = min;
+        this.maxNsPerOp = max;
+        this.stdevNsPerOp = samples.length > 1 ? Math.sqrt(variance / (samples.length - 1)) : 0;
+    }
+
+    BenchmarkResult(String name, int fleetSize, double mean) {
+        this.name = name;
+        this.fleetSize = fleetSize;
+        this.meanNsPerOp = mean;
+        this.minNsPerOp = mean;
+        this.maxNsPerOp = mean;
+        this.stdevNsPerOp = 0;
+        this.totalOps = 0;
+    }
+
+    String key() {
+        return name + "@" + fleetSize;
+    }
+
+    String toJson() {
+        return String.format(Locale.ROOT,
+                "{\"benchmark\": \"%s\", \"fleetSize\": %d, \"unit\": \"ns/op\", \"mean\": %.2f, "
+                        + "\"min\": %.2f, \"max\": %.2f, \"stdev\": %.2f, \"ops\": %d}",
+                name, fleetSize, meanNsPerOp, minNsPerOp, maxNsPerOp, stdevNsPerOp, totalOps);
+    }
+}
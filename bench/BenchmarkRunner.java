@@ -0,0 +1,57 @@
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Locale;
+
+class BenchmarkRunner {
+    private static final PrintStream CONSOLE = System.out;
+    private static final PrintStream DISCARD = new PrintStream(OutputStream.nullOutputStream());
+
+    // Written at the end of every iteration so the JIT cannot drop benchmark side effects.
+    static volatile long sink;
+
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationNanos;
+    private final long seed;
+
+    BenchmarkRunner(int warmupIterations, int measurementIterations, long iterationMillis, long seed) {
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationNanos = iterationMillis * 1_000_000L;
+        this.seed = seed;
+    }
+
+    BenchmarkResult run(String name, int fleetSize, BenchmarkSetup setup, boolean freshStatePerIteration) {
+        double[] samples = new double[measurementIterations];
+        long totalOps = 0;
+        BenchmarkFleet fleet = null;
+        BenchmarkBody body = null;
+        for (int iteration = 0; iteration < warmupIterations + measurementIterations; iteration++) {
+            if (body == null || freshStatePerIteration) {
+                fleet = null;
+                body = null;
+                fleet = new BenchmarkFleet(fleetSize, seed);
+                body = setup.create(fleet);
+            }
+            // The code under test prints on almost every call; measure the logic, not the console.
+            System.setOut(DISCARD);
+            int ops = 0;
+            long start = System.nanoTime();
+            long elapsed;
+            do {
+                body.run(ops++);
+                elapsed = System.nanoTime() - start;
+            } while (elapsed < iterationNanos);
+            System.setOut(CONSOLE);
+            sink += ops;
+            if (iteration >= warmupIterations) {
+                samples[iteration - warmupIterations] = (double) elapsed / ops;
+                totalOps += ops;
+            }
+        }
+        BenchmarkResult result = new BenchmarkResult(name, fleetSize, samples, totalOps);
+        System.out.printf(Locale.ROOT, "%-28s %9d %14.1f ns/op  (+- %.1f)%n",
+                name, fleetSize, result.meanNsPerOp, result.stdevNsPerOp);
+        return result;
+    }
+}
@@ -0,0 +1,4 @@
+// Builds fresh state for a benchmark at the given fleet size (like a JMH @Setup at iteration level).
+interface BenchmarkSetup {
+    BenchmarkBody create(BenchmarkFleet fleet);
+}
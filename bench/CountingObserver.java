@@ -0,0 +1,8 @@
+class CountingObserver implements TrainObserver {
+    long notifications;
+
+    @Override
+    public void update(String trainId, String message, TrainChange change) {
+        notifications++;
+    }
+}
@@ -0,0 +1,264 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Drives a SyntheticWorkload from many threads with a weighted mix of operations, printing
+// throughput, latency percentiles and heap usage every report interval and a per-operation
+// summary at the end. Writes to one train are serialised on the train, the way the menu's
+// single thread serialises them today; adding clones to the schedule is serialised on a lock.
+class StressHarness {
+    private static final PrintStream CONSOLE = System.out;
+    private static final PrintStream DISCARD = new PrintStream(OutputStream.nullOutputStream());
+    private static final String[] STATUSES = {"On Time", "Delayed", "Boarding", "Departed", "Cancelled"};
+
+    private final SyntheticWorkload workload;
+    private final List<StressOperation> operations = new ArrayList<>();
+    private final ReentrantLock scheduleWrites = new ReentrantLock();
+    private final AtomicInteger clones = new AtomicInteger();
+    private final AtomicReference<LatencyHistogram> interval = new AtomicReference<>(new LatencyHistogram());
+    private final List<String> samples = new ArrayList<>();
+    private int totalWeight;
+    private long lastReport;
+
+    StressHarness(SyntheticWorkload workload, Map<String, Integer> mix) {
+        this.workload = workload;
+        Map<String, StressOperation.Body> bodies = new LinkedHashMap<>();
+        bodies.put("lookup", worker -> workload.schedule.getTrainById(randomTrainId(worker)));
+        bodies.put("board", worker -> workload.schedule.getDepartureBoards()
+                .getDepartures(randomStation(worker), TrainTime.format(worker.random.nextInt(24 * 60)), 10));
+        bodies.put("journey", worker -> workload.schedule.planJourney(randomStation(worker), randomStation(worker),
+                TrainTime.format(worker.random.nextInt(24 * 60))));
+        bodies.put("search", worker -> {
+            String name = workload.passengerNames[worker.random.nextInt(workload.passengerNames.length)];
+            workload.schedule.getPassengers().searchByName(name.substring(0, 3), 10);
+            workload.schedule.getStationNames().suggest(randomStation(worker).substring(0, 4), 10);
+        });
+        bodies.put("status", worker -> {
+            String trainId = randomTrainId(worker);
+            synchronized (workload.schedule.getLiveTrain(trainId)) {
+                new TrainStatusUpdater(STATUSES[worker.random.nextInt(STATUSES.length)])
+                        .update(workload.schedule, trainId);
+            }
+        });
+        bodies.put("times", worker -> {
+            String trainId = randomTrainId(worker);
+            Train train = workload.schedule.getLiveTrain(trainId);
+            synchronized (train) {
+                int delay = worker.random.nextInt(31) - 10;
+                new TrainTimeUpdater(shift(train.getDepartureTime(), delay), shift(train.getArrivalTime(), delay))
+                        .update(workload.schedule, trainId);
+            }
+        });
+        bodies.put("book", worker -> {
+            Ticket ticket = new Ticket("W" + worker.id + "-" + worker.nextTicket++,
+                    workload.passengerNames[worker.random.nextInt(workload.passengerNames.length)],
+                    "S" + worker.random.nextInt(400), randomTrainId(worker));
+            worker.tickets.setCommand(new BookTicketCommand(ticket));
+            worker.tickets.executeCommand();
+            worker.booked.add(ticket);
+        });
+        bodies.put("cancel", worker -> {
+            if (worker.booked.isEmpty()) {
+                return;
+            }
+            Ticket ticket = worker.booked.remove(worker.random.nextInt(worker.booked.size()));
+            worker.tickets.setCommand(new CancelTicketCommand(ticket));
+            worker.tickets.executeCommand();
+        });
+        bodies.put("state", worker -> {
+            Train train = workload.schedule.getLiveTrain(randomTrainId(worker));
+            synchronized (train) {
+                train.saveState();
+                train.changeState(switch (worker.random.nextInt(3)) {
+                    case 0 -> new RunningState();
+                    case 1 -> new StoppedState();
+                    default -> new MaintenanceState();
+                });
+            }
+        });
+        bodies.put("restore", worker -> {
+            Train train = workload.schedule.getLiveTrain(randomTrainId(worker));
+            synchronized (train) {
+                train.restoreState(0);
+            }
+        });
+        bodies.put("clone", worker -> {
+            Train original = workload.schedule.getLiveTrain(randomTrainId(worker));
+            Train clone;
+            synchronized (original) {
+                clone = original.clone();
+            }
+            clone.setTrainId(original.getTrainId() + "_CLONE" + clones.incrementAndGet());
+            scheduleWrites.lock();
+            try {
+                workload.schedule.addTrain(clone);
+            } finally {
+                scheduleWrites.unlock();
+            }
+        });
+
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            StressOperation.Body body = bodies.get(entry.getKey());
+            if (body == null) {
+                throw new IllegalArgumentException("Unknown operation '" + entry.getKey() + "', expected one of "
+                        + bodies.keySet());
+            }
+            if (entry.getValue() > 0) {
+                operations.add(new StressOperation(entry.getKey(), entry.getValue(), body));
+                totalWeight += entry.getValue();
+            }
+        }
+        if (totalWeight == 0) {
+            throw new IllegalArgumentException("The operation mix is empty");
+        }
+    }
+
+    private String randomTrainId(StressWorker worker) {
+        return workload.trainIds[worker.random.nextInt(workload.trainIds.length)];
+    }
+
+    private String randomStation(StressWorker worker) {
+        return workload.stationNames[worker.random.nextInt(workload.stationNames.length)];
+    }
+
+    private static String shift(String time, int minutes) {
+        int minute = TrainTime.toMinutes(time);
+        return minute < 0 ? time : TrainTime.format(minute + minutes);
+    }
+
+    private StressOperation pick(StressWorker worker) {
+        int ticket = worker.random.nextInt(totalWeight);
+        for (StressOperation operation : operations) {
+            ticket -= operation.weight;
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    void run(int threads, long seconds, long reportSeconds, long seed) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(threads);
+        long end = System.nanoTime() + seconds * 1_000_000_000L;
+        // The code under test prints on almost every call; only the reports go to the console.
+        System.setOut(DISCARD);
+        for (int t = 0; t < threads; t++) {
+            StressWorker worker = new StressWorker(t, seed + t, workload.schedule.getPassengers());
+            Thread thread = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < end) {
+                        execute(worker, pick(worker));
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "stress-" + t);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        CONSOLE.printf(Locale.ROOT, "%8s %12s %10s %10s %10s %10s %9s %9s %6s%n",
+                "time(s)", "ops/s", "p50(us)", "p99(us)", "max(us)", "errors", "heap(MB)", "gc(ms)", "trains");
+        long start = System.nanoTime();
+        long lastErrors = 0;
+        while (!done.await(reportSeconds, TimeUnit.SECONDS)) {
+            lastErrors = report(start, lastErrors);
+        }
+        report(start, lastErrors);
+        System.setOut(CONSOLE);
+    }
+
+    private void execute(StressWorker worker, StressOperation operation) {
+        long begin = System.nanoTime();
+        try {
+            operation.body.run(worker);
+        } catch (RuntimeException e) {
+            operation.errors.incrementAndGet();
+        }
+        long elapsed = System.nanoTime() - begin;
+        operation.latency.record(elapsed);
+        interval.get().record(elapsed);
+    }
+
+    private long report(long start, long lastErrors) {
+        long now = System.nanoTime();
+        long since = lastReport == 0 ? start : lastReport;
+        lastReport = now;
+        LatencyHistogram histogram = interval.getAndSet(new LatencyHistogram());
+        long errors = 0;
+        for (StressOperation operation : operations) {
+            errors += operation.errors.get();
+        }
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        long gcMillis = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcMillis += Math.max(0, collector.getCollectionTime());
+        }
+        double elapsed = (now - start) / 1e9;
+        double throughput = histogram.getCount() / ((now - since) / 1e9);
+        int trains = workload.trainIds.length + clones.get();
+        CONSOLE.printf(Locale.ROOT, "%8.1f %12.0f %10.1f %10.1f %10.1f %10d %9d %9d %6d%n",
+                elapsed, throughput, histogram.getValueAtPercentile(50) / 1e3,
+                histogram.getValueAtPercentile(99) / 1e3, histogram.getMax() / 1e3, errors - lastErrors,
+                heap.getUsed() >> 20, gcMillis, trains);
+        samples.add(String.format(Locale.ROOT,
+                "{\"seconds\": %.1f, \"opsPerSecond\": %.0f, \"p50Us\": %.1f, \"p99Us\": %.1f, \"maxUs\": %.1f, "
+                        + "\"errors\": %d, \"heapUsedMb\": %d, \"heapCommittedMb\": %d, \"gcMillis\": %d, \"trains\": %d}",
+                elapsed, throughput, histogram.getValueAtPercentile(50) / 1e3,
+                histogram.getValueAtPercentile(99) / 1e3, histogram.getMax() / 1e3, errors - lastErrors,
+                heap.getUsed() >> 20, heap.getCommitted() >> 20, gcMillis, trains));
+        return errors;
+    }
+
+    void displaySummary(long seconds) {
+        CONSOLE.println();
+        CONSOLE.printf(Locale.ROOT, "%-8s %12s %10s %10s %10s %10s %10s %8s%n",
+                "op", "count", "ops/s", "mean(us)", "p50(us)", "p99(us)", "max(us)", "errors");
+        for (StressOperation operation : operations) {
+            LatencyHistogram latency = operation.latency;
+            CONSOLE.printf(Locale.ROOT, "%-8s %12d %10.0f %10.1f %10.1f %10.1f %10.1f %8d%n",
+                    operation.name, latency.getCount(), (double) latency.getCount() / seconds,
+                    latency.getMean() / 1e3, latency.getValueAtPercentile(50) / 1e3,
+                    latency.getValueAtPercentile(99) / 1e3, latency.getMax() / 1e3, operation.errors.get());
+        }
+    }
+
+    void writeResults(Path out, long seconds) throws IOException {
+        StringBuilder json = new StringBuilder("{\n  \"operations\": [\n");
+        for (int i = 0; i < operations.size(); i++) {
+            StressOperation operation = operations.get(i);
+            LatencyHistogram latency = operation.latency;
+            json.append(String.format(Locale.ROOT,
+                    "    {\"operation\": \"%s\", \"weight\": %d, \"count\": %d, \"opsPerSecond\": %.0f, "
+                            + "\"meanUs\": %.1f, \"p50Us\": %.1f, \"p99Us\": %.1f, \"maxUs\": %.1f, \"errors\": %d}",
+                    operation.name, operation.weight, latency.getCount(), (double) latency.getCount() / seconds,
+                    latency.getMean() / 1e3, latency.getValueAtPercentile(50) / 1e3,
+                    latency.getValueAtPercentile(99) / 1e3, latency.getMax() / 1e3, operation.errors.get()));
+            json.append(i + 1 < operations.size() ? ",\n" : "\n");
+        }
+        json.append("  ],\n  \"samples\": [\n");
+        for (int i = 0; i < samples.size(); i++) {
+            json.append("    ").append(samples.get(i)).append(i + 1 < samples.size() ? ",\n" : "\n");
+        }
+        json.append("  ]\n}\n");
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        Files.writeString(out, json);
+    }
+}
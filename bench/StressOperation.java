@@ -0,0 +1,20 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+// One kind of request in the mix, with its own latency histogram and error count.
+class StressOperation {
+    interface Body {
+        void run(StressWorker worker);
+    }
+
+    final String name;
+    final int weight;
+    final Body body;
+    final LatencyHistogram latency = new LatencyHistogram();
+    final AtomicLong errors = new AtomicLong();
+
+    StressOperation(String name, int weight, Body body) {
+        this.name = name;
+        this.weight = weight;
+        this.body = body;
+    }
+}
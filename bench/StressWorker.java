@@ -0,0 +1,19 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Per-thread state: its random source and the front end it books through. Like a real client
+// session it owns a TicketManager, which is not shared between threads.
+class StressWorker {
+    final Random random;
+    final TicketManager tickets = new TicketManager();
+    final List<Ticket> booked = new ArrayList<>();
+    final int id;
+    int nextTicket;
+
+    StressWorker(int id, long seed, PassengerDirectory passengers) {
+        this.id = id;
+        this.random = new Random(seed);
+        tickets.addListener(passengers);
+    }
+}
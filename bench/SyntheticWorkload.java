@@ -0,0 +1,80 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// A reproducible synthetic network: stations, a fleet cycling through electric, diesel and
+// cargo trains, each calling at a few random stations, and passengers already booked on them.
+class SyntheticWorkload {
+    private static final String[] FIRST_NAMES = {"Anna", "Ben", "Chloe", "David", "Elena", "Farid", "Grace",
+            "Hugo", "Ines", "Jonas", "Kira", "Liam", "Maya", "Noah", "Olga", "Pavel"};
+    private static final String[] LAST_NAMES = {"Smith", "Novak", "Garcia", "Muller", "Rossi", "Kowalski",
+            "Dubois", "Jensen", "Silva", "Tanaka", "Brown", "Ivanova"};
+    private static final String[] PLACES = {"Ash", "Bridge", "Castle", "Dale", "East", "Ford", "Green",
+            "Hill", "King", "Lake", "Mill", "North", "Oak", "Port", "River", "Stone", "West", "York"};
+    private static final String[] SUFFIXES = {"ton", "field", "bury", "ham", "ford", "wick", "by", "stead"};
+
+    final WorkloadConfig config;
+    final TrainSchedule schedule = new TrainSchedule();
+    final String[] stationNames;
+    final String[] trainIds;
+    final String[] passengerNames;
+
+    SyntheticWorkload(WorkloadConfig config) {
+        this.config = config;
+        Random random = new Random(config.seed);
+        StationFactory stationFactory = new DefaultStationFactory();
+        stationNames = new String[config.stations];
+        for (int i = 0; i < config.stations; i++) {
+            stationNames[i] = PLACES[random.nextInt(PLACES.length)] + SUFFIXES[random.nextInt(SUFFIXES.length)]
+                    + " " + i;
+            schedule.addStation(stationFactory.createStation(stationNames[i], "Zone " + (i % 12)));
+        }
+
+        List<Train> fleet = new ArrayList<>(config.trains);
+        trainIds = new String[config.trains];
+        for (int i = 0; i < config.trains; i++) {
+            trainIds[i] = "T" + i;
+            fleet.add(train(i, random));
+        }
+        schedule.addTrains(fleet);
+
+        passengerNames = new String[config.passengers];
+        TicketManager tickets = new TicketManager();
+        tickets.addListener(schedule.getPassengers());
+        for (int i = 0; i < config.passengers; i++) {
+            passengerNames[i] = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + i;
+            tickets.setCommand(new BookTicketCommand(new Ticket("P" + i, passengerNames[i],
+                    "S" + random.nextInt(400), trainIds[random.nextInt(trainIds.length)])));
+            tickets.executeCommand();
+        }
+    }
+
+    private Train train(int i, Random random) {
+        Train.TrainBuilder builder = switch (i % 3) {
+            case 0 -> new ElectricTrain.ElectricTrainBuilder().withTrainType("Electric");
+            case 1 -> new DieselTrain.DieselTrainBuilder().withTrainType("Diesel");
+            default -> new CargoTrain.CargoTrainBuilder().withCargoWeight(200 + random.nextInt(1800))
+                    .withTrainType("Cargo");
+        };
+        int minute = random.nextInt(18 * 60);
+        int first = minute;
+        int previous = -1;
+        for (int stop = 0; stop < config.stopsPerTrain; stop++) {
+            int station;
+            do {
+                station = random.nextInt(stationNames.length);
+            } while (station == previous);
+            previous = station;
+            String arrival = TrainTime.format(minute);
+            minute += stop == 0 || stop == config.stopsPerTrain - 1 ? 0 : 2;
+            builder.withStop(stationNames[station], arrival, TrainTime.format(minute));
+            minute += 10 + random.nextInt(50);
+        }
+        return builder.withTrainId(trainIds[i])
+                .withDepartureTime(TrainTime.format(first))
+                .withArrivalTime(TrainTime.format(minute))
+                .withStatus("On Time")
+                .build();
+    }
+}
@@ -0,0 +1,157 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+class TrainBenchmarks {
+    private static final Map<String, BenchmarkSetup> BENCHMARKS = new java.util.LinkedHashMap<>();
+    private static final Map<String, Boolean> MUTATES_SCHEDULE = new HashMap<>();
+
+    static {
+        register("getTrainById", false, fleet -> op -> BenchmarkRunner.sink += fleet.schedule
+                .getTrainById(fleet.pickId(op)).getTrainId().length());
+
+        // Both updaters change the trains in place, so each iteration gets a fresh fleet.
+        register("statusUpdater.update", true, fleet -> {
+            TrainUpdaterStrategy[] updaters = {new TrainStatusUpdater("Delayed"), new TrainStatusUpdater("On Time")};
+            return op -> updaters[op & 1].update(fleet.schedule, fleet.pickId(op));
+        });
+        register("timeUpdater.update", true, fleet -> {
+            TrainUpdaterStrategy updater = new TrainTimeUpdater("08:05", "10:35");
+            return op -> updater.update(fleet.schedule, fleet.pickId(op));
+        });
+
+        register("saveState+restoreState", true, fleet -> op -> {
+            Train train = fleet.pick(op);
+            train.saveState();
+            train.restoreState(0);
+        });
+
+        register("observerFanout(x8)", true, fleet -> {
+            CountingObserver observer = new CountingObserver();
+            for (Train train : fleet.trains) {
+                for (int i = 0; i < 8; i++) {
+                    train.addObserver(observer);
+                }
+            }
+            String[] statuses = {"Delayed", "On Time"};
+            return op -> {
+                fleet.pick(op).setStatus(statuses[op & 1]);
+                BenchmarkRunner.sink += observer.notifications;
+            };
+        });
+
+        register("ticketCommands", false, fleet -> {
+            Ticket[] tickets = new Ticket[BenchmarkFleet.LOOKUP_MASK + 1];
+            for (int i = 0; i < tickets.length; i++) {
+                tickets[i] = new Ticket("TK" + i, "Passenger " + i, (i % 60 + 1) + "A", fleet.pickId(i));
+            }
+            Command[] commands = new Command[tickets.length * 3];
+            for (int i = 0; i < tickets.length; i++) {
+                commands[i * 3] = new BookTicketCommand(tickets[i]);
+                commands[i * 3 + 1] = new ModifyTicketCommand(tickets[i], "12B");
+                commands[i * 3 + 2] = new CancelTicketCommand(tickets[i]);
+            }
+            TicketManager ticketManager = new TicketManager();
+            return op -> {
+                ticketManager.setCommand(commands[op % commands.length]);
+                ticketManager.executeCommand();
+            };
+        });
+
+        register("clone", false, fleet -> op -> BenchmarkRunner.sink += fleet.pick(op).clone().getTrainId().length());
+    }
+
+    private static void register(String name, boolean mutatesSchedule, BenchmarkSetup setup) {
+        BENCHMARKS.put(name, setup);
+        MUTATES_SCHEDULE.put(name, mutatesSchedule);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+
+        if (options.containsKey("compare")) {
+            String[] files = options.get("compare").split(",");
+            compare(Paths.get(files[0]), Paths.get(files[1]));
+            return;
+        }
+
+        int[] sizes = Arrays.stream(options.getOrDefault("sizes", "1000,10000,100000,1000000").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        String filter = options.getOrDefault("filter", "");
+        BenchmarkRunner runner = new BenchmarkRunner(
+                Integer.parseInt(options.getOrDefault("warmup", "3")),
+                Integer.parseInt(options.getOrDefault("iterations", "5")),
+                Long.parseLong(options.getOrDefault("iterationMillis", "200")),
+                Long.parseLong(options.getOrDefault("seed", "42")));
+        Path out = Paths.get(options.getOrDefault("out", "bench-results.json"));
+
+        List<BenchmarkResult> results = new ArrayList<>();
+        for (Map.Entry<String, BenchmarkSetup> entry : BENCHMARKS.entrySet()) {
+            if (!entry.getKey().contains(filter)) {
+                continue;
+            }
+            for (int size : sizes) {
+                results.add(runner.run(entry.getKey(), size, entry.getValue(), MUTATES_SCHEDULE.get(entry.getKey())));
+            }
+        }
+        writeResults(out, results);
+        System.out.println("Results written to " + out.toAbsolutePath());
+    }
+
+    private static void writeResults(Path out, List<BenchmarkResult> results) throws IOException {
+        StringBuilder json = new StringBuilder("[\n");
+        for (int i = 0; i < results.size(); i++) {
+            json.append("  ").append(results.get(i).toJson()).append(i + 1 < results.size() ? ",\n" : "\n");
+        }
+        json.append("]\n");
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        Files.writeString(out, json);
+    }
+
+    // Reads files produced by writeResults (one result object per line).
+    private static Map<String, BenchmarkResult> readResults(Path file) throws IOException {
+        Pattern line = Pattern.compile("\"benchmark\": \"([^\"]+)\", \"fleetSize\": (\\d+), .*\"mean\": ([0-9.]+)");
+        Map<String, BenchmarkResult> results = new java.util.LinkedHashMap<>();
+        for (String text : Files.readAllLines(file)) {
+            Matcher matcher = line.matcher(text);
+            if (matcher.find()) {
+                BenchmarkResult result = new BenchmarkResult(matcher.group(1),
+                        Integer.parseInt(matcher.group(2)), Double.parseDouble(matcher.group(3)));
+                results.put(result.key(), result);
+            }
+        }
+        return results;
+    }
+
+    private static void compare(Path baseline, Path current) throws IOException {
+        Map<String, BenchmarkResult> before = readResults(baseline);
+        Map<String, BenchmarkResult> after = readResults(current);
+        System.out.printf("%-28s %9s %14s %14s %9s%n", "Benchmark", "Fleet", "Baseline", "Current", "Change");
+        for (BenchmarkResult result : after.values()) {
+            BenchmarkResult old = before.get(result.key());
+            if (old == null) {
+                continue;
+            }
+            double change = (result.meanNsPerOp - old.meanNsPerOp) / old.meanNsPerOp * 100;
+            System.out.printf(Locale.ROOT, "%-28s %9d %14.1f %14.1f %+8.1f%%%n",
+                    result.name, result.fleetSize, old.meanNsPerOp, result.meanNsPerOp, change);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+class TrainStress {
+    static final String DEFAULT_MIX =
+            "lookup:35,board:10,journey:5,search:10,status:10,times:8,book:10,cancel:4,state:4,restore:3,clone:1";
+
+    // mvn -Pstress verify [-Dstress.args="trains=100000 threads=8 seconds=60 mix=lookup:80,status:20"]
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        WorkloadConfig config = new WorkloadConfig(
+                Integer.parseInt(options.getOrDefault("trains", "10000")),
+                Integer.parseInt(options.getOrDefault("stations", "500")),
+                Integer.parseInt(options.getOrDefault("passengers", "50000")),
+                Integer.parseInt(options.getOrDefault("stops", "5")),
+                seed);
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : options.getOrDefault("mix", DEFAULT_MIX).split(",")) {
+            String[] parts = entry.split(":");
+            mix.put(parts[0].trim(), parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1);
+        }
+        int threads = Integer.parseInt(options.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        long seconds = Long.parseLong(options.getOrDefault("seconds", "30"));
+        long reportSeconds = Long.parseLong(options.getOrDefault("reportSeconds", "5"));
+        Path out = Paths.get(options.getOrDefault("out", "stress-results.json"));
+
+        System.out.printf(Locale.ROOT, "Building %d trains, %d stations, %d passengers...%n",
+                config.trains, config.stations, config.passengers);
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        long buildStart = System.nanoTime();
+        SyntheticWorkload workload = new SyntheticWorkload(config);
+        System.setOut(console);
+        System.out.printf(Locale.ROOT, "Built in %.1fs; running %d threads for %ds, mix %s%n",
+                (System.nanoTime() - buildStart) / 1e9, threads, seconds, mix);
+
+        StressHarness harness = new StressHarness(workload, mix);
+        harness.run(threads, seconds, reportSeconds, seed);
+        harness.displaySummary(seconds);
+        harness.writeResults(out, seconds);
+        System.out.println("Results written to " + out.toAbsolutePath());
+    }
+}
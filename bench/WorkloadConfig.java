@@ -0,0 +1,16 @@
+// Sizes and shape of a synthetic network.
+class WorkloadConfig {
+    final int trains;
+    final int stations;
+    final int passengers;
+    final int stopsPerTrain;
+    final long seed;
+
+    WorkloadConfig(int trains, int stations, int passengers, int stopsPerTrain, long seed) {
+        this.trains = trains;
+        this.stations = Math.max(2, stations);
+        this.passengers = passengers;
+        this.stopsPerTrain = Math.max(2, Math.min(stopsPerTrain, this.stations));
+        this.seed = seed;
+    }
+}
@@ -0,0 +1,24 @@
+// What became of a submitted ticket command. A rejected command was never executed; retry
+// it after retryAfterMillis at the earliest.
+class AdmissionResult {
+    static final String ADMITTED = "admitted";
+    static final String RATE_LIMITED = "rate limited";
+    static final String QUEUE_FULL = "queue full";
+    static final String DEADLINE = "would miss its deadline";
+    static final String EXPIRED = "deadline expired while queued";
+
+    private final String outcome;
+    private final long retryAfterMillis;
+    private final long latencyNanos;
+
+    AdmissionResult(String outcome, long retryAfterMillis, long latencyNanos) {
+        this.outcome = outcome;
+        this.retryAfterMillis = retryAfterMillis;
+        this.latencyNanos = latencyNanos;
+    }
+
+    public boolean isAdmitted() { return outcome.equals(ADMITTED); }
+    public String getOutcome() { return outcome; }
+    public long getRetryAfterMillis() { return retryAfterMillis; }
+    public long getLatencyNanos() { return latencyNanos; }
+}
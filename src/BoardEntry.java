@@ -0,0 +1,24 @@
+// One line of a station board. otherStation is the destination on a departure board and the
+// origin on an arrival board.
+class BoardEntry {
+    private final String trainId;
+    private final String time;
+    private final String otherStation;
+    private final String status;
+
+    BoardEntry(String trainId, String time, String otherStation, String status) {
+        this.trainId = trainId;
+        this.time = time;
+        this.otherStation = otherStation;
+        this.status = status;
+    }
+
+    public String getTrainId() { return trainId; }
+    public String getTime() { return time; }
+    public String getOtherStation() { return otherStation; }
+    public String getStatus() { return status; }
+
+    public void displayEntry() {
+        System.out.println(time + "  " + trainId + "  " + otherStation + "  " + status);
+    }
+}
@@ -0,0 +1,25 @@
+import java.io.PrintStream;
+
+class BookTicketCommand implements TicketCommand {
+    private Ticket ticket;
+    private final PrintStream out;
+
+    public BookTicketCommand(Ticket ticket) {
+        this(ticket, System.out);
+    }
+
+    public BookTicketCommand(Ticket ticket, PrintStream out) {
+        this.ticket = ticket;
+        this.out = out;
+    }
+
+    @Override
+    public void execute() {
+        ticket.book(out);
+    }
+
+    @Override
+    public Ticket getTicket() {
+        return ticket;
+    }
+}
@@ -0,0 +1,159 @@
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+// Admission control in front of a TicketManager. Bookings first need a token from their
+// train's bucket, so one popular train cannot take all the capacity. Only trains the schedule
+// knows get a bucket of their own; bookings naming any other train share one, so made-up
+// train IDs cannot grow the bucket map. Every command then waits
+// in one bounded queue, drained in order by a single thread that owns the TicketManager.
+// Commands are turned away at once, with a retry hint, when the queue is full or when the
+// queue ahead of them would take longer than their deadline; one whose deadline passes while
+// queued is dropped unexecuted. Nothing waits longer than its deadline, so the latency of
+// admitted commands stays bounded however far the offered load exceeds capacity.
+class BookingAdmissionController {
+    private static final String NO_TRAIN = "";
+
+    private final TicketManager ticketManager;
+    private final Predicate<String> knownTrain;
+    private final double trainRatePerSecond;
+    private final int trainBurst;
+    private final BlockingQueue<PendingCommand> queue;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final LatencyHistogram admittedLatency = new LatencyHistogram();
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+    private final AtomicLong queueFull = new AtomicLong();
+    private final AtomicLong deadlineRejected = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    // Moving average of how long one command takes to execute, for wait estimates.
+    private volatile double serviceNanos = 50_000;
+
+    private static final class PendingCommand {
+        final TicketCommand command;
+        final long submittedAt;
+        final long deadline;
+        final CompletableFuture<AdmissionResult> result = new CompletableFuture<>();
+
+        PendingCommand(TicketCommand command, long submittedAt, long deadline) {
+            this.command = command;
+            this.submittedAt = submittedAt;
+            this.deadline = deadline;
+        }
+    }
+
+    BookingAdmissionController(TicketManager ticketManager, Predicate<String> knownTrain, double trainRatePerSecond,
+                               int trainBurst, int queueCapacity) {
+        this.ticketManager = ticketManager;
+        this.knownTrain = knownTrain;
+        this.trainRatePerSecond = trainRatePerSecond;
+        this.trainBurst = trainBurst;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        Thread worker = new Thread(this::drain, "ticket-commands");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // Queues the command unless it is shed. The future completes when the command has run or
+    // has been dropped; a rejection at the door completes it immediately. The queue is checked
+    // before a token is taken, and a token taken for a command the queue then refuses is given
+    // back, so shed commands do not use up their train's rate.
+    public CompletableFuture<AdmissionResult> submit(TicketCommand command, long deadlineMillis) {
+        long now = System.nanoTime();
+        long deadlineNanos = TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+        long expectedWait = (long) (queue.size() * serviceNanos);
+        if (expectedWait > deadlineNanos) {
+            deadlineRejected.incrementAndGet();
+            return rejected(AdmissionResult.DEADLINE, expectedWait - deadlineNanos);
+        }
+        if (queue.remainingCapacity() == 0) {
+            queueFull.incrementAndGet();
+            return rejected(AdmissionResult.QUEUE_FULL, expectedWait);
+        }
+        TokenBucket bucket = null;
+        if (command instanceof BookTicketCommand) {
+            String trainId = command.getTicket().getTrainId();
+            bucket = buckets.computeIfAbsent(trainId != null && knownTrain.test(trainId) ? trainId : NO_TRAIN,
+                    id -> new TokenBucket(trainRatePerSecond, trainBurst, now));
+            long wait = bucket.tryAcquire(now);
+            if (wait > 0) {
+                rateLimited.incrementAndGet();
+                return rejected(AdmissionResult.RATE_LIMITED, wait);
+            }
+        }
+        PendingCommand pending = new PendingCommand(command, now, now + deadlineNanos);
+        if (!queue.offer(pending)) {
+            if (bucket != null) {
+                bucket.refund();
+            }
+            queueFull.incrementAndGet();
+            return rejected(AdmissionResult.QUEUE_FULL, expectedWait);
+        }
+        return pending.result;
+    }
+
+    // Submits and waits for the outcome.
+    public AdmissionResult execute(TicketCommand command, long deadlineMillis) {
+        return submit(command, deadlineMillis).join();
+    }
+
+    private static CompletableFuture<AdmissionResult> rejected(String outcome, long retryAfterNanos) {
+        return CompletableFuture.completedFuture(
+                new AdmissionResult(outcome, Math.max(1, TimeUnit.NANOSECONDS.toMillis(retryAfterNanos)), 0));
+    }
+
+    private void drain() {
+        while (true) {
+            PendingCommand pending;
+            try {
+                pending = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            long start = System.nanoTime();
+            queueWait.record(start - pending.submittedAt);
+            if (start > pending.deadline) {
+                expired.incrementAndGet();
+                pending.result.complete(new AdmissionResult(AdmissionResult.EXPIRED, 0, start - pending.submittedAt));
+                continue;
+            }
+            try {
+                ticketManager.setCommand(pending.command);
+                ticketManager.executeCommand();
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                System.out.println("Ticket command failed: " + e.getMessage());
+            }
+            long end = System.nanoTime();
+            serviceNanos = serviceNanos * 0.9 + (end - start) * 0.1;
+            admitted.incrementAndGet();
+            admittedLatency.record(end - pending.submittedAt);
+            pending.result.complete(new AdmissionResult(AdmissionResult.ADMITTED, 0, end - pending.submittedAt));
+        }
+    }
+
+    public long getAdmitted() { return admitted.get(); }
+    public long getShed() {
+        return rateLimited.get() + queueFull.get() + deadlineRejected.get() + expired.get();
+    }
+
+    public void displayStats() {
+        System.out.println(String.format(Locale.ROOT,
+                "Ticket commands: %d admitted (%d failed), %d shed: %d rate limited, %d queue full, %d would miss their deadline, %d expired in the queue",
+                admitted.get(), failed.get(), getShed(), rateLimited.get(), queueFull.get(), deadlineRejected.get(),
+                expired.get()));
+        System.out.println(String.format(Locale.ROOT,
+                "Admitted latency: p50=%.2fms p99=%.2fms max=%.2fms; queue wait p99=%.2fms; %d queued, %.1fus per command",
+                admittedLatency.getValueAtPercentile(50) / 1e6, admittedLatency.getValueAtPercentile(99) / 1e6,
+                admittedLatency.getMax() / 1e6, queueWait.getValueAtPercentile(99) / 1e6, queue.size(),
+                serviceNanos / 1e3));
+    }
+}
@@ -0,0 +1,25 @@
+import java.io.PrintStream;
+
+class CancelTicketCommand implements TicketCommand {
+    private Ticket ticket;
+    private final PrintStream out;
+
+    public CancelTicketCommand(Ticket ticket) {
+        this(ticket, System.out);
+    }
+
+    public CancelTicketCommand(Ticket ticket, PrintStream out) {
+        this.ticket = ticket;
+        this.out = out;
+    }
+
+    @Override
+    public void execute() {
+        ticket.cancel(out);
+    }
+
+    @Override
+    public Ticket getTicket() {
+        return ticket;
+    }
+}
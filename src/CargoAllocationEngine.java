@@ -0,0 +1,235 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Assigns consignments to cargo trains within capacity, leg by leg. Consignments and the
+// trains that could carry them form corridors (connected groups) that cannot affect each
+// other, so each is solved on its own and in parallel: best-fit greedy, hardest consignments
+// first, then a repair pass that moves one consignment elsewhere to make room for one left
+// over. Changes (new or removed consignments, train delays, cancellations) mark what they touch;
+// plan() only re-solves corridors containing something marked and keeps every other assignment.
+class CargoAllocationEngine implements TrainObserver {
+    private final Map<String, CargoRun> runs = new LinkedHashMap<>();
+    private final Map<String, List<CargoRun>> runsByStation = new HashMap<>();
+    private final Map<String, Consignment> consignments = new LinkedHashMap<>();
+    private final Map<String, List<Consignment>> consignmentsByOrigin = new HashMap<>();
+    private final Map<Consignment, List<CargoPlacement>> candidates = new HashMap<>();
+    private final Map<Consignment, CargoPlacement> assigned = new HashMap<>();
+    private final Set<Consignment> dirtyConsignments = new HashSet<>();
+    private final Set<CargoRun> dirtyRuns = new HashSet<>();
+    private int lastCorridors;
+    private int lastSolved;
+    private long lastPlanNanos;
+
+    public synchronized void addTrain(Train train) {
+        if (!(train instanceof CargoTrain cargo) || runs.containsKey(train.getTrainId())) {
+            return;
+        }
+        CargoRun run = new CargoRun(cargo);
+        runs.put(train.getTrainId(), run);
+        for (String station : new HashSet<>(Arrays.asList(run.stations))) {
+            runsByStation.computeIfAbsent(station, name -> new ArrayList<>()).add(run);
+        }
+        train.addObserver(this);
+        recomputeCandidatesAt(run);
+    }
+
+    @Override
+    public synchronized void update(String trainId, String message, TrainChange change) {
+        CargoRun run = runs.get(trainId);
+        if (run != null && (change.changesTimes() || change.changesStatus())) {
+            unloadAll(run);
+            run.refresh();
+            dirtyRuns.add(run);
+            recomputeCandidatesAt(run);
+        }
+    }
+
+    // Replaces any consignment with the same ID.
+    public synchronized void addConsignment(Consignment consignment) {
+        removeConsignment(consignment.getConsignmentId());
+        consignments.put(consignment.getConsignmentId(), consignment);
+        consignmentsByOrigin.computeIfAbsent(consignment.getOrigin(), origin -> new ArrayList<>()).add(consignment);
+        candidates.put(consignment, findCandidates(consignment));
+        dirtyConsignments.add(consignment);
+    }
+
+    public synchronized boolean removeConsignment(String consignmentId) {
+        Consignment consignment = consignments.remove(consignmentId);
+        if (consignment == null) {
+            return false;
+        }
+        consignmentsByOrigin.get(consignment.getOrigin()).remove(consignment);
+        unassign(consignment);
+        candidates.remove(consignment);
+        dirtyConsignments.remove(consignment);
+        return true;
+    }
+
+    // Train the consignment is planned on, or null if it is unplanned (or planning is pending).
+    public synchronized String getAssignedTrain(String consignmentId) {
+        CargoPlacement placement = assigned.get(consignments.get(consignmentId));
+        return placement == null ? null : placement.run.train.getTrainId();
+    }
+
+    public synchronized List<Consignment> getUnassigned() {
+        List<Consignment> unassigned = new ArrayList<>();
+        for (Consignment consignment : consignments.values()) {
+            if (!assigned.containsKey(consignment)) {
+                unassigned.add(consignment);
+            }
+        }
+        return unassigned;
+    }
+
+    // Brings the plan up to date with every change since the last call.
+    public synchronized void plan() {
+        if (dirtyConsignments.isEmpty() && dirtyRuns.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<Consignment> allConsignments = new ArrayList<>(consignments.values());
+        List<CargoRun> allRuns = new ArrayList<>(runs.values());
+        Map<Object, Integer> ids = new HashMap<>();
+        for (Consignment consignment : allConsignments) {
+            ids.put(consignment, ids.size());
+        }
+        for (CargoRun run : allRuns) {
+            ids.put(run, ids.size());
+        }
+        int[] parent = new int[ids.size()];
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+        for (Consignment consignment : allConsignments) {
+            for (CargoPlacement placement : candidates.get(consignment)) {
+                union(parent, ids.get(consignment), ids.get(placement.run));
+            }
+        }
+
+        Map<Integer, CargoCorridor> corridors = new LinkedHashMap<>();
+        for (Consignment consignment : allConsignments) {
+            corridors.computeIfAbsent(find(parent, ids.get(consignment)), root -> new CargoCorridor())
+                    .consignments.add(consignment);
+        }
+        for (CargoRun run : allRuns) {
+            corridors.computeIfAbsent(find(parent, ids.get(run)), root -> new CargoCorridor()).runs.add(run);
+        }
+        List<CargoCorridor> toSolve = new ArrayList<>();
+        for (CargoCorridor corridor : corridors.values()) {
+            if (corridor.consignments.stream().anyMatch(dirtyConsignments::contains)
+                    || corridor.runs.stream().anyMatch(dirtyRuns::contains)) {
+                for (Consignment consignment : corridor.consignments) {
+                    unassign(consignment);
+                }
+                toSolve.add(corridor);
+            }
+        }
+        // Corridors share no runs or consignments, so they can be solved side by side.
+        toSolve.parallelStream().forEach(corridor -> corridor.solve(candidates));
+        for (CargoCorridor corridor : toSolve) {
+            for (CargoPlacement placement : corridor.placed) {
+                assigned.put(placement.consignment, placement);
+            }
+        }
+        dirtyConsignments.clear();
+        dirtyRuns.clear();
+        lastCorridors = corridors.size();
+        lastSolved = toSolve.size();
+        lastPlanNanos = System.nanoTime() - start;
+    }
+
+    public synchronized void displayPlan() {
+        for (CargoRun run : runs.values()) {
+            if (run.carried.isEmpty()) {
+                continue;
+            }
+            double peak = 0;
+            for (double load : run.load) {
+                peak = Math.max(peak, load);
+            }
+            System.out.println("Train " + run.train.getTrainId() + ": " + run.carried.size() + " consignments, peak load "
+                    + peak + "/" + run.train.getCapacity() + " tons");
+        }
+        List<Consignment> unassigned = getUnassigned();
+        System.out.println("Planned: " + assigned.size() + "/" + consignments.size() + " consignments, unplanned: "
+                + unassigned.size());
+        System.out.println("Corridors: " + lastCorridors + ", re-solved: " + lastSolved + ", in "
+                + lastPlanNanos / 1_000_000 + " ms");
+    }
+
+    private List<CargoPlacement> findCandidates(Consignment consignment) {
+        List<CargoPlacement> found = new ArrayList<>();
+        for (CargoRun run : runsByStation.getOrDefault(consignment.getOrigin(), List.of())) {
+            if (!run.running || run.train.getCapacity() <= 0) {
+                continue;
+            }
+            for (int from = 0; from < run.stations.length; from++) {
+                if (!run.stations[from].equals(consignment.getOrigin())) {
+                    continue;
+                }
+                for (int to = from + 1; to < run.stations.length; to++) {
+                    if (run.stations[to].equals(consignment.getDestination())) {
+                        if (fits(consignment, run, from, to)) {
+                            found.add(new CargoPlacement(consignment, run, from, to));
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    // Daily services: the train's departure is taken on the first day it is not before readyTime.
+    private static boolean fits(Consignment consignment, CargoRun run, int from, int to) {
+        int departure = run.departures[from];
+        int arrival = run.arrivals[to];
+        if (departure < 0 || arrival < 0) {
+            return false;
+        }
+        int leaves = TrainTime.unwrap(Math.floorMod(departure, TrainTime.MINUTES_PER_DAY), consignment.getReadyMinute());
+        return leaves + (arrival - departure) <= consignment.getDueMinute();
+    }
+
+    private void recomputeCandidatesAt(CargoRun run) {
+        for (String station : new HashSet<>(Arrays.asList(run.stations))) {
+            for (Consignment consignment : consignmentsByOrigin.getOrDefault(station, List.of())) {
+                candidates.put(consignment, findCandidates(consignment));
+                dirtyConsignments.add(consignment);
+            }
+        }
+    }
+
+    private void unassign(Consignment consignment) {
+        CargoPlacement placement = assigned.remove(consignment);
+        if (placement != null) {
+            placement.run.remove(placement);
+            dirtyRuns.add(placement.run);
+        }
+    }
+
+    private void unloadAll(CargoRun run) {
+        for (Consignment consignment : new ArrayList<>(run.carried)) {
+            assigned.remove(consignment);
+            dirtyConsignments.add(consignment);
+        }
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        parent[find(parent, a)] = find(parent, b);
+    }
+}
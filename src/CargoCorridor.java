@@ -0,0 +1,93 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// One independent group of consignments and the runs that can carry them.
+class CargoCorridor {
+    private static final int REPAIR_PASSES = 3;
+    private static final double EPSILON = 1e-9;
+
+    final List<Consignment> consignments = new ArrayList<>();
+    final List<CargoRun> runs = new ArrayList<>();
+    final List<CargoPlacement> placed = new ArrayList<>();
+
+    void solve(Map<Consignment, List<CargoPlacement>> candidates) {
+        Map<Consignment, CargoPlacement> placement = new HashMap<>();
+        List<Consignment> order = new ArrayList<>(consignments);
+        order.sort(Comparator.<Consignment>comparingInt(c -> candidates.get(c).size())
+                .thenComparing(Comparator.comparingDouble(Consignment::getWeight).reversed()));
+        List<Consignment> left = new ArrayList<>();
+        for (Consignment consignment : order) {
+            CargoPlacement best = bestFit(candidates.get(consignment));
+            if (best == null) {
+                left.add(consignment);
+            } else {
+                best.run.add(best);
+                placement.put(consignment, best);
+            }
+        }
+
+        for (int pass = 0; pass < REPAIR_PASSES && !left.isEmpty(); pass++) {
+            boolean improved = false;
+            for (int i = left.size() - 1; i >= 0; i--) {
+                if (makeRoom(left.get(i), candidates, placement)) {
+                    left.remove(i);
+                    improved = true;
+                }
+            }
+            if (!improved) {
+                break;
+            }
+        }
+        placed.addAll(placement.values());
+    }
+
+    // The placement that leaves the least headroom on its legs (best fit), or null if none fits.
+    private static CargoPlacement bestFit(List<CargoPlacement> options) {
+        CargoPlacement best = null;
+        double bestLeft = Double.MAX_VALUE;
+        for (CargoPlacement option : options) {
+            double left = option.run.headroom(option.from, option.to) - option.consignment.getWeight();
+            if (left >= -EPSILON && left < bestLeft) {
+                best = option;
+                bestLeft = left;
+            }
+        }
+        return best;
+    }
+
+    // Tries to fit the consignment by moving one consignment already on the same legs to one of
+    // its other candidate placements.
+    private static boolean makeRoom(Consignment consignment, Map<Consignment, List<CargoPlacement>> candidates,
+                                    Map<Consignment, CargoPlacement> placement) {
+        for (CargoPlacement wanted : candidates.get(consignment)) {
+            double missing = consignment.getWeight() - wanted.run.headroom(wanted.from, wanted.to);
+            for (Consignment blocker : new ArrayList<>(wanted.run.carried)) {
+                CargoPlacement current = placement.get(blocker);
+                if (current == null || !current.overlaps(wanted) || blocker.getWeight() + EPSILON < missing) {
+                    continue;
+                }
+                current.run.remove(current);
+                CargoPlacement moved = null;
+                for (CargoPlacement alternative : candidates.get(blocker)) {
+                    if (alternative.run != wanted.run
+                            && alternative.run.headroom(alternative.from, alternative.to) + EPSILON >= blocker.getWeight()) {
+                        moved = alternative;
+                        break;
+                    }
+                }
+                if (moved != null && wanted.run.headroom(wanted.from, wanted.to) + EPSILON >= consignment.getWeight()) {
+                    moved.run.add(moved);
+                    placement.put(blocker, moved);
+                    wanted.run.add(wanted);
+                    placement.put(consignment, wanted);
+                    return true;
+                }
+                current.run.add(current);
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,18 @@
+// A consignment riding a run from stop index from to stop index to.
+class CargoPlacement {
+    final Consignment consignment;
+    final CargoRun run;
+    final int from;
+    final int to;
+
+    CargoPlacement(Consignment consignment, CargoRun run, int from, int to) {
+        this.consignment = consignment;
+        this.run = run;
+        this.from = from;
+        this.to = to;
+    }
+
+    boolean overlaps(CargoPlacement other) {
+        return other.run == run && other.from < to && from < other.to;
+    }
+}
@@ -0,0 +1,67 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// A cargo train as the allocator sees it: its stops and times, and how much is aboard on each
+// leg (stop i to stop i + 1). The train's own cargoWeight is aboard all the way.
+class CargoRun {
+    final CargoTrain train;
+    String[] stations;
+    int[] arrivals;
+    int[] departures;
+    double[] load;
+    boolean running;
+    final List<Consignment> carried = new ArrayList<>();
+
+    CargoRun(CargoTrain train) {
+        this.train = train;
+        refresh();
+    }
+
+    // Re-reads the train's stops, times (with any delay) and status.
+    void refresh() {
+        List<TrainStop> stops = train.getStops();
+        int offset = train.getScheduleOffsetMinutes();
+        stations = new String[stops.size()];
+        arrivals = new int[stops.size()];
+        departures = new int[stops.size()];
+        int previous = -1;
+        for (int i = 0; i < stops.size(); i++) {
+            stations[i] = stops.get(i).getStationName();
+            int arrival = TrainTime.unwrap(TrainTime.toMinutes(stops.get(i).getArrivalTime()), previous);
+            previous = Math.max(previous, arrival);
+            int departure = TrainTime.unwrap(TrainTime.toMinutes(stops.get(i).getDepartureTime()), previous);
+            previous = Math.max(previous, departure);
+            arrivals[i] = arrival < 0 ? departure : arrival;
+            departures[i] = departure < 0 ? arrival : departure;
+            arrivals[i] += offset;
+            departures[i] += offset;
+        }
+        load = new double[Math.max(0, stops.size() - 1)];
+        Arrays.fill(load, train.getCargoWeight());
+        carried.clear();
+        running = !"Cancelled".equalsIgnoreCase(train.getStatus());
+    }
+
+    double headroom(int from, int to) {
+        double peak = 0;
+        for (int leg = from; leg < to; leg++) {
+            peak = Math.max(peak, load[leg]);
+        }
+        return train.getCapacity() - peak;
+    }
+
+    void add(CargoPlacement placement) {
+        for (int leg = placement.from; leg < placement.to; leg++) {
+            load[leg] += placement.consignment.getWeight();
+        }
+        carried.add(placement.consignment);
+    }
+
+    void remove(CargoPlacement placement) {
+        for (int leg = placement.from; leg < placement.to; leg++) {
+            load[leg] -= placement.consignment.getWeight();
+        }
+        carried.remove(placement.consignment);
+    }
+}
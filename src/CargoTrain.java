@@ -0,0 +1,84 @@
+import java.util.List;
+
+class CargoTrain extends Train implements TrainOperations {
+    private double cargoWeight;
+    private double capacity;
+
+    private CargoTrain(CargoTrainBuilder builder) {
+        super(builder);
+        this.cargoWeight = builder.cargoWeight;
+        this.capacity = builder.capacity;
+    }
+    public CargoTrain clone() {
+        return (CargoTrain) new CargoTrainBuilder()
+                .withCapacity(capacity)
+                .withTrainId(getTrainId())
+                .withTrainType(getTrainType())
+                .withDepartureTime(getDepartureTime())
+                .withArrivalTime(getArrivalTime())
+                .withStatus(getStatus())
+                .withStops(getStops())
+                .withCargoWeight(cargoWeight)
+                .build();
+    }
+
+    public CargoTrain(String trainId, String trainType, String departureTime, String arrivalTime, String status, double cargoWeight) {
+        super(trainId, trainType, departureTime,arrivalTime,status);
+        this.cargoWeight = cargoWeight;
+    }
+
+    private CargoTrain(CargoTrain template, String trainId, String departureTime, String arrivalTime,
+                       List<TrainStop> stops) {
+        super(template, trainId, departureTime, arrivalTime, stops);
+        this.cargoWeight = template.cargoWeight;
+        this.capacity = template.capacity;
+    }
+
+    @Override
+    CargoTrain instantiate(String trainId, String departureTime, String arrivalTime, List<TrainStop> stops) {
+        return new CargoTrain(this, trainId, departureTime, arrivalTime, stops);
+    }
+
+    @Override
+    public void startEngine() {
+        System.out.println("Cargo train engine started.");
+    }
+
+    @Override
+    public void stopEngine() {
+        System.out.println("Cargo train engine stopped.");
+    }
+
+    public double getCargoWeight() {
+        return cargoWeight;
+    }
+
+    // Most the train can carry, its own cargoWeight included; 0 if it takes no consignments.
+    public double getCapacity() {
+        return capacity;
+    }
+
+    public void displayCargoInfo() {
+        System.out.println("Cargo weight: " + cargoWeight + " tons");
+    }
+
+    public static class CargoTrainBuilder extends TrainBuilder {
+
+        private double cargoWeight;
+        private double capacity;
+
+        public CargoTrainBuilder withCargoWeight(double cargoWeight) {
+            this.cargoWeight = cargoWeight;
+            return this;
+        }
+
+        public CargoTrainBuilder withCapacity(double capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        public CargoTrain build() {
+            return new CargoTrain(this);
+        }
+    }
+}
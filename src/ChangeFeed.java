@@ -0,0 +1,104 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Leader side: every station and train added to the schedule, every train change and every
+// ticket command becomes a sequence-numbered ChangeRecord. The most recent records are kept
+// for followers to tail; one that has fallen further behind gets a snapshot first. The latest
+// record per ticket is kept as well, since the leader has no other ticket registry to
+// snapshot.
+class ChangeFeed implements ScheduleListener, TrainObserver, TicketListener {
+    private final TrainSchedule schedule;
+    private final int retain;
+    // Retained records in sequence order; trimmed back to retain once it holds twice as many,
+    // so a follower's position is a plain index.
+    private final List<ChangeRecord> log = new ArrayList<>();
+    private final Map<String, Train> trains = new HashMap<>();
+    private final Map<String, ChangeRecord> tickets = new LinkedHashMap<>();
+    private long sequence;
+
+    public ChangeFeed(TrainSchedule schedule, int retain) {
+        this.schedule = schedule;
+        this.retain = Math.max(1, retain);
+        synchronized (this) {
+            schedule.addScheduleListener(this);
+            for (TrainVersion version : schedule.snapshot()) {
+                if (trains.putIfAbsent(version.getTrainId(), version.getLiveTrain()) == null) {
+                    version.getLiveTrain().addObserver(this);
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void trainAdded(Train train) {
+        if (trains.putIfAbsent(train.getTrainId(), train) == null) {
+            train.addObserver(this);
+            append(ChangeRecord.TRAIN, ChangeRecord.trainFields(TrainVersion.of(train)));
+        }
+    }
+
+    @Override
+    public synchronized void stationAdded(Station station) {
+        append(ChangeRecord.STATION, ChangeRecord.stationFields(station));
+    }
+
+    @Override
+    public synchronized void update(String trainId, String message, TrainChange change) {
+        Train train = trains.get(trainId);
+        if (train != null) {
+            append(ChangeRecord.TRAIN, ChangeRecord.trainFields(TrainVersion.of(train)));
+        }
+    }
+
+    @Override
+    public synchronized void ticketChanged(Ticket ticket) {
+        tickets.put(ticket.getTicketId(), append(ChangeRecord.TICKET, ChangeRecord.ticketFields(ticket)));
+    }
+
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    // Records after the given sequence number, waiting up to waitMillis for one to arrive.
+    // Null if some of them are no longer retained and the caller needs a snapshot.
+    public synchronized List<ChangeRecord> since(long after, long waitMillis) throws InterruptedException {
+        if (after >= sequence && waitMillis > 0) {
+            wait(waitMillis);
+        }
+        long firstRetained = log.isEmpty() ? sequence + 1 : log.get(0).sequence;
+        if (after < firstRetained - 1 || after > sequence) {
+            return null;
+        }
+        return new ArrayList<>(log.subList((int) (after + 1 - firstRetained), log.size()));
+    }
+
+    // The current state of everything as records all numbered with the current sequence,
+    // which is where the follower continues tailing afterwards.
+    public synchronized List<ChangeRecord> snapshot() {
+        List<ChangeRecord> records = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (Station station : schedule.getStations()) {
+            records.add(new ChangeRecord(sequence, now, ChangeRecord.STATION, ChangeRecord.stationFields(station)));
+        }
+        for (Train train : trains.values()) {
+            records.add(new ChangeRecord(sequence, now, ChangeRecord.TRAIN, ChangeRecord.trainFields(TrainVersion.of(train))));
+        }
+        for (ChangeRecord ticket : tickets.values()) {
+            records.add(ticket.withSequence(sequence));
+        }
+        return records;
+    }
+
+    private ChangeRecord append(String kind, String[] fields) {
+        ChangeRecord record = new ChangeRecord(++sequence, System.currentTimeMillis(), kind, fields);
+        log.add(record);
+        if (log.size() >= 2 * retain) {
+            log.subList(0, log.size() - retain).clear();
+        }
+        notifyAll();
+        return record;
+    }
+}
@@ -0,0 +1,104 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+
+// Serves the change feed on a loopback port. A follower connects and sends the last sequence
+// number it applied (0 if none); it then gets the log tail from there, or a snapshot and
+// the tail after it, followed by live records and a heartbeat every second when idle.
+class ChangeFeedServer {
+    private static final long HEARTBEAT_MILLIS = 1000;
+
+    private final ChangeFeed feed;
+    private final int port;
+    private ServerSocket serverSocket;
+    private int followers;
+
+    public ChangeFeedServer(ChangeFeed feed, int port) {
+        this.feed = feed;
+        this.port = port;
+    }
+
+    public synchronized void start() {
+        if (serverSocket != null) {
+            return;
+        }
+        try {
+            serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            System.out.println("Could not start change feed on port " + port + ": " + e.getMessage());
+            return;
+        }
+        Thread acceptor = new Thread(this::acceptFollowers, "change-feed-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        System.out.println("Change feed listening on port " + serverSocket.getLocalPort());
+    }
+
+    public synchronized void stop() {
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException e) {
+            System.out.println("Could not close change feed: " + e.getMessage());
+        }
+        serverSocket = null;
+    }
+
+    private void acceptFollowers() {
+        ServerSocket server = serverSocket;
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                Thread sender = new Thread(() -> serve(socket), "change-feed-follower-" + (++followers));
+                sender.setDaemon(true);
+                sender.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            long cursor = in.readLong();
+            while (true) {
+                List<ChangeRecord> records = feed.since(cursor, HEARTBEAT_MILLIS);
+                if (records == null) {
+                    List<ChangeRecord> snapshot = feed.snapshot();
+                    // Every record exists because of some change, so an empty snapshot is sequence 0.
+                    cursor = snapshot.isEmpty() ? 0 : snapshot.get(0).sequence;
+                    out.writeByte(ChangeRecord.FRAME_SNAPSHOT_BEGIN);
+                    out.writeLong(cursor);
+                    for (ChangeRecord record : snapshot) {
+                        record.writeTo(out);
+                    }
+                    out.writeByte(ChangeRecord.FRAME_SNAPSHOT_END);
+                    out.writeLong(cursor);
+                } else if (records.isEmpty()) {
+                    out.writeByte(ChangeRecord.FRAME_HEARTBEAT);
+                    out.writeLong(feed.getSequence());
+                    out.writeLong(System.currentTimeMillis());
+                } else {
+                    for (ChangeRecord record : records) {
+                        record.writeTo(out);
+                    }
+                    cursor = records.get(records.size() - 1).sequence;
+                }
+                out.flush();
+            }
+        } catch (IOException e) {
+            // Follower went away; it reconnects with its own position.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
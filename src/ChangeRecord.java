@@ -0,0 +1,125 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+// One entry of the change feed. A record carries the whole current state of the station,
+// train or ticket it describes rather than a diff, so applying it twice (from a snapshot and
+// again from the log tail) leaves a replica exactly as applying it once.
+class ChangeRecord {
+    static final String STATION = "station";
+    static final String TRAIN = "train";
+    static final String TICKET = "ticket";
+
+    static final byte FRAME_RECORD = 'R';
+    static final byte FRAME_HEARTBEAT = 'H';
+    static final byte FRAME_SNAPSHOT_BEGIN = 'S';
+    static final byte FRAME_SNAPSHOT_END = 'E';
+
+    final long sequence;
+    final long timestampMillis;
+    final String kind;
+    final String[] fields;
+
+    ChangeRecord(long sequence, long timestampMillis, String kind, String[] fields) {
+        this.sequence = sequence;
+        this.timestampMillis = timestampMillis;
+        this.kind = kind;
+        this.fields = fields;
+    }
+
+    ChangeRecord withSequence(long sequence) {
+        return new ChangeRecord(sequence, timestampMillis, kind, fields);
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeByte(FRAME_RECORD);
+        out.writeLong(sequence);
+        out.writeLong(timestampMillis);
+        out.writeUTF(kind);
+        out.writeShort(fields.length);
+        for (String field : fields) {
+            out.writeBoolean(field != null);
+            if (field != null) {
+                out.writeUTF(field);
+            }
+        }
+    }
+
+    // Reads the rest of a record frame whose type byte has already been consumed.
+    static ChangeRecord readFrom(DataInputStream in) throws IOException {
+        long sequence = in.readLong();
+        long timestampMillis = in.readLong();
+        String kind = in.readUTF();
+        String[] fields = new String[in.readUnsignedShort()];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = in.readBoolean() ? in.readUTF() : null;
+        }
+        return new ChangeRecord(sequence, timestampMillis, kind, fields);
+    }
+
+    static String[] stationFields(Station station) {
+        return new String[]{station.getStationName(), station.getLocation(), String.valueOf(station.getPlatformCount())};
+    }
+
+    // id, class, type, departure, arrival, status, state, cargo weight, stop count, then
+    // station/arrival/departure for each stop.
+    static String[] trainFields(TrainVersion train) {
+        List<TrainStop> stops = train.getStops();
+        Class<? extends Train> trainClass = train.getTrainClass();
+        String[] fields = new String[9 + 3 * stops.size()];
+        fields[0] = train.getTrainId();
+        fields[1] = ElectricTrain.class.isAssignableFrom(trainClass) ? "Electric"
+                : DieselTrain.class.isAssignableFrom(trainClass) ? "Diesel"
+                : CargoTrain.class.isAssignableFrom(trainClass) ? "Cargo" : "Train";
+        fields[2] = train.getTrainType();
+        fields[3] = train.getDepartureTime();
+        fields[4] = train.getArrivalTime();
+        fields[5] = train.getStatus();
+        fields[6] = String.valueOf(train.getState());
+        fields[7] = CargoTrain.class.isAssignableFrom(trainClass) ? String.valueOf(train.getCargoWeight()) : null;
+        fields[8] = String.valueOf(stops.size());
+        for (int i = 0; i < stops.size(); i++) {
+            fields[9 + 3 * i] = stops.get(i).getStationName();
+            fields[10 + 3 * i] = stops.get(i).getArrivalTime();
+            fields[11 + 3 * i] = stops.get(i).getDepartureTime();
+        }
+        return fields;
+    }
+
+    // Rebuilds a train of the right class from trainFields.
+    static Train toTrain(String[] fields) {
+        Train.TrainBuilder builder = switch (fields[1]) {
+            case "Electric" -> new ElectricTrain.ElectricTrainBuilder();
+            case "Diesel" -> new DieselTrain.DieselTrainBuilder();
+            case "Cargo" -> new CargoTrain.CargoTrainBuilder().withCargoWeight(Double.parseDouble(fields[7]));
+            default -> new Train.TrainBuilder();
+        };
+        builder.withTrainId(fields[0])
+                .withTrainType(fields[2])
+                .withDepartureTime(fields[3])
+                .withArrivalTime(fields[4])
+                .withStatus(fields[5]);
+        int stops = Integer.parseInt(fields[8]);
+        for (int i = 0; i < stops; i++) {
+            builder.withStop(fields[9 + 3 * i], fields[10 + 3 * i], fields[11 + 3 * i]);
+        }
+        Train train = builder.build();
+        train.setTrainState(stateOf(fields[6]));
+        return train;
+    }
+
+    static TrainState stateOf(String name) {
+        return switch (name) {
+            case "Running State" -> new RunningState();
+            case "Maintenance State" -> new MaintenanceState();
+            default -> new StoppedState();
+        };
+    }
+
+    // id, passenger, seat, booked, train (null when the ticket is not for a particular train).
+    static String[] ticketFields(Ticket ticket) {
+        return new String[]{ticket.getTicketId(), ticket.getPassengerName(), ticket.getSeatNumber(),
+                String.valueOf(ticket.isBooked()), ticket.getTrainId()};
+    }
+}
@@ -0,0 +1,3 @@
+interface ClonableTrain {
+    Train clone();
+}
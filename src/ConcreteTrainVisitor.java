@@ -0,0 +1,16 @@
+class ConcreteTrainVisitor implements TrainVisitor {
+    @Override
+    public void visitTrain(Train train) {
+        System.out.println("Inspecting train: " + train.getTrainId());
+    }
+
+    @Override
+    public void visitPassenger(Passenger passenger) {
+        System.out.println("Inspecting passenger: " + passenger.getName());
+    }
+
+    @Override
+    public void visitStation(Station station) {
+        System.out.println("Inspecting station: " + station.getStationName());
+    }
+}
@@ -0,0 +1,54 @@
+import java.util.Collections;
+import java.util.Map;
+
+// Immutable timetable compiled into parallel arrays, one entry per hop between consecutive stops,
+// sorted by departure minute. Trips are dense train indexes and stations dense station indexes.
+class ConnectionTable {
+    final int[] fromStation;
+    final int[] toStation;
+    final int[] departure;
+    final int[] arrival;
+    final int[] trip;
+    final int size;
+    final Map<String, Integer> stationIds;
+    final String[] stationNames;
+    final String[] tripTrainIds;
+
+    ConnectionTable(int[] fromStation, int[] toStation, int[] departure, int[] arrival, int[] trip, int size,
+                    Map<String, Integer> stationIds, String[] stationNames, String[] tripTrainIds) {
+        this.fromStation = fromStation;
+        this.toStation = toStation;
+        this.departure = departure;
+        this.arrival = arrival;
+        this.trip = trip;
+        this.size = size;
+        this.stationIds = stationIds;
+        this.stationNames = stationNames;
+        this.tripTrainIds = tripTrainIds;
+    }
+
+    static ConnectionTable empty() {
+        return new ConnectionTable(new int[0], new int[0], new int[0], new int[0], new int[0], 0,
+                Collections.emptyMap(), new String[0], new String[0]);
+    }
+
+    int stationId(String stationName) {
+        Integer id = stationIds.get(stationName);
+        return id == null ? -1 : id;
+    }
+
+    // Index of the first connection departing at or after the given minute.
+    int firstDepartingAt(int minute) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (departure[mid] < minute) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
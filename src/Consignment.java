@@ -0,0 +1,28 @@
+// Goods to move from origin to destination: loaded no earlier than readyTime, delivered no
+// later than dueTime (the next day if dueTime is before readyTime).
+class Consignment {
+    private final String consignmentId;
+    private final String origin;
+    private final String destination;
+    private final double weight;
+    private final int readyMinute;
+    private final int dueMinute;
+
+    public Consignment(String consignmentId, String origin, String destination, double weight, String readyTime,
+                       String dueTime) {
+        this.consignmentId = consignmentId;
+        this.origin = origin;
+        this.destination = destination;
+        this.weight = weight;
+        this.readyMinute = Math.max(0, TrainTime.toMinutes(readyTime));
+        int due = TrainTime.toMinutes(dueTime);
+        this.dueMinute = due < 0 ? readyMinute + TrainTime.MINUTES_PER_DAY : TrainTime.unwrap(due, readyMinute);
+    }
+
+    public String getConsignmentId() { return consignmentId; }
+    public String getOrigin() { return origin; }
+    public String getDestination() { return destination; }
+    public double getWeight() { return weight; }
+    public int getReadyMinute() { return readyMinute; }
+    public int getDueMinute() { return dueMinute; }
+}
@@ -0,0 +1,63 @@
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Consistent hashing ring. Each node is placed at virtualNodes points; a key belongs to the
+// first node point at or after its own hash. Adding a node only takes over the arcs just in
+// front of its points, so only the keys on those arcs change owner.
+class ConsistentHashRing {
+    private final int virtualNodes;
+    private final TreeMap<Long, String> points = new TreeMap<>();
+    private final List<String> nodes = new ArrayList<>();
+
+    ConsistentHashRing(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+
+    ConsistentHashRing(int virtualNodes, List<String> nodes) {
+        this(virtualNodes);
+        for (String node : nodes) {
+            addNode(node);
+        }
+    }
+
+    void addNode(String node) {
+        if (nodes.contains(node)) {
+            return;
+        }
+        nodes.add(node);
+        for (int i = 0; i < virtualNodes; i++) {
+            points.put(hash(node + "#" + i), node);
+        }
+    }
+
+    List<String> getNodes() {
+        return new ArrayList<>(nodes);
+    }
+
+    String ownerOf(String key) {
+        if (points.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> point = points.ceilingEntry(hash(key));
+        return point != null ? point.getValue() : points.firstEntry().getValue();
+    }
+
+    // FNV-1a over the UTF-8 bytes, finished with the murmur3 mix so nearby keys spread out.
+    // String.hashCode is not used: the ring must agree across JVMs and releases.
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
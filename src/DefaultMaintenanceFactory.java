@@ -0,0 +1,6 @@
+class DefaultMaintenanceFactory implements MaintenanceFactory {
+    @Override
+    public Maintenance createMaintenance(String lastServiceDate, int serviceIntervalDays) {
+        return new Maintenance(lastServiceDate, serviceIntervalDays);
+    }
+}
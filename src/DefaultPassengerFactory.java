@@ -0,0 +1,6 @@
+class DefaultPassengerFactory implements PassengerFactory {
+    @Override
+    public Passenger createPassenger(String name, String ticketNumber, String seatNumber) {
+        return new Passenger(name, ticketNumber, seatNumber);
+    }
+}
@@ -0,0 +1,6 @@
+class DefaultStationFactory implements StationFactory {
+    @Override
+    public Station createStation(String stationName, String location) {
+        return new Station(stationName, location);
+    }
+}
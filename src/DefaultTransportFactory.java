@@ -0,0 +1,16 @@
+class DefaultTransportFactory implements TransportFactory {
+    @Override
+    public Maintenance createMaintenance(String lastServiceDate, int serviceIntervalDays) {
+        return new DefaultMaintenanceFactory().createMaintenance(lastServiceDate, serviceIntervalDays);
+    }
+
+    @Override
+    public Passenger createPassenger(String name, String ticketNumber, String seatNumber) {
+        return new DefaultPassengerFactory().createPassenger(name, ticketNumber, seatNumber);
+    }
+
+    @Override
+    public Station createStation(String stationName, String location) {
+        return new DefaultStationFactory().createStation(stationName, location);
+    }
+}
@@ -0,0 +1,40 @@
+import java.util.ArrayList;
+import java.util.List;
+
+// Planned times are captured when the train is registered; delay shifts the whole train.
+class DelayNode {
+    final Train train;
+    final int plannedDeparture;
+    final int plannedArrival;
+    final List<TrainDependency> incoming = new ArrayList<>();
+    final List<TrainDependency> outgoing = new ArrayList<>();
+    int ownDelay;
+    int delay;
+    int rank;
+
+    DelayNode(Train train) {
+        this.train = train;
+        this.plannedDeparture = TrainTime.toMinutes(train.getDepartureTime()) - train.getScheduleOffsetMinutes();
+        this.plannedArrival = TrainTime.unwrap(
+                TrainTime.toMinutes(train.getArrivalTime()) - train.getScheduleOffsetMinutes(), plannedDeparture);
+        this.ownDelay = train.getScheduleOffsetMinutes();
+        this.delay = ownDelay;
+    }
+
+    // Planned minute the train arrives at (or departs from) a station, falling back to the
+    // train's own times when it has no stop there.
+    int plannedAt(String stationName, boolean arrival) {
+        int previous = -1;
+        for (TrainStop stop : train.getStops()) {
+            int arrivalTime = TrainTime.unwrap(TrainTime.toMinutes(stop.getArrivalTime()), previous);
+            previous = Math.max(previous, arrivalTime);
+            int departureTime = TrainTime.unwrap(TrainTime.toMinutes(stop.getDepartureTime()), previous);
+            previous = Math.max(previous, departureTime);
+            if (stop.getStationName().equals(stationName)) {
+                int time = arrival ? arrivalTime : departureTime;
+                return time >= 0 ? time : Math.max(arrivalTime, departureTime);
+            }
+        }
+        return arrival ? plannedArrival : plannedDeparture;
+    }
+}
@@ -0,0 +1,164 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// Propagates a delay through turnarounds, guaranteed connections and platform successions.
+// Trains are kept in a topological order of the dependency graph; a change is pushed through a
+// queue ordered by that rank, so each affected train is recomputed once, after all of its
+// predecessors, and propagation stops wherever slack absorbs the delay. Trains are only
+// touched at the end, with one setTimes notification each.
+class DelayPropagator implements TrainObserver {
+    private final Map<String, DelayNode> nodes = new LinkedHashMap<>();
+    private boolean applying;
+
+    public synchronized void addTrain(Train train) {
+        if (TrainTime.toMinutes(train.getDepartureTime()) < 0 || nodes.containsKey(train.getTrainId())) {
+            return;
+        }
+        // No dependencies yet, so ranking it after every existing train keeps the order valid.
+        DelayNode node = new DelayNode(train);
+        node.rank = nodes.size();
+        nodes.put(train.getTrainId(), node);
+        train.addObserver(this);
+    }
+
+    // The same rolling stock runs outbound after inbound has arrived and been turned round.
+    public synchronized boolean addTurnaround(String inboundTrainId, String outboundTrainId, int minTurnaroundMinutes) {
+        DelayNode inbound = nodes.get(inboundTrainId);
+        DelayNode outbound = nodes.get(outboundTrainId);
+        if (inbound == null || outbound == null) {
+            return false;
+        }
+        int slack = outbound.plannedDeparture - inbound.plannedArrival - minTurnaroundMinutes;
+        return addDependency(new TrainDependency("turnaround", inbound, outbound, slack, Integer.MAX_VALUE));
+    }
+
+    // The connecting train waits at the station for the feeder's passengers, but no longer than maxHold.
+    public synchronized boolean addGuaranteedConnection(String feederTrainId, String connectingTrainId,
+                                                        String stationName, int minTransferMinutes, int maxHoldMinutes) {
+        DelayNode feeder = nodes.get(feederTrainId);
+        DelayNode connecting = nodes.get(connectingTrainId);
+        if (feeder == null || connecting == null) {
+            return false;
+        }
+        int slack = connecting.plannedAt(stationName, false) - feeder.plannedAt(stationName, true) - minTransferMinutes;
+        return addDependency(new TrainDependency("connection", feeder, connecting, slack, maxHoldMinutes));
+    }
+
+    // The next train can only enter the platform once the first has left it.
+    public synchronized boolean addPlatformSuccession(String firstTrainId, String nextTrainId, String stationName,
+                                                      int headwayMinutes) {
+        DelayNode first = nodes.get(firstTrainId);
+        DelayNode next = nodes.get(nextTrainId);
+        if (first == null || next == null) {
+            return false;
+        }
+        int slack = next.plannedAt(stationName, true) - first.plannedAt(stationName, false) - headwayMinutes;
+        return addDependency(new TrainDependency("platform", first, next, slack, Integer.MAX_VALUE));
+    }
+
+    public synchronized int getDelay(String trainId) {
+        DelayNode node = nodes.get(trainId);
+        return node == null ? 0 : node.delay;
+    }
+
+    @Override
+    public synchronized void update(String trainId, String message, TrainChange change) {
+        DelayNode node = nodes.get(trainId);
+        if (applying || node == null || !change.changesTimes()) {
+            return;
+        }
+        int departure = TrainTime.toMinutes(node.train.getDepartureTime());
+        if (departure < 0) {
+            return;
+        }
+        int halfDay = TrainTime.MINUTES_PER_DAY / 2;
+        node.ownDelay = Math.floorMod(departure - node.plannedDeparture + halfDay, TrainTime.MINUTES_PER_DAY) - halfDay;
+        propagate(node);
+    }
+
+    private boolean addDependency(TrainDependency dependency) {
+        dependency.predecessor.outgoing.add(dependency);
+        dependency.successor.incoming.add(dependency);
+        if (!computeRanks()) {
+            dependency.predecessor.outgoing.remove(dependency);
+            dependency.successor.incoming.remove(dependency);
+            computeRanks();
+            System.out.println("Dependency ignored: " + dependency.predecessor.train.getTrainId() + " -> "
+                    + dependency.successor.train.getTrainId() + " would create a cycle.");
+            return false;
+        }
+        propagate(dependency.successor);
+        return true;
+    }
+
+    // Kahn's algorithm over the whole graph. Dependencies are added rarely compared with delays,
+    // so the order is rebuilt then rather than maintained dynamically. False on a cycle.
+    private boolean computeRanks() {
+        Map<DelayNode, Integer> pending = new HashMap<>();
+        ArrayDeque<DelayNode> ready = new ArrayDeque<>();
+        for (DelayNode node : nodes.values()) {
+            pending.put(node, node.incoming.size());
+            if (node.incoming.isEmpty()) {
+                ready.add(node);
+            }
+        }
+        int rank = 0;
+        while (!ready.isEmpty()) {
+            DelayNode node = ready.poll();
+            node.rank = rank++;
+            for (TrainDependency dependency : node.outgoing) {
+                if (pending.merge(dependency.successor, -1, Integer::sum) == 0) {
+                    ready.add(dependency.successor);
+                }
+            }
+        }
+        return rank == nodes.size();
+    }
+
+    private void propagate(DelayNode start) {
+        PriorityQueue<DelayNode> queue = new PriorityQueue<>((a, b) -> Integer.compare(a.rank, b.rank));
+        Map<DelayNode, Boolean> queued = new HashMap<>();
+        List<DelayNode> changed = new ArrayList<>();
+        queue.add(start);
+        queued.put(start, true);
+        while (!queue.isEmpty()) {
+            DelayNode node = queue.poll();
+            int delay = node.ownDelay;
+            for (TrainDependency dependency : node.incoming) {
+                delay = Math.max(delay, dependency.requiredDelay());
+            }
+            if (delay == node.delay && node != start) {
+                continue;
+            }
+            node.delay = delay;
+            changed.add(node);
+            for (TrainDependency dependency : node.outgoing) {
+                if (queued.put(dependency.successor, true) == null) {
+                    queue.add(dependency.successor);
+                }
+            }
+        }
+
+        applying = true;
+        try {
+            for (DelayNode node : changed) {
+                if (node == start && node.delay == node.ownDelay) {
+                    // Nothing upstream holds it back: the times it was just given stand as they are.
+                    continue;
+                }
+                String departure = TrainTime.format(node.plannedDeparture + node.delay);
+                String arrival = TrainTime.format(node.plannedArrival + node.delay);
+                if (!departure.equals(node.train.getDepartureTime()) || !arrival.equals(node.train.getArrivalTime())) {
+                    node.train.setTimes(departure, arrival);
+                }
+            }
+        } finally {
+            applying = false;
+        }
+    }
+}
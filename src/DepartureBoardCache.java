@@ -0,0 +1,172 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+
+// Materialised departure and arrival boards per station. A board is built on its first query
+// from the trains calling at that station and is then kept sorted, so reading a page costs
+// O(log n + page size). Train events (times, status, new trains) patch only the boards that are
+// cached for the stations the train calls at. At most maxBoards boards are kept; the least
+// recently queried one is dropped when another is needed and rebuilt if asked for again.
+class DepartureBoardCache implements TrainObserver {
+    private final int maxBoards;
+    private final Map<String, Train> trains = new HashMap<>();
+    private final Map<String, List<Train>> trainsByStation = new HashMap<>();
+    private final Map<String, StationBoard> boards = new HashMap<>();
+    // Same boards in least-recently-queried order; only queries move a board to the back.
+    private final LinkedHashMap<String, StationBoard> recentlyQueried;
+    private long sequence;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public DepartureBoardCache(int maxBoards) {
+        this.maxBoards = maxBoards;
+        this.recentlyQueried = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StationBoard> eldest) {
+                if (size() > DepartureBoardCache.this.maxBoards) {
+                    boards.remove(eldest.getKey());
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized void addTrain(Train train) {
+        if (train.getStops().isEmpty() || trains.containsKey(train.getTrainId())) {
+            return;
+        }
+        trains.put(train.getTrainId(), train);
+        train.addObserver(this);
+        for (String stationName : stationsOf(train)) {
+            trainsByStation.computeIfAbsent(stationName, name -> new ArrayList<>()).add(train);
+        }
+        refresh(train);
+    }
+
+    @Override
+    public synchronized void update(String trainId, String message, TrainChange change) {
+        Train train = trains.get(trainId);
+        if (train != null && (change.changesTimes() || change.changesStatus())) {
+            refresh(train);
+        }
+    }
+
+    public synchronized List<BoardEntry> getDepartures(String stationName, String fromTime, int pageSize) {
+        StationBoard board = board(stationName);
+        return board == null ? Collections.emptyList()
+                : StationBoard.page(board.departures, Math.max(0, TrainTime.toMinutes(fromTime)), pageSize);
+    }
+
+    public synchronized List<BoardEntry> getArrivals(String stationName, String fromTime, int pageSize) {
+        StationBoard board = board(stationName);
+        return board == null ? Collections.emptyList()
+                : StationBoard.page(board.arrivals, Math.max(0, TrainTime.toMinutes(fromTime)), pageSize);
+    }
+
+    public synchronized int getCachedBoardCount() {
+        return boards.size();
+    }
+
+    public synchronized void displayStats() {
+        System.out.println("Boards cached: " + boards.size() + "/" + maxBoards + ", hits: " + hits + ", misses: "
+                + misses + ", evictions: " + evictions);
+    }
+
+    private StationBoard board(String stationName) {
+        StationBoard board = recentlyQueried.get(stationName);
+        if (board != null) {
+            hits++;
+            return board;
+        }
+        List<Train> calling = trainsByStation.get(stationName);
+        if (calling == null) {
+            return null;
+        }
+        misses++;
+        board = new StationBoard();
+        for (Train train : calling) {
+            place(board, stationName, train);
+        }
+        boards.put(stationName, board);
+        recentlyQueried.put(stationName, board);
+        return board;
+    }
+
+    // Re-materialises the train's lines on every cached board it appears on.
+    private void refresh(Train train) {
+        for (String stationName : stationsOf(train)) {
+            StationBoard board = boards.get(stationName);
+            if (board != null) {
+                remove(board, train.getTrainId());
+                place(board, stationName, train);
+            }
+        }
+    }
+
+    private static Set<String> stationsOf(Train train) {
+        Set<String> stationNames = new HashSet<>();
+        for (TrainStop stop : train.getStops()) {
+            stationNames.add(stop.getStationName());
+        }
+        return stationNames;
+    }
+
+    private void remove(StationBoard board, String trainId) {
+        long[] keys = board.keysByTrain.remove(trainId);
+        if (keys != null) {
+            for (long key : keys) {
+                if (board.departures.remove(key) == null) {
+                    board.arrivals.remove(key);
+                }
+            }
+        }
+    }
+
+    // Adds a line for each departure and arrival of the train at the station, at the actual
+    // (offset) time.
+    private void place(StationBoard board, String stationName, Train train) {
+        List<TrainStop> stops = train.getStops();
+        int offset = train.getScheduleOffsetMinutes();
+        String origin = stops.get(0).getStationName();
+        String destination = stops.get(stops.size() - 1).getStationName();
+        List<Long> keys = new ArrayList<>(2);
+        for (int i = 0; i < stops.size(); i++) {
+            TrainStop stop = stops.get(i);
+            if (!stop.getStationName().equals(stationName)) {
+                continue;
+            }
+            int departure = TrainTime.toMinutes(stop.getDepartureTime());
+            if (departure >= 0 && i < stops.size() - 1) {
+                keys.add(put(board.departures, departure + offset,
+                        new BoardEntry(train.getTrainId(), TrainTime.format(departure + offset), destination,
+                                train.getStatus())));
+            }
+            int arrival = TrainTime.toMinutes(stop.getArrivalTime());
+            if (arrival >= 0 && i > 0) {
+                keys.add(put(board.arrivals, arrival + offset,
+                        new BoardEntry(train.getTrainId(), TrainTime.format(arrival + offset), origin,
+                                train.getStatus())));
+            }
+        }
+        long[] held = new long[keys.size()];
+        for (int i = 0; i < held.length; i++) {
+            held[i] = keys.get(i);
+        }
+        board.keysByTrain.put(train.getTrainId(), held);
+    }
+
+    private long put(NavigableMap<Long, BoardEntry> entries, int minute, BoardEntry entry) {
+        long key = ((long) Math.floorMod(minute, TrainTime.MINUTES_PER_DAY) << 32) | (sequence++ & 0xffffffffL);
+        entries.put(key, entry);
+        return key;
+    }
+}
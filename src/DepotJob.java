@@ -0,0 +1,14 @@
+// A train going through the depot, and when it joined the queue it is currently in.
+class DepotJob {
+    final String trainId;
+    final TrainWithTemplate service;
+    final long submittedAt;
+    long enqueuedAt;
+
+    DepotJob(String trainId, TrainWithTemplate service) {
+        this.trainId = trainId;
+        this.service = service;
+        this.submittedAt = System.nanoTime();
+        this.enqueuedAt = submittedAt;
+    }
+}
@@ -0,0 +1,150 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Runs TrainWithTemplate's servicing steps as a pipeline: every step has its own bounded queue
+// and bay crew, so while one train is cleaned the next can already have its systems checked.
+// Trains leave each step in the order the crew finishes them. stepMillis simulates how long
+// a bay is occupied per step, on top of the step itself.
+class DepotServicingPipeline {
+    private final List<DepotStage> stages = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final long stepMillis;
+    private final LatencyHistogram timeInDepot = new LatencyHistogram();
+    private final Object progress = new Object();
+    private long submitted;
+    private long completed;
+    private final List<String> serviced = new ArrayList<>();
+    private long startedAt;
+
+    // bays[i] workers for step i; each step's queue holds at most queueCapacity trains.
+    public DepotServicingPipeline(int[] bays, int queueCapacity, long stepMillis) {
+        if (bays.length != TrainWithTemplate.STEPS.length) {
+            throw new IllegalArgumentException("Need a bay count for each of the "
+                    + TrainWithTemplate.STEPS.length + " servicing steps");
+        }
+        for (int step = 0; step < bays.length; step++) {
+            stages.add(new DepotStage(step, Math.max(1, bays[step]), Math.max(1, queueCapacity)));
+        }
+        this.stepMillis = stepMillis;
+    }
+
+    public synchronized void start() {
+        if (!workers.isEmpty()) {
+            return;
+        }
+        startedAt = System.nanoTime();
+        for (int i = 0; i < stages.size(); i++) {
+            DepotStage stage = stages.get(i);
+            DepotStage next = i + 1 < stages.size() ? stages.get(i + 1) : null;
+            for (int bay = 1; bay <= stage.bays; bay++) {
+                Thread worker = new Thread(() -> work(stage, next), "depot-" + stage.name + "-" + bay);
+                worker.setDaemon(true);
+                workers.add(worker);
+                worker.start();
+            }
+        }
+    }
+
+    // Blocks while the first step's queue is full.
+    public void submit(String trainId, TrainWithTemplate service) throws InterruptedException {
+        synchronized (progress) {
+            submitted++;
+        }
+        stages.get(0).queue.put(new DepotJob(trainId, service));
+    }
+
+    public void awaitCompletion() throws InterruptedException {
+        synchronized (progress) {
+            while (completed < submitted) {
+                progress.wait();
+            }
+        }
+    }
+
+    // IDs of the trains that made it through every step, in the order they left the depot.
+    public List<String> getServiced() {
+        synchronized (progress) {
+            return new ArrayList<>(serviced);
+        }
+    }
+
+    public synchronized void shutdown() {
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        workers.clear();
+    }
+
+    private void work(DepotStage stage, DepotStage next) {
+        try {
+            while (true) {
+                DepotJob job = stage.queue.take();
+                long started = System.nanoTime();
+                stage.queueWait.record(started - job.enqueuedAt);
+                boolean serviced = true;
+                try {
+                    job.service.performStep(stage.step);
+                    if (stepMillis > 0) {
+                        Thread.sleep(stepMillis);
+                    }
+                } catch (RuntimeException e) {
+                    stage.failed.incrementAndGet();
+                    System.out.println("Servicing of train " + job.trainId + " failed at " + stage.name + ": "
+                            + e.getMessage());
+                    serviced = false;
+                }
+                long finished = System.nanoTime();
+                stage.serviceTime.record(finished - started);
+                stage.busyNanos.addAndGet(finished - started);
+                if (serviced && next != null) {
+                    job.enqueuedAt = finished;
+                    next.queue.put(job);
+                    stage.blockedNanos.addAndGet(System.nanoTime() - finished);
+                } else {
+                    complete(job, serviced);
+                }
+            }
+        } catch (InterruptedException e) {
+            // Depot shut down.
+        }
+    }
+
+    private void complete(DepotJob job, boolean serviced) {
+        timeInDepot.record(System.nanoTime() - job.submittedAt);
+        synchronized (progress) {
+            if (serviced) {
+                this.serviced.add(job.trainId);
+            }
+            completed++;
+            progress.notifyAll();
+        }
+    }
+
+    // Per step: trains done, throughput, mean and p99 queue wait, mean service time, and how
+    // busy and how blocked the crew was. The busiest step is the bottleneck: adding bays anywhere else will not
+    // get more trains through.
+    public void displayStats() {
+        long elapsed = System.nanoTime() - startedAt;
+        double seconds = elapsed / 1e9;
+        DepotStage bottleneck = null;
+        System.out.println("--- Depot Servicing ---");
+        for (DepotStage stage : stages) {
+            long done = stage.serviceTime.getCount();
+            System.out.println(String.format(Locale.ROOT,
+                    "%-16s bays=%-3d done=%-7d rate=%8.1f/s wait mean=%9.2fms p99=%9.2fms service mean=%8.2fms busy=%5.1f%% blocked=%5.1f%% failed=%d",
+                    stage.name, stage.bays, done, seconds <= 0 ? 0 : done / seconds,
+                    stage.queueWait.getMean() / 1e6, stage.queueWait.getValueAtPercentile(99) / 1e6,
+                    stage.serviceTime.getMean() / 1e6, 100 * stage.utilization(elapsed),
+                    100 * stage.blockedShare(elapsed), stage.failed.get()));
+            if (bottleneck == null || stage.utilization(elapsed) > bottleneck.utilization(elapsed)) {
+                bottleneck = stage;
+            }
+        }
+        System.out.println(String.format(Locale.ROOT, "Trains serviced: %d in %.2fs, time in depot mean=%.2fms max=%.2fms",
+                timeInDepot.getCount(), seconds, timeInDepot.getMean() / 1e6, timeInDepot.getMax() / 1e6));
+        if (bottleneck != null && timeInDepot.getCount() > 0) {
+            System.out.println("Bottleneck: " + bottleneck.name);
+        }
+    }
+}
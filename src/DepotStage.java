@@ -0,0 +1,39 @@
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+// One servicing step: a bounded queue of trains waiting for it and a crew of `bays` workers.
+// A train that has finished here keeps its bay until the next queue has room for it, so a
+// slow step downstream shows up as blocked time here rather than as an ever-growing queue.
+class DepotStage {
+    final String name;
+    final int step;
+    final int bays;
+    final BlockingQueue<DepotJob> queue;
+    final LatencyHistogram queueWait = new LatencyHistogram();
+    final LatencyHistogram serviceTime = new LatencyHistogram();
+    final AtomicLong busyNanos = new AtomicLong();
+    final AtomicLong blockedNanos = new AtomicLong();
+    final AtomicLong failed = new AtomicLong();
+
+    DepotStage(int step, int bays, int queueCapacity) {
+        this.name = TrainWithTemplate.STEPS[step];
+        this.step = step;
+        this.bays = bays;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    // Share of the crew's time spent servicing. Time spent holding a finished train is not
+    // counted: that is the next step's capacity, not this one's.
+    double utilization(long elapsedNanos) {
+        return share(busyNanos.get(), elapsedNanos);
+    }
+
+    double blockedShare(long elapsedNanos) {
+        return share(blockedNanos.get(), elapsedNanos);
+    }
+
+    private double share(long nanos, long elapsedNanos) {
+        return elapsedNanos <= 0 ? 0 : (double) nanos / ((double) bays * elapsedNanos);
+    }
+}
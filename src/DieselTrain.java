@@ -0,0 +1,56 @@
+import java.util.List;
+
+class DieselTrain extends Train implements TrainOperations, MaintenanceOperations {
+
+    private DieselTrain(DieselTrainBuilder builder) {
+        super(builder);
+    }
+
+    public DieselTrain(String trainId, String trainType, String departureTime, String arrivalTime, String status) {
+        super(trainId, trainType, departureTime, arrivalTime, status);
+    }
+
+    private DieselTrain(DieselTrain template, String trainId, String departureTime, String arrivalTime,
+                        List<TrainStop> stops) {
+        super(template, trainId, departureTime, arrivalTime, stops);
+    }
+
+    @Override
+    DieselTrain instantiate(String trainId, String departureTime, String arrivalTime, List<TrainStop> stops) {
+        return new DieselTrain(this, trainId, departureTime, arrivalTime, stops);
+    }
+
+    @Override
+    public DieselTrain clone() {
+        return (DieselTrain) new DieselTrainBuilder()
+                .withTrainId(getTrainId())
+                .withTrainType(getTrainType())
+                .withDepartureTime(getDepartureTime())
+                .withArrivalTime(getArrivalTime())
+                .withStatus(getStatus())
+                .withStops(getStops())
+                .build();
+    }
+
+    @Override
+    public void startEngine() {
+        System.out.println("Diesel engine started.");
+    }
+
+    @Override
+    public void stopEngine() {
+        System.out.println("Diesel engine stopped.");
+    }
+
+    @Override
+    public void performMaintenance() {
+        System.out.println("Performing maintenance on diesel train.");
+    }
+
+    public static class DieselTrainBuilder extends TrainBuilder {
+        @Override
+        public DieselTrain build() {
+            return new DieselTrain(this);
+        }
+    }
+}
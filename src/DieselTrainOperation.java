@@ -0,0 +1,24 @@
+class DieselTrainOperation extends TrainOperationTemplate {
+    private DieselTrain train;
+
+    public DieselTrainOperation(DieselTrain train) {
+        this.train = train;
+    }
+
+    @Override
+    protected void startOperation() {
+        train.startEngine();
+        System.out.println("Diesel train operation started.");
+    }
+
+    @Override
+    protected void performOperation() {
+        System.out.println("Performing diesel train operation...");
+    }
+
+    @Override
+    protected void endOperation() {
+        train.stopEngine();
+        System.out.println("Diesel train operation ended.");
+    }
+}
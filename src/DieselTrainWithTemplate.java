@@ -0,0 +1,11 @@
+class DieselTrainWithTemplate extends TrainWithTemplate {
+    @Override
+    protected void checkSystems() {
+        System.out.println("Checking diesel systems...");
+    }
+
+    @Override
+    protected void refuelOrRecharge() {
+        System.out.println("Refueling diesel tank...");
+    }
+}
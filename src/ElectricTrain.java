@@ -0,0 +1,53 @@
+import java.util.List;
+
+class ElectricTrain extends Train implements TrainOperations, MaintenanceOperations {
+
+    private ElectricTrain(ElectricTrainBuilder builder) {
+        super(builder);
+    }
+    public ElectricTrain clone() {
+        return (ElectricTrain) new ElectricTrainBuilder()
+                .withTrainId(getTrainId())
+                .withTrainType(getTrainType())
+                .withDepartureTime(getDepartureTime())
+                .withArrivalTime(getArrivalTime())
+                .withStatus(getStatus())
+                .withStops(getStops())
+                .build();
+    }
+    public ElectricTrain(String trainId, String trainType, String departureTime, String arrivalTime, String status) {
+        super(trainId, trainType, departureTime, arrivalTime, status);
+    }
+
+    private ElectricTrain(ElectricTrain template, String trainId, String departureTime, String arrivalTime,
+                          List<TrainStop> stops) {
+        super(template, trainId, departureTime, arrivalTime, stops);
+    }
+
+    @Override
+    ElectricTrain instantiate(String trainId, String departureTime, String arrivalTime, List<TrainStop> stops) {
+        return new ElectricTrain(this, trainId, departureTime, arrivalTime, stops);
+    }
+
+    @Override
+    public void startEngine() {
+        System.out.println("Electric engine started.");
+    }
+
+    @Override
+    public void stopEngine() {
+        System.out.println("Electric engine stopped.");
+    }
+
+    @Override
+    public void performMaintenance() {
+        System.out.println("Performing maintenance on electric train.");
+    }
+
+    public static class ElectricTrainBuilder extends TrainBuilder {
+        @Override
+        public ElectricTrain build() {
+            return new ElectricTrain(this);
+        }
+    }
+}
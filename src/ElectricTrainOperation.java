@@ -0,0 +1,24 @@
+class ElectricTrainOperation extends TrainOperationTemplate {
+    private ElectricTrain train;
+
+    public ElectricTrainOperation(ElectricTrain train) {
+        this.train = train;
+    }
+
+    @Override
+    protected void startOperation() {
+        train.startEngine();
+        System.out.println("Electric train operation started.");
+    }
+
+    @Override
+    protected void performOperation() {
+        System.out.println("Performing electric train operation...");
+    }
+
+    @Override
+    protected void endOperation() {
+        train.stopEngine();
+        System.out.println("Electric train operation ended");
+    }
+}
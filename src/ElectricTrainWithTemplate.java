@@ -0,0 +1,11 @@
+class ElectricTrainWithTemplate extends TrainWithTemplate {
+    @Override
+    protected void checkSystems() {
+        System.out.println("Checking electric systems...");
+    }
+
+    @Override
+    protected void refuelOrRecharge() {
+        System.out.println("Recharging batteries...");
+    }
+}
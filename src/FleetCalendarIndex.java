@@ -0,0 +1,152 @@
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Fleet-wide calendar index over a fixed planning horizon. Rather than asking every train's
+// calendar, it keeps one bitset per day with a bit per train, so "running on D" is a single
+// row and "running on every Monday to Friday in a range" is a word-level AND of the matching
+// rows. Trains without a calendar run daily and sit in a separate set that is OR-ed in.
+// Dates outside the horizon fall back to checking each calendar. Each train's own days are
+// kept as well, so a calendar change only rewrites the rows of the days that differ.
+class FleetCalendarIndex implements TrainObserver {
+    private final LocalDate horizonStart;
+    private final int horizonDays;
+    private final BitSet[] rows;
+    private final BitSet daily = new BitSet();
+    private final Map<String, Integer> indexById = new HashMap<>();
+    private final List<Train> trains = new ArrayList<>();
+    private final List<BitSet> daysByIndex = new ArrayList<>();
+
+    public FleetCalendarIndex(LocalDate horizonStart, int horizonDays) {
+        this.horizonStart = horizonStart;
+        this.horizonDays = horizonDays;
+        this.rows = new BitSet[horizonDays];
+        for (int day = 0; day < horizonDays; day++) {
+            rows[day] = new BitSet();
+        }
+    }
+
+    public LocalDate getHorizonStart() {
+        return horizonStart;
+    }
+
+    public LocalDate getHorizonEnd() {
+        return horizonStart.plusDays(horizonDays - 1);
+    }
+
+    // A train added again under the same ID replaces the earlier one.
+    public synchronized void addTrain(Train train) {
+        Integer index = indexById.get(train.getTrainId());
+        if (index == null) {
+            index = trains.size();
+            indexById.put(train.getTrainId(), index);
+            trains.add(train);
+            daysByIndex.add(new BitSet());
+        } else {
+            trains.set(index, train);
+        }
+        train.addObserver(this);
+        refresh(index);
+    }
+
+    @Override
+    public synchronized void update(String trainId, String message, TrainChange change) {
+        Integer index = indexById.get(trainId);
+        if (index != null && change.isCalendarChanged()) {
+            refresh(index);
+        }
+    }
+
+    public synchronized List<Train> runningOn(LocalDate date) {
+        int day = dayOf(date);
+        BitSet running = day >= 0 ? (BitSet) rows[day].clone() : bitsOf(runningOnOutsideHorizon(date));
+        running.or(daily);
+        return trainsIn(running);
+    }
+
+    // Trains that run on every date in [from, to] falling on one of the weekdays.
+    public synchronized List<Train> runningEvery(LocalDate from, LocalDate to, Set<DayOfWeek> weekdays) {
+        BitSet running = null;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (!weekdays.contains(date.getDayOfWeek())) {
+                continue;
+            }
+            int day = dayOf(date);
+            BitSet row = day >= 0 ? rows[day] : bitsOf(runningOnOutsideHorizon(date));
+            if (running == null) {
+                running = (BitSet) row.clone();
+            } else {
+                running.and(row);
+            }
+            if (running.isEmpty()) {
+                break;
+            }
+        }
+        if (running == null) {
+            running = new BitSet();
+        }
+        running.or(daily);
+        return trainsIn(running);
+    }
+
+    // Trains that run on at least one date in [from, to] falling on one of the weekdays.
+    public synchronized List<Train> runningAny(LocalDate from, LocalDate to, Set<DayOfWeek> weekdays) {
+        BitSet running = (BitSet) daily.clone();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (weekdays.contains(date.getDayOfWeek())) {
+                int day = dayOf(date);
+                running.or(day >= 0 ? rows[day] : bitsOf(runningOnOutsideHorizon(date)));
+            }
+        }
+        return trainsIn(running);
+    }
+
+    private void refresh(int index) {
+        Train train = trains.get(index);
+        ServiceCalendar calendar = train.getCalendar();
+        daily.set(index, calendar == null);
+        BitSet days = calendar == null ? new BitSet() : calendar.daysFrom(horizonStart, horizonDays);
+        BitSet changed = daysByIndex.set(index, days);
+        changed.xor(days);
+        for (int day = changed.nextSetBit(0); day >= 0; day = changed.nextSetBit(day + 1)) {
+            rows[day].set(index, days.get(day));
+        }
+    }
+
+    private List<Train> runningOnOutsideHorizon(LocalDate date) {
+        List<Train> running = new ArrayList<>();
+        for (int index = 0; index < trains.size(); index++) {
+            ServiceCalendar calendar = trains.get(index).getCalendar();
+            if (calendar != null && calendar.runsOn(date)) {
+                running.add(trains.get(index));
+            }
+        }
+        return running;
+    }
+
+    private BitSet bitsOf(List<Train> running) {
+        BitSet bits = new BitSet();
+        for (Train train : running) {
+            bits.set(indexById.get(train.getTrainId()));
+        }
+        return bits;
+    }
+
+    private List<Train> trainsIn(BitSet bits) {
+        List<Train> result = new ArrayList<>(bits.cardinality());
+        for (int index = bits.nextSetBit(0); index >= 0; index = bits.nextSetBit(index + 1)) {
+            result.add(trains.get(index));
+        }
+        return result;
+    }
+
+    private int dayOf(LocalDate date) {
+        long day = date.toEpochDay() - horizonStart.toEpochDay();
+        return day < 0 || day >= horizonDays ? -1 : (int) day;
+    }
+}
@@ -0,0 +1,132 @@
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// Fleet-wide maintenance calendar ordered by due date. The ordered set answers "due within N
+// days" with one O(log n) seek plus the k matching entries, and due trains are taken off the
+// front of it when the date moves on, so the fleet is never scanned. Trains are state-changed
+// outside the scheduler's lock, so their observers never run while it is held.
+class FleetMaintenanceScheduler implements TrainObserver {
+    private final TreeSet<ScheduledService> byDueDate = new TreeSet<>();
+    private final Map<String, ScheduledService> byTrainId = new HashMap<>();
+    private final Map<String, Train> trains = new HashMap<>();
+    private LocalDate today;
+
+    FleetMaintenanceScheduler(LocalDate today) {
+        this.today = today;
+    }
+
+    // Schedules the train and follows it, rescheduling whenever its Maintenance record is replaced.
+    // A train that is already due goes into MaintenanceState now rather than at the next midnight.
+    public void addTrain(Train train) {
+        if (track(train)) {
+            processDue(getToday());
+        }
+    }
+
+    private synchronized boolean track(Train train) {
+        if (trains.putIfAbsent(train.getTrainId(), train) != null) {
+            return false;
+        }
+        train.addObserver(this);
+        schedule(train);
+        return true;
+    }
+
+    @Override
+    public synchronized void update(String trainId, String message, TrainChange change) {
+        Train train = trains.get(trainId);
+        if (train != null && change.isMaintenanceChanged()) {
+            schedule(train);
+        }
+    }
+
+    // (Re)schedules a train from its Maintenance record; trains without a usable one are taken
+    // off the calendar.
+    public synchronized void schedule(Train train) {
+        unschedule(train.getTrainId());
+        Maintenance maintenance = train.getMaintenance();
+        LocalDate dueDate = maintenance == null ? null : maintenance.getDueDate();
+        if (dueDate == null) {
+            return;
+        }
+        ScheduledService service = new ScheduledService(dueDate.toEpochDay(), train);
+        byDueDate.add(service);
+        byTrainId.put(train.getTrainId(), service);
+    }
+
+    public synchronized void unschedule(String trainId) {
+        ScheduledService service = byTrainId.remove(trainId);
+        if (service != null) {
+            byDueDate.remove(service);
+        }
+    }
+
+    // Trains due on or before today + days, overdue ones included, earliest first.
+    public synchronized List<Train> dueWithin(LocalDate today, int days) {
+        List<Train> due = new ArrayList<>();
+        for (ScheduledService service : byDueDate) {
+            if (service.dueDay > today.toEpochDay() + days) {
+                break;
+            }
+            due.add(service.train);
+        }
+        return due;
+    }
+
+    // Moves every train that is due by the given date into MaintenanceState. They stay off the
+    // calendar until recordService puts them back with their next due date.
+    public List<Train> processDue(LocalDate today) {
+        List<Train> moved = takeDue(today);
+        for (Train train : moved) {
+            train.changeState(new MaintenanceState());
+        }
+        return moved;
+    }
+
+    private synchronized List<Train> takeDue(LocalDate today) {
+        if (today.isAfter(this.today)) {
+            this.today = today;
+        }
+        List<Train> due = new ArrayList<>();
+        while (!byDueDate.isEmpty() && byDueDate.first().dueDay <= today.toEpochDay()) {
+            ScheduledService service = byDueDate.pollFirst();
+            byTrainId.remove(service.train.getTrainId());
+            due.add(service.train);
+        }
+        return due;
+    }
+
+    // Records a completed service: a train in MaintenanceState is released as Stopped and the
+    // train is given a new Maintenance record, which tells its observers about the service and
+    // puts it back on this calendar with its next due date.
+    public void recordService(Train train, String serviceDate) {
+        Maintenance maintenance = train.getMaintenance();
+        if (maintenance == null) {
+            System.out.println("Train " + train.getTrainId() + " has no maintenance record.");
+            return;
+        }
+        Maintenance serviced = maintenance.copy();
+        serviced.recordService(serviceDate);
+        if (train.getTrainState() instanceof MaintenanceState) {
+            train.changeState(new StoppedState());
+        }
+        train.setMaintenance(serviced);
+        addTrain(train);
+    }
+
+    public synchronized LocalDate getToday() {
+        return today;
+    }
+
+    public synchronized LocalDate nextDueDate() {
+        return byDueDate.isEmpty() ? null : LocalDate.ofEpochDay(byDueDate.first().dueDay);
+    }
+
+    public synchronized int size() {
+        return byDueDate.size();
+    }
+}
@@ -0,0 +1,117 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+// One fleet-wide run of TrainOperationTemplate lifecycles. Every train gets its own virtual
+// thread, but at most maxConcurrent trains are operating at any moment. Stopping lets the
+// trains already operating finish and cancels the ones that have not started yet.
+class FleetOperationRun {
+    private final List<Train> trains;
+    private final Semaphore permits;
+    private final Function<Train, TrainOperationTemplate> dispatch;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger unsupported = new AtomicInteger();
+    private final AtomicInteger cancelled = new AtomicInteger();
+    private final CountDownLatch done = new CountDownLatch(1);
+    private volatile boolean stopped;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+
+    FleetOperationRun(List<Train> trains, int maxConcurrent, Function<Train, TrainOperationTemplate> dispatch) {
+        this.trains = new ArrayList<>(trains);
+        this.permits = new Semaphore(Math.max(1, maxConcurrent));
+        this.dispatch = dispatch;
+    }
+
+    void start() {
+        startedAt = System.nanoTime();
+        Thread.ofVirtual().name("fleet-operations").start(this::dispatchAll);
+    }
+
+    void stop() {
+        stopped = true;
+    }
+
+    boolean isDone() {
+        return done.getCount() == 0;
+    }
+
+    void await() throws InterruptedException {
+        done.await();
+    }
+
+    private void dispatchAll() {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < trains.size(); i++) {
+                if (stopped) {
+                    cancelled.addAndGet(trains.size() - i);
+                    break;
+                }
+                permits.acquire();
+                Train train = trains.get(i);
+                executor.submit(() -> {
+                    try {
+                        operate(train);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            finishedAt = System.nanoTime();
+            done.countDown();
+        }
+    }
+
+    private void operate(Train train) {
+        TrainOperationTemplate operation = dispatch.apply(train);
+        if (operation == null) {
+            unsupported.incrementAndGet();
+            return;
+        }
+        running.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            operation.manageOperation();
+            long elapsed = System.nanoTime() - start;
+            latency.record(elapsed);
+            TrainMetrics.operation(operation.getClass()).record(elapsed);
+            completed.incrementAndGet();
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            System.out.println("Operation failed for train " + train.getTrainId() + ": " + e.getMessage());
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+
+    public int getTotal() { return trains.size(); }
+    public int getCompleted() { return completed.get(); }
+    public int getFailed() { return failed.get(); }
+    public int getUnsupported() { return unsupported.get(); }
+    public int getCancelled() { return cancelled.get(); }
+    public int getRunning() { return running.get(); }
+
+    public void displayProgress() {
+        long end = isDone() ? finishedAt : System.nanoTime();
+        int finished = completed.get() + failed.get() + unsupported.get() + cancelled.get();
+        System.out.println(String.format(Locale.ROOT,
+                "Fleet operations %s: %d/%d trains done (%d operated, %d failed, %d without an operation, %d cancelled), %d operating, %.2fs",
+                isDone() ? "finished" : stopped ? "stopping" : "running", finished, trains.size(), completed.get(),
+                failed.get(), unsupported.get(), cancelled.get(), running.get(), (end - startedAt) / 1e9));
+        System.out.println(String.format(Locale.ROOT, "Operation latency: mean=%.2fus p50=%.2fus p99=%.2fus max=%.2fus",
+                latency.getMean() / 1e3, latency.getValueAtPercentile(50) / 1e3,
+                latency.getValueAtPercentile(99) / 1e3, latency.getMax() / 1e3));
+    }
+}
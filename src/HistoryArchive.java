@@ -0,0 +1,252 @@
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Append-only history of train notifications and mementos that survives restarts. Records go
+// to an uncompressed active log, flushed per record; when the log holds segmentRecords records
+// or a new day starts, it is rolled into a compressed HistorySegment and emptied. Queries for
+// a train and time range only open the segments whose time range and train list match.
+// The log starts with the number of the segment it will be rolled into, so a log whose
+// segment already exists (the process stopped between writing the segment and emptying the
+// log) is known to be rolled and is not replayed a second time.
+class HistoryArchive implements ScheduleListener {
+    private static final String ACTIVE_LOG = "active.log";
+    private static final int LOG_MAGIC = 0x54534c31; // "TSL1"
+    private static final int LOG_HEADER_BYTES = 4 + 8;
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final List<HistorySegment> segments = new ArrayList<>();
+    private final List<HistoryRecord> active = new ArrayList<>();
+    private final Map<String, Train> trains = new HashMap<>();
+    private DataOutputStream activeLog;
+    private long activeRawBytes;
+    private long nextSegment = 1;
+    // This session only: what callers appended, and what went to disk for it.
+    private long appendedBytes;
+    private long writtenBytes;
+
+    private HistoryArchive(Path directory, int segmentRecords) {
+        this.directory = directory;
+        this.segmentRecords = Math.max(1, segmentRecords);
+    }
+
+    // Opens (or creates) the archive in the directory, picking up an unfinished active log.
+    public static HistoryArchive open(Path directory, int segmentRecords) throws IOException {
+        HistoryArchive archive = new HistoryArchive(directory, segmentRecords);
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.sorted().toList()) {
+                String name = file.getFileName().toString();
+                if (name.startsWith("segment-") && name.endsWith(".seg")) {
+                    archive.segments.add(HistorySegment.open(file));
+                    archive.nextSegment = Math.max(archive.nextSegment,
+                            Long.parseLong(name.substring(8, name.length() - 4)) + 1);
+                }
+            }
+        }
+        Path log = directory.resolve(ACTIVE_LOG);
+        boolean resume = Files.exists(log) && archive.replay(log);
+        archive.openLog(!resume);
+        return archive;
+    }
+
+    // A crash can leave half a record at the end of the log; everything before it is kept.
+    // Returns false if there is nothing to keep, header included.
+    private boolean replay(Path log) throws IOException {
+        byte[] bytes = Files.readAllBytes(log);
+        ByteArrayInputStream buffer = new ByteArrayInputStream(bytes);
+        DataInputStream in = new DataInputStream(buffer);
+        long valid = 0;
+        try {
+            if (in.readInt() != LOG_MAGIC) {
+                throw new IOException(log + " is not a history log");
+            }
+            long segment = in.readLong();
+            if (Files.exists(segmentFile(segment))) {
+                return false;
+            }
+            valid = LOG_HEADER_BYTES;
+            while (true) {
+                active.add(HistoryRecord.readFrom(in));
+                valid = bytes.length - buffer.available();
+            }
+        } catch (EOFException e) {
+            // End of the log, or a torn last record.
+        }
+        if (valid == 0) {
+            return false;
+        }
+        activeRawBytes = valid - LOG_HEADER_BYTES;
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(valid);
+        }
+        return true;
+    }
+
+    // Opens the active log for appending; a fresh one is started with its segment number.
+    private void openLog(boolean fresh) throws IOException {
+        Path log = directory.resolve(ACTIVE_LOG);
+        activeLog = new DataOutputStream(new BufferedOutputStream(fresh
+                ? Files.newOutputStream(log, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE)
+                : Files.newOutputStream(log, StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+        if (fresh) {
+            activeLog.writeInt(LOG_MAGIC);
+            activeLog.writeLong(nextSegment);
+            activeLog.flush();
+            writtenBytes += LOG_HEADER_BYTES;
+        }
+    }
+
+    private Path segmentFile(long number) {
+        return directory.resolve(String.format(Locale.ROOT, "segment-%08d.seg", number));
+    }
+
+    @Override
+    public synchronized void trainAdded(Train train) {
+        if (trains.putIfAbsent(train.getTrainId(), train) == null) {
+            train.addObserver((trainId, message, change) -> recordNotification(train, message, change));
+            append(new HistoryRecord(System.currentTimeMillis(), HistoryRecord.EVENT, train.getTrainId(),
+                    new String[]{"Added to schedule"}));
+        }
+    }
+
+    @Override
+    public void stationAdded(Station station) {
+    }
+
+    private synchronized void recordNotification(Train train, String message, TrainChange change) {
+        TrainMemento memento = change.getSavedMemento();
+        if (memento != null) {
+            append(new HistoryRecord(System.currentTimeMillis(), HistoryRecord.MEMENTO, train.getTrainId(),
+                    new String[]{memento.getTrainType(), memento.getDepartureTime(), memento.getArrivalTime(),
+                            memento.getStatus()}));
+        } else {
+            append(new HistoryRecord(System.currentTimeMillis(), HistoryRecord.EVENT, train.getTrainId(),
+                    new String[]{message}));
+        }
+    }
+
+    public synchronized void append(HistoryRecord record) {
+        if (!active.isEmpty() && (active.size() >= segmentRecords
+                || day(record.timestampMillis) != day(active.get(0).timestampMillis))) {
+            roll();
+        }
+        int before = activeLog.size();
+        try {
+            record.writeTo(activeLog);
+            activeLog.flush();
+        } catch (IOException e) {
+            System.out.println("Could not write history record: " + e.getMessage());
+            return;
+        }
+        // What writeUTF actually wrote (modified UTF-8), not what the strings would take in UTF-8.
+        long size = activeLog.size() - before;
+        active.add(record);
+        activeRawBytes += size;
+        appendedBytes += size;
+        writtenBytes += size;
+    }
+
+    // Compresses the active log into a new segment and starts an empty log.
+    public synchronized void roll() {
+        if (active.isEmpty()) {
+            return;
+        }
+        try {
+            HistorySegment segment = HistorySegment.write(segmentFile(nextSegment), active, activeRawBytes);
+            nextSegment++;
+            segments.add(segment);
+            writtenBytes += segment.storedBytes;
+            activeLog.close();
+            openLog(true);
+            active.clear();
+            activeRawBytes = 0;
+        } catch (IOException e) {
+            System.out.println("Could not roll history segment: " + e.getMessage());
+        }
+    }
+
+    public synchronized void close() {
+        try {
+            activeLog.close();
+        } catch (IOException e) {
+            System.out.println("Could not close history log: " + e.getMessage());
+        }
+    }
+
+    // Up to limit records of the train (all trains if null) between the two times, oldest first.
+    public synchronized List<HistoryRecord> history(String trainId, long fromMillis, long toMillis, int limit) {
+        List<HistoryRecord> records = new ArrayList<>();
+        for (HistorySegment segment : segments) {
+            if (records.size() >= limit) {
+                break;
+            }
+            if (segment.mayContain(trainId, fromMillis, toMillis)) {
+                try {
+                    segment.read(trainId, fromMillis, toMillis, records, limit);
+                } catch (IOException e) {
+                    System.out.println("Could not read " + segment.file.getFileName() + ": " + e.getMessage());
+                }
+            }
+        }
+        for (HistoryRecord record : active) {
+            if (records.size() >= limit) {
+                break;
+            }
+            if (record.timestampMillis >= fromMillis && record.timestampMillis <= toMillis
+                    && (trainId == null || trainId.equals(record.trainId))) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    // Mementos of the train as archived, oldest first.
+    public List<TrainMemento> mementos(String trainId) {
+        List<TrainMemento> mementos = new ArrayList<>();
+        for (HistoryRecord record : history(trainId, Long.MIN_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE)) {
+            if (record.kind == HistoryRecord.MEMENTO) {
+                mementos.add(record.toMemento());
+            }
+        }
+        return mementos;
+    }
+
+    // Storage ratio: raw record bytes per stored segment byte. Write amplification: bytes
+    // written to disk (log plus segments) per byte of records appended this session.
+    public synchronized void displayStats() {
+        long records = active.size();
+        long raw = 0;
+        long stored = 0;
+        for (HistorySegment segment : segments) {
+            records += segment.recordCount;
+            raw += segment.rawBytes;
+            stored += segment.storedBytes;
+        }
+        System.out.println("History segments: " + segments.size() + ", records: " + records + " (" + active.size()
+                + " in the active log)");
+        System.out.println(String.format(Locale.ROOT,
+                "Segments: %d raw bytes stored in %d bytes, ratio %.2f; write amplification %.2f",
+                raw, stored, stored == 0 ? 0 : (double) raw / stored,
+                appendedBytes == 0 ? 0 : (double) writtenBytes / appendedBytes));
+    }
+
+    private static long day(long timestampMillis) {
+        return Math.floorDiv(timestampMillis, 86_400_000L);
+    }
+}
@@ -0,0 +1,65 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+
+// One archived fact about a train: a notification it sent (EVENT: the message) or a memento
+// taken of it (MEMENTO: type, departure, arrival, status).
+class HistoryRecord {
+    static final byte EVENT = 'V';
+    static final byte MEMENTO = 'M';
+
+    final long timestampMillis;
+    final byte kind;
+    final String trainId;
+    final String[] fields;
+
+    HistoryRecord(long timestampMillis, byte kind, String trainId, String[] fields) {
+        this.timestampMillis = timestampMillis;
+        this.kind = kind;
+        this.trainId = trainId;
+        this.fields = fields;
+    }
+
+    static int fieldCount(byte kind) {
+        return kind == MEMENTO ? 4 : 1;
+    }
+
+    TrainMemento toMemento() {
+        return kind == MEMENTO ? new TrainMemento(trainId, fields[0], fields[1], fields[2], fields[3]) : null;
+    }
+
+    // Uncompressed form, as written to the active log.
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeLong(timestampMillis);
+        out.writeByte(kind);
+        out.writeUTF(trainId);
+        for (String field : fields) {
+            out.writeBoolean(field != null);
+            if (field != null) {
+                out.writeUTF(field);
+            }
+        }
+    }
+
+    static HistoryRecord readFrom(DataInputStream in) throws IOException {
+        long timestampMillis = in.readLong();
+        byte kind = in.readByte();
+        String trainId = in.readUTF();
+        String[] fields = new String[fieldCount(kind)];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = in.readBoolean() ? in.readUTF() : null;
+        }
+        return new HistoryRecord(timestampMillis, kind, trainId, fields);
+    }
+
+    public void displayRecord() {
+        String when = Instant.ofEpochMilli(timestampMillis).toString();
+        if (kind == MEMENTO) {
+            System.out.println(when + "  " + trainId + "  memento: Type: " + fields[0] + ", Departure: " + fields[1]
+                    + ", Arrival: " + fields[2] + ", Status: " + fields[3]);
+        } else {
+            System.out.println(when + "  " + trainId + "  " + fields[0]);
+        }
+    }
+}
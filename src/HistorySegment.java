@@ -0,0 +1,194 @@
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+// An immutable, compressed segment file. Layout: a fixed header (magic, record count, time
+// range, raw size, section offsets), the IDs of the trains in it, the string dictionary, a
+// sparse time index (one entry per INDEX_INTERVAL records) and the records, sorted by time.
+// A record is a zig-zag varint time delta, its kind, then the dictionary codes of the train ID
+// and each field (0 for null). Only the header and train list are kept in memory; the rest
+// is read through a memory mapping when a query needs this segment.
+class HistorySegment {
+    static final int MAGIC = 0x54534731; // "TSG1"
+    static final int INDEX_INTERVAL = 128;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 8 + 4 * 4;
+
+    final Path file;
+    final int recordCount;
+    final long minTime;
+    final long maxTime;
+    final long rawBytes;
+    final long storedBytes;
+    final Set<String> trainIds;
+    private final int dictionaryOffset;
+    private final int indexOffset;
+    private final int recordsOffset;
+
+    private HistorySegment(Path file, ByteBuffer header, long storedBytes) {
+        this.file = file;
+        if (header.getInt() != MAGIC) {
+            throw new IllegalArgumentException(file + " is not a history segment");
+        }
+        this.recordCount = header.getInt();
+        this.minTime = header.getLong();
+        this.maxTime = header.getLong();
+        this.rawBytes = header.getLong();
+        int trainsOffset = header.getInt();
+        this.dictionaryOffset = header.getInt();
+        this.indexOffset = header.getInt();
+        this.recordsOffset = header.getInt();
+        this.storedBytes = storedBytes;
+        header.position(trainsOffset);
+        int trains = (int) Varint.read(header);
+        this.trainIds = new HashSet<>();
+        for (int i = 0; i < trains; i++) {
+            trainIds.add(Varint.readString(header));
+        }
+    }
+
+    static HistorySegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new HistorySegment(file, buffer, channel.size());
+        }
+    }
+
+    // Writes the records (in any order) as a new segment file and opens it.
+    static HistorySegment write(Path file, List<HistoryRecord> records, long rawBytes) throws IOException {
+        List<HistoryRecord> sorted = new ArrayList<>(records);
+        sorted.sort(Comparator.comparingLong(record -> record.timestampMillis));
+
+        Map<String, Integer> codes = new LinkedHashMap<>();
+        Set<String> trainIds = new TreeSet<>();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        ByteArrayOutputStream index = new ByteArrayOutputStream();
+        int indexEntries = 0;
+        long previous = sorted.get(0).timestampMillis;
+        for (int i = 0; i < sorted.size(); i++) {
+            HistoryRecord record = sorted.get(i);
+            if (i % INDEX_INTERVAL == 0) {
+                Varint.write(index, Varint.zigZag(record.timestampMillis - sorted.get(0).timestampMillis));
+                Varint.write(index, body.size());
+                Varint.write(index, Varint.zigZag(record.timestampMillis - previous));
+                indexEntries++;
+            }
+            Varint.write(body, Varint.zigZag(record.timestampMillis - previous));
+            previous = record.timestampMillis;
+            body.write(record.kind);
+            Varint.write(body, code(codes, record.trainId));
+            for (String field : record.fields) {
+                Varint.write(body, code(codes, field));
+            }
+            trainIds.add(record.trainId);
+        }
+
+        ByteArrayOutputStream trains = new ByteArrayOutputStream();
+        Varint.write(trains, trainIds.size());
+        for (String trainId : trainIds) {
+            Varint.writeString(trains, trainId);
+        }
+        ByteArrayOutputStream dictionary = new ByteArrayOutputStream();
+        Varint.write(dictionary, codes.size());
+        for (String value : codes.keySet()) {
+            Varint.writeString(dictionary, value);
+        }
+        ByteArrayOutputStream sparse = new ByteArrayOutputStream();
+        Varint.write(sparse, indexEntries);
+        index.writeTo(sparse);
+
+        int trainsOffset = HEADER_BYTES;
+        int dictionaryOffset = trainsOffset + trains.size();
+        int indexOffset = dictionaryOffset + dictionary.size();
+        int recordsOffset = indexOffset + sparse.size();
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(sorted.size());
+            out.writeLong(sorted.get(0).timestampMillis);
+            out.writeLong(sorted.get(sorted.size() - 1).timestampMillis);
+            out.writeLong(rawBytes);
+            out.writeInt(trainsOffset);
+            out.writeInt(dictionaryOffset);
+            out.writeInt(indexOffset);
+            out.writeInt(recordsOffset);
+            trains.writeTo(out);
+            dictionary.writeTo(out);
+            sparse.writeTo(out);
+            body.writeTo(out);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return open(file);
+    }
+
+    private static int code(Map<String, Integer> codes, String value) {
+        return value == null ? 0 : codes.computeIfAbsent(value, v -> codes.size() + 1);
+    }
+
+    boolean mayContain(String trainId, long from, long to) {
+        return maxTime >= from && minTime <= to && (trainId == null || trainIds.contains(trainId));
+    }
+
+    // Records of the train (or of all trains if null) with from <= time <= to, in time order.
+    void read(String trainId, long from, long to, List<HistoryRecord> into, int limit) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.position(dictionaryOffset);
+            String[] dictionary = new String[(int) Varint.read(buffer) + 1];
+            for (int i = 1; i < dictionary.length; i++) {
+                dictionary[i] = Varint.readString(buffer);
+            }
+
+            // Start from the last sparse index entry at or before `from`.
+            buffer.position(indexOffset);
+            int entries = (int) Varint.read(buffer);
+            int ordinal = 0;
+            int offset = 0;
+            long time = minTime;
+            for (int i = 0; i < entries; i++) {
+                long entryTime = minTime + Varint.unZigZag(Varint.read(buffer));
+                int entryOffset = (int) Varint.read(buffer);
+                long entryDelta = Varint.unZigZag(Varint.read(buffer));
+                if (entryTime > from) {
+                    break;
+                }
+                ordinal = i * INDEX_INTERVAL;
+                offset = entryOffset;
+                time = entryTime - entryDelta;
+            }
+
+            buffer.position(recordsOffset + offset);
+            String[] fields;
+            for (; ordinal < recordCount && into.size() < limit; ordinal++) {
+                time += Varint.unZigZag(Varint.read(buffer));
+                byte kind = buffer.get();
+                String recordTrainId = dictionary[(int) Varint.read(buffer)];
+                fields = new String[HistoryRecord.fieldCount(kind)];
+                for (int i = 0; i < fields.length; i++) {
+                    fields[i] = dictionary[(int) Varint.read(buffer)];
+                }
+                if (time > to) {
+                    return;
+                }
+                if (time >= from && (trainId == null || trainId.equals(recordTrainId))) {
+                    into.add(new HistoryRecord(time, kind, recordTrainId, fields));
+                }
+            }
+        }
+    }
+}
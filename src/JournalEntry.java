@@ -0,0 +1,22 @@
+// One command as the journal saw it run, with the ticket state on either side of it. Undo
+// and redo restore these snapshots. commands is how many original commands the entry stands
+// for after compaction; name is the command's, or "net change" for a compacted entry.
+class JournalEntry {
+    final Ticket ticket;
+    final String name;
+    final TicketSnapshot before;
+    final TicketSnapshot after;
+    final int commands;
+
+    JournalEntry(Ticket ticket, String name, TicketSnapshot before, TicketSnapshot after, int commands) {
+        this.ticket = ticket;
+        this.name = name;
+        this.before = before;
+        this.after = after;
+        this.commands = commands;
+    }
+
+    String describe() {
+        return (commands > 1 ? commands + " commands" : name) + ": " + before + " -> " + after;
+    }
+}
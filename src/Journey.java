@@ -0,0 +1,26 @@
+import java.util.Collections;
+import java.util.List;
+
+class Journey {
+    private final List<JourneyLeg> legs;
+
+    public Journey(List<JourneyLeg> legs) {
+        this.legs = Collections.unmodifiableList(legs);
+    }
+
+    public List<JourneyLeg> getLegs() {
+        return legs;
+    }
+
+    public String getArrivalTime() {
+        return legs.get(legs.size() - 1).getArrivalTime();
+    }
+
+    public void displayJourneyInfo() {
+        for (JourneyLeg leg : legs) {
+            System.out.println("Train " + leg.getTrainId() + ": " + leg.getFromStation() + " " + leg.getDepartureTime()
+                    + " -> " + leg.getToStation() + " " + leg.getArrivalTime());
+        }
+        System.out.println("Arrival: " + getArrivalTime() + " (" + (legs.size() - 1) + " transfers)");
+    }
+}
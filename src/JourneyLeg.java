@@ -0,0 +1,21 @@
+class JourneyLeg {
+    private final String trainId;
+    private final String fromStation;
+    private final String toStation;
+    private final String departureTime;
+    private final String arrivalTime;
+
+    public JourneyLeg(String trainId, String fromStation, String toStation, String departureTime, String arrivalTime) {
+        this.trainId = trainId;
+        this.fromStation = fromStation;
+        this.toStation = toStation;
+        this.departureTime = departureTime;
+        this.arrivalTime = arrivalTime;
+    }
+
+    public String getTrainId() { return trainId; }
+    public String getFromStation() { return fromStation; }
+    public String getToStation() { return toStation; }
+    public String getDepartureTime() { return departureTime; }
+    public String getArrivalTime() { return arrivalTime; }
+}
@@ -0,0 +1,201 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Earliest-arrival journey planning with the Connection Scan Algorithm. Queries run lock-free
+// against the current ConnectionTable; when a train's times change only that train's
+// connections are recompiled and merged into a new table, which is then published.
+class JourneyPlanner implements TrainObserver {
+    private final Map<String, Train> trains = new ConcurrentHashMap<>();
+    private final Set<String> dirtyTrains = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<JourneyScratch> scratch = ThreadLocal.withInitial(JourneyScratch::new);
+    private final int minTransferMinutes;
+    private volatile ConnectionTable table = ConnectionTable.empty();
+
+    public JourneyPlanner(int minTransferMinutes) {
+        this.minTransferMinutes = minTransferMinutes;
+    }
+
+    public void addTrain(Train train) {
+        if (train.getStops().size() < 2) {
+            return;
+        }
+        trains.put(train.getTrainId(), train);
+        train.addObserver(this);
+        dirtyTrains.add(train.getTrainId());
+    }
+
+    @Override
+    public void update(String trainId, String message, TrainChange change) {
+        if (change.changesTimes() && trains.containsKey(trainId)) {
+            dirtyTrains.add(trainId);
+        }
+    }
+
+    // Earliest arrival minute at the destination, or -1 if it cannot be reached that day.
+    public int earliestArrival(String fromStation, String toStation, String departAfter) {
+        ConnectionTable current = currentTable();
+        int target = current.stationId(toStation);
+        JourneyScratch search = scratch.get();
+        if (!scan(current, current.stationId(fromStation), target, TrainTime.toMinutes(departAfter), search)) {
+            return -1;
+        }
+        return search.arrivalAt(target);
+    }
+
+    public Journey planJourney(String fromStation, String toStation, String departAfter) {
+        ConnectionTable current = currentTable();
+        int source = current.stationId(fromStation);
+        int target = current.stationId(toStation);
+        JourneyScratch search = scratch.get();
+        if (!scan(current, source, target, TrainTime.toMinutes(departAfter), search)) {
+            return null;
+        }
+        List<JourneyLeg> legs = new ArrayList<>();
+        int station = target;
+        while (station != source) {
+            int exit = search.reachedBy[station];
+            int entry = search.boardedAt[current.trip[exit]];
+            legs.add(new JourneyLeg(current.tripTrainIds[current.trip[exit]],
+                    current.stationNames[current.fromStation[entry]], current.stationNames[current.toStation[exit]],
+                    TrainTime.format(current.departure[entry]), TrainTime.format(current.arrival[exit])));
+            station = current.fromStation[entry];
+        }
+        Collections.reverse(legs);
+        return new Journey(legs);
+    }
+
+    private boolean scan(ConnectionTable current, int source, int target, int startMinute, JourneyScratch search) {
+        if (source < 0 || target < 0 || startMinute < 0 || source == target) {
+            return false;
+        }
+        search.reset(current.stationNames.length, current.tripTrainIds.length);
+        search.reach(source, startMinute, -1);
+        for (int c = current.firstDepartingAt(startMinute); c < current.size; c++) {
+            int departure = current.departure[c];
+            if (search.arrivalAt(target) <= departure) {
+                break;
+            }
+            int trip = current.trip[c];
+            if (!search.isBoarded(trip)) {
+                int from = current.fromStation[c];
+                int ready = search.arrivalAt(from);
+                if (ready == Integer.MAX_VALUE || ready + (from == source ? 0 : minTransferMinutes) > departure) {
+                    continue;
+                }
+                search.board(trip, c);
+            }
+            int to = current.toStation[c];
+            if (current.arrival[c] < search.arrivalAt(to)) {
+                search.reach(to, current.arrival[c], c);
+            }
+        }
+        return search.arrivalAt(target) != Integer.MAX_VALUE;
+    }
+
+    private ConnectionTable currentTable() {
+        if (!dirtyTrains.isEmpty()) {
+            refresh();
+        }
+        return table;
+    }
+
+    // Recompiles only the changed trains and merges them into the sorted table.
+    private synchronized void refresh() {
+        if (dirtyTrains.isEmpty()) {
+            return;
+        }
+        ConnectionTable old = table;
+        Map<String, Integer> stationIds = new HashMap<>(old.stationIds);
+        List<String> stationNames = new ArrayList<>(Arrays.asList(old.stationNames));
+        List<String> tripTrainIds = new ArrayList<>(Arrays.asList(old.tripTrainIds));
+        Map<String, Integer> tripIds = new HashMap<>();
+        for (int i = 0; i < tripTrainIds.size(); i++) {
+            tripIds.put(tripTrainIds.get(i), i);
+        }
+
+        boolean[] replaced = new boolean[tripTrainIds.size()];
+        List<long[]> fresh = new ArrayList<>();
+        for (String trainId : dirtyTrains) {
+            dirtyTrains.remove(trainId);
+            Integer trip = tripIds.get(trainId);
+            if (trip == null) {
+                trip = tripTrainIds.size();
+                tripTrainIds.add(trainId);
+                tripIds.put(trainId, trip);
+            } else {
+                replaced[trip] = true;
+            }
+            compile(trains.get(trainId), trip, stationIds, stationNames, fresh);
+        }
+        fresh.sort((a, b) -> a[2] != b[2] ? Long.compare(a[2], b[2]) : Long.compare(a[3], b[3]));
+
+        int capacity = old.size + fresh.size();
+        int[] fromStation = new int[capacity];
+        int[] toStation = new int[capacity];
+        int[] departure = new int[capacity];
+        int[] arrival = new int[capacity];
+        int[] trip = new int[capacity];
+        int size = 0;
+        int o = 0;
+        int f = 0;
+        while (o < old.size || f < fresh.size()) {
+            if (o < old.size && replaced[old.trip[o]]) {
+                o++;
+                continue;
+            }
+            boolean takeOld = f == fresh.size() || (o < old.size && (old.departure[o] < fresh.get(f)[2]
+                    || (old.departure[o] == fresh.get(f)[2] && old.arrival[o] <= fresh.get(f)[3])));
+            if (takeOld) {
+                fromStation[size] = old.fromStation[o];
+                toStation[size] = old.toStation[o];
+                departure[size] = old.departure[o];
+                arrival[size] = old.arrival[o];
+                trip[size++] = old.trip[o++];
+            } else {
+                long[] connection = fresh.get(f++);
+                fromStation[size] = (int) connection[0];
+                toStation[size] = (int) connection[1];
+                departure[size] = (int) connection[2];
+                arrival[size] = (int) connection[3];
+                trip[size++] = (int) connection[4];
+            }
+        }
+        table = new ConnectionTable(fromStation, toStation, departure, arrival, trip, size, stationIds,
+                stationNames.toArray(new String[0]), tripTrainIds.toArray(new String[0]));
+    }
+
+    // Stop times are shifted by the train's schedule offset, so a delay applied through
+    // TrainTimeUpdater moves every connection of the trip.
+    private static void compile(Train train, int trip, Map<String, Integer> stationIds, List<String> stationNames,
+                                List<long[]> out) {
+        List<TrainStop> stops = train.getStops();
+        int offset = train.getScheduleOffsetMinutes();
+        int previousTime = -1;
+        int previousStation = -1;
+        int departure = -1;
+        for (TrainStop stop : stops) {
+            int station = stationIds.computeIfAbsent(stop.getStationName(), name -> {
+                stationNames.add(name);
+                return stationNames.size() - 1;
+            });
+            int arrival = TrainTime.unwrap(TrainTime.toMinutes(stop.getArrivalTime()), previousTime);
+            if (arrival >= 0) {
+                previousTime = arrival;
+                if (previousStation >= 0 && departure >= 0) {
+                    out.add(new long[]{previousStation, station, departure + offset, arrival + offset, trip});
+                }
+            }
+            departure = TrainTime.unwrap(TrainTime.toMinutes(stop.getDepartureTime()), previousTime);
+            if (departure >= 0) {
+                previousTime = departure;
+            }
+            previousStation = station;
+        }
+    }
+}
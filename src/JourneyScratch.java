@@ -0,0 +1,49 @@
+import java.util.Arrays;
+
+// Per-thread buffers for one query. Generation stamps stand in for clearing the arrays.
+class JourneyScratch {
+    int[] earliestArrival = new int[0];
+    int[] reachedBy = new int[0];
+    int[] stationStamp = new int[0];
+    int[] boardedAt = new int[0];
+    int[] tripStamp = new int[0];
+    int generation;
+
+    void reset(int stations, int trips) {
+        if (earliestArrival.length < stations) {
+            int capacity = Math.max(stations, earliestArrival.length * 2);
+            earliestArrival = new int[capacity];
+            reachedBy = new int[capacity];
+            stationStamp = new int[capacity];
+            generation = 0;
+            Arrays.fill(tripStamp, 0);
+        }
+        if (boardedAt.length < trips) {
+            int capacity = Math.max(trips, boardedAt.length * 2);
+            boardedAt = new int[capacity];
+            tripStamp = new int[capacity];
+            generation = 0;
+            Arrays.fill(stationStamp, 0);
+        }
+        generation++;
+    }
+
+    int arrivalAt(int station) {
+        return stationStamp[station] == generation ? earliestArrival[station] : Integer.MAX_VALUE;
+    }
+
+    void reach(int station, int minute, int connection) {
+        earliestArrival[station] = minute;
+        reachedBy[station] = connection;
+        stationStamp[station] = generation;
+    }
+
+    boolean isBoarded(int trip) {
+        return tripStamp[trip] == generation;
+    }
+
+    void board(int trip, int connection) {
+        boardedAt[trip] = connection;
+        tripStamp[trip] = generation;
+    }
+}
@@ -0,0 +1,60 @@
+import java.util.Arrays;
+
+// Binary min-heap of (key, value) pairs packed into longs: key in the high 32 bits.
+class LongHeap {
+    private long[] entries = new long[64];
+    private int size;
+
+    void push(int key, int value) {
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size * 2);
+        }
+        long entry = ((long) key << 32) | (value & 0xffffffffL);
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (entries[parent] <= entry) {
+                break;
+            }
+            entries[i] = entries[parent];
+            i = parent;
+        }
+        entries[i] = entry;
+    }
+
+    long pop() {
+        long top = entries[0];
+        long last = entries[--size];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && entries[child + 1] < entries[child]) {
+                child++;
+            }
+            if (last <= entries[child]) {
+                break;
+            }
+            entries[i] = entries[child];
+            i = child;
+        }
+        if (size > 0) {
+            entries[i] = last;
+        }
+        return top;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+}
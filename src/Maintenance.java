@@ -0,0 +1,56 @@
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+class Maintenance {
+    private String lastServiceDate;
+    private int serviceIntervalDays;
+
+    public Maintenance(String lastServiceDate, int serviceIntervalDays) {
+        this.lastServiceDate = lastServiceDate;
+        this.serviceIntervalDays = serviceIntervalDays;
+    }
+
+    public String getLastServiceDate() {
+        return lastServiceDate;
+    }
+
+    public int getServiceIntervalDays() {
+        return serviceIntervalDays;
+    }
+
+    public void recordService(String serviceDate) {
+        this.lastServiceDate = serviceDate;
+    }
+
+    public Maintenance copy() {
+        return new Maintenance(lastServiceDate, serviceIntervalDays);
+    }
+
+    // Dates are ISO yyyy-MM-dd; null when the last service date cannot be parsed.
+    public LocalDate getDueDate() {
+        try {
+            return LocalDate.parse(lastServiceDate).plusDays(serviceIntervalDays);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    public void displayMaintenanceInfo() {
+        System.out.println("Last service: " + lastServiceDate + ", Service interval: " + serviceIntervalDays + " days"
+                + ", Due: " + getDueDate());
+    }
+
+    public boolean isServiceDue(String currentDate) {
+        LocalDate dueDate = getDueDate();
+        if (dueDate == null) {
+            System.out.println("Invalid last service date: " + lastServiceDate);
+            return false;
+        }
+        try {
+            return !LocalDate.parse(currentDate).isBefore(dueDate);
+        } catch (DateTimeParseException e) {
+            System.out.println("Invalid date: " + currentDate);
+            return false;
+        }
+    }
+}
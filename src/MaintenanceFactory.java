@@ -0,0 +1,3 @@
+interface MaintenanceFactory {
+    Maintenance createMaintenance(String lastServiceDate, int serviceIntervalDays);
+}
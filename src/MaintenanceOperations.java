@@ -0,0 +1,3 @@
+interface MaintenanceOperations {
+    void performMaintenance();
+}
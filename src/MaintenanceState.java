@@ -0,0 +1,14 @@
+import java.io.PrintStream;
+
+class MaintenanceState implements TrainState {
+    @Override
+    public void handle(TrainContext context, PrintStream out) {
+        out.println("The train is under maintenance.");
+        context.setState(this);
+    }
+
+    @Override
+    public String toString() {
+        return "Maintenance State";
+    }
+}
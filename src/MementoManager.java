@@ -0,0 +1,27 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+
+// Memento Manager
+class MementoManager {
+    private final Map<String, List<TrainMemento>> mementoMap = new HashMap<>();
+
+    public void saveMemento(String trainId, TrainMemento memento) {
+        mementoMap.putIfAbsent(trainId, new ArrayList<>());
+        mementoMap.get(trainId).add(memento);
+    }
+
+    public TrainMemento getMemento(String trainId, int index) {
+        List<TrainMemento> mementos = mementoMap.get(trainId);
+        if (mementos != null && index < mementos.size()) {
+            return mementos.get(index);
+        }
+        return null;
+    }
+
+    public List<TrainMemento> getMementos(String trainId) {
+        return new ArrayList<>(mementoMap.getOrDefault(trainId, Collections.emptyList()));
+    }
+}
@@ -0,0 +1,27 @@
+import java.io.PrintStream;
+
+class ModifyTicketCommand implements TicketCommand {
+    private Ticket ticket;
+    private String newSeat;
+    private final PrintStream out;
+
+    public ModifyTicketCommand(Ticket ticket, String newSeat) {
+        this(ticket, newSeat, System.out);
+    }
+
+    public ModifyTicketCommand(Ticket ticket, String newSeat, PrintStream out) {
+        this.ticket = ticket;
+        this.newSeat = newSeat;
+        this.out = out;
+    }
+
+    @Override
+    public void execute() {
+        ticket.modify(newSeat, out);
+    }
+
+    @Override
+    public Ticket getTicket() {
+        return ticket;
+    }
+}
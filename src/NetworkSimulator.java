@@ -0,0 +1,144 @@
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Discrete-event simulation of one service day. Every departure, arrival, delay, breakdown and
+// booking is an event on a TimingWheel with one-minute ticks, so the day runs as fast as the
+// events can be processed. Trains are read from one schedule snapshot and each simulated train
+// has its own TrainContext, leaving the live schedule untouched. Bookings run the real ticket
+// commands but straight on their tickets, not through a TicketManager, so a day of a million
+// bookings keeps no undo journal. All randomness comes from one seeded Random and events within
+// a tick fire in insertion order, so a given seed always produces the same report.
+class NetworkSimulator {
+    private static final int ON_TIME_MINUTES = 5;
+    private static final int MIN_DWELL_MINUTES = 1;
+
+    private final TrainSchedule schedule;
+    private final SimulationConfig config;
+    private final TimingWheel wheel = new TimingWheel(-1);
+    private final SimulationReport report = new SimulationReport();
+    // Ticket commands and train states print every change; a simulated day would spend its time
+    // on the console.
+    private final PrintStream quiet = new PrintStream(OutputStream.nullOutputStream());
+    private Random random;
+
+    public NetworkSimulator(TrainSchedule schedule, SimulationConfig config) {
+        this.schedule = schedule;
+        this.config = config;
+    }
+
+    public SimulationReport run() {
+        random = new Random(config.seed);
+        List<SimulatedTrain> trains = new ArrayList<>();
+        for (TrainVersion train : schedule.snapshot()) {
+            SimulatedTrain simulated = SimulatedTrain.of(train);
+            if (simulated != null) {
+                trains.add(simulated);
+            }
+        }
+        report.trainsSimulated = trains.size();
+        for (SimulatedTrain simulated : trains) {
+            plan(simulated);
+        }
+
+        long start = System.nanoTime();
+        while (wheel.size() > 0) {
+            report.eventsProcessed += wheel.advanceTo(wheel.getCurrentTick() + TrainTime.MINUTES_PER_DAY);
+        }
+        report.wallTimeNanos = System.nanoTime() - start;
+        for (SimulatedTrain simulated : trains) {
+            report.seatsOffered += config.seatsPerTrain;
+            report.seatsOccupied += simulated.seatsBooked;
+        }
+        return report;
+    }
+
+    private void plan(SimulatedTrain simulated) {
+        int hops = simulated.stations.length - 1;
+        if (random.nextDouble() < config.breakdownProbability) {
+            simulated.breakdownHop = random.nextInt(hops);
+        }
+        int firstDeparture = simulated.plannedDeparture[0];
+        for (int i = 0; i < config.bookingsPerTrain; i++) {
+            int bookingTime = firstDeparture <= 0 ? 0 : random.nextInt(firstDeparture);
+            wheel.schedule(bookingTime, () -> book(simulated));
+        }
+        wheel.schedule(firstDeparture, () -> depart(simulated, 0));
+    }
+
+    private void book(SimulatedTrain simulated) {
+        if (simulated.seatsBooked >= config.seatsPerTrain) {
+            report.bookingsRejected++;
+            return;
+        }
+        int number = simulated.nextTicket++;
+        int seat = simulated.occupiedSeats.nextClearBit(0);
+        Ticket ticket = new Ticket(simulated.trainId + "-" + number, "Passenger " + number,
+                String.valueOf(seat + 1), simulated.trainId);
+        execute(new BookTicketCommand(ticket, quiet));
+        simulated.occupiedSeats.set(seat);
+        simulated.seatsBooked++;
+        report.bookingsAccepted++;
+
+        int firstDeparture = simulated.plannedDeparture[0];
+        if (random.nextDouble() < config.cancelProbability && wheel.getCurrentTick() + 1 < firstDeparture) {
+            int cancelTime = (int) wheel.getCurrentTick() + 1
+                    + random.nextInt(firstDeparture - (int) wheel.getCurrentTick() - 1);
+            wheel.schedule(cancelTime, () -> {
+                execute(new CancelTicketCommand(ticket, quiet));
+                simulated.occupiedSeats.clear(seat);
+                simulated.seatsBooked--;
+                report.cancellations++;
+            });
+        }
+    }
+
+    // Timed like TicketManager.executeCommand, so simulated bookings still show in the metrics.
+    private static void execute(Command command) {
+        long start = System.nanoTime();
+        command.execute();
+        TrainMetrics.command(command.getClass()).record(System.nanoTime() - start);
+    }
+
+    private void changeState(SimulatedTrain simulated, TrainState state) {
+        simulated.context.setState(state);
+        simulated.context.applyState(quiet);
+    }
+
+    private void depart(SimulatedTrain simulated, int stop) {
+        if (stop == 0) {
+            changeState(simulated, new RunningState());
+        }
+        report.departuresByStation.merge(simulated.stations[stop], 1, Integer::sum);
+        if (random.nextDouble() < config.delayProbability) {
+            simulated.delay += 1 + random.nextInt(config.maxDelayMinutes);
+        }
+        if (stop == simulated.breakdownHop) {
+            report.breakdowns++;
+            changeState(simulated, new MaintenanceState());
+            simulated.delay += config.breakdownMinutes;
+            wheel.schedule(wheel.getCurrentTick() + config.breakdownMinutes,
+                    () -> changeState(simulated, new RunningState()));
+        }
+        wheel.schedule(simulated.plannedArrival[stop + 1] + simulated.delay, () -> arrive(simulated, stop + 1));
+    }
+
+    private void arrive(SimulatedTrain simulated, int stop) {
+        if (stop == simulated.stations.length - 1) {
+            changeState(simulated, new StoppedState());
+            report.tripsCompleted++;
+            report.totalDelayMinutes += simulated.delay;
+            report.maxDelayMinutes = Math.max(report.maxDelayMinutes, simulated.delay);
+            if (simulated.delay <= ON_TIME_MINUTES) {
+                report.onTimeArrivals++;
+            }
+            return;
+        }
+        // Dwell time above the minimum is slack the train can use to recover.
+        int departure = Math.max(simulated.plannedDeparture[stop], (int) wheel.getCurrentTick() + MIN_DWELL_MINUTES);
+        simulated.delay = departure - simulated.plannedDeparture[stop];
+        wheel.schedule(departure, () -> depart(simulated, stop));
+    }
+}
@@ -0,0 +1,79 @@
+import java.util.Locale;
+
+class OperationMetrics implements OperationMetricsMBean {
+    private final String category;
+    private final String name;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private volatile long resetAtNanos = System.nanoTime();
+
+    public OperationMetrics(String category, String name) {
+        this.category = category;
+        this.name = name;
+    }
+
+    public void record(long nanos) {
+        histogram.record(nanos);
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCount() {
+        return histogram.getCount();
+    }
+
+    @Override
+    public double getRatePerSecond() {
+        double seconds = (System.nanoTime() - resetAtNanos) / 1e9;
+        return seconds <= 0 ? 0 : histogram.getCount() / seconds;
+    }
+
+    @Override
+    public double getMeanMicros() {
+        return histogram.getMean() / 1000.0;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return histogram.getValueAtPercentile(50) / 1000.0;
+    }
+
+    @Override
+    public double getP90Micros() {
+        return histogram.getValueAtPercentile(90) / 1000.0;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return histogram.getValueAtPercentile(99) / 1000.0;
+    }
+
+    @Override
+    public double getP999Micros() {
+        return histogram.getValueAtPercentile(99.9) / 1000.0;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return histogram.getMax() / 1000.0;
+    }
+
+    @Override
+    public void reset() {
+        histogram.reset();
+        resetAtNanos = System.nanoTime();
+    }
+
+    public String summary() {
+        return String.format(Locale.ROOT,
+                "%-9s %-28s count=%-9d rate=%9.1f/s mean=%9.2fus p50=%9.2fus p90=%9.2fus p99=%9.2fus p99.9=%9.2fus max=%9.2fus",
+                category, name, getCount(), getRatePerSecond(), getMeanMicros(), getP50Micros(),
+                getP90Micros(), getP99Micros(), getP999Micros(), getMaxMicros());
+    }
+}
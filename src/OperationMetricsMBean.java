@@ -0,0 +1,12 @@
+// JMX view of one OperationMetrics. Standard MBean interfaces have to be public, hence the separate file.
+public interface OperationMetricsMBean {
+    long getCount();
+    double getRatePerSecond();
+    double getMeanMicros();
+    double getP50Micros();
+    double getP90Micros();
+    double getP99Micros();
+    double getP999Micros();
+    double getMaxMicros();
+    void reset();
+}
@@ -0,0 +1,62 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+// Coordinator's connection to one partition node; one request in flight at a time.
+class PartitionClient {
+    private final int port;
+    private Socket socket;
+    private DataInputStream in;
+    private DataOutputStream out;
+
+    PartitionClient(int port) {
+        this.port = port;
+    }
+
+    synchronized List<String[]> call(String operation, String... fields) throws IOException {
+        try {
+            return exchange(operation, fields);
+        } catch (IOException e) {
+            // The node may have restarted since the last request; retry once on a new connection.
+            close();
+            return exchange(operation, fields);
+        }
+    }
+
+    private List<String[]> exchange(String operation, String[] fields) throws IOException {
+        if (socket == null) {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+        out.writeUTF(operation);
+        PartitionWire.writeFields(out, fields);
+        out.flush();
+        if (in.readByte() == PartitionWire.ERROR) {
+            throw new IllegalStateException(in.readUTF());
+        }
+        int count = in.readInt();
+        List<String[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(PartitionWire.readFields(in));
+        }
+        return rows;
+    }
+
+    synchronized void close() {
+        try {
+            if (socket != null) {
+                socket.close();
+            }
+        } catch (IOException e) {
+            // Nothing left to release.
+        }
+        socket = null;
+    }
+}
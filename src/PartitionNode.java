@@ -0,0 +1,247 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// One partition of the schedule, served to the coordinator over a loopback socket. It holds
+// the trains, stations and tickets the ring assigns to it in an ordinary TrainSchedule and
+// TicketManager, so routing, boards and updaters work unchanged inside a partition.
+class PartitionNode {
+    private final int port;
+    private final String nodeId;
+    private final int virtualNodes;
+    private TrainSchedule schedule = new TrainSchedule();
+    private final TicketManager ticketManager = new TicketManager();
+    private final Map<String, Ticket> tickets = new LinkedHashMap<>();
+    private ServerSocket serverSocket;
+
+    public PartitionNode(int port, int virtualNodes) {
+        this.port = port;
+        this.nodeId = PartitionedTrainSchedule.nodeId(port);
+        this.virtualNodes = virtualNodes;
+    }
+
+    // The acceptor is not a daemon: a node process lives for as long as it serves.
+    public synchronized void start() {
+        if (serverSocket != null) {
+            return;
+        }
+        try {
+            serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            System.out.println("Could not start partition node on port " + port + ": " + e.getMessage());
+            return;
+        }
+        ServerSocket server = serverSocket;
+        new Thread(() -> {
+            while (!server.isClosed()) {
+                try {
+                    Socket socket = server.accept();
+                    Thread handler = new Thread(() -> serve(socket), nodeId + "-client");
+                    handler.setDaemon(true);
+                    handler.start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }, nodeId + "-acceptor").start();
+        System.out.println("Partition node " + nodeId + " listening on port " + server.getLocalPort());
+    }
+
+    public synchronized void stop() {
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException e) {
+            System.out.println("Could not close partition node: " + e.getMessage());
+        }
+        serverSocket = null;
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            while (true) {
+                String operation = in.readUTF();
+                String[] fields = PartitionWire.readFields(in);
+                List<String[]> rows;
+                try {
+                    rows = handle(operation, fields);
+                } catch (RuntimeException e) {
+                    out.writeByte(PartitionWire.ERROR);
+                    out.writeUTF(operation + " failed: " + e);
+                    out.flush();
+                    continue;
+                }
+                out.writeByte(PartitionWire.OK);
+                out.writeInt(rows.size());
+                for (String[] row : rows) {
+                    PartitionWire.writeFields(out, row);
+                }
+                out.flush();
+            }
+        } catch (IOException e) {
+            // Coordinator went away; it reconnects when it needs this node again.
+        }
+    }
+
+    synchronized List<String[]> handle(String operation, String[] fields) {
+        List<String[]> rows = new ArrayList<>();
+        switch (operation) {
+            case "PUT_TRAIN" -> putTrain(PartitionWire.toTrain(fields));
+            case "GET_TRAIN" -> {
+                TrainVersion train = schedule.getTrainById(fields[0]);
+                if (train != null) {
+                    rows.add(ChangeRecord.trainFields(train));
+                }
+            }
+            case "UPDATE_STATUS", "UPDATE_TIMES" -> {
+                if (schedule.getTrainById(fields[0]) != null) {
+                    TrainUpdaterStrategy updater = operation.equals("UPDATE_STATUS")
+                            ? new TrainStatusUpdater(fields[1]) : new TrainTimeUpdater(fields[1], fields[2]);
+                    updater.update(schedule, fields[0]);
+                    rows.add(ChangeRecord.trainFields(schedule.getTrainById(fields[0])));
+                }
+            }
+            case "TRAINS" -> {
+                for (TrainVersion version : schedule.snapshot()) {
+                    rows.add(ChangeRecord.trainFields(version));
+                }
+            }
+            case "PUT_STATION" -> putStation(fields);
+            case "STATIONS" -> {
+                for (Station station : schedule.getStations()) {
+                    if (fields.length == 0 || station.getLocation().equals(fields[0])) {
+                        rows.add(ChangeRecord.stationFields(station));
+                    }
+                }
+            }
+            case "PUT_TICKET" -> putTicket(fields);
+            case "TICKET" -> rows.add(executeTicketCommand(fields));
+            case "TICKETS" -> {
+                for (Ticket ticket : tickets.values()) {
+                    rows.add(ChangeRecord.ticketFields(ticket));
+                }
+            }
+            case "MOVING" -> rows.addAll(notOwned(new ConsistentHashRing(virtualNodes, Arrays.asList(fields))));
+            case "RELEASE" -> release(new ConsistentHashRing(virtualNodes, Arrays.asList(fields)));
+            case "SIZE" -> rows.add(new String[]{String.valueOf(schedule.snapshot().size()),
+                    String.valueOf(schedule.getStations().size()), String.valueOf(tickets.size())});
+            default -> throw new IllegalArgumentException("unknown operation " + operation);
+        }
+        return rows;
+    }
+
+    // fields: command, ticket ID, passenger, seat, new seat, train. Commands for a ticket this
+    // node has not seen work on a fresh ticket, as they do in the single-process menu.
+    private String[] executeTicketCommand(String[] fields) {
+        Ticket ticket = tickets.computeIfAbsent(fields[1], id -> new Ticket(id, fields[2], fields[3], fields[5]));
+        ticketManager.setCommand(switch (fields[0]) {
+            case "BOOK" -> new BookTicketCommand(ticket);
+            case "CANCEL" -> new CancelTicketCommand(ticket);
+            case "MODIFY" -> new ModifyTicketCommand(ticket, fields[4]);
+            default -> throw new IllegalArgumentException("unknown ticket command " + fields[0]);
+        });
+        ticketManager.executeCommand();
+        return ChangeRecord.ticketFields(ticket);
+    }
+
+    // Puts are upserts, so a move that is retried after failing half way just overwrites what
+    // the first attempt copied. A train's stops are fixed once it is in the schedule.
+    private void putTrain(Train incoming) {
+        Train train = schedule.getLiveTrain(incoming.getTrainId());
+        if (train == null) {
+            schedule.addTrain(incoming);
+            return;
+        }
+        train.applyChanges(new TrainChange.TrainChangeBuilder()
+                .withTrainType(incoming.getTrainType())
+                .withDepartureTime(incoming.getDepartureTime())
+                .withArrivalTime(incoming.getArrivalTime())
+                .withStatus(incoming.getStatus())
+                .build());
+        // Saved states first: replacing them does not notify, the changes after it do.
+        train.setSavedStates(incoming.getSavedStates());
+        train.setTrainState(incoming.getTrainState());
+        train.setMaintenance(incoming.getMaintenance());
+        train.setCalendar(incoming.getCalendar());
+    }
+
+    private void putStation(String[] fields) {
+        for (Station station : schedule.getStations()) {
+            if (station.getStationName().equals(fields[0])) {
+                station.setPlatformCount(Integer.parseInt(fields[2]));
+                return;
+            }
+        }
+        schedule.addStation(new Station(fields[0], fields[1], Integer.parseInt(fields[2])));
+    }
+
+    private void putTicket(String[] fields) {
+        Ticket ticket = new Ticket(fields[0], fields[1], fields[2], fields[4]);
+        if (Boolean.parseBoolean(fields[3])) {
+            ticket.book();
+        }
+        tickets.put(fields[0], ticket);
+    }
+
+    // Everything a ring with the given members would place on another node, tagged by kind.
+    private List<String[]> notOwned(ConsistentHashRing ring) {
+        List<String[]> moving = new ArrayList<>();
+        for (TrainVersion version : schedule.snapshot()) {
+            if (!nodeId.equals(ring.ownerOf(version.getTrainId()))) {
+                moving.add(PartitionWire.tagged(ChangeRecord.TRAIN, PartitionWire.trainState(version)));
+            }
+        }
+        for (Station station : schedule.getStations()) {
+            if (!nodeId.equals(ring.ownerOf(station.getLocation()))) {
+                moving.add(PartitionWire.tagged(ChangeRecord.STATION, ChangeRecord.stationFields(station)));
+            }
+        }
+        for (Ticket ticket : tickets.values()) {
+            if (!nodeId.equals(ring.ownerOf(ticket.getTicketId()))) {
+                moving.add(PartitionWire.tagged(ChangeRecord.TICKET, ChangeRecord.ticketFields(ticket)));
+            }
+        }
+        return moving;
+    }
+
+    // Drops what now lives elsewhere. The schedule has no removal, and its indexes hold the trains
+    // as observers, so the partition is rebuilt from full-state copies of what it keeps;
+    // rebalancing is rare.
+    private void release(ConsistentHashRing ring) {
+        tickets.keySet().removeIf(ticketId -> !nodeId.equals(ring.ownerOf(ticketId)));
+        List<Station> keptStations = new ArrayList<>();
+        for (Station station : schedule.getStations()) {
+            if (nodeId.equals(ring.ownerOf(station.getLocation()))) {
+                keptStations.add(station);
+            }
+        }
+        List<Train> keptTrains = new ArrayList<>();
+        for (TrainVersion version : schedule.snapshot()) {
+            if (nodeId.equals(ring.ownerOf(version.getTrainId()))) {
+                keptTrains.add(PartitionWire.toTrain(PartitionWire.trainState(version)));
+            }
+        }
+        if (keptStations.size() == schedule.getStations().size() && keptTrains.size() == schedule.snapshot().size()) {
+            return;
+        }
+        TrainSchedule rebuilt = new TrainSchedule();
+        for (Station station : keptStations) {
+            rebuilt.addStation(station);
+        }
+        rebuilt.addTrains(keptTrains);
+        schedule = rebuilt;
+    }
+}
@@ -0,0 +1,117 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Request/response framing between the coordinator and partition nodes: an operation name and
+// its fields in, an 'O' plus rows of fields (or an 'E' plus a message) back. Fields use the
+// same null-flagged UTF encoding as change records.
+class PartitionWire {
+    static final byte OK = 'O';
+    static final byte ERROR = 'E';
+
+    static void writeFields(DataOutputStream out, String[] fields) throws IOException {
+        out.writeShort(fields.length);
+        for (String field : fields) {
+            out.writeBoolean(field != null);
+            if (field != null) {
+                out.writeUTF(field);
+            }
+        }
+    }
+
+    static String[] readFields(DataInputStream in) throws IOException {
+        String[] fields = new String[in.readUnsignedShort()];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = in.readBoolean() ? in.readUTF() : null;
+        }
+        return fields;
+    }
+
+    // trainFields followed by what a train must not lose when it moves between nodes: its
+    // maintenance record (last service, interval), its calendar (from, to, weekdays, exception
+    // count, then date and running flag per exception) and its saved states (count, then type,
+    // departure, arrival and status per memento). Missing records are sent as nulls.
+    static String[] trainState(TrainVersion train) {
+        List<String> fields = new ArrayList<>(Arrays.asList(ChangeRecord.trainFields(train)));
+        Maintenance maintenance = train.getMaintenance();
+        fields.add(maintenance == null ? null : maintenance.getLastServiceDate());
+        fields.add(maintenance == null ? null : String.valueOf(maintenance.getServiceIntervalDays()));
+        ServiceCalendar calendar = train.getCalendar();
+        if (calendar == null) {
+            fields.addAll(Arrays.asList(null, null, null, "0"));
+        } else {
+            List<String> weekdays = new ArrayList<>();
+            for (DayOfWeek day : calendar.getWeekdays()) {
+                weekdays.add(day.name());
+            }
+            fields.add(calendar.getValidFrom().toString());
+            fields.add(calendar.getValidTo().toString());
+            fields.add(String.join(",", weekdays));
+            fields.add(String.valueOf(calendar.getExceptions().size()));
+            for (Map.Entry<LocalDate, Boolean> exception : calendar.getExceptions().entrySet()) {
+                fields.add(exception.getKey().toString());
+                fields.add(String.valueOf(exception.getValue()));
+            }
+        }
+        List<TrainMemento> mementos = train.getSavedStates();
+        fields.add(String.valueOf(mementos.size()));
+        for (TrainMemento memento : mementos) {
+            fields.add(memento.getTrainType());
+            fields.add(memento.getDepartureTime());
+            fields.add(memento.getArrivalTime());
+            fields.add(memento.getStatus());
+        }
+        return fields.toArray(new String[0]);
+    }
+
+    // Rebuilds a train, with its state, from trainState.
+    static Train toTrain(String[] fields) {
+        Train train = ChangeRecord.toTrain(fields);
+        int field = 9 + 3 * Integer.parseInt(fields[8]);
+        if (fields[field] != null) {
+            train.setMaintenance(new Maintenance(fields[field], Integer.parseInt(fields[field + 1])));
+        }
+        field += 2;
+        int exceptions = Integer.parseInt(fields[field + 3]);
+        if (fields[field] != null) {
+            Set<DayOfWeek> weekdays = EnumSet.noneOf(DayOfWeek.class);
+            for (String day : fields[field + 2].split(",")) {
+                if (!day.isEmpty()) {
+                    weekdays.add(DayOfWeek.valueOf(day));
+                }
+            }
+            ServiceCalendar calendar = new ServiceCalendar(LocalDate.parse(fields[field]),
+                    LocalDate.parse(fields[field + 1]), weekdays);
+            for (int i = 0; i < exceptions; i++) {
+                calendar.setException(LocalDate.parse(fields[field + 4 + 2 * i]),
+                        Boolean.parseBoolean(fields[field + 5 + 2 * i]));
+            }
+            train.setCalendar(calendar);
+        }
+        field += 4 + 2 * exceptions;
+        List<TrainMemento> mementos = new ArrayList<>();
+        int count = Integer.parseInt(fields[field++]);
+        for (int i = 0; i < count; i++, field += 4) {
+            mementos.add(new TrainMemento(fields[0], fields[field], fields[field + 1], fields[field + 2],
+                    fields[field + 3]));
+        }
+        train.setSavedStates(mementos);
+        return train;
+    }
+
+    // Prefixes a row with the kind of record it holds, for requests that mix kinds.
+    static String[] tagged(String kind, String[] fields) {
+        String[] row = new String[fields.length + 1];
+        row[0] = kind;
+        System.arraycopy(fields, 0, row, 1, fields.length);
+        return row;
+    }
+}
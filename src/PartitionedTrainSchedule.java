@@ -0,0 +1,396 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// The schedule spread over several partition node processes. Trains and tickets are placed on
+// the ring by their ID and stations by their region (location), so a region's stations stay
+// together. Single-key operations go to the owning node only; fleet-wide queries and visitors
+// ask every node in parallel and merge the answers. Adding a node moves just the keys the ring
+// hands to it, with the trains' full state: existing nodes list what they would no longer own,
+// that is copied across, the ring switches over, and only then do they drop it. If copying
+// fails the new node is emptied again and the ring is left as it was; if dropping fails the
+// old nodes merely keep copies nobody routes to, which the next rebalance drops. Rebalancing
+// holds the write lock, so no request sees a half-moved key.
+class PartitionedTrainSchedule {
+    private final int virtualNodes;
+    private final Map<String, PartitionClient> clients = new LinkedHashMap<>();
+    private ConsistentHashRing ring;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService gatherers = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PartitionedTrainSchedule(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+        this.ring = new ConsistentHashRing(virtualNodes);
+    }
+
+    static String nodeId(int port) {
+        return "node-" + port;
+    }
+
+    // Adds a node to the ring and moves the keys it now owns; returns how many moved.
+    public int addNode(int port) throws IOException {
+        lock.writeLock().lock();
+        try {
+            String nodeId = nodeId(port);
+            if (clients.containsKey(nodeId)) {
+                return 0;
+            }
+            PartitionClient client = new PartitionClient(port);
+            client.call("SIZE");
+            String[] previousIds = ring.getNodes().toArray(new String[0]);
+            List<String> members = ring.getNodes();
+            members.add(nodeId);
+            String[] memberIds = members.toArray(new String[0]);
+            ConsistentHashRing next = new ConsistentHashRing(virtualNodes, members);
+            Map<String, PartitionClient> nextClients = new LinkedHashMap<>(clients);
+            nextClients.put(nodeId, client);
+
+            int moved = 0;
+            try {
+                Map<String, List<String[]>> moving = scatter(clients, "MOVING", memberIds);
+                for (List<String[]> rows : moving.values()) {
+                    for (String[] row : rows) {
+                        String[] fields = Arrays.copyOfRange(row, 1, row.length);
+                        String key = row[0].equals(ChangeRecord.STATION) ? fields[1] : fields[0];
+                        String operation = switch (row[0]) {
+                            case ChangeRecord.TRAIN -> "PUT_TRAIN";
+                            case ChangeRecord.STATION -> "PUT_STATION";
+                            default -> "PUT_TICKET";
+                        };
+                        nextClients.get(next.ownerOf(key)).call(operation, fields);
+                        moved++;
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                // The new node owns nothing under the old ring, so releasing by it empties it.
+                try {
+                    client.call("RELEASE", previousIds);
+                } catch (IOException | RuntimeException cleanup) {
+                    e.addSuppressed(cleanup);
+                }
+                throw e;
+            }
+            Map<String, PartitionClient> previous = new LinkedHashMap<>(clients);
+            clients.put(nodeId, client);
+            ring = next;
+            try {
+                scatter(previous, "RELEASE", memberIds);
+            } catch (IOException e) {
+                System.out.println("Node added, but stale copies remain: " + e.getMessage());
+            }
+            return moved;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addTrain(Train train) throws IOException {
+        call(train.getTrainId(), "PUT_TRAIN", PartitionWire.trainState(TrainVersion.of(train)));
+    }
+
+    // A detached copy of the train as its partition holds it, or null.
+    public Train getTrainById(String trainId) throws IOException {
+        return firstTrain(call(trainId, "GET_TRAIN", trainId));
+    }
+
+    // Runs the status updater on the owning partition; returns the updated copy, or null.
+    public Train updateStatus(String trainId, String newStatus) throws IOException {
+        return firstTrain(call(trainId, "UPDATE_STATUS", trainId, newStatus));
+    }
+
+    public Train updateTimes(String trainId, String departureTime, String arrivalTime) throws IOException {
+        return firstTrain(call(trainId, "UPDATE_TIMES", trainId, departureTime, arrivalTime));
+    }
+
+    // command is BOOK, CANCEL or MODIFY; returns the ticket's fields after the command ran.
+    // trainId (may be null) is only used when the ticket is new to its partition.
+    public String[] executeTicketCommand(String command, String ticketId, String passengerName, String seatNumber,
+                                         String newSeat, String trainId) throws IOException {
+        return call(ticketId, "TICKET", command, ticketId, passengerName, seatNumber, newSeat, trainId).get(0);
+    }
+
+    public void addStation(Station station) throws IOException {
+        call(station.getLocation(), "PUT_STATION", ChangeRecord.stationFields(station));
+    }
+
+    // A region lives on one node, so this is a single-node query.
+    public List<Station> getStationsInRegion(String region) throws IOException {
+        return toStations(call(region, "STATIONS", region));
+    }
+
+    public List<Train> getAllTrains() throws IOException {
+        List<Train> trains = new ArrayList<>();
+        for (String[] fields : gatherAll("TRAINS")) {
+            trains.add(ChangeRecord.toTrain(fields));
+        }
+        return trains;
+    }
+
+    public List<Station> getAllStations() throws IOException {
+        return toStations(gatherAll("STATIONS"));
+    }
+
+    public List<String[]> getAllTickets() throws IOException {
+        return gatherAll("TICKETS");
+    }
+
+    // Visits every station, then every train, of every partition.
+    public void accept(TrainVisitor visitor) throws IOException {
+        for (Station station : getAllStations()) {
+            station.accept(visitor);
+        }
+        for (Train train : getAllTrains()) {
+            visitor.visitTrain(train);
+        }
+    }
+
+    // Trains, stations and tickets held by each node.
+    public Map<String, int[]> getPartitionSizes() throws IOException {
+        lock.readLock().lock();
+        try {
+            Map<String, int[]> sizes = new LinkedHashMap<>();
+            for (Map.Entry<String, List<String[]>> entry : scatter(clients, "SIZE").entrySet()) {
+                String[] size = entry.getValue().get(0);
+                sizes.put(entry.getKey(), new int[]{Integer.parseInt(size[0]), Integer.parseInt(size[1]),
+                        Integer.parseInt(size[2])});
+            }
+            return sizes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<String[]> call(String key, String operation, String... fields) throws IOException {
+        lock.readLock().lock();
+        try {
+            String owner = ring.ownerOf(key);
+            if (owner == null) {
+                throw new IOException("no partition nodes");
+            }
+            return clients.get(owner).call(operation, fields);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<String[]> gatherAll(String operation) throws IOException {
+        lock.readLock().lock();
+        try {
+            List<String[]> rows = new ArrayList<>();
+            for (List<String[]> nodeRows : scatter(clients, operation).values()) {
+                rows.addAll(nodeRows);
+            }
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Sends the request to every node at once, one virtual thread each, and waits for them all.
+    private Map<String, List<String[]>> scatter(Map<String, PartitionClient> targets, String operation,
+                                                String... fields) throws IOException {
+        Map<String, Future<List<String[]>>> pending = new LinkedHashMap<>();
+        for (Map.Entry<String, PartitionClient> target : targets.entrySet()) {
+            PartitionClient client = target.getValue();
+            pending.put(target.getKey(), gatherers.submit(() -> client.call(operation, fields)));
+        }
+        Map<String, List<String[]>> results = new HashMap<>();
+        for (Map.Entry<String, Future<List<String[]>>> entry : pending.entrySet()) {
+            try {
+                results.put(entry.getKey(), entry.getValue().get());
+            } catch (ExecutionException e) {
+                throw new IOException(entry.getKey() + ": " + e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("interrupted waiting for " + entry.getKey());
+            }
+        }
+        return results;
+    }
+
+    private static Train firstTrain(List<String[]> rows) {
+        return rows.isEmpty() ? null : ChangeRecord.toTrain(rows.get(0));
+    }
+
+    private static List<Station> toStations(List<String[]> rows) {
+        List<Station> stations = new ArrayList<>(rows.size());
+        for (String[] fields : rows) {
+            stations.add(new Station(fields[0], fields[1], Integer.parseInt(fields[2])));
+        }
+        return stations;
+    }
+
+    public void runMenu(Scanner scanner) {
+        while (true) {
+            System.out.println("\n--- Partitioned Train Management System ---");
+            System.out.println("1. Add Train");
+            System.out.println("2. Display All Trains");
+            System.out.println("3. Display info by id");
+            System.out.println("4. Update Train Status");
+            System.out.println("5. Update Train Times");
+            System.out.println("6. Book Ticket");
+            System.out.println("7. Cancel Ticket");
+            System.out.println("8. Modify Ticket");
+            System.out.println("9. Add Station");
+            System.out.println("10. Display Stations (by region)");
+            System.out.println("11. Display All Tickets");
+            System.out.println("12. Inspect All");
+            System.out.println("13. Add Partition Node");
+            System.out.println("14. Partition Sizes");
+            System.out.println("15. Exit");
+            System.out.print("Select an option: ");
+
+            int choice = scanner.nextInt();
+            scanner.nextLine();
+
+            try {
+                switch (choice) {
+                    case 1 -> addTrain(scanner);
+                    case 2 -> {
+                        for (Train train : getAllTrains()) {
+                            train.displayTrainInfo();
+                        }
+                    }
+                    case 3 -> {
+                        System.out.print("Enter Train ID: ");
+                        Train train = getTrainById(scanner.nextLine());
+                        if (train == null) {
+                            System.out.println("Train not found.");
+                        } else {
+                            train.displayTrainInfo();
+                        }
+                    }
+                    case 4 -> {
+                        System.out.print("Enter Train ID: ");
+                        String trainId = scanner.nextLine();
+                        System.out.print("Enter New Status: ");
+                        if (updateStatus(trainId, scanner.nextLine()) == null) {
+                            System.out.println("Train not found.");
+                        }
+                    }
+                    case 5 -> {
+                        System.out.print("Enter Train ID: ");
+                        String trainId = scanner.nextLine();
+                        System.out.print("Enter Departure Time: ");
+                        String departureTime = scanner.nextLine();
+                        System.out.print("Enter Arrival Time: ");
+                        if (updateTimes(trainId, departureTime, scanner.nextLine()) == null) {
+                            System.out.println("Train not found.");
+                        }
+                    }
+                    case 6 -> ticketCommand("BOOK", scanner);
+                    case 7 -> ticketCommand("CANCEL", scanner);
+                    case 8 -> ticketCommand("MODIFY", scanner);
+                    case 9 -> {
+                        System.out.print("Enter Station Name: ");
+                        String stationName = scanner.nextLine();
+                        System.out.print("Enter Station Location: ");
+                        String location = scanner.nextLine();
+                        System.out.print("Enter Number of Platforms: ");
+                        int platformCount = scanner.nextInt();
+                        scanner.nextLine();
+                        addStation(new Station(stationName, location, platformCount));
+                        System.out.println("Station added successfully!");
+                    }
+                    case 10 -> {
+                        System.out.print("Enter Region (blank for all): ");
+                        String region = scanner.nextLine();
+                        for (Station station : region.isBlank() ? getAllStations() : getStationsInRegion(region)) {
+                            station.displayStationInfo();
+                        }
+                    }
+                    case 11 -> {
+                        for (String[] ticket : getAllTickets()) {
+                            System.out.println("Ticket ID: " + ticket[0] + ", Passenger: " + ticket[1] + ", Seat: "
+                                    + ticket[2] + ", Status: " + (Boolean.parseBoolean(ticket[3]) ? "Booked" : "Not Booked"));
+                        }
+                    }
+                    case 12 -> accept(new ConcreteTrainVisitor());
+                    case 13 -> {
+                        System.out.print("Enter Node Port: ");
+                        int port = scanner.nextInt();
+                        scanner.nextLine();
+                        System.out.println("Node " + nodeId(port) + " added, " + addNode(port) + " records moved.");
+                    }
+                    case 14 -> {
+                        for (Map.Entry<String, int[]> entry : getPartitionSizes().entrySet()) {
+                            int[] size = entry.getValue();
+                            System.out.println(entry.getKey() + ": " + size[0] + " trains, " + size[1]
+                                    + " stations, " + size[2] + " tickets");
+                        }
+                    }
+                    case 15 -> {
+                        System.out.println("Exiting...");
+                        return;
+                    }
+                    default -> System.out.println("Invalid option. Please try again.");
+                }
+            } catch (IOException | IllegalStateException e) {
+                System.out.println("Partition request failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void addTrain(Scanner scanner) throws IOException {
+        System.out.print("Enter Train ID: ");
+        String trainId = scanner.nextLine();
+        System.out.print("Enter Train Type: ");
+        String trainType = scanner.nextLine();
+        System.out.print("Enter Departure Time: ");
+        String departureTime = scanner.nextLine();
+        System.out.print("Enter Arrival Time: ");
+        String arrivalTime = scanner.nextLine();
+        System.out.print("Enter Status: ");
+        String status = scanner.nextLine();
+        System.out.print("Enter Stops as Station/Arrival/Departure separated by ';' (blank for none): ");
+        String stops = scanner.nextLine();
+
+        Train.TrainBuilder builder = new Train.TrainBuilder()
+                .withTrainId(trainId)
+                .withTrainType(trainType)
+                .withDepartureTime(departureTime)
+                .withArrivalTime(arrivalTime)
+                .withStatus(status);
+        for (String stop : stops.split(";")) {
+            String[] parts = stop.trim().split("/", -1);
+            if (parts.length == 3) {
+                builder.withStop(parts[0].trim(), parts[1].trim(), parts[2].trim());
+            }
+        }
+        addTrain(builder.build());
+        System.out.println("Train added successfully!");
+    }
+
+    private void ticketCommand(String command, Scanner scanner) throws IOException {
+        System.out.print("Enter Ticket ID: ");
+        String ticketId = scanner.nextLine();
+        System.out.print("Enter Passenger Name: ");
+        String passengerName = scanner.nextLine();
+        System.out.print("Enter Seat Number: ");
+        String seatNumber = scanner.nextLine();
+        String newSeat = null;
+        if (command.equals("MODIFY")) {
+            System.out.print("Enter New Seat Number: ");
+            newSeat = scanner.nextLine();
+        }
+        String trainId = null;
+        if (command.equals("BOOK")) {
+            System.out.print("Enter Train ID (blank for none): ");
+            String line = scanner.nextLine();
+            trainId = line.isBlank() ? null : line;
+        }
+        String[] ticket = executeTicketCommand(command, ticketId, passengerName, seatNumber, newSeat, trainId);
+        System.out.println("Ticket " + ticket[0] + " on seat " + ticket[2] + ": "
+                + (Boolean.parseBoolean(ticket[3]) ? "Booked" : "Not Booked"));
+    }
+}
@@ -0,0 +1,32 @@
+class Passenger implements Visitable{
+    private String name;
+    private String ticketNumber;
+    private String seatNumber;
+
+    public Passenger(String name, String ticketNumber, String seatNumber) {
+        this.name = name;
+        this.ticketNumber = ticketNumber;
+        this.seatNumber = seatNumber;
+    }
+
+    @Override
+    public void accept(TrainVisitor visitor) {
+        visitor.visitPassenger(this);
+    }
+
+    public void displayPassengerInfo() {
+        System.out.println("Passenger: " + name + ", Ticket: " + ticketNumber + ", Seat: " + seatNumber);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getTicketNumber() {
+        return ticketNumber;
+    }
+
+    public String getSeatNumber() {
+        return seatNumber;
+    }
+}
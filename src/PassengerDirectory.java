@@ -0,0 +1,93 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Every passenger holding a booked ticket, with a manifest per train and indexes on passenger
+// name and ticket number. It follows ticket commands: a booked ticket puts its passenger on
+// the manifest of the ticket's train (replacing what the same ticket held before), anything
+// else takes the ticket's passenger off.
+class PassengerDirectory implements TicketListener {
+    private final PrefixIndex<Passenger> byName = new PrefixIndex<>();
+    private final PrefixIndex<Passenger> byTicket = new PrefixIndex<>();
+    private final Map<String, Passenger> passengersByTicket = new HashMap<>();
+    private final Map<String, String> trainByTicket = new HashMap<>();
+    private final Map<String, Map<String, Passenger>> manifests = new HashMap<>();
+
+    public synchronized void board(String trainId, Passenger passenger) {
+        remove(passenger.getTicketNumber());
+        passengersByTicket.put(passenger.getTicketNumber(), passenger);
+        byName.add(passenger.getName(), passenger);
+        byTicket.add(passenger.getTicketNumber(), passenger);
+        if (trainId != null) {
+            trainByTicket.put(passenger.getTicketNumber(), trainId);
+            manifests.computeIfAbsent(trainId, id -> new LinkedHashMap<>()).put(passenger.getTicketNumber(), passenger);
+        }
+    }
+
+    public synchronized Passenger remove(String ticketNumber) {
+        Passenger passenger = passengersByTicket.remove(ticketNumber);
+        if (passenger == null) {
+            return null;
+        }
+        byName.remove(passenger.getName(), passenger);
+        byTicket.remove(ticketNumber, passenger);
+        String trainId = trainByTicket.remove(ticketNumber);
+        if (trainId != null) {
+            Map<String, Passenger> manifest = manifests.get(trainId);
+            manifest.remove(ticketNumber);
+            if (manifest.isEmpty()) {
+                manifests.remove(trainId);
+            }
+        }
+        return passenger;
+    }
+
+    @Override
+    public synchronized void ticketChanged(Ticket ticket) {
+        if (!ticket.isBooked()) {
+            remove(ticket.getTicketId());
+            return;
+        }
+        Passenger current = passengersByTicket.get(ticket.getTicketId());
+        if (current != null && current.getName().equals(ticket.getPassengerName())
+                && current.getSeatNumber().equals(ticket.getSeatNumber())
+                && Objects.equals(trainByTicket.get(ticket.getTicketId()), ticket.getTrainId())) {
+            return;
+        }
+        board(ticket.getTrainId(), new Passenger(ticket.getPassengerName(), ticket.getTicketId(), ticket.getSeatNumber()));
+    }
+
+    public List<Passenger> findByName(String name) {
+        return byName.exact(name);
+    }
+
+    public List<Passenger> searchByName(String prefix, int limit) {
+        return byName.prefix(prefix, limit);
+    }
+
+    public List<Passenger> searchByTicket(String prefix, int limit) {
+        return byTicket.prefix(prefix, limit);
+    }
+
+    public synchronized Passenger findByTicket(String ticketNumber) {
+        return passengersByTicket.get(ticketNumber);
+    }
+
+    // Train the ticket is for, or null.
+    public synchronized String getTrainId(String ticketNumber) {
+        return trainByTicket.get(ticketNumber);
+    }
+
+    public synchronized List<Passenger> getManifest(String trainId) {
+        Map<String, Passenger> manifest = manifests.get(trainId);
+        return manifest == null ? Collections.emptyList() : new ArrayList<>(manifest.values());
+    }
+
+    public synchronized int size() {
+        return passengersByTicket.size();
+    }
+}
@@ -0,0 +1,3 @@
+interface PassengerFactory {
+    Passenger createPassenger(String name, String ticketNumber, String seatNumber);
+}
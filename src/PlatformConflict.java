@@ -0,0 +1,25 @@
+class PlatformConflict {
+    private final String stationName;
+    private final String trainId;
+    private final String arrivalTime;
+    private final String departureTime;
+    private final int platformsNeeded;
+
+    public PlatformConflict(String stationName, String trainId, String arrivalTime, String departureTime,
+                            int platformsNeeded) {
+        this.stationName = stationName;
+        this.trainId = trainId;
+        this.arrivalTime = arrivalTime;
+        this.departureTime = departureTime;
+        this.platformsNeeded = platformsNeeded;
+    }
+
+    public String getStationName() { return stationName; }
+    public String getTrainId() { return trainId; }
+    public int getPlatformsNeeded() { return platformsNeeded; }
+
+    public void displayConflictInfo() {
+        System.out.println("Conflict at " + stationName + ": train " + trainId + " (" + arrivalTime + "-"
+                + departureTime + ") has no free platform, " + platformsNeeded + " needed");
+    }
+}
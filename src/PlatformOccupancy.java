@@ -0,0 +1,18 @@
+// A train standing at a station platform over [start, end) minutes. platform is zero-based and
+// may exceed the station's platform count, which is exactly what a conflict is.
+class PlatformOccupancy {
+    final String trainId;
+    final String stationName;
+    final int start;
+    final int end;
+    final long key;
+    int platform;
+
+    PlatformOccupancy(String trainId, String stationName, int start, int end, long key) {
+        this.trainId = trainId;
+        this.stationName = stationName;
+        this.start = start;
+        this.end = end;
+        this.key = key;
+    }
+}
@@ -0,0 +1,208 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// Detects platform conflicts and assigns platforms per station. Platform assignment is interval
+// graph colouring: a sweep in start order hands each train the lowest platform that is free,
+// which uses the minimum number of platforms. Colouring only depends on the connected block of
+// overlapping occupancies, so a time change re-sweeps just the blocks around the train's old and
+// new intervals instead of the station's whole day.
+class PlatformOccupancyEngine implements TrainObserver {
+    private final Map<String, StationPlatforms> stations = new HashMap<>();
+    private final Map<String, Train> trains = new HashMap<>();
+    private final Map<String, List<PlatformOccupancy>> byTrain = new HashMap<>();
+    private long sequence;
+
+    public synchronized void setPlatformCount(String stationName, int platformCount) {
+        StationPlatforms station = station(stationName);
+        station.platformCount = Math.max(1, platformCount);
+        for (PlatformOccupancy occupancy : station.byStart.values()) {
+            updateConflict(station, occupancy);
+        }
+    }
+
+    public synchronized void addTrain(Train train) {
+        if (train.getStops().isEmpty() || trains.containsKey(train.getTrainId())) {
+            return;
+        }
+        trains.put(train.getTrainId(), train);
+        train.addObserver(this);
+        place(train);
+    }
+
+    // Bulk form of addTrain: every occupancy goes in first, then each touched station is
+    // re-swept once over the span of its new occupancies.
+    public synchronized void addTrains(List<Train> newTrains) {
+        Map<StationPlatforms, int[]> spans = new HashMap<>();
+        for (Train train : newTrains) {
+            if (train.getStops().isEmpty() || trains.containsKey(train.getTrainId())) {
+                continue;
+            }
+            trains.put(train.getTrainId(), train);
+            train.addObserver(this);
+            for (PlatformOccupancy occupancy : insert(train)) {
+                int[] span = spans.computeIfAbsent(stations.get(occupancy.stationName),
+                        s -> new int[]{Integer.MAX_VALUE, Integer.MIN_VALUE});
+                span[0] = Math.min(span[0], occupancy.start);
+                span[1] = Math.max(span[1], occupancy.end);
+            }
+        }
+        for (Map.Entry<StationPlatforms, int[]> entry : spans.entrySet()) {
+            recolor(entry.getKey(), entry.getValue()[0], entry.getValue()[1]);
+        }
+    }
+
+    @Override
+    public synchronized void update(String trainId, String message, TrainChange change) {
+        Train train = trains.get(trainId);
+        if (train == null || !change.changesTimes()) {
+            return;
+        }
+        List<PlatformOccupancy> old = byTrain.remove(trainId);
+        Map<StationPlatforms, List<int[]>> windows = new HashMap<>();
+        if (old != null) {
+            for (PlatformOccupancy occupancy : old) {
+                StationPlatforms station = stations.get(occupancy.stationName);
+                station.byStart.remove(occupancy.key);
+                station.conflicts.remove(occupancy);
+                windows.computeIfAbsent(station, s -> new ArrayList<>()).add(new int[]{occupancy.start, occupancy.end});
+            }
+        }
+        for (PlatformOccupancy occupancy : insert(train)) {
+            windows.computeIfAbsent(stations.get(occupancy.stationName), s -> new ArrayList<>())
+                    .add(new int[]{occupancy.start, occupancy.end});
+        }
+        for (Map.Entry<StationPlatforms, List<int[]>> entry : windows.entrySet()) {
+            for (int[] window : entry.getValue()) {
+                recolor(entry.getKey(), window[0], window[1]);
+            }
+        }
+    }
+
+    // Zero-based platform, or -1 if the train does not stop there. For a stay over midnight this is
+    // the platform it arrives at.
+    public synchronized int getPlatform(String trainId, String stationName) {
+        for (PlatformOccupancy occupancy : byTrain.getOrDefault(trainId, Collections.emptyList())) {
+            if (occupancy.stationName.equals(stationName)) {
+                return occupancy.platform;
+            }
+        }
+        return -1;
+    }
+
+    public synchronized List<PlatformConflict> getConflicts() {
+        List<PlatformConflict> result = new ArrayList<>();
+        for (StationPlatforms station : stations.values()) {
+            result.addAll(conflictsOf(station));
+        }
+        return result;
+    }
+
+    public synchronized List<PlatformConflict> getConflicts(String stationName) {
+        StationPlatforms station = stations.get(stationName);
+        return station == null ? Collections.emptyList() : conflictsOf(station);
+    }
+
+    private List<PlatformConflict> conflictsOf(StationPlatforms station) {
+        List<PlatformConflict> result = new ArrayList<>();
+        for (PlatformOccupancy occupancy : station.conflicts) {
+            result.add(new PlatformConflict(station.stationName, occupancy.trainId, TrainTime.format(occupancy.start),
+                    TrainTime.format(occupancy.end), occupancy.platform + 1));
+        }
+        return result;
+    }
+
+    private void place(Train train) {
+        for (PlatformOccupancy occupancy : insert(train)) {
+            recolor(stations.get(occupancy.stationName), occupancy.start, occupancy.end);
+        }
+    }
+
+    // The train occupies a platform from arrival to departure at every stop, shifted by its
+    // current delay. Origin and terminus stops hold the platform for one minute. Occupancies are
+    // kept within the day, since every train runs daily: a stay over midnight becomes an evening
+    // and a morning occupancy, so it conflicts with trains at either end of the night.
+    private List<PlatformOccupancy> insert(Train train) {
+        List<PlatformOccupancy> occupancies = new ArrayList<>();
+        int offset = train.getScheduleOffsetMinutes();
+        int previous = -1;
+        for (TrainStop stop : train.getStops()) {
+            int arrival = TrainTime.unwrap(TrainTime.toMinutes(stop.getArrivalTime()), previous);
+            int departure = TrainTime.unwrap(TrainTime.toMinutes(stop.getDepartureTime()),
+                    arrival >= 0 ? arrival : previous);
+            int start = arrival >= 0 ? arrival : departure;
+            int end = departure >= 0 ? departure : arrival;
+            if (start < 0) {
+                continue;
+            }
+            previous = end;
+            StationPlatforms station = station(stop.getStationName());
+            int from = Math.floorMod(start + offset, TrainTime.MINUTES_PER_DAY);
+            int to = from + Math.min(Math.max(end - start, 1), TrainTime.MINUTES_PER_DAY);
+            occupancies.add(occupy(train, station, from, Math.min(to, TrainTime.MINUTES_PER_DAY)));
+            if (to > TrainTime.MINUTES_PER_DAY) {
+                occupancies.add(occupy(train, station, 0, to - TrainTime.MINUTES_PER_DAY));
+            }
+        }
+        byTrain.put(train.getTrainId(), occupancies);
+        return occupancies;
+    }
+
+    private PlatformOccupancy occupy(Train train, StationPlatforms station, int from, int to) {
+        PlatformOccupancy occupancy = new PlatformOccupancy(train.getTrainId(), station.stationName, from, to,
+                ((long) from << 32) | (sequence++ & 0xffffffffL));
+        station.byStart.put(occupancy.key, occupancy);
+        station.maxDuration = Math.max(station.maxDuration, to - from);
+        return occupancy;
+    }
+
+    // Grows [from, to) to the whole block of transitively overlapping occupancies, then
+    // re-assigns platforms inside that block with a sweep in start order.
+    private void recolor(StationPlatforms station, int from, int to) {
+        List<PlatformOccupancy> block = station.overlapping(from, to);
+        while (true) {
+            int blockStart = from;
+            int blockEnd = to;
+            for (PlatformOccupancy occupancy : block) {
+                blockStart = Math.min(blockStart, occupancy.start);
+                blockEnd = Math.max(blockEnd, occupancy.end);
+            }
+            if (blockStart == from && blockEnd == to) {
+                break;
+            }
+            from = blockStart;
+            to = blockEnd;
+            block = station.overlapping(from, to);
+        }
+        block.sort((a, b) -> Long.compare(a.key, b.key));
+
+        PriorityQueue<PlatformOccupancy> active = new PriorityQueue<>((a, b) -> Integer.compare(a.end, b.end));
+        PriorityQueue<Integer> free = new PriorityQueue<>();
+        int platformsUsed = 0;
+        for (PlatformOccupancy occupancy : block) {
+            while (!active.isEmpty() && active.peek().end <= occupancy.start) {
+                free.add(active.poll().platform);
+            }
+            occupancy.platform = free.isEmpty() ? platformsUsed++ : free.poll();
+            active.add(occupancy);
+        }
+        for (PlatformOccupancy occupancy : block) {
+            updateConflict(station, occupancy);
+        }
+    }
+
+    private void updateConflict(StationPlatforms station, PlatformOccupancy occupancy) {
+        if (occupancy.platform >= station.platformCount) {
+            station.conflicts.add(occupancy);
+        } else {
+            station.conflicts.remove(occupancy);
+        }
+    }
+
+    private StationPlatforms station(String stationName) {
+        return stations.computeIfAbsent(stationName, StationPlatforms::new);
+    }
+}
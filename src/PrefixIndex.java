@@ -0,0 +1,168 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// String keys to values, searchable by exact key and by prefix. Most entries live in two
+// parallel sorted arrays (keys and values), so an entry costs two references and a prefix
+// search is a binary search plus a scan of the matches. New entries go to a small sorted
+// buffer and removals of array entries are remembered by identity; once those together
+// exceed an eighth of the arrays they are merged into new arrays, which keeps the merge cost
+// per change constant on average. Keys are compared case-insensitively.
+class PrefixIndex<V> {
+    private static final int MIN_MERGE = 1024;
+
+    private String[] keys = new String[0];
+    private Object[] values = new Object[0];
+    private final TreeMap<String, List<V>> added = new TreeMap<>();
+    private final Set<Object> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+    private int addedCount;
+    private int size;
+
+    static String normalize(String key) {
+        return key.toLowerCase(Locale.ROOT);
+    }
+
+    public synchronized void add(String key, V value) {
+        String normalized = normalize(key);
+        if (removed.contains(value)) {
+            // Put back under the key it was removed from: the array entry is still there.
+            for (int i = lowerBound(normalized); i < keys.length && keys[i].equals(normalized); i++) {
+                if (values[i] == value) {
+                    removed.remove(value);
+                    size++;
+                    return;
+                }
+            }
+        }
+        added.computeIfAbsent(normalized, k -> new ArrayList<>(1)).add(value);
+        addedCount++;
+        size++;
+        mergeIfNeeded();
+    }
+
+    // Removes this exact value (by identity) from under the key.
+    public synchronized boolean remove(String key, V value) {
+        String normalized = normalize(key);
+        List<V> pending = added.get(normalized);
+        if (pending != null) {
+            for (int i = 0; i < pending.size(); i++) {
+                if (pending.get(i) == value) {
+                    pending.remove(i);
+                    if (pending.isEmpty()) {
+                        added.remove(normalized);
+                    }
+                    addedCount--;
+                    size--;
+                    return true;
+                }
+            }
+        }
+        for (int i = lowerBound(normalized); i < keys.length && keys[i].equals(normalized); i++) {
+            if (values[i] == value && removed.add(value)) {
+                size--;
+                mergeIfNeeded();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized List<V> exact(String key) {
+        String normalized = normalize(key);
+        return collect(normalized, normalized + '\0', Integer.MAX_VALUE);
+    }
+
+    // Up to limit values whose key starts with the prefix, in key order.
+    public synchronized List<V> prefix(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        return collect(normalized, normalized + Character.MAX_VALUE, limit);
+    }
+
+    // Entries with from <= key < to, merging the arrays and the buffer in key order.
+    @SuppressWarnings("unchecked")
+    private List<V> collect(String from, String to, int limit) {
+        List<V> result = new ArrayList<>();
+        int i = lowerBound(from);
+        Map<String, List<V>> pending = added.subMap(from, true, to, false);
+        var buffered = pending.entrySet().iterator();
+        Map.Entry<String, List<V>> next = buffered.hasNext() ? buffered.next() : null;
+        while (result.size() < limit) {
+            boolean arrayLeft = i < keys.length && keys[i].compareTo(to) < 0;
+            if (next != null && (!arrayLeft || next.getKey().compareTo(keys[i]) < 0)) {
+                for (V value : next.getValue()) {
+                    if (result.size() == limit) {
+                        break;
+                    }
+                    result.add(value);
+                }
+                next = buffered.hasNext() ? buffered.next() : null;
+            } else if (arrayLeft) {
+                if (!removed.contains(values[i])) {
+                    result.add((V) values[i]);
+                }
+                i++;
+            } else {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void mergeIfNeeded() {
+        if (addedCount + removed.size() < Math.max(MIN_MERGE, keys.length / 8)) {
+            return;
+        }
+        String[] mergedKeys = new String[size];
+        Object[] mergedValues = new Object[size];
+        int n = 0;
+        int i = 0;
+        for (Map.Entry<String, List<V>> entry : added.entrySet()) {
+            while (i < keys.length && keys[i].compareTo(entry.getKey()) <= 0) {
+                if (!removed.contains(values[i])) {
+                    mergedKeys[n] = keys[i];
+                    mergedValues[n++] = values[i];
+                }
+                i++;
+            }
+            for (V value : entry.getValue()) {
+                mergedKeys[n] = entry.getKey();
+                mergedValues[n++] = value;
+            }
+        }
+        for (; i < keys.length; i++) {
+            if (!removed.contains(values[i])) {
+                mergedKeys[n] = keys[i];
+                mergedValues[n++] = values[i];
+            }
+        }
+        keys = n == size ? mergedKeys : Arrays.copyOf(mergedKeys, n);
+        values = n == size ? mergedValues : Arrays.copyOf(mergedValues, n);
+        added.clear();
+        removed.clear();
+        addedCount = 0;
+    }
+}
@@ -0,0 +1,186 @@
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Scanner;
+
+// Read-only replica: a local TrainSchedule and ticket registry kept up to date from a
+// leader's change feed by a background thread, with a menu limited to reads. The replica
+// reconnects from its last applied sequence number whenever the connection drops.
+class ReplicaNode {
+    private static final long RECONNECT_MILLIS = 1000;
+
+    private final TrainSchedule schedule;
+    private final int port;
+    private final Map<String, String[]> tickets = new LinkedHashMap<>();
+    private final Map<String, Station> stations = new HashMap<>();
+    private final ReplicationMetrics metrics = new ReplicationMetrics();
+
+    public ReplicaNode(TrainSchedule schedule, int port) {
+        this.schedule = schedule;
+        this.port = port;
+    }
+
+    public ReplicationMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void start() {
+        metrics.register();
+        Thread follower = new Thread(this::follow, "change-feed-replica");
+        follower.setDaemon(true);
+        follower.start();
+    }
+
+    public void runMenu(Scanner scanner) {
+        start();
+        while (true) {
+            System.out.println("\n--- Replica of port " + port + " (read-only) ---");
+            System.out.println("1. Display All Trains");
+            System.out.println("2. Display All Stations");
+            System.out.println("3. Display All Tickets");
+            System.out.println("4. Replication Status");
+            System.out.println("5. Exit");
+            System.out.print("Select an option: ");
+
+            int choice = scanner.nextInt();
+            scanner.nextLine();
+
+            switch (choice) {
+                case 1 -> {
+                    for (TrainVersion train : schedule.snapshot()) {
+                        train.displayTrainInfo();
+                    }
+                }
+                case 2 -> {
+                    synchronized (this) {
+                        schedule.displayAllStations();
+                    }
+                }
+                case 3 -> displayTickets();
+                case 4 -> System.out.println("Applied: " + metrics.getAppliedSequence() + ", leader: "
+                        + metrics.getLeaderSequence() + ", lag: " + metrics.getLagRecords() + " records / "
+                        + metrics.getLagMillis() + " ms, connected: " + metrics.isConnected());
+                case 5 -> {
+                    System.out.println("Exiting replica...");
+                    return;
+                }
+                default -> System.out.println("Invalid option. Please try again.");
+            }
+        }
+    }
+
+    private synchronized void displayTickets() {
+        for (String[] ticket : tickets.values()) {
+            System.out.println("Ticket ID: " + ticket[0] + ", Passenger: " + ticket[1] + ", Seat: " + ticket[2]
+                    + ", Status: " + (Boolean.parseBoolean(ticket[3]) ? "Booked" : "Not Booked"));
+        }
+    }
+
+    private void follow() {
+        while (true) {
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+                 DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                 DataOutputStream out = new DataOutputStream(socket.getOutputStream())) {
+                out.writeLong(metrics.appliedSequence);
+                out.flush();
+                metrics.connected = true;
+                readFrames(in);
+            } catch (IOException e) {
+                // Leader not there (yet) or gone; try again shortly.
+            }
+            metrics.connected = false;
+            try {
+                Thread.sleep(RECONNECT_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    // Snapshot records all carry the snapshot's sequence number, so progress only moves on at
+    // the end of the snapshot; a connection lost halfway leaves the replica where it was.
+    private void readFrames(DataInputStream in) throws IOException {
+        boolean inSnapshot = false;
+        while (true) {
+            byte frame = in.readByte();
+            switch (frame) {
+                case ChangeRecord.FRAME_RECORD -> {
+                    ChangeRecord record = ChangeRecord.readFrom(in);
+                    apply(record);
+                    if (!inSnapshot) {
+                        metrics.lagMillis = Math.max(0, System.currentTimeMillis() - record.timestampMillis);
+                        metrics.appliedSequence = record.sequence;
+                        metrics.leaderSequence = Math.max(metrics.leaderSequence, record.sequence);
+                    }
+                }
+                case ChangeRecord.FRAME_HEARTBEAT -> {
+                    metrics.leaderSequence = in.readLong();
+                    in.readLong();
+                    if (metrics.appliedSequence >= metrics.leaderSequence) {
+                        metrics.lagMillis = 0;
+                    }
+                }
+                case ChangeRecord.FRAME_SNAPSHOT_BEGIN -> {
+                    in.readLong();
+                    inSnapshot = true;
+                }
+                case ChangeRecord.FRAME_SNAPSHOT_END -> {
+                    inSnapshot = false;
+                    long snapshotSequence = in.readLong();
+                    metrics.appliedSequence = snapshotSequence;
+                    metrics.leaderSequence = Math.max(metrics.leaderSequence, snapshotSequence);
+                }
+                default -> throw new IOException("Unknown change feed frame " + frame);
+            }
+        }
+    }
+
+    synchronized void apply(ChangeRecord record) {
+        String[] fields = record.fields;
+        switch (record.kind) {
+            case ChangeRecord.STATION -> {
+                Station station = stations.get(fields[0]);
+                if (station == null) {
+                    station = new Station(fields[0], fields[1], Integer.parseInt(fields[2]));
+                    stations.put(fields[0], station);
+                    schedule.addStation(station);
+                } else {
+                    station.setPlatformCount(Integer.parseInt(fields[2]));
+                }
+            }
+            case ChangeRecord.TICKET -> tickets.put(fields[0], fields);
+            case ChangeRecord.TRAIN -> applyTrain(fields);
+            default -> System.out.println("Ignoring unknown change record " + record.kind);
+        }
+    }
+
+    // Compares against the schedule's current version and sends only what differs to the train.
+    private void applyTrain(String[] fields) {
+        TrainVersion train = schedule.getTrainById(fields[0]);
+        if (train == null) {
+            schedule.addTrain(ChangeRecord.toTrain(fields));
+            return;
+        }
+        TrainChange.TrainChangeBuilder change = new TrainChange.TrainChangeBuilder();
+        if (!Objects.equals(train.getDepartureTime(), fields[3])) {
+            change.withDepartureTime(fields[3]);
+        }
+        if (!Objects.equals(train.getArrivalTime(), fields[4])) {
+            change.withArrivalTime(fields[4]);
+        }
+        if (!Objects.equals(train.getStatus(), fields[5])) {
+            change.withStatus(fields[5]);
+        }
+        if (!String.valueOf(train.getState()).equals(fields[6])) {
+            change.withState(ChangeRecord.stateOf(fields[6]));
+        }
+        schedule.getLiveTrain(fields[0]).applyChanges(change.build());
+    }
+}
@@ -0,0 +1,26 @@
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+// Follower-side progress, exported over JMX as trainscheduler:type=replication,name=follower.
+class ReplicationMetrics implements ReplicationMetricsMBean {
+    volatile long appliedSequence;
+    volatile long leaderSequence;
+    volatile long lagMillis;
+    volatile boolean connected;
+
+    @Override public long getAppliedSequence() { return appliedSequence; }
+    @Override public long getLeaderSequence() { return leaderSequence; }
+    @Override public long getLagRecords() { return Math.max(0, leaderSequence - appliedSequence); }
+    @Override public long getLagMillis() { return lagMillis; }
+    @Override public boolean isConnected() { return connected; }
+
+    void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this,
+                    new ObjectName("trainscheduler:type=replication,name=follower"));
+        } catch (JMException e) {
+            System.out.println("Could not register replication MBean: " + e.getMessage());
+        }
+    }
+}
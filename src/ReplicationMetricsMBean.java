@@ -0,0 +1,8 @@
+// JMX view of a follower's replication progress. Standard MBean interfaces have to be public.
+public interface ReplicationMetricsMBean {
+    long getAppliedSequence();
+    long getLeaderSequence();
+    long getLagRecords();
+    long getLagMillis();
+    boolean isConnected();
+}
@@ -0,0 +1,24 @@
+import java.util.Collections;
+import java.util.List;
+
+class Route {
+    private final List<String> stationNames;
+    private final int totalMinutes;
+
+    public Route(List<String> stationNames, int totalMinutes) {
+        this.stationNames = Collections.unmodifiableList(stationNames);
+        this.totalMinutes = totalMinutes;
+    }
+
+    public List<String> getStationNames() {
+        return stationNames;
+    }
+
+    public int getTotalMinutes() {
+        return totalMinutes;
+    }
+
+    public void displayRouteInfo() {
+        System.out.println("Route: " + String.join(" -> ", stationNames) + " (" + totalMinutes + " min)");
+    }
+}
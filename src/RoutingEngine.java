@@ -0,0 +1,222 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Fastest-route queries over a StationGraph using A* with landmark lower bounds (ALT).
+// Distances from and to a few hub stations (the landmarks) are precomputed; the triangle
+// inequality over those tables steers the search so it settles only a small part of the graph.
+// The tables are patched incrementally when a connection gets faster and rebuilt from scratch
+// only when the number of stations has doubled since the hubs were chosen.
+class RoutingEngine implements StationGraphListener {
+    private final StationGraph graph;
+    private final int landmarkCount;
+    private int[] landmarks = new int[0];
+    private int[][] fromLandmark = new int[0][];
+    private int[][] toLandmark = new int[0][];
+    private int sizeAtSelection;
+    private final ThreadLocal<SearchScratch> scratch = ThreadLocal.withInitial(SearchScratch::new);
+
+    public RoutingEngine(StationGraph graph, int landmarkCount) {
+        this.graph = graph;
+        this.landmarkCount = landmarkCount;
+        graph.getLock().writeLock().lock();
+        try {
+            selectLandmarks();
+            graph.addListener(this);
+        } finally {
+            graph.getLock().writeLock().unlock();
+        }
+    }
+
+    public Route findFastestRoute(String fromStation, String toStation) {
+        graph.getLock().readLock().lock();
+        try {
+            int source = graph.getStationId(fromStation);
+            int target = graph.getStationId(toStation);
+            if (source < 0 || target < 0) {
+                return null;
+            }
+            SearchScratch search = scratch.get();
+            int minutes = search(source, target, search);
+            if (minutes >= StationGraph.INFINITY) {
+                return null;
+            }
+            List<String> path = new ArrayList<>();
+            for (int station = target; station != -1; station = search.parent[station]) {
+                path.add(graph.nameOf(station));
+            }
+            Collections.reverse(path);
+            return new Route(path, minutes);
+        } finally {
+            graph.getLock().readLock().unlock();
+        }
+    }
+
+    // Travel time only, without building the station list.
+    public int findFastestTime(String fromStation, String toStation) {
+        graph.getLock().readLock().lock();
+        try {
+            int source = graph.getStationId(fromStation);
+            int target = graph.getStationId(toStation);
+            if (source < 0 || target < 0) {
+                return -1;
+            }
+            int minutes = search(source, target, scratch.get());
+            return minutes >= StationGraph.INFINITY ? -1 : minutes;
+        } finally {
+            graph.getLock().readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onStationAdded(int station) {
+        if (graph.size() >= Math.max(2 * sizeAtSelection, landmarkCount)) {
+            selectLandmarks();
+            return;
+        }
+        for (int i = 0; i < landmarks.length; i++) {
+            fromLandmark[i] = ensureCapacity(fromLandmark[i], graph.size());
+            toLandmark[i] = ensureCapacity(toLandmark[i], graph.size());
+        }
+    }
+
+    @Override
+    public void onConnectionImproved(int from, int to, int minutes) {
+        for (int i = 0; i < landmarks.length; i++) {
+            int[] forward = fromLandmark[i];
+            if (forward[from] < StationGraph.INFINITY && forward[from] + minutes < forward[to]) {
+                forward[to] = forward[from] + minutes;
+                relax(forward, to, true);
+            }
+            int[] backward = toLandmark[i];
+            if (backward[to] < StationGraph.INFINITY && backward[to] + minutes < backward[from]) {
+                backward[from] = backward[to] + minutes;
+                relax(backward, from, false);
+            }
+        }
+    }
+
+    // Farthest-point selection: start from the busiest station, then repeatedly take the station
+    // farthest from all landmarks chosen so far, which spreads the hubs around the network edge
+    // where their bounds are tightest.
+    private void selectLandmarks() {
+        int size = graph.size();
+        int count = Math.min(landmarkCount, size);
+        landmarks = new int[count];
+        fromLandmark = new int[count][];
+        toLandmark = new int[count][];
+        int[] nearest = newDistances(size);
+        int next = 0;
+        for (int station = 1; station < size; station++) {
+            if (graph.outDegree(station) + graph.inDegree(station) > graph.outDegree(next) + graph.inDegree(next)) {
+                next = station;
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            landmarks[i] = next;
+            fromLandmark[i] = newDistances(size);
+            fromLandmark[i][next] = 0;
+            relax(fromLandmark[i], next, true);
+            toLandmark[i] = newDistances(size);
+            toLandmark[i][next] = 0;
+            relax(toLandmark[i], next, false);
+            int farthest = -1;
+            for (int station = 0; station < size; station++) {
+                int distance = Math.min(fromLandmark[i][station], toLandmark[i][station]);
+                nearest[station] = Math.min(nearest[station], distance);
+                // Stations no landmark reaches yet rank first so disconnected parts get covered.
+                if (farthest < 0 || nearest[station] > nearest[farthest]) {
+                    farthest = station;
+                }
+            }
+            next = farthest;
+        }
+        sizeAtSelection = size;
+    }
+
+    // Dijkstra from a station whose distance just dropped, following out-edges (forward tables)
+    // or in-edges (backward tables). Only stations whose distance improves are visited.
+    private void relax(int[] distances, int start, boolean forward) {
+        LongHeap heap = new LongHeap();
+        heap.push(distances[start], start);
+        while (!heap.isEmpty()) {
+            long entry = heap.pop();
+            int station = (int) entry;
+            int distance = (int) (entry >>> 32);
+            if (distance > distances[station]) {
+                continue;
+            }
+            int degree = forward ? graph.outDegree(station) : graph.inDegree(station);
+            int[] targets = forward ? graph.outTargets(station) : graph.inTargets(station);
+            int[] weights = forward ? graph.outWeights(station) : graph.inWeights(station);
+            for (int i = 0; i < degree; i++) {
+                int candidate = distance + weights[i];
+                if (candidate < distances[targets[i]]) {
+                    distances[targets[i]] = candidate;
+                    heap.push(candidate, targets[i]);
+                }
+            }
+        }
+    }
+
+    private int search(int source, int target, SearchScratch search) {
+        search.reset(graph.size());
+        search.open(source, 0, -1);
+        search.heap.push(lowerBound(source, target), source);
+        while (!search.heap.isEmpty()) {
+            int station = (int) search.heap.pop();
+            if (search.isClosed(station)) {
+                continue;
+            }
+            if (station == target) {
+                return search.distance[station];
+            }
+            search.close(station);
+            int distance = search.distance[station];
+            int degree = graph.outDegree(station);
+            int[] targets = graph.outTargets(station);
+            int[] weights = graph.outWeights(station);
+            for (int i = 0; i < degree; i++) {
+                int next = targets[i];
+                int candidate = distance + weights[i];
+                if (candidate < search.distanceOf(next)) {
+                    search.open(next, candidate, station);
+                    search.heap.push(candidate + lowerBound(next, target), next);
+                }
+            }
+        }
+        return StationGraph.INFINITY;
+    }
+
+    private int lowerBound(int station, int target) {
+        int bound = 0;
+        for (int i = 0; i < landmarks.length; i++) {
+            int[] forward = fromLandmark[i];
+            if (forward[target] < StationGraph.INFINITY && forward[station] < StationGraph.INFINITY) {
+                bound = Math.max(bound, forward[target] - forward[station]);
+            }
+            int[] backward = toLandmark[i];
+            if (backward[station] < StationGraph.INFINITY && backward[target] < StationGraph.INFINITY) {
+                bound = Math.max(bound, backward[station] - backward[target]);
+            }
+        }
+        return bound;
+    }
+
+    private static int[] newDistances(int size) {
+        int[] distances = new int[Math.max(size, 16)];
+        Arrays.fill(distances, StationGraph.INFINITY);
+        return distances;
+    }
+
+    private static int[] ensureCapacity(int[] distances, int size) {
+        if (distances.length >= size) {
+            return distances;
+        }
+        int oldLength = distances.length;
+        int[] grown = Arrays.copyOf(distances, Math.max(size, oldLength * 2));
+        Arrays.fill(grown, oldLength, grown.length, StationGraph.INFINITY);
+        return grown;
+    }
+}
@@ -0,0 +1,14 @@
+import java.io.PrintStream;
+
+class RunningState implements TrainState {
+    @Override
+    public void handle(TrainContext context, PrintStream out) {
+        out.println("The train is now running.");
+        context.setState(this);
+    }
+
+    @Override
+    public String toString() {
+        return "Running State";
+    }
+}
@@ -0,0 +1,4 @@
+interface ScheduleListener {
+    void trainAdded(Train train);
+    void stationAdded(Station station);
+}
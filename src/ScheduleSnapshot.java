@@ -0,0 +1,77 @@
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+// One consistent state of the whole schedule. Slots live in chunks of 64, chunks in segments
+// of 64, and segments hang off a root array with spare capacity. A snapshot only ever reads
+// slots below its size and nothing it can read is modified, so a reader holding one needs no
+// lock; versions nobody references any more are left to the garbage collector.
+final class ScheduleSnapshot implements Iterable<TrainVersion> {
+    static final int CHUNK_BITS = 6;
+    static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    static final int SEGMENT_BITS = 6;
+    static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+    static final ScheduleSnapshot EMPTY = new ScheduleSnapshot(0, new TrainVersion[0][][], 0, Map.of());
+
+    private final long version;
+    private final TrainVersion[][][] segments;
+    private final int size;
+    private final Map<String, Integer> slotById;
+
+    ScheduleSnapshot(long version, TrainVersion[][][] segments, int size, Map<String, Integer> slotById) {
+        this.version = version;
+        this.segments = segments;
+        this.size = size;
+        this.slotById = slotById;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public TrainVersion get(int slot) {
+        return segments[segment(slot)][chunk(slot)][slot & (CHUNK_SIZE - 1)];
+    }
+
+    static int segment(int slot) {
+        return slot >>> (CHUNK_BITS + SEGMENT_BITS);
+    }
+
+    static int chunk(int slot) {
+        return (slot >>> CHUNK_BITS) & (SEGMENT_SIZE - 1);
+    }
+
+    // First train added under this ID, as of this snapshot.
+    public TrainVersion find(String trainId) {
+        Integer slot = slotById.get(trainId);
+        return slot == null || slot >= size ? null : get(slot);
+    }
+
+    @Override
+    public Iterator<TrainVersion> iterator() {
+        return new Iterator<>() {
+            private int slot;
+
+            @Override
+            public boolean hasNext() {
+                return slot < size;
+            }
+
+            @Override
+            public TrainVersion next() {
+                if (slot >= size) {
+                    throw new NoSuchElementException();
+                }
+                return get(slot++);
+            }
+        };
+    }
+
+    TrainVersion[][][] segments() {
+        return segments;
+    }
+}
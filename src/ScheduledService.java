@@ -0,0 +1,15 @@
+class ScheduledService implements Comparable<ScheduledService> {
+    final long dueDay;
+    final Train train;
+
+    ScheduledService(long dueDay, Train train) {
+        this.dueDay = dueDay;
+        this.train = train;
+    }
+
+    @Override
+    public int compareTo(ScheduledService other) {
+        int byDay = Long.compare(dueDay, other.dueDay);
+        return byDay != 0 ? byDay : train.getTrainId().compareTo(other.train.getTrainId());
+    }
+}
@@ -0,0 +1,44 @@
+// Per-thread search state. Generation stamps mark which entries belong to the current query,
+// so nothing has to be cleared or allocated between queries.
+class SearchScratch {
+    int[] distance = new int[0];
+    int[] parent = new int[0];
+    int[] seen = new int[0];
+    int[] closed = new int[0];
+    int generation;
+    final LongHeap heap = new LongHeap();
+
+    void reset(int size) {
+        if (distance.length < size) {
+            int capacity = Math.max(size, distance.length * 2);
+            distance = new int[capacity];
+            parent = new int[capacity];
+            seen = new int[capacity];
+            closed = new int[capacity];
+            generation = 0;
+        }
+        generation++;
+        heap.clear();
+    }
+
+    // Also reopens a closed station: with landmarks that cannot reach every station the
+    // bound is admissible but not always consistent, so a shorter path may still turn up.
+    void open(int station, int dist, int from) {
+        distance[station] = dist;
+        parent[station] = from;
+        seen[station] = generation;
+        closed[station] = 0;
+    }
+
+    int distanceOf(int station) {
+        return seen[station] == generation ? distance[station] : StationGraph.INFINITY;
+    }
+
+    void close(int station) {
+        closed[station] = generation;
+    }
+
+    boolean isClosed(int station) {
+        return closed[station] == generation;
+    }
+}
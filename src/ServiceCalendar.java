@@ -0,0 +1,127 @@
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// The days a train runs between two dates: a weekly pattern plus exception dates that add or
+// remove single days. The result is kept as one bit per day from validFrom, so a year of
+// service is six longs.
+class ServiceCalendar {
+    private final LocalDate validFrom;
+    private final LocalDate validTo;
+    private final Set<DayOfWeek> weekdays;
+    private final Map<LocalDate, Boolean> exceptions = new TreeMap<>();
+    private final BitSet days = new BitSet();
+
+    public ServiceCalendar(LocalDate validFrom, LocalDate validTo, Set<DayOfWeek> weekdays) {
+        this.validFrom = validFrom;
+        this.validTo = validTo;
+        this.weekdays = weekdays.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(weekdays);
+        int length = (int) (validTo.toEpochDay() - validFrom.toEpochDay()) + 1;
+        for (int day = 0; day < length; day++) {
+            if (this.weekdays.contains(validFrom.plusDays(day).getDayOfWeek())) {
+                days.set(day);
+            }
+        }
+    }
+
+    public LocalDate getValidFrom() {
+        return validFrom;
+    }
+
+    public LocalDate getValidTo() {
+        return validTo;
+    }
+
+    public Set<DayOfWeek> getWeekdays() {
+        return EnumSet.copyOf(weekdays);
+    }
+
+    public Map<LocalDate, Boolean> getExceptions() {
+        return exceptions;
+    }
+
+    // Runs (or not) on this date whatever the weekly pattern says. Dates outside the
+    // calendar's validity are ignored.
+    public void setException(LocalDate date, boolean running) {
+        int day = dayOf(date);
+        if (day < 0) {
+            return;
+        }
+        exceptions.put(date, running);
+        days.set(day, running);
+    }
+
+    // An independent calendar with the same days, for trains built from a template.
+    public ServiceCalendar copy() {
+        ServiceCalendar copy = new ServiceCalendar(validFrom, validTo, weekdays);
+        for (Map.Entry<LocalDate, Boolean> exception : exceptions.entrySet()) {
+            copy.setException(exception.getKey(), exception.getValue());
+        }
+        return copy;
+    }
+
+    public boolean runsOn(LocalDate date) {
+        int day = dayOf(date);
+        return day >= 0 && days.get(day);
+    }
+
+    // Copies this calendar's days into bits relative to another start date.
+    BitSet daysFrom(LocalDate start, int length) {
+        BitSet result = new BitSet(length);
+        int shift = (int) (validFrom.toEpochDay() - start.toEpochDay());
+        for (int day = days.nextSetBit(0); day >= 0; day = days.nextSetBit(day + 1)) {
+            int target = day + shift;
+            if (target >= length) {
+                break;
+            }
+            if (target >= 0) {
+                result.set(target);
+            }
+        }
+        return result;
+    }
+
+    private int dayOf(LocalDate date) {
+        if (date.isBefore(validFrom) || date.isAfter(validTo)) {
+            return -1;
+        }
+        return (int) (date.toEpochDay() - validFrom.toEpochDay());
+    }
+
+    // "Mon,Tue,Fri" or "Mon-Fri" style lists, case-insensitive; null if a name is not recognised.
+    public static Set<DayOfWeek> parseWeekdays(String text) {
+        Set<DayOfWeek> weekdays = EnumSet.noneOf(DayOfWeek.class);
+        for (String part : text.split(",")) {
+            String[] range = part.trim().split("-");
+            DayOfWeek first = parseWeekday(range[0]);
+            DayOfWeek last = range.length == 2 ? parseWeekday(range[1]) : first;
+            if (first == null || last == null || range.length > 2) {
+                return null;
+            }
+            for (DayOfWeek day = first; ; day = day.plus(1)) {
+                weekdays.add(day);
+                if (day == last) {
+                    break;
+                }
+            }
+        }
+        return weekdays;
+    }
+
+    private static DayOfWeek parseWeekday(String name) {
+        String prefix = name.trim().toUpperCase();
+        if (prefix.length() < 3) {
+            return null;
+        }
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (day.name().startsWith(prefix)) {
+                return day;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,86 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Generates recurring services from one template train. Instances share everything immutable
+// with the template (type, status, station names, time strings) and every instance with the
+// same time of day shares one stop list, so a day of services at a fixed interval costs one
+// small object per train plus one stop list per distinct departure minute.
+//
+// The ID pattern may use {id} for the template ID, {n} for the 1-based instance number,
+// {day} for whole days of offset and {time} for the departure as HHmm. Trains run daily,
+// so offsets only move the time of day; {day} keeps the IDs of multi-day runs apart.
+class ServiceTemplate {
+    private final Train template;
+    private final Map<Integer, List<TrainStop>> stopsByShift = new HashMap<>();
+
+    public ServiceTemplate(Train template) {
+        this.template = template;
+    }
+
+    public Train getTemplate() {
+        return template;
+    }
+
+    // count instances at firstOffsetMinutes, firstOffsetMinutes + intervalMinutes, ...
+    // relative to the template's times.
+    public List<Train> expand(String idPattern, int count, int firstOffsetMinutes, int intervalMinutes) {
+        List<Train> instances = new ArrayList<>(count);
+        int departure = TrainTime.toMinutes(template.getDepartureTime());
+        int arrival = TrainTime.toMinutes(template.getArrivalTime());
+        for (int i = 0; i < count; i++) {
+            int offset = firstOffsetMinutes + i * intervalMinutes;
+            String departureTime = departure < 0 ? template.getDepartureTime() : TrainTime.format(departure + offset);
+            String arrivalTime = arrival < 0 ? template.getArrivalTime() : TrainTime.format(arrival + offset);
+            String trainId = formatId(idPattern, i + 1, Math.floorDiv(offset, TrainTime.MINUTES_PER_DAY), departureTime);
+            instances.add(template.instantiate(trainId, departureTime, arrivalTime, shiftedStops(offset)));
+        }
+        return instances;
+    }
+
+    // The template's stops moved by offset minutes, built once per distinct time of day.
+    List<TrainStop> shiftedStops(int offset) {
+        int shift = Math.floorMod(offset, TrainTime.MINUTES_PER_DAY);
+        if (shift == 0) {
+            return template.getStops();
+        }
+        return stopsByShift.computeIfAbsent(shift, key -> {
+            List<TrainStop> shifted = new ArrayList<>(template.getStops().size());
+            for (TrainStop stop : template.getStops()) {
+                shifted.add(new TrainStop(stop.getStationName(), shift(stop.getArrivalTime(), key),
+                        shift(stop.getDepartureTime(), key)));
+            }
+            return Collections.unmodifiableList(shifted);
+        });
+    }
+
+    private static String shift(String time, int minutes) {
+        int minute = TrainTime.toMinutes(time);
+        return minute < 0 ? time : TrainTime.format(minute + minutes);
+    }
+
+    private String formatId(String pattern, int number, int day, String departureTime) {
+        StringBuilder id = new StringBuilder(pattern.length() + 16);
+        int i = 0;
+        while (i < pattern.length()) {
+            if (pattern.startsWith("{id}", i)) {
+                id.append(template.getTrainId());
+                i += 4;
+            } else if (pattern.startsWith("{n}", i)) {
+                id.append(number);
+                i += 3;
+            } else if (pattern.startsWith("{day}", i)) {
+                id.append(day);
+                i += 5;
+            } else if (pattern.startsWith("{time}", i)) {
+                id.append(departureTime.replace(":", ""));
+                i += 6;
+            } else {
+                id.append(pattern.charAt(i++));
+            }
+        }
+        return id.toString();
+    }
+}
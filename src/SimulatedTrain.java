@@ -0,0 +1,62 @@
+import java.util.BitSet;
+import java.util.List;
+
+// One train's run through the simulated day. Stop times are minutes after midnight with the
+// train's schedule offset applied; the last stop has no departure.
+class SimulatedTrain {
+    final String trainId;
+    final TrainContext context = new TrainContext();
+    final String[] stations;
+    final int[] plannedArrival;
+    final int[] plannedDeparture;
+    int delay;
+    int breakdownHop = -1;
+    int seatsBooked;
+    // Seat n is bit n - 1; a cancellation clears its bit so the seat can be sold again.
+    final BitSet occupiedSeats = new BitSet();
+    int nextTicket;
+
+    SimulatedTrain(String trainId, String[] stations, int[] plannedArrival, int[] plannedDeparture) {
+        this.trainId = trainId;
+        this.stations = stations;
+        this.plannedArrival = plannedArrival;
+        this.plannedDeparture = plannedDeparture;
+    }
+
+    // Builds the stop times from the train's stops, or a single hop from its own times.
+    static SimulatedTrain of(TrainVersion train) {
+        List<TrainStop> stops = train.getStops();
+        if (stops.size() < 2) {
+            int departure = TrainTime.toMinutes(train.getDepartureTime());
+            int arrival = TrainTime.unwrap(TrainTime.toMinutes(train.getArrivalTime()), departure);
+            if (departure < 0 || arrival < 0) {
+                return null;
+            }
+            return new SimulatedTrain(train.getTrainId(), new String[]{"origin", "destination"},
+                    new int[]{departure, arrival}, new int[]{departure, -1});
+        }
+        int offset = train.getScheduleOffsetMinutes();
+        String[] stations = new String[stops.size()];
+        int[] arrivals = new int[stops.size()];
+        int[] departures = new int[stops.size()];
+        int last = stops.size() - 1;
+        int previous = -1;
+        for (int i = 0; i <= last; i++) {
+            TrainStop stop = stops.get(i);
+            int arrival = i == 0 ? -1 : TrainTime.unwrap(TrainTime.toMinutes(stop.getArrivalTime()), previous);
+            if (i > 0 && arrival < 0) {
+                return null;
+            }
+            previous = Math.max(previous, arrival);
+            int departure = i == last ? -1 : TrainTime.unwrap(TrainTime.toMinutes(stop.getDepartureTime()), previous);
+            if (i < last && departure < 0) {
+                return null;
+            }
+            previous = Math.max(previous, departure);
+            stations[i] = stop.getStationName();
+            arrivals[i] = (i == 0 ? departure : arrival) + offset;
+            departures[i] = i == last ? -1 : departure + offset;
+        }
+        return new SimulatedTrain(train.getTrainId(), stations, arrivals, departures);
+    }
+}
@@ -0,0 +1,62 @@
+class SimulationConfig {
+    final long seed;
+    final double delayProbability;
+    final int maxDelayMinutes;
+    final double breakdownProbability;
+    final int breakdownMinutes;
+    final int bookingsPerTrain;
+    final int seatsPerTrain;
+    final double cancelProbability;
+
+    private SimulationConfig(SimulationConfigBuilder builder) {
+        this.seed = builder.seed;
+        this.delayProbability = builder.delayProbability;
+        this.maxDelayMinutes = builder.maxDelayMinutes;
+        this.breakdownProbability = builder.breakdownProbability;
+        this.breakdownMinutes = builder.breakdownMinutes;
+        this.bookingsPerTrain = builder.bookingsPerTrain;
+        this.seatsPerTrain = builder.seatsPerTrain;
+        this.cancelProbability = builder.cancelProbability;
+    }
+
+    public static class SimulationConfigBuilder {
+        private long seed = 1;
+        private double delayProbability = 0.05;
+        private int maxDelayMinutes = 15;
+        private double breakdownProbability = 0.01;
+        private int breakdownMinutes = 45;
+        private int bookingsPerTrain = 100;
+        private int seatsPerTrain = 80;
+        private double cancelProbability = 0.1;
+
+        public SimulationConfigBuilder withSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        // Chance that a train loses time on any one hop, and the most it can lose.
+        public SimulationConfigBuilder withDelays(double probability, int maxMinutes) {
+            this.delayProbability = probability;
+            this.maxDelayMinutes = maxMinutes;
+            return this;
+        }
+
+        // Chance that a train breaks down once during its trip, and how long it is out of service.
+        public SimulationConfigBuilder withBreakdowns(double probability, int minutes) {
+            this.breakdownProbability = probability;
+            this.breakdownMinutes = minutes;
+            return this;
+        }
+
+        public SimulationConfigBuilder withBookings(int bookingsPerTrain, int seatsPerTrain, double cancelProbability) {
+            this.bookingsPerTrain = bookingsPerTrain;
+            this.seatsPerTrain = seatsPerTrain;
+            this.cancelProbability = cancelProbability;
+            return this;
+        }
+
+        public SimulationConfig build() {
+            return new SimulationConfig(this);
+        }
+    }
+}
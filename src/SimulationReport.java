@@ -0,0 +1,48 @@
+import java.util.HashMap;
+import java.util.Map;
+
+class SimulationReport {
+    int trainsSimulated;
+    int tripsCompleted;
+    long eventsProcessed;
+    long wallTimeNanos;
+    long totalDelayMinutes;
+    int maxDelayMinutes;
+    int onTimeArrivals;
+    int breakdowns;
+    int bookingsAccepted;
+    int bookingsRejected;
+    int cancellations;
+    long seatsOffered;
+    long seatsOccupied;
+    final Map<String, Integer> departuresByStation = new HashMap<>();
+
+    public double getEventsPerSecond() {
+        return wallTimeNanos == 0 ? 0 : eventsProcessed * 1e9 / wallTimeNanos;
+    }
+
+    public double getAverageDelayMinutes() {
+        return tripsCompleted == 0 ? 0 : (double) totalDelayMinutes / tripsCompleted;
+    }
+
+    public double getSeatUtilisation() {
+        return seatsOffered == 0 ? 0 : (double) seatsOccupied / seatsOffered;
+    }
+
+    public void displayReport() {
+        System.out.println("--- Simulation Report ---");
+        System.out.println("Trains simulated: " + trainsSimulated + ", trips completed: " + tripsCompleted);
+        System.out.printf("Events: %d in %.2f s (%.0f events/s)%n", eventsProcessed, wallTimeNanos / 1e9,
+                getEventsPerSecond());
+        System.out.printf("Average delay: %.2f min, max delay: %d min, on time: %.1f%%, breakdowns: %d%n",
+                getAverageDelayMinutes(), maxDelayMinutes,
+                tripsCompleted == 0 ? 0 : 100.0 * onTimeArrivals / tripsCompleted, breakdowns);
+        System.out.printf("Bookings: %d accepted, %d rejected, %d cancelled, seat utilisation: %.1f%%%n",
+                bookingsAccepted, bookingsRejected, cancellations, 100 * getSeatUtilisation());
+        departuresByStation.entrySet().stream()
+                .sorted((a, b) -> b.getValue() - a.getValue())
+                .limit(5)
+                .forEach(entry -> System.out.println("Busiest station: " + entry.getKey() + ", departures: "
+                        + entry.getValue()));
+    }
+}
@@ -0,0 +1,40 @@
+class Station implements Visitable {
+    private String stationName;
+    private String location;
+    private int platformCount;
+
+    public Station(String stationName, String location) {
+        this(stationName, location, 1);
+    }
+
+    public Station(String stationName, String location, int platformCount) {
+        this.stationName = stationName;
+        this.location = location;
+        this.platformCount = platformCount;
+    }
+
+    @Override
+    public void accept(TrainVisitor visitor) {
+        visitor.visitStation(this);
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getStationName() {
+        return stationName;
+    }
+
+    public int getPlatformCount() {
+        return platformCount;
+    }
+
+    public void setPlatformCount(int platformCount) {
+        this.platformCount = platformCount;
+    }
+
+    public void displayStationInfo() {
+        System.out.println("Station: " + stationName + ", Location: " + location + ", Platforms: " + platformCount);
+    }
+}
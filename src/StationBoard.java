@@ -0,0 +1,37 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+// Departures and arrivals of one station keyed by minute of day (plus a sequence number to
+// keep equal times apart), with the keys each train holds so it can be replaced in O(log n).
+class StationBoard {
+    final NavigableMap<Long, BoardEntry> departures = new TreeMap<>();
+    final NavigableMap<Long, BoardEntry> arrivals = new TreeMap<>();
+    final Map<String, long[]> keysByTrain = new HashMap<>();
+
+    int size() {
+        return departures.size() + arrivals.size();
+    }
+
+    // Up to pageSize entries from the given minute on, wrapping past midnight.
+    static List<BoardEntry> page(NavigableMap<Long, BoardEntry> entries, int fromMinute, int pageSize) {
+        List<BoardEntry> page = new ArrayList<>(Math.min(pageSize, entries.size()));
+        long from = (long) fromMinute << 32;
+        for (BoardEntry entry : entries.tailMap(from, true).values()) {
+            if (page.size() == pageSize) {
+                return page;
+            }
+            page.add(entry);
+        }
+        for (BoardEntry entry : entries.headMap(from, false).values()) {
+            if (page.size() == pageSize) {
+                break;
+            }
+            page.add(entry);
+        }
+        return page;
+    }
+}
@@ -0,0 +1,3 @@
+interface StationFactory {
+    Station createStation(String stationName, String location);
+}
@@ -0,0 +1,181 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Directed station graph built from the trains' stop sequences. Every edge carries the fastest
+// known travel time between two consecutive stops. Stations are dense int ids so the routing
+// engine can work on plain arrays.
+class StationGraph {
+    static final int INFINITY = Integer.MAX_VALUE / 4;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<StationGraphListener> listeners = new ArrayList<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private String[] names = new String[16];
+    private int[][] outTargets = new int[16][];
+    private int[][] outWeights = new int[16][];
+    private int[] outDegree = new int[16];
+    private int[][] inTargets = new int[16][];
+    private int[][] inWeights = new int[16][];
+    private int[] inDegree = new int[16];
+    private int size;
+
+    public void addListener(StationGraphListener listener) {
+        lock.writeLock().lock();
+        try {
+            listeners.add(listener);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int addStation(String stationName) {
+        lock.writeLock().lock();
+        try {
+            return stationId(stationName);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addConnection(String from, String to, int minutes) {
+        lock.writeLock().lock();
+        try {
+            connect(stationId(from), stationId(to), minutes);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Adds one edge per pair of consecutive stops, timed from departure to the next arrival.
+    public void addTrain(Train train) {
+        List<TrainStop> stops = train.getStops();
+        if (stops.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int previous = stationId(stops.get(0).getStationName());
+            for (int i = 1; i < stops.size(); i++) {
+                int next = stationId(stops.get(i).getStationName());
+                int minutes = TrainTime.duration(stops.get(i - 1).getDepartureTime(), stops.get(i).getArrivalTime());
+                if (minutes >= 0 && previous != next) {
+                    connect(previous, next, minutes);
+                }
+                previous = next;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Bulk form of addTrain under one write lock. Trains sharing a stop list (instances of the
+    // same template) contribute the same edges, so each list is only walked once.
+    public void addTrains(List<Train> trains) {
+        Set<List<TrainStop>> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        lock.writeLock().lock();
+        try {
+            for (Train train : trains) {
+                if (seen.add(train.getStops())) {
+                    addTrain(train);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int getStationId(String stationName) {
+        lock.readLock().lock();
+        try {
+            Integer id = ids.get(stationName);
+            return id == null ? -1 : id;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    ReentrantReadWriteLock getLock() {
+        return lock;
+    }
+
+    // The accessors below expect the caller to hold the read or write lock.
+    int size() { return size; }
+    String nameOf(int station) { return names[station]; }
+    int outDegree(int station) { return outDegree[station]; }
+    int[] outTargets(int station) { return outTargets[station]; }
+    int[] outWeights(int station) { return outWeights[station]; }
+    int inDegree(int station) { return inDegree[station]; }
+    int[] inTargets(int station) { return inTargets[station]; }
+    int[] inWeights(int station) { return inWeights[station]; }
+
+    private int stationId(String stationName) {
+        Integer existing = ids.get(stationName);
+        if (existing != null) {
+            return existing;
+        }
+        int id = size++;
+        if (id == names.length) {
+            int capacity = names.length * 2;
+            names = Arrays.copyOf(names, capacity);
+            outTargets = Arrays.copyOf(outTargets, capacity);
+            outWeights = Arrays.copyOf(outWeights, capacity);
+            outDegree = Arrays.copyOf(outDegree, capacity);
+            inTargets = Arrays.copyOf(inTargets, capacity);
+            inWeights = Arrays.copyOf(inWeights, capacity);
+            inDegree = Arrays.copyOf(inDegree, capacity);
+        }
+        names[id] = stationName;
+        outTargets[id] = new int[4];
+        outWeights[id] = new int[4];
+        inTargets[id] = new int[4];
+        inWeights[id] = new int[4];
+        ids.put(stationName, id);
+        for (StationGraphListener listener : listeners) {
+            listener.onStationAdded(id);
+        }
+        return id;
+    }
+
+    private void connect(int from, int to, int minutes) {
+        int outIndex = indexOf(outTargets[from], outDegree[from], to);
+        if (outIndex >= 0 && outWeights[from][outIndex] <= minutes) {
+            return;
+        }
+        if (outIndex >= 0) {
+            outWeights[from][outIndex] = minutes;
+            inWeights[to][indexOf(inTargets[to], inDegree[to], from)] = minutes;
+        } else {
+            if (outDegree[from] == outTargets[from].length) {
+                outTargets[from] = Arrays.copyOf(outTargets[from], outDegree[from] * 2);
+                outWeights[from] = Arrays.copyOf(outWeights[from], outDegree[from] * 2);
+            }
+            outTargets[from][outDegree[from]] = to;
+            outWeights[from][outDegree[from]++] = minutes;
+            if (inDegree[to] == inTargets[to].length) {
+                inTargets[to] = Arrays.copyOf(inTargets[to], inDegree[to] * 2);
+                inWeights[to] = Arrays.copyOf(inWeights[to], inDegree[to] * 2);
+            }
+            inTargets[to][inDegree[to]] = from;
+            inWeights[to][inDegree[to]++] = minutes;
+        }
+        for (StationGraphListener listener : listeners) {
+            listener.onConnectionImproved(from, to, minutes);
+        }
+    }
+
+    private static int indexOf(int[] targets, int degree, int target) {
+        for (int i = 0; i < degree; i++) {
+            if (targets[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
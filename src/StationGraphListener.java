@@ -0,0 +1,4 @@
+interface StationGraphListener {
+    void onStationAdded(int station);
+    void onConnectionImproved(int from, int to, int minutes);
+}
@@ -0,0 +1,13 @@
+// A station found by a fuzzy search and how many edits away from the query its name is.
+class StationMatch {
+    private final Station station;
+    private final int distance;
+
+    StationMatch(Station station, int distance) {
+        this.station = station;
+        this.distance = distance;
+    }
+
+    public Station getStation() { return station; }
+    public int getDistance() { return distance; }
+}
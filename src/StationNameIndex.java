@@ -0,0 +1,70 @@
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Station lookup by name for ticketing front-ends: exact, prefix (autocomplete) and
+// typo-tolerant. Queries run against an immutable StationTrie read through a volatile field,
+// so they never wait on a writer. addStation only records the station; the trie is rebuilt,
+// once, by the first query after a batch of additions.
+class StationNameIndex {
+    private final TreeMap<String, List<Station>> byName = new TreeMap<>();
+    private volatile StationTrie trie = StationTrie.EMPTY;
+    private volatile boolean stale;
+
+    static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public synchronized void addStation(Station station) {
+        byName.computeIfAbsent(normalize(station.getStationName()), name -> new ArrayList<>(1)).add(station);
+        stale = true;
+    }
+
+    private StationTrie trie() {
+        StationTrie current = trie;
+        if (stale) {
+            synchronized (this) {
+                if (stale) {
+                    current = StationTrie.build(byName);
+                    trie = current;
+                    stale = false;
+                }
+                current = trie;
+            }
+        }
+        return current;
+    }
+
+    public List<Station> find(String name) {
+        return trie().exact(normalize(name));
+    }
+
+    public List<Station> complete(String prefix, int limit) {
+        return trie().prefix(normalize(prefix), limit);
+    }
+
+    public List<StationMatch> fuzzy(String name, int maxEdits) {
+        return trie().fuzzy(normalize(name), maxEdits);
+    }
+
+    // What a search box shows: names starting with what was typed, then, if there is room,
+    // names that are a typo or two away from it. Longer input tolerates more typos.
+    public List<Station> suggest(String typed, int limit) {
+        String query = normalize(typed);
+        StationTrie current = trie();
+        Set<Station> suggestions = new LinkedHashSet<>(current.prefix(query, limit));
+        int maxEdits = query.length() <= 3 ? 0 : query.length() <= 6 ? 1 : 2;
+        if (suggestions.size() < limit && maxEdits > 0) {
+            for (StationMatch match : current.fuzzy(query, maxEdits)) {
+                if (suggestions.size() == limit) {
+                    break;
+                }
+                suggestions.add(match.getStation());
+            }
+        }
+        return new ArrayList<>(suggestions);
+    }
+}
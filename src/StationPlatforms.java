@@ -0,0 +1,32 @@
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+// All occupancies of one station, ordered by start minute.
+class StationPlatforms {
+    final String stationName;
+    int platformCount = 1;
+    int maxDuration;
+    final NavigableMap<Long, PlatformOccupancy> byStart = new TreeMap<>();
+    final Set<PlatformOccupancy> conflicts = new LinkedHashSet<>();
+
+    StationPlatforms(String stationName) {
+        this.stationName = stationName;
+    }
+
+    // Occupancies overlapping [from, to). Every one of them starts no earlier than
+    // from - maxDuration, which bounds the range scan.
+    List<PlatformOccupancy> overlapping(int from, int to) {
+        List<PlatformOccupancy> result = new ArrayList<>();
+        for (PlatformOccupancy occupancy : byStart.subMap((long) (from - maxDuration) << 32, true,
+                (long) to << 32, false).values()) {
+            if (occupancy.end > from) {
+                result.add(occupancy);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,187 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Immutable trie over lower-cased station names, packed into parallel arrays: a node's
+// children sit next to each other, sorted by character, so the whole trie is a few arrays
+// no matter how many stations it holds and walking it in child order visits names
+// alphabetically. stationsAt[node] holds the stations whose name ends there.
+final class StationTrie {
+    static final StationTrie EMPTY = build(new TreeMap<>());
+
+    private final char[] label;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final Station[][] stationsAt;
+
+    private StationTrie(int nodes) {
+        label = new char[nodes];
+        firstChild = new int[nodes];
+        childCount = new int[nodes];
+        stationsAt = new Station[nodes][];
+    }
+
+    // names must be sorted; the map's keys are the normalised names.
+    static StationTrie build(TreeMap<String, List<Station>> byName) {
+        String[] names = byName.keySet().toArray(new String[0]);
+        int nodes = 1;
+        for (String name : names) {
+            nodes += name.length();
+        }
+        StationTrie trie = new StationTrie(nodes);
+        int used = trie.fill(0, names, byName, 0, names.length, 0, 1);
+        return used == nodes ? trie : trie.trimmed(used);
+    }
+
+    // Builds the subtree under node for names[from, to), which share their first depth
+    // characters, laying out its children at next. Returns the next free node.
+    private int fill(int node, String[] names, Map<String, List<Station>> byName, int from, int to, int depth,
+                     int next) {
+        if (from < to && names[from].length() == depth) {
+            stationsAt[node] = byName.get(names[from]).toArray(new Station[0]);
+            from++;
+        }
+        int children = 0;
+        for (int i = from; i < to; i++) {
+            if (i == from || names[i].charAt(depth) != names[i - 1].charAt(depth)) {
+                children++;
+            }
+        }
+        int first = next;
+        firstChild[node] = first;
+        childCount[node] = children;
+        next += children;
+        int child = first;
+        int start = from;
+        for (int i = from + 1; i <= to; i++) {
+            if (i == to || names[i].charAt(depth) != names[start].charAt(depth)) {
+                label[child] = names[start].charAt(depth);
+                next = fill(child, names, byName, start, i, depth + 1, next);
+                child++;
+                start = i;
+            }
+        }
+        return next;
+    }
+
+    private StationTrie trimmed(int nodes) {
+        return new StationTrie(Arrays.copyOf(label, nodes), Arrays.copyOf(firstChild, nodes),
+                Arrays.copyOf(childCount, nodes), Arrays.copyOf(stationsAt, nodes));
+    }
+
+    private StationTrie(char[] label, int[] firstChild, int[] childCount, Station[][] stationsAt) {
+        this.label = label;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.stationsAt = stationsAt;
+    }
+
+    // Node reached by spelling out the key from the root, or -1.
+    private int find(String key) {
+        int node = 0;
+        for (int i = 0; i < key.length() && node >= 0; i++) {
+            node = child(node, key.charAt(i));
+        }
+        return node;
+    }
+
+    private int child(int node, char c) {
+        int low = firstChild[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (label[mid] < c) {
+                low = mid + 1;
+            } else if (label[mid] > c) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    List<Station> exact(String key) {
+        int node = find(key);
+        return node < 0 || stationsAt[node] == null ? List.of() : List.of(stationsAt[node]);
+    }
+
+    // Up to limit stations whose name starts with the prefix, alphabetically.
+    List<Station> prefix(String prefix, int limit) {
+        List<Station> result = new ArrayList<>();
+        int node = find(prefix);
+        if (node >= 0) {
+            collect(node, result, limit);
+        }
+        return result;
+    }
+
+    private void collect(int node, List<Station> result, int limit) {
+        if (stationsAt[node] != null) {
+            for (Station station : stationsAt[node]) {
+                if (result.size() == limit) {
+                    return;
+                }
+                result.add(station);
+            }
+        }
+        for (int child = firstChild[node]; child < firstChild[node] + childCount[node] && result.size() < limit; child++) {
+            collect(child, result, limit);
+        }
+    }
+
+    // Stations within maxEdits insertions, deletions, substitutions or swaps of adjacent
+    // characters of the query. The trie is walked depth first with one row of the edit distance
+    // table per level, and a branch is dropped as soon as every entry of its row exceeds maxEdits,
+    // so only names close to the query are ever looked at.
+    List<StationMatch> fuzzy(String query, int maxEdits) {
+        List<StationMatch> matches = new ArrayList<>();
+        int[] firstRow = new int[query.length() + 1];
+        for (int i = 0; i <= query.length(); i++) {
+            firstRow[i] = i;
+        }
+        if (stationsAt[0] != null && firstRow[query.length()] <= maxEdits) {
+            for (Station station : stationsAt[0]) {
+                matches.add(new StationMatch(station, firstRow[query.length()]));
+            }
+        }
+        for (int child = firstChild[0]; child < firstChild[0] + childCount[0]; child++) {
+            fuzzy(child, query, maxEdits, null, firstRow, (char) 0, matches);
+        }
+        matches.sort((a, b) -> a.getDistance() != b.getDistance() ? Integer.compare(a.getDistance(), b.getDistance())
+                : a.getStation().getStationName().compareToIgnoreCase(b.getStation().getStationName()));
+        return matches;
+    }
+
+    private void fuzzy(int node, String query, int maxEdits, int[] rowBefore, int[] previousRow, char previousLabel,
+                       List<StationMatch> matches) {
+        char c = label[node];
+        int columns = query.length() + 1;
+        int[] row = new int[columns];
+        row[0] = previousRow[0] + 1;
+        int best = row[0];
+        for (int i = 1; i < columns; i++) {
+            char q = query.charAt(i - 1);
+            int cost = q == c ? 0 : 1;
+            int distance = Math.min(Math.min(row[i - 1] + 1, previousRow[i] + 1), previousRow[i - 1] + cost);
+            if (rowBefore != null && i > 1 && q == previousLabel && query.charAt(i - 2) == c) {
+                distance = Math.min(distance, rowBefore[i - 2] + 1);
+            }
+            row[i] = distance;
+            best = Math.min(best, distance);
+        }
+        if (stationsAt[node] != null && row[query.length()] <= maxEdits) {
+            for (Station station : stationsAt[node]) {
+                matches.add(new StationMatch(station, row[query.length()]));
+            }
+        }
+        if (best > maxEdits) {
+            return;
+        }
+        for (int child = firstChild[node]; child < firstChild[node] + childCount[node]; child++) {
+            fuzzy(child, query, maxEdits, previousRow, row, c, matches);
+        }
+    }
+}
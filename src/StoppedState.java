@@ -0,0 +1,14 @@
+import java.io.PrintStream;
+
+class StoppedState implements TrainState {
+    @Override
+    public void handle(TrainContext context, PrintStream out) {
+        out.println("The train is stopped.");
+        context.setState(this);
+    }
+
+    @Override
+    public String toString() {
+        return "Stopped State";
+    }
+}
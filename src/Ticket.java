@@ -0,0 +1,82 @@
+import java.io.PrintStream;
+
+class Ticket {
+    private String ticketId;
+    private String passengerName;
+    private String seatNumber;
+    private String trainId;
+    private boolean isBooked;
+
+    public Ticket(String ticketId, String passengerName, String seatNumber) {
+        this(ticketId, passengerName, seatNumber, null);
+    }
+
+    public Ticket(String ticketId, String passengerName, String seatNumber, String trainId) {
+        this.ticketId = ticketId;
+        this.passengerName = passengerName;
+        this.seatNumber = seatNumber;
+        this.trainId = trainId;
+        this.isBooked = false;
+    }
+
+    public void book() {
+        book(System.out);
+    }
+
+    // Messages go to out, so bulk callers such as the simulator can keep them off the console.
+    public void book(PrintStream out) {
+        if (!isBooked) {
+            out.println("Booking ticket for " + passengerName + " on seat " + seatNumber);
+            isBooked = true;
+        } else {
+            out.println("Ticket is already booked.");
+        }
+    }
+
+    public void cancel() {
+        cancel(System.out);
+    }
+
+    public void cancel(PrintStream out) {
+        if (isBooked) {
+            out.println("Canceling ticket for " + passengerName);
+            isBooked = false;
+        } else {
+            out.println("Ticket is not booked yet.");
+        }
+    }
+
+    public void modify(String newSeat) {
+        modify(newSeat, System.out);
+    }
+
+    public void modify(String newSeat, PrintStream out) {
+        if (isBooked) {
+            out.println("Modifying seat for " + passengerName + " from " + seatNumber + " to " + newSeat);
+            seatNumber = newSeat;
+        } else {
+            out.println("Cannot modify unbooked ticket.");
+        }
+    }
+
+    public TicketSnapshot snapshot() {
+        return new TicketSnapshot(isBooked, seatNumber);
+    }
+
+    // Returns the ticket to an earlier booking state, for undo and redo. Silent, since it runs
+    // inside the journal; callers report the outcome.
+    public void restore(TicketSnapshot snapshot) {
+        isBooked = snapshot.isBooked();
+        seatNumber = snapshot.getSeatNumber();
+    }
+
+    public String getTicketId() { return ticketId; }
+    public String getPassengerName() { return passengerName; }
+    public String getSeatNumber() { return seatNumber; }
+    public String getTrainId() { return trainId; }
+    public boolean isBooked() { return isBooked; }
+
+    public void displayTicketInfo() {
+        System.out.println("Ticket ID: " + ticketId + ", Passenger: " + passengerName + ", Seat: " + seatNumber + ", Status: " + (isBooked ? "Booked" : "Not Booked"));
+    }
+}
@@ -0,0 +1,3 @@
+interface TicketCommand extends Command {
+    Ticket getTicket();
+}
@@ -0,0 +1,135 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Per-ticket undo/redo history of ticket commands. Every compactEvery recorded commands the
+// journal is compacted: on each ticket, all but the last undoDepth entries are folded into one
+// net entry, and the net entry is dropped if it changed nothing or the ticket is no longer
+// booked; the last undoDepth entries always stay undoable. A ticket that is not booked, has
+// nothing to redo and has had no command since the previous compaction is forgotten along with
+// its history. A book, modify, cancel chain therefore ends up costing nothing, and the journal
+// stays proportional to the live tickets rather than to every command ever run. Not
+// thread-safe; TicketManager guards it.
+class TicketCommandJournal {
+    private static final class TicketHistory {
+        final Ticket ticket;
+        final Deque<JournalEntry> done = new ArrayDeque<>();
+        final Deque<JournalEntry> undone = new ArrayDeque<>();
+        long lastRecorded;
+
+        TicketHistory(Ticket ticket) {
+            this.ticket = ticket;
+        }
+    }
+
+    private final int undoDepth;
+    private final int compactEvery;
+    private final Map<String, TicketHistory> histories = new LinkedHashMap<>();
+    private int entries;
+    private int sinceCompaction;
+    private long recorded;
+    private long recordedAtCompaction;
+    private long compactions;
+
+    TicketCommandJournal(int undoDepth, int compactEvery) {
+        this.undoDepth = Math.max(1, undoDepth);
+        this.compactEvery = Math.max(1, compactEvery);
+    }
+
+    // A new command on a ticket makes what was undone on it no longer redoable. Returns the IDs
+    // of the tickets forgotten if this triggered a compaction.
+    public List<String> record(TicketCommand command, TicketSnapshot before, TicketSnapshot after) {
+        TicketHistory history = histories.computeIfAbsent(command.getTicket().getTicketId(),
+                id -> new TicketHistory(command.getTicket()));
+        entries -= history.undone.size();
+        history.undone.clear();
+        history.done.addLast(new JournalEntry(command.getTicket(),
+                command.getClass().getSimpleName().replace("TicketCommand", ""), before, after, 1));
+        entries++;
+        history.lastRecorded = ++recorded;
+        if (++sinceCompaction >= compactEvery) {
+            return compact();
+        }
+        return List.of();
+    }
+
+    // The entry to undo next on the ticket, moved to its redo stack; null if there is none.
+    public JournalEntry undo(String ticketId) {
+        TicketHistory history = histories.get(ticketId);
+        if (history == null || history.done.isEmpty()) {
+            return null;
+        }
+        JournalEntry entry = history.done.removeLast();
+        history.undone.addLast(entry);
+        return entry;
+    }
+
+    // The entry to redo next on the ticket, moved back to its undo stack; null if there is none.
+    public JournalEntry redo(String ticketId) {
+        TicketHistory history = histories.get(ticketId);
+        if (history == null || history.undone.isEmpty()) {
+            return null;
+        }
+        JournalEntry entry = history.undone.removeLast();
+        history.done.addLast(entry);
+        return entry;
+    }
+
+    // Returns the IDs of the tickets whose history was forgotten.
+    public List<String> compact() {
+        List<String> forgotten = new ArrayList<>();
+        Iterator<TicketHistory> iterator = histories.values().iterator();
+        while (iterator.hasNext()) {
+            TicketHistory history = iterator.next();
+            int before = history.done.size();
+            if (history.undone.isEmpty() && !history.ticket.isBooked() && history.lastRecorded <= recordedAtCompaction) {
+                entries -= before;
+                iterator.remove();
+                forgotten.add(history.ticket.getTicketId());
+                continue;
+            }
+            if (before > undoDepth) {
+                List<JournalEntry> recent = new ArrayList<>(undoDepth);
+                for (int i = 0; i < undoDepth; i++) {
+                    recent.add(0, history.done.removeLast());
+                }
+                JournalEntry first = history.done.peekFirst();
+                JournalEntry last = history.done.peekLast();
+                int commands = 0;
+                for (JournalEntry entry : history.done) {
+                    commands += entry.commands;
+                }
+                history.done.clear();
+                if (history.ticket.isBooked() && !first.before.sameAs(last.after)) {
+                    history.done.add(new JournalEntry(history.ticket, "net change", first.before, last.after,
+                            commands));
+                }
+                history.done.addAll(recent);
+            }
+            entries -= before - history.done.size();
+        }
+        sinceCompaction = 0;
+        recordedAtCompaction = recorded;
+        compactions++;
+        return forgotten;
+    }
+
+    public List<JournalEntry> getHistory(String ticketId) {
+        TicketHistory history = histories.get(ticketId);
+        return history == null ? List.of() : new ArrayList<>(history.done);
+    }
+
+    public int getRedoCount(String ticketId) {
+        TicketHistory history = histories.get(ticketId);
+        return history == null ? 0 : history.undone.size();
+    }
+
+    public void displayStats() {
+        System.out.println("Ticket journal: " + histories.size() + " tickets, " + entries + " entries for "
+                + recorded + " commands recorded, " + compactions + " compactions");
+    }
+}
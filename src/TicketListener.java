@@ -0,0 +1,3 @@
+interface TicketListener {
+    void ticketChanged(Ticket ticket);
+}
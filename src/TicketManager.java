@@ -0,0 +1,95 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+
+class TicketManager {
+    private Command command;
+    private final List<TicketListener> listeners = new ArrayList<>();
+    private final Map<String, Ticket> tickets = new HashMap<>();
+    private final TicketCommandJournal journal = new TicketCommandJournal(
+            Integer.getInteger("tickets.undoDepth", 5), Integer.getInteger("tickets.compactEvery", 10_000));
+
+    public synchronized void setCommand(Command command) {
+        this.command = command;
+    }
+
+    public synchronized void addListener(TicketListener listener) {
+        listeners.add(listener);
+    }
+
+    // The ticket a command last ran on under this ID, or null.
+    public synchronized Ticket getTicket(String ticketId) {
+        return tickets.get(ticketId);
+    }
+
+    public synchronized void executeCommand() {
+        long start = System.nanoTime();
+        if (command instanceof TicketCommand ticketCommand) {
+            TicketSnapshot before = ticketCommand.getTicket().snapshot();
+            command.execute();
+            TrainMetrics.command(command.getClass()).record(System.nanoTime() - start);
+            forget(journal.record(ticketCommand, before, ticketCommand.getTicket().snapshot()));
+            ticketChanged(ticketCommand.getTicket());
+        } else {
+            command.execute();
+            TrainMetrics.command(command.getClass()).record(System.nanoTime() - start);
+        }
+    }
+
+    // Puts the ticket back as it was before the last command on it. Returns false if there was
+    // nothing to undo.
+    public synchronized boolean undo(String ticketId) {
+        JournalEntry entry = journal.undo(ticketId);
+        if (entry == null) {
+            return false;
+        }
+        entry.ticket.restore(entry.before);
+        ticketChanged(entry.ticket);
+        return true;
+    }
+
+    // Puts the ticket back as the last undone command left it. Returns false if there was none.
+    public synchronized boolean redo(String ticketId) {
+        JournalEntry entry = journal.redo(ticketId);
+        if (entry == null) {
+            return false;
+        }
+        entry.ticket.restore(entry.after);
+        ticketChanged(entry.ticket);
+        return true;
+    }
+
+    public synchronized List<JournalEntry> getHistory(String ticketId) {
+        return journal.getHistory(ticketId);
+    }
+
+    public synchronized int getRedoCount(String ticketId) {
+        return journal.getRedoCount(ticketId);
+    }
+
+    public synchronized void compactJournal() {
+        forget(journal.compact());
+    }
+
+    // Tickets the journal has forgotten are unbooked and idle; lookups no longer need them.
+    private void forget(List<String> ticketIds) {
+        for (String ticketId : ticketIds) {
+            Ticket ticket = tickets.get(ticketId);
+            if (ticket != null && !ticket.isBooked()) {
+                tickets.remove(ticketId);
+            }
+        }
+    }
+
+    public synchronized void displayJournalStats() {
+        journal.displayStats();
+    }
+
+    private void ticketChanged(Ticket ticket) {
+        tickets.put(ticket.getTicketId(), ticket);
+        for (TicketListener listener : listeners) {
+            listener.ticketChanged(ticket);
+        }
+    }
+}
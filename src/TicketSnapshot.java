@@ -0,0 +1,24 @@
+import java.util.Objects;
+
+// The parts of a ticket that commands change.
+class TicketSnapshot {
+    private final boolean booked;
+    private final String seatNumber;
+
+    public TicketSnapshot(boolean booked, String seatNumber) {
+        this.booked = booked;
+        this.seatNumber = seatNumber;
+    }
+
+    public boolean isBooked() { return booked; }
+    public String getSeatNumber() { return seatNumber; }
+
+    public boolean sameAs(TicketSnapshot other) {
+        return booked == other.booked && Objects.equals(seatNumber, other.seatNumber);
+    }
+
+    @Override
+    public String toString() {
+        return (booked ? "Booked" : "Not Booked") + ", seat " + seatNumber;
+    }
+}
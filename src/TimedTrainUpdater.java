@@ -0,0 +1,17 @@
+// Decorator that records how long the wrapped updater strategy takes.
+class TimedTrainUpdater implements TrainUpdaterStrategy {
+    private final TrainUpdaterStrategy delegate;
+    private final OperationMetrics metrics;
+
+    public TimedTrainUpdater(TrainUpdaterStrategy delegate) {
+        this.delegate = delegate;
+        this.metrics = TrainMetrics.updater(delegate.getClass());
+    }
+
+    @Override
+    public void update(TrainSchedule schedule, String trainId) {
+        long start = System.nanoTime();
+        delegate.update(schedule, trainId);
+        metrics.record(System.nanoTime() - start);
+    }
+}
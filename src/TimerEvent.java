@@ -0,0 +1,28 @@
+// Node of a timing wheel slot. Slots are circular doubly linked lists, so unlinking an event
+// (cancel or reschedule) is O(1).
+class TimerEvent {
+    long expiry;
+    Runnable action;
+    TimerEvent prev;
+    TimerEvent next;
+
+    TimerEvent(long expiry, Runnable action) {
+        this.expiry = expiry;
+        this.action = action;
+    }
+
+    public long getExpiry() {
+        return expiry;
+    }
+
+    public boolean isScheduled() {
+        return next != null;
+    }
+
+    void unlink() {
+        prev.next = next;
+        next.prev = prev;
+        prev = null;
+        next = null;
+    }
+}
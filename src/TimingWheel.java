@@ -0,0 +1,127 @@
+// Hierarchical timing wheel in the style of the Linux kernel timers: level 0 has one slot per
+// tick for the next 256 ticks, each higher level has 64 slots covering 64 slots of the level
+// below. Insert and cancel are O(1); events in higher levels are cascaded down once per level
+// as their time approaches, so each event is touched at most four times before it fires.
+class TimingWheel {
+    private static final int ROOT_BITS = 8;
+    private static final int LEVEL_BITS = 6;
+    private static final int LEVELS = 4;
+    private static final int ROOT_MASK = (1 << ROOT_BITS) - 1;
+    private static final int LEVEL_MASK = (1 << LEVEL_BITS) - 1;
+    private static final long MAX_DELTA = (1L << (ROOT_BITS + LEVEL_BITS * (LEVELS - 1))) - 1;
+
+    private final TimerEvent[][] slots = new TimerEvent[LEVELS][];
+    private long currentTick;
+    private int size;
+
+    public TimingWheel(long startTick) {
+        this.currentTick = startTick;
+        for (int level = 0; level < LEVELS; level++) {
+            slots[level] = new TimerEvent[level == 0 ? 1 << ROOT_BITS : 1 << LEVEL_BITS];
+            for (int i = 0; i < slots[level].length; i++) {
+                TimerEvent head = new TimerEvent(-1, null);
+                head.prev = head;
+                head.next = head;
+                slots[level][i] = head;
+            }
+        }
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Events at or before the current tick fire on the next advance.
+    public TimerEvent schedule(long tick, Runnable action) {
+        TimerEvent event = new TimerEvent(tick, action);
+        insert(event, currentTick + 1);
+        size++;
+        return event;
+    }
+
+    public void reschedule(TimerEvent event, long tick) {
+        if (event.isScheduled()) {
+            event.unlink();
+            size--;
+        }
+        event.expiry = tick;
+        insert(event, currentTick + 1);
+        size++;
+    }
+
+    public boolean cancel(TimerEvent event) {
+        if (!event.isScheduled()) {
+            return false;
+        }
+        event.unlink();
+        size--;
+        return true;
+    }
+
+    // Fires every event due up to and including the given tick; returns how many fired.
+    public int advanceTo(long tick) {
+        int fired = 0;
+        while (currentTick < tick) {
+            if (size == 0) {
+                currentTick = tick;
+                break;
+            }
+            currentTick++;
+            if ((currentTick & ROOT_MASK) == 0) {
+                cascade();
+            }
+            TimerEvent head = slots[0][(int) (currentTick & ROOT_MASK)];
+            while (head.next != head) {
+                TimerEvent event = head.next;
+                event.unlink();
+                size--;
+                event.action.run();
+                fired++;
+            }
+        }
+        return fired;
+    }
+
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            int shift = ROOT_BITS + LEVEL_BITS * (level - 1);
+            int index = (int) ((currentTick >>> shift) & LEVEL_MASK);
+            TimerEvent head = slots[level][index];
+            while (head.next != head) {
+                TimerEvent event = head.next;
+                event.unlink();
+                insert(event, currentTick);
+            }
+            if (index != 0) {
+                break;
+            }
+        }
+    }
+
+    // Cascading runs before the current slot fires, so it may still place events in it;
+    // anything scheduled from outside goes no earlier than the next tick.
+    private void insert(TimerEvent event, long earliestTick) {
+        long expiry = Math.max(event.expiry, earliestTick);
+        long delta = Math.min(expiry - currentTick, MAX_DELTA);
+        expiry = currentTick + delta;
+        TimerEvent head;
+        if (delta <= ROOT_MASK) {
+            head = slots[0][(int) (expiry & ROOT_MASK)];
+        } else {
+            int level = 1;
+            while (level < LEVELS - 1 && delta >= 1L << (ROOT_BITS + LEVEL_BITS * level)) {
+                level++;
+            }
+            int shift = ROOT_BITS + LEVEL_BITS * (level - 1);
+            head = slots[level][(int) ((expiry >>> shift) & LEVEL_MASK)];
+        }
+        event.prev = head.prev;
+        event.next = head;
+        head.prev.next = event;
+        head.prev = event;
+    }
+}
@@ -0,0 +1,31 @@
+// Rate limiter refilled lazily from the clock: ratePerSecond tokens a second, holding at
+// most burst of them.
+class TokenBucket {
+    private final double nanosPerToken;
+    private final double burst;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(double ratePerSecond, int burst, long nowNanos) {
+        this.nanosPerToken = 1e9 / ratePerSecond;
+        this.burst = Math.max(1, burst);
+        this.tokens = this.burst;
+        this.refilledAt = nowNanos;
+    }
+
+    // Takes a token and returns 0, or returns how many nanoseconds until one will be there.
+    synchronized long tryAcquire(long nowNanos) {
+        tokens = Math.min(burst, tokens + (nowNanos - refilledAt) / nanosPerToken);
+        refilledAt = nowNanos;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) * nanosPerToken);
+    }
+
+    // Gives back a token taken for a request that was then turned away for another reason.
+    synchronized void refund() {
+        tokens = Math.min(burst, tokens + 1);
+    }
+}
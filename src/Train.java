@@ -0,0 +1,351 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+class Train implements Visitable {
+    private String trainId;
+    private String trainType;
+    private String departureTime;
+    private String arrivalTime;
+    private String status;
+    private List<TrainStop> stops;
+    private Maintenance maintenance;
+    private ServiceCalendar calendar;
+    private TrainContext trainContext;
+    private MementoManager mementoManager;
+    private List<TrainObserver> observers = new ArrayList<>();
+
+    public Train(TrainBuilder builder) {
+        this.trainId = builder.trainId;
+        this.trainType = builder.trainType;
+        this.departureTime = builder.departureTime;
+        this.arrivalTime = builder.arrivalTime;
+        this.status = builder.status;
+        this.stops = Collections.unmodifiableList(new ArrayList<>(builder.stops));
+        this.maintenance = builder.maintenance;
+        this.calendar = builder.calendar;
+        this.trainContext = new TrainContext();
+    }
+
+    // Instance of a template: type, status and the (immutable) stop list are shared with the
+    // template rather than copied. Anything later changed on the instance replaces its own
+    // reference only, so the template and its other instances never see it.
+    Train(Train template, String trainId, String departureTime, String arrivalTime, List<TrainStop> stops) {
+        this.trainId = trainId;
+        this.trainType = template.trainType;
+        this.departureTime = departureTime;
+        this.arrivalTime = arrivalTime;
+        this.status = template.status;
+        this.stops = stops;
+        this.trainContext = new TrainContext();
+        // Instances run on the template's days and are serviced on its cycle, each with its own record.
+        this.calendar = template.calendar == null ? null : template.calendar.copy();
+        this.maintenance = template.maintenance == null ? null : template.maintenance.copy();
+    }
+
+    public Train(String trainId, String trainType, String departureTime, String arrivalTime, String status) {
+        this.trainId = trainId;
+        this.trainType = trainType;
+        this.departureTime = departureTime;
+        this.arrivalTime = arrivalTime;
+        this.status = status;
+        this.stops = Collections.emptyList();
+        this.trainContext = new TrainContext();
+    }
+
+    public void setTrainState(TrainState state) {
+        this.trainContext.setState(state);
+    }
+
+    public void applyState() {
+        this.trainContext.applyState();
+    }
+
+    public TrainState getTrainState() {
+        return this.trainContext.getState();
+    }
+
+    // Moves the train to a new state and tells the observers about it.
+    public void changeState(TrainState state) {
+        this.trainContext.setState(state);
+        this.trainContext.applyState();
+        notifyObservers("State changed to " + state, new TrainChange.TrainChangeBuilder().withState(state).build());
+    }
+
+    public String getTrainId() {
+        return trainId;
+    }
+
+    public String getTrainType() {
+        return trainType;
+    }
+
+
+    // Add an observer
+    public void addObserver(TrainObserver observer) {
+        observers.add(observer);
+    }
+
+    // Remove an observer
+    public void removeObserver(TrainObserver observer) {
+        observers.remove(observer);
+    }
+
+    // Notify all observers of a change
+    private void notifyObservers(String message, TrainChange change) {
+        long start = System.nanoTime();
+        for (TrainObserver observer : observers) {
+            observer.update(trainId, message, change);
+        }
+        TrainMetrics.observerDispatch().record(System.nanoTime() - start);
+    }
+
+    // Getter and Setter methods with notifications to observers
+
+    public String getDepartureTime() {
+        return departureTime;
+    }
+    public String getArrivalTime() {
+        return arrivalTime;
+    }
+    public void setTrainId(String trainId) {
+        this.trainId = trainId;
+    }
+
+    public void setDepartureTime(String departureTime) {
+        this.departureTime = departureTime;
+        notifyObservers("Departure time updated to " + departureTime,
+                new TrainChange.TrainChangeBuilder().withDepartureTime(departureTime).build());
+    }
+
+    public void setArrivalTime(String arrivalTime) {
+        this.arrivalTime = arrivalTime;
+        notifyObservers("Arrival time updated to " + arrivalTime,
+                new TrainChange.TrainChangeBuilder().withArrivalTime(arrivalTime).build());
+    }
+
+    // Sets both times with a single notification.
+    public void setTimes(String departureTime, String arrivalTime) {
+        this.departureTime = departureTime;
+        this.arrivalTime = arrivalTime;
+        notifyObservers("Times updated to " + departureTime + " - " + arrivalTime,
+                new TrainChange.TrainChangeBuilder().withDepartureTime(departureTime).withArrivalTime(arrivalTime).build());
+    }
+
+    // Applies every field of the change, then notifies observers once with all of them, so
+    // nobody is told about (or snapshots) a half-updated train. Not synchronized, like the
+    // other setters: concurrent writers to one train have to lock it themselves.
+    public void applyChanges(TrainChange change) {
+        String description = change.describe();
+        if (description.isEmpty()) {
+            return;
+        }
+        if (change.getTrainType() != null) {
+            this.trainType = change.getTrainType();
+        }
+        if (change.getDepartureTime() != null) {
+            this.departureTime = change.getDepartureTime();
+        }
+        if (change.getArrivalTime() != null) {
+            this.arrivalTime = change.getArrivalTime();
+        }
+        if (change.getStatus() != null) {
+            this.status = change.getStatus();
+        }
+        if (change.getState() != null) {
+            this.trainContext.setState(change.getState());
+            this.trainContext.applyState();
+        }
+        notifyObservers("Updated " + description, change);
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public List<TrainStop> getStops() {
+        return stops;
+    }
+
+    public Maintenance getMaintenance() {
+        return maintenance;
+    }
+
+    public void setMaintenance(Maintenance maintenance) {
+        this.maintenance = maintenance;
+        notifyObservers("Maintenance updated", new TrainChange.TrainChangeBuilder().withMaintenanceChanged().build());
+    }
+
+    // Null means the train runs every day.
+    public ServiceCalendar getCalendar() {
+        return calendar;
+    }
+
+    public void setCalendar(ServiceCalendar calendar) {
+        this.calendar = calendar;
+        notifyObservers("Calendar updated", new TrainChange.TrainChangeBuilder().withCalendarChanged().build());
+    }
+
+    public int getScheduleOffsetMinutes() {
+        return scheduleOffsetMinutes(stops, departureTime);
+    }
+
+    // The stops hold the planned timetable; the train's departure time is the actual one.
+    // The difference (within +-12h) is how far every stop time has to be shifted.
+    static int scheduleOffsetMinutes(List<TrainStop> stops, String departureTime) {
+        if (stops.isEmpty()) {
+            return 0;
+        }
+        int planned = TrainTime.toMinutes(stops.get(0).getDepartureTime());
+        int actual = TrainTime.toMinutes(departureTime);
+        if (planned < 0 || actual < 0) {
+            return 0;
+        }
+        int halfDay = TrainTime.MINUTES_PER_DAY / 2;
+        return Math.floorMod(actual - planned + halfDay, TrainTime.MINUTES_PER_DAY) - halfDay;
+    }
+
+    public TrainMemento saveState() {
+        TrainMemento memento = new TrainMemento(trainId, trainType, departureTime, arrivalTime, status);
+        if (mementoManager == null) {
+            mementoManager = new MementoManager();
+        }
+        mementoManager.saveMemento(trainId, memento);
+        notifyObservers("State saved", new TrainChange.TrainChangeBuilder().withSavedMemento(memento).build());
+        return memento;
+    }
+
+    // Saved states, oldest first, as restoreState indexes them.
+    public List<TrainMemento> getSavedStates() {
+        return mementoManager == null ? Collections.emptyList() : mementoManager.getMementos(trainId);
+    }
+
+    // Replaces the saved states, for copies of a train that must keep its history.
+    public void setSavedStates(List<TrainMemento> mementos) {
+        mementoManager = new MementoManager();
+        for (TrainMemento memento : mementos) {
+            mementoManager.saveMemento(trainId, memento);
+        }
+    }
+
+    public void restoreState(int index) {
+        TrainMemento memento = mementoManager == null ? null : mementoManager.getMemento(trainId, index);
+        if (memento != null) {
+            this.trainType = memento.getTrainType();
+            this.departureTime = memento.getDepartureTime();
+            this.arrivalTime = memento.getArrivalTime();
+            this.status = memento.getStatus();
+            System.out.println("State restored from memento");
+            notifyObservers("State restored from memento " + index, new TrainChange.TrainChangeBuilder()
+                    .withTrainType(trainType)
+                    .withDepartureTime(departureTime)
+                    .withArrivalTime(arrivalTime)
+                    .withStatus(status)
+                    .build());
+        } else {
+            System.out.println("No memento found at index: " + index);
+        }
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+        notifyObservers("Status updated to " + status, new TrainChange.TrainChangeBuilder().withStatus(status).build());
+    }
+
+    // Like an instance of a template, a clone gets its own calendar and maintenance record.
+    @Override
+    public Train clone() {
+        return new Train.TrainBuilder()
+                .withTrainId(trainId)
+                .withTrainType(trainType)
+                .withDepartureTime(departureTime)
+                .withArrivalTime(arrivalTime)
+                .withStatus(status)
+                .withStops(stops)
+                .withCalendar(calendar == null ? null : calendar.copy())
+                .withMaintenance(maintenance == null ? null : maintenance.copy())
+                .build();
+    }
+
+    // Creates an instance of this train as a template; see ServiceTemplate. The stop list
+    // must be unmodifiable since it may be shared.
+    Train instantiate(String trainId, String departureTime, String arrivalTime, List<TrainStop> stops) {
+        return new Train(this, trainId, departureTime, arrivalTime, stops);
+    }
+
+    @Override
+    public void accept(TrainVisitor visitor) {
+        visitor.visitTrain(this);
+    }
+
+    public void displayTrainInfo() {
+        System.out.println("Train ID: " + trainId + ", Type: " + trainType +
+                ", Departure: " + departureTime + ", Arrival: " + arrivalTime + ", Status: " + status);
+    }
+
+    public static class TrainBuilder {
+        private String trainId;
+        private String trainType;
+        private String departureTime;
+        private String arrivalTime;
+        private String status;
+        private List<TrainStop> stops = new ArrayList<>();
+        private Maintenance maintenance;
+        private ServiceCalendar calendar;
+        protected double cargoWeight;
+
+        public TrainBuilder withTrainId(String trainId) {
+            this.trainId = trainId;
+            return this;
+        }
+
+        public TrainBuilder withTrainType(String trainType) {
+            this.trainType = trainType;
+            return this;
+        }
+
+        public TrainBuilder withDepartureTime(String departureTime) {
+            this.departureTime = departureTime;
+            return this;
+        }
+
+        public TrainBuilder withArrivalTime(String arrivalTime) {
+            this.arrivalTime = arrivalTime;
+            return this;
+        }
+
+        public TrainBuilder withStatus(String status) {
+            this.status = status;
+            return this;
+        }
+
+        public TrainBuilder withCargoWeight(double cargoWeight) {
+            this.cargoWeight = cargoWeight;
+            return this;
+        }
+
+        public TrainBuilder withStop(String stationName, String arrivalTime, String departureTime) {
+            this.stops.add(new TrainStop(stationName, arrivalTime, departureTime));
+            return this;
+        }
+
+        public TrainBuilder withStops(List<TrainStop> stops) {
+            this.stops = new ArrayList<>(stops);
+            return this;
+        }
+
+        public TrainBuilder withMaintenance(Maintenance maintenance) {
+            this.maintenance = maintenance;
+            return this;
+        }
+
+        public TrainBuilder withCalendar(ServiceCalendar calendar) {
+            this.calendar = calendar;
+            return this;
+        }
+
+        public Train build() {
+            return new Train(this);
+        }
+    }
+}
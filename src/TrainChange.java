@@ -0,0 +1,114 @@
+// A change to a train: the fields it sets (null when untouched), whether it replaced the
+// train's calendar or maintenance record, and the memento if the change was a state save.
+// Trains hand one to their observers with every notification.
+class TrainChange {
+    private final String trainType;
+    private final String departureTime;
+    private final String arrivalTime;
+    private final String status;
+    private final TrainState state;
+    private final boolean calendarChanged;
+    private final boolean maintenanceChanged;
+    private final TrainMemento savedMemento;
+
+    private TrainChange(TrainChangeBuilder builder) {
+        this.trainType = builder.trainType;
+        this.departureTime = builder.departureTime;
+        this.arrivalTime = builder.arrivalTime;
+        this.status = builder.status;
+        this.state = builder.state;
+        this.calendarChanged = builder.calendarChanged;
+        this.maintenanceChanged = builder.maintenanceChanged;
+        this.savedMemento = builder.savedMemento;
+    }
+
+    public String getTrainType() { return trainType; }
+    public String getDepartureTime() { return departureTime; }
+    public String getArrivalTime() { return arrivalTime; }
+    public String getStatus() { return status; }
+    public TrainState getState() { return state; }
+    public boolean isCalendarChanged() { return calendarChanged; }
+    public boolean isMaintenanceChanged() { return maintenanceChanged; }
+    public TrainMemento getSavedMemento() { return savedMemento; }
+
+    // True when the change moves when the train runs.
+    public boolean changesTimes() {
+        return departureTime != null || arrivalTime != null;
+    }
+
+    public boolean changesStatus() {
+        return status != null;
+    }
+
+    // "departure=08:05, status=Delayed" style list of the fields that are set.
+    public String describe() {
+        StringBuilder description = new StringBuilder();
+        append(description, "type", trainType);
+        append(description, "departure", departureTime);
+        append(description, "arrival", arrivalTime);
+        append(description, "status", status);
+        append(description, "state", state);
+        return description.toString();
+    }
+
+    private static void append(StringBuilder description, String field, Object value) {
+        if (value != null) {
+            description.append(description.length() == 0 ? "" : ", ").append(field).append('=').append(value);
+        }
+    }
+
+    public static class TrainChangeBuilder {
+        private String trainType;
+        private String departureTime;
+        private String arrivalTime;
+        private String status;
+        private TrainState state;
+        private boolean calendarChanged;
+        private boolean maintenanceChanged;
+        private TrainMemento savedMemento;
+
+        public TrainChangeBuilder withTrainType(String trainType) {
+            this.trainType = trainType;
+            return this;
+        }
+
+        public TrainChangeBuilder withDepartureTime(String departureTime) {
+            this.departureTime = departureTime;
+            return this;
+        }
+
+        public TrainChangeBuilder withArrivalTime(String arrivalTime) {
+            this.arrivalTime = arrivalTime;
+            return this;
+        }
+
+        public TrainChangeBuilder withStatus(String status) {
+            this.status = status;
+            return this;
+        }
+
+        public TrainChangeBuilder withState(TrainState state) {
+            this.state = state;
+            return this;
+        }
+
+        public TrainChangeBuilder withCalendarChanged() {
+            this.calendarChanged = true;
+            return this;
+        }
+
+        public TrainChangeBuilder withMaintenanceChanged() {
+            this.maintenanceChanged = true;
+            return this;
+        }
+
+        public TrainChangeBuilder withSavedMemento(TrainMemento savedMemento) {
+            this.savedMemento = savedMemento;
+            return this;
+        }
+
+        public TrainChange build() {
+            return new TrainChange(this);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+import java.io.PrintStream;
+
+class TrainContext {
+    private TrainState currentState;
+
+    public TrainContext() {
+        this.currentState = new StoppedState();
+    }
+
+    public void setState(TrainState state) {
+        this.currentState = state;
+    }
+
+    public TrainState getState() {
+        return currentState;
+    }
+
+    public void applyState() {
+        applyState(System.out);
+    }
+
+    public void applyState(PrintStream out) {
+        TrainState state = this.currentState;
+        long start = System.nanoTime();
+        state.handle(this, out);
+        TrainMetrics.state(state.getClass()).record(System.nanoTime() - start);
+    }
+}
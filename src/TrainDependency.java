@@ -0,0 +1,23 @@
+// "successor cannot leave before predecessor has done its part": the successor has to absorb
+// whatever delay the predecessor has beyond the slack between them. Held connections give up
+// once the hold would exceed maxHold.
+class TrainDependency {
+    final String kind;
+    final DelayNode predecessor;
+    final DelayNode successor;
+    final int slack;
+    final int maxHold;
+
+    TrainDependency(String kind, DelayNode predecessor, DelayNode successor, int slack, int maxHold) {
+        this.kind = kind;
+        this.predecessor = predecessor;
+        this.successor = successor;
+        this.slack = slack;
+        this.maxHold = maxHold;
+    }
+
+    int requiredDelay() {
+        int hold = predecessor.delay - slack;
+        return hold > maxHold ? Integer.MIN_VALUE : hold;
+    }
+}
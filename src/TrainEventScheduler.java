@@ -0,0 +1,172 @@
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Drives train states from their timetable: a departure event puts the train into RunningState,
+// an arrival event into StoppedState, and each midnight hands the new date to the maintenance
+// scheduler. Ticks are minutes since midnight of the start date and every train runs daily, so
+// each event re-arms itself one day later. When a train's times change its two events are moved
+// in O(1) instead of rebuilding the wheel.
+//
+// Firing an event only updates the wheel and queues what it does to the train. The queued
+// effects run right after, on the thread that advanced the clock (the real-time clock thread,
+// or whoever calls advanceTo) and without the scheduler's lock, so the train observers they set
+// off (delay propagation, maintenance, boards) never run while it is held. Effects run one at a
+// time in the order their events fired, whichever thread advanced the clock.
+class TrainEventScheduler implements TrainObserver {
+    private final TimingWheel wheel;
+    private final LocalDate startDate;
+    private final FleetMaintenanceScheduler maintenanceScheduler;
+    private final Map<String, Train> trains = new HashMap<>();
+    private final Map<String, TimerEvent[]> events = new HashMap<>();
+    private final Deque<Runnable> pending = new ArrayDeque<>();
+    private final Object applying = new Object();
+    private ScheduledExecutorService clock;
+
+    public TrainEventScheduler(LocalDateTime start, FleetMaintenanceScheduler maintenanceScheduler) {
+        this.startDate = start.toLocalDate();
+        this.maintenanceScheduler = maintenanceScheduler;
+        this.wheel = new TimingWheel(tickOf(start));
+        wheel.schedule((wheel.getCurrentTick() / TrainTime.MINUTES_PER_DAY + 1) * TrainTime.MINUTES_PER_DAY,
+                this::startOfDay);
+    }
+
+    public synchronized void addTrain(Train train) {
+        if (TrainTime.toMinutes(train.getDepartureTime()) < 0 || trains.containsKey(train.getTrainId())) {
+            return;
+        }
+        trains.put(train.getTrainId(), train);
+        train.addObserver(this);
+        TimerEvent departure = new TimerEvent(0, () -> depart(train));
+        TimerEvent arrival = new TimerEvent(0, () -> arrive(train));
+        events.put(train.getTrainId(), new TimerEvent[]{departure, arrival});
+        arm(train);
+    }
+
+    @Override
+    public synchronized void update(String trainId, String message, TrainChange change) {
+        Train train = trains.get(trainId);
+        if (train != null && change.changesTimes()) {
+            arm(train);
+        }
+    }
+
+    // Advances the clock and applies what fired; returns how many events fired.
+    public int advanceTo(LocalDateTime time) {
+        int fired = collectDue(time);
+        runPending();
+        return fired;
+    }
+
+    // Advances the wheel, queueing the effects of the events that fire.
+    private synchronized int collectDue(LocalDateTime time) {
+        return wheel.advanceTo(tickOf(time));
+    }
+
+    // Applies queued event effects in the order their events fired.
+    private void runPending() {
+        synchronized (applying) {
+            while (true) {
+                Runnable effect;
+                synchronized (this) {
+                    effect = pending.pollFirst();
+                }
+                if (effect == null) {
+                    return;
+                }
+                effect.run();
+            }
+        }
+    }
+
+    public synchronized LocalDateTime getCurrentTime() {
+        return startDate.atStartOfDay().plusMinutes(wheel.getCurrentTick());
+    }
+
+    public synchronized int getScheduledEventCount() {
+        return wheel.size();
+    }
+
+    // Follows the wall clock, advancing it every few seconds and applying what fires on the clock
+    // thread, so trains change state on time whatever else the program is doing.
+    public synchronized void startRealTime(long periodSeconds) {
+        if (clock != null) {
+            return;
+        }
+        clock = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "train-event-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+        clock.scheduleAtFixedRate(() -> {
+            try {
+                advanceTo(LocalDateTime.now());
+            } catch (RuntimeException e) {
+                // An uncaught exception would cancel the clock for good.
+                System.out.println("Train event failed: " + e.getMessage());
+            }
+        }, 0, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stopRealTime() {
+        if (clock != null) {
+            clock.shutdownNow();
+            clock = null;
+        }
+    }
+
+    // Puts the train's departure and arrival at their next occurrence after the current tick.
+    private void arm(Train train) {
+        TimerEvent[] trainEvents = events.get(train.getTrainId());
+        int departure = TrainTime.toMinutes(train.getDepartureTime());
+        int arrival = TrainTime.toMinutes(train.getArrivalTime());
+        wheel.reschedule(trainEvents[0], nextOccurrence(departure));
+        if (arrival >= 0) {
+            // May come before the next departure when the trip is already under way.
+            wheel.reschedule(trainEvents[1], nextOccurrence(arrival));
+        } else {
+            wheel.cancel(trainEvents[1]);
+        }
+    }
+
+    private void depart(Train train) {
+        pending.addLast(() -> {
+            if (!(train.getTrainState() instanceof MaintenanceState)) {
+                train.changeState(new RunningState());
+            }
+        });
+        wheel.reschedule(events.get(train.getTrainId())[0], wheel.getCurrentTick() + TrainTime.MINUTES_PER_DAY);
+    }
+
+    private void arrive(Train train) {
+        pending.addLast(() -> {
+            if (train.getTrainState() instanceof RunningState) {
+                train.changeState(new StoppedState());
+            }
+        });
+        wheel.reschedule(events.get(train.getTrainId())[1], wheel.getCurrentTick() + TrainTime.MINUTES_PER_DAY);
+    }
+
+    private void startOfDay() {
+        LocalDate today = startDate.plusDays(wheel.getCurrentTick() / TrainTime.MINUTES_PER_DAY);
+        pending.addLast(() -> maintenanceScheduler.processDue(today));
+        wheel.schedule(wheel.getCurrentTick() + TrainTime.MINUTES_PER_DAY, this::startOfDay);
+    }
+
+    private long nextOccurrence(int minuteOfDay) {
+        long today = wheel.getCurrentTick() / TrainTime.MINUTES_PER_DAY * TrainTime.MINUTES_PER_DAY;
+        long tick = today + minuteOfDay;
+        return tick > wheel.getCurrentTick() ? tick : tick + TrainTime.MINUTES_PER_DAY;
+    }
+
+    private long tickOf(LocalDateTime time) {
+        return ChronoUnit.MINUTES.between(startDate.atStartOfDay(), time);
+    }
+}
@@ -0,0 +1,4 @@
+interface TrainIterator {
+    boolean hasNext();
+    TrainVersion next();
+}
@@ -0,0 +1,66 @@
+import java.util.List;
+import java.util.function.Function;
+
+class TrainManager {
+    // Which operation template runs a train, worked out once per train class instead of
+    // comparing type strings and casting on every call. Null for classes with no operation.
+    private static final ClassValue<Function<Train, TrainOperationTemplate>> OPERATIONS = new ClassValue<>() {
+        @Override
+        protected Function<Train, TrainOperationTemplate> computeValue(Class<?> type) {
+            if (ElectricTrain.class.isAssignableFrom(type)) {
+                return train -> new ElectricTrainOperation((ElectricTrain) train);
+            }
+            if (DieselTrain.class.isAssignableFrom(type)) {
+                return train -> new DieselTrainOperation((DieselTrain) train);
+            }
+            return train -> null;
+        }
+    };
+
+    private FleetOperationRun fleetRun;
+
+    private TrainManager(){
+        System.out.println("TrainManager initialized");
+    }
+
+    // Initialised on first use by the class loader, which also makes it safe across threads.
+    private static class Holder {
+        static final TrainManager INSTANCE = new TrainManager();
+    }
+
+    public static TrainManager getInstance(){
+        return Holder.INSTANCE;
+    }
+    public void manageTrain(TrainVersion train) {
+        System.out.println("Managing train: " + train.getTrainId());
+        train.displayTrainInfo();
+    }
+
+    public TrainOperationTemplate operationFor(Train train) {
+        return OPERATIONS.get(train.getClass()).apply(train);
+    }
+
+    // Starts operations for the whole list in the background; only one fleet run at a time.
+    public synchronized FleetOperationRun startFleet(List<Train> trains, int maxConcurrent) {
+        if (fleetRun != null && !fleetRun.isDone()) {
+            System.out.println("Fleet operations are already running.");
+            return fleetRun;
+        }
+        fleetRun = new FleetOperationRun(trains, maxConcurrent, this::operationFor);
+        fleetRun.start();
+        return fleetRun;
+    }
+
+    // The current or most recent fleet run, or null.
+    public synchronized FleetOperationRun getFleetRun() {
+        return fleetRun;
+    }
+
+    public synchronized boolean stopFleet() {
+        if (fleetRun == null || fleetRun.isDone()) {
+            return false;
+        }
+        fleetRun.stop();
+        return true;
+    }
+}
@@ -0,0 +1,22 @@
+// Memento
+class TrainMemento {
+    private final String trainId;
+    private final String trainType;
+    private final String departureTime;
+    private final String arrivalTime;
+    private final String status;
+
+    public TrainMemento(String trainId, String trainType, String departureTime, String arrivalTime, String status) {
+        this.trainId = trainId;
+        this.trainType = trainType;
+        this.departureTime = departureTime;
+        this.arrivalTime = arrivalTime;
+        this.status = status;
+    }
+
+    public String getTrainId() { return trainId; }
+    public String getTrainType() { return trainType; }
+    public String getDepartureTime() { return departureTime; }
+    public String getArrivalTime() { return arrivalTime; }
+    public String getStatus() { return status; }
+}
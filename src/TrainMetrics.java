@@ -0,0 +1,93 @@
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+// Registry of latency metrics per operation type. Lookups on the hot path go through
+// ClassValue, which is allocation-free once the class has been seen.
+class TrainMetrics {
+    private static final Map<String, OperationMetrics> ALL = new ConcurrentSkipListMap<>();
+
+    private static final ClassValue<OperationMetrics> COMMANDS = metricsPerClass("Command");
+    private static final ClassValue<OperationMetrics> UPDATERS = metricsPerClass("Updater");
+    private static final ClassValue<OperationMetrics> STATES = metricsPerClass("State");
+    private static final ClassValue<OperationMetrics> OPERATIONS = metricsPerClass("Operation");
+    private static final OperationMetrics OBSERVER_DISPATCH = register("Observer", "dispatch");
+
+    private static ScheduledExecutorService dumper;
+
+    private TrainMetrics() {
+    }
+
+    public static OperationMetrics command(Class<?> commandClass) {
+        return COMMANDS.get(commandClass);
+    }
+
+    public static OperationMetrics updater(Class<?> updaterClass) {
+        return UPDATERS.get(updaterClass);
+    }
+
+    public static OperationMetrics state(Class<?> stateClass) {
+        return STATES.get(stateClass);
+    }
+
+    public static OperationMetrics operation(Class<?> operationClass) {
+        return OPERATIONS.get(operationClass);
+    }
+
+    public static OperationMetrics observerDispatch() {
+        return OBSERVER_DISPATCH;
+    }
+
+    public static void dump(PrintStream out) {
+        out.println("--- Operation Metrics ---");
+        for (OperationMetrics metrics : ALL.values()) {
+            out.println(metrics.summary());
+        }
+    }
+
+    public static synchronized void startPeriodicDump(long periodSeconds, PrintStream out) {
+        if (dumper != null || periodSeconds <= 0) {
+            return;
+        }
+        dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dumper.scheduleAtFixedRate(() -> dump(out), periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    public static synchronized void stopPeriodicDump() {
+        if (dumper != null) {
+            dumper.shutdownNow();
+            dumper = null;
+        }
+    }
+
+    private static ClassValue<OperationMetrics> metricsPerClass(String category) {
+        return new ClassValue<>() {
+            @Override
+            protected OperationMetrics computeValue(Class<?> type) {
+                return register(category, type.getSimpleName());
+            }
+        };
+    }
+
+    private static OperationMetrics register(String category, String name) {
+        OperationMetrics metrics = new OperationMetrics(category, name);
+        ALL.put(category + "." + name, metrics);
+        try {
+            ObjectName objectName = new ObjectName("trainscheduler:type=" + category + ",name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, objectName);
+        } catch (JMException e) {
+            System.out.println("Could not register metrics MBean for " + name + ": " + e.getMessage());
+        }
+        return metrics;
+    }
+}
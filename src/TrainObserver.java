@@ -0,0 +1,5 @@
+// message says what happened in words (for logs); change says which fields it touched, so
+// observers never have to work that out from the text.
+interface TrainObserver {
+    void update(String trainId, String message, TrainChange change);
+}
@@ -0,0 +1,11 @@
+abstract class TrainOperationTemplate {
+    public final void manageOperation() {
+        startOperation();
+        performOperation();
+        endOperation();
+    }
+
+    protected abstract void startOperation();
+    protected abstract void performOperation();
+    protected abstract void endOperation();
+}
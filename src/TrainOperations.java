@@ -0,0 +1,4 @@
+interface TrainOperations {
+    void startEngine();
+    void stopEngine();
+}
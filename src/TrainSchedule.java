@@ -0,0 +1,221 @@
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+class TrainSchedule {
+    private TrainVersionStore versions;
+    private List<Station> stations ;
+    private StationGraph stationGraph;
+    private RoutingEngine routingEngine;
+    private JourneyPlanner journeyPlanner;
+    private PlatformOccupancyEngine platformOccupancy;
+    private FleetMaintenanceScheduler maintenanceScheduler;
+    private TrainEventScheduler eventScheduler;
+    private DelayPropagator delayPropagator;
+    private FleetCalendarIndex calendarIndex;
+    private DepartureBoardCache departureBoards;
+    private PassengerDirectory passengers;
+    private StationNameIndex stationNames;
+    private CargoAllocationEngine cargoAllocation;
+    private final List<ScheduleListener> listeners = new ArrayList<>();
+    public TrainSchedule() {
+        versions = new TrainVersionStore();
+        stations = new ArrayList<>();
+        stationGraph = new StationGraph();
+        routingEngine = new RoutingEngine(stationGraph, 8);
+        journeyPlanner = new JourneyPlanner(5);
+        platformOccupancy = new PlatformOccupancyEngine();
+        LocalDateTime start = LocalDateTime.now();
+        maintenanceScheduler = new FleetMaintenanceScheduler(start.toLocalDate());
+        eventScheduler = new TrainEventScheduler(start, maintenanceScheduler);
+        delayPropagator = new DelayPropagator();
+        calendarIndex = new FleetCalendarIndex(LocalDate.now(), 366);
+        departureBoards = new DepartureBoardCache(Integer.getInteger("boards.maxCached", 256));
+        passengers = new PassengerDirectory();
+        stationNames = new StationNameIndex();
+        cargoAllocation = new CargoAllocationEngine();
+    }
+    public void addTrain(Train train) {
+        versions.add(train);
+        stationGraph.addTrain(train);
+        journeyPlanner.addTrain(train);
+        platformOccupancy.addTrain(train);
+        eventScheduler.addTrain(train);
+        delayPropagator.addTrain(train);
+        calendarIndex.addTrain(train);
+        departureBoards.addTrain(train);
+        cargoAllocation.addTrain(train);
+        for (ScheduleListener listener : listeners) {
+            listener.trainAdded(train);
+        }
+        // Last, so that everything above sees an overdue train go into maintenance.
+        maintenanceScheduler.addTrain(train);
+    }
+
+    // Adds many trains at once, skipping any whose ID is already in the schedule or earlier in
+    // the batch. Returns how many were added.
+    public int addTrains(List<Train> trains) {
+        ScheduleSnapshot existing = versions.snapshot();
+        Set<String> ids = new HashSet<>();
+        List<Train> added = new ArrayList<>(trains.size());
+        for (Train train : trains) {
+            if (existing.find(train.getTrainId()) == null && ids.add(train.getTrainId())) {
+                added.add(train);
+            }
+        }
+        versions.addAll(added);
+        stationGraph.addTrains(added);
+        platformOccupancy.addTrains(added);
+        for (Train train : added) {
+            journeyPlanner.addTrain(train);
+            eventScheduler.addTrain(train);
+            delayPropagator.addTrain(train);
+            calendarIndex.addTrain(train);
+            departureBoards.addTrain(train);
+            cargoAllocation.addTrain(train);
+            for (ScheduleListener listener : listeners) {
+                listener.trainAdded(train);
+            }
+            maintenanceScheduler.addTrain(train);
+        }
+        return added.size();
+    }
+
+    // Expands a template train already in the schedule into count recurring instances.
+    public int expandTemplate(String templateId, String idPattern, int count, int firstOffsetMinutes,
+                              int intervalMinutes) {
+        Train template = getLiveTrain(templateId);
+        if (template == null) {
+            return 0;
+        }
+        return addTrains(new ServiceTemplate(template).expand(idPattern, count, firstOffsetMinutes, intervalMinutes));
+    }
+
+    public void addStation(Station station) {
+        stations.add(station);
+        stationNames.addStation(station);
+        stationGraph.addStation(station.getStationName());
+        platformOccupancy.setPlatformCount(station.getStationName(), station.getPlatformCount());
+        for (ScheduleListener listener : listeners) {
+            listener.stationAdded(station);
+        }
+    }
+
+    public void addScheduleListener(ScheduleListener listener) {
+        listeners.add(listener);
+    }
+
+    public List<Station> getStations() {
+        return new ArrayList<>(stations);
+    }
+
+    public StationNameIndex getStationNames() {
+        return stationNames;
+    }
+
+    // First station added under this name (case-insensitive), or null.
+    public Station findStation(String stationName) {
+        List<Station> found = stationNames.find(stationName);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    public StationGraph getStationGraph() {
+        return stationGraph;
+    }
+
+    public Route findFastestRoute(String fromStation, String toStation) {
+        return routingEngine.findFastestRoute(fromStation, toStation);
+    }
+
+    public List<PlatformConflict> getPlatformConflicts() {
+        return platformOccupancy.getConflicts();
+    }
+
+    public int getPlatform(String trainId, String stationName) {
+        return platformOccupancy.getPlatform(trainId, stationName);
+    }
+
+    public FleetMaintenanceScheduler getMaintenanceScheduler() {
+        return maintenanceScheduler;
+    }
+
+    public TrainEventScheduler getEventScheduler() {
+        return eventScheduler;
+    }
+
+    public DelayPropagator getDelayPropagator() {
+        return delayPropagator;
+    }
+
+    public FleetCalendarIndex getCalendarIndex() {
+        return calendarIndex;
+    }
+
+    public CargoAllocationEngine getCargoAllocation() {
+        return cargoAllocation;
+    }
+
+    public PassengerDirectory getPassengers() {
+        return passengers;
+    }
+
+    public DepartureBoardCache getDepartureBoards() {
+        return departureBoards;
+    }
+
+    public List<BoardEntry> getDepartures(String stationName, String fromTime, int pageSize) {
+        return departureBoards.getDepartures(stationName, fromTime, pageSize);
+    }
+
+    public List<BoardEntry> getArrivals(String stationName, String fromTime, int pageSize) {
+        return departureBoards.getArrivals(stationName, fromTime, pageSize);
+    }
+
+    public List<Train> getTrainsRunningOn(LocalDate date) {
+        return calendarIndex.runningOn(date);
+    }
+
+    public boolean setCalendarException(String trainId, LocalDate date, boolean running) {
+        Train train = getLiveTrain(trainId);
+        if (train == null || train.getCalendar() == null) {
+            return false;
+        }
+        // A changed copy, set through the train so every observer hears about it.
+        ServiceCalendar calendar = train.getCalendar().copy();
+        calendar.setException(date, running);
+        train.setCalendar(calendar);
+        return true;
+    }
+
+    public Journey planJourney(String fromStation, String toStation, String departAfter) {
+        return journeyPlanner.planJourney(fromStation, toStation, departAfter);
+    }
+    // The train as of now, for readers. Null if there is no train with this ID.
+    public TrainVersion getTrainById(String trainId) {
+        return versions.snapshot().find(trainId);
+    }
+
+    // The train itself, for writers: its setters notify every index and publish a new version.
+    public Train getLiveTrain(String trainId) {
+        TrainVersion version = versions.snapshot().find(trainId);
+        return version == null ? null : version.getLiveTrain();
+    }
+    public TrainIterator iterator() {
+        return new TrainScheduleIterator(versions.snapshot());
+    }
+
+    // A consistent, immutable view of every train; cheap to take and never blocks writers.
+    public ScheduleSnapshot snapshot() {
+        return versions.snapshot();
+    }
+
+
+    public void displayAllStations() {
+        for (Station station : stations) {
+            station.displayStationInfo();
+        }
+    }
+}
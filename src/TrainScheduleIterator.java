@@ -0,0 +1,22 @@
+// Walks the trains of one schedule snapshot, so trains added meanwhile are not seen.
+class TrainScheduleIterator implements TrainIterator {
+    private ScheduleSnapshot snapshot;
+    private int position = 0;
+
+    public TrainScheduleIterator(ScheduleSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return position < snapshot.size();
+    }
+
+    @Override
+    public TrainVersion next() {
+        if (hasNext()) {
+            return snapshot.get(position++);
+        }
+        return null;
+    }
+}
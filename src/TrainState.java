@@ -0,0 +1,5 @@
+import java.io.PrintStream;
+
+interface TrainState {
+    void handle(TrainContext context, PrintStream out);
+}
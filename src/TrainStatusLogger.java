@@ -0,0 +1,10 @@
+class TrainStatusLogger implements TrainObserver {
+    @Override
+    public void update(String trainId, String message, TrainChange change) {
+        System.out.println("Train " + trainId + " notification: " + message);
+    }
+
+    public void logStatusChange(String trainId, String oldStatus, String newStatus) {
+        System.out.println("Train ID: " + trainId + " changed status from " + oldStatus + " to " + newStatus);
+    }
+}
@@ -0,0 +1,22 @@
+class TrainStatusUpdater implements TrainUpdaterStrategy {
+    private String newStatus;
+    private TrainStatusLogger logger = new TrainStatusLogger();
+
+    public TrainStatusUpdater(String newStatus) {
+        this.newStatus = newStatus;
+    }
+
+    @Override
+    public void update(TrainSchedule schedule, String trainId) {
+        Train train = schedule.getLiveTrain(trainId);
+        if (train != null) {
+            String oldStatus = train.getStatus();
+            logger.logStatusChange(trainId, oldStatus, newStatus);
+            train.applyChanges(new TrainChange.TrainChangeBuilder()
+                    .withStatus(newStatus)
+                    .build()); // This will automatically notify observers
+        } else {
+            System.out.println("Train not found.");
+        }
+    }
+}
@@ -0,0 +1,16 @@
+// One call of a train at a station. The first stop has no arrival and the last no departure.
+class TrainStop {
+    private final String stationName;
+    private final String arrivalTime;
+    private final String departureTime;
+
+    public TrainStop(String stationName, String arrivalTime, String departureTime) {
+        this.stationName = stationName;
+        this.arrivalTime = arrivalTime;
+        this.departureTime = departureTime;
+    }
+
+    public String getStationName() { return stationName; }
+    public String getArrivalTime() { return arrivalTime; }
+    public String getDepartureTime() { return departureTime; }
+}
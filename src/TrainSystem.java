@@ -0,0 +1,1022 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+
+class TrainSystem {
+    public static void main(String[] args) {
+        TrainSchedule schedule = new TrainSchedule();
+        TicketManager ticketManager = new TicketManager();
+        ticketManager.addListener(schedule.getPassengers());
+        TrainManager trainManager = TrainManager.getInstance();
+        ConcreteTrainVisitor visitor = new ConcreteTrainVisitor();
+
+        TransportFactory transportFactory = new DefaultTransportFactory();
+
+        MementoManager mementoManager = new MementoManager();
+
+        TrainStatusLogger observer1 = new TrainStatusLogger();
+
+        Scanner scanner = new Scanner(System.in);
+
+        TrainMetrics.startPeriodicDump(Long.getLong("metrics.dumpSeconds", 0), System.err);
+        if (Boolean.getBoolean("scheduler.realtime")) {
+            schedule.getEventScheduler().startRealTime(5);
+        }
+        Integer partitionPort = Integer.getInteger("partition.port");
+        if (partitionPort != null) {
+            new PartitionNode(partitionPort, Integer.getInteger("partition.virtualNodes", 64)).start();
+            return;
+        }
+        String partitionNodes = System.getProperty("partition.nodes");
+        if (partitionNodes != null) {
+            PartitionedTrainSchedule partitioned =
+                    new PartitionedTrainSchedule(Integer.getInteger("partition.virtualNodes", 64));
+            for (String port : partitionNodes.split(",")) {
+                try {
+                    partitioned.addNode(Integer.parseInt(port.trim()));
+                } catch (IOException e) {
+                    System.out.println("Partition node on port " + port.trim() + " unavailable: " + e.getMessage());
+                }
+            }
+            partitioned.runMenu(scanner);
+            return;
+        }
+        Integer followPort = Integer.getInteger("replication.follow");
+        if (followPort != null) {
+            new ReplicaNode(schedule, followPort).runMenu(scanner);
+            return;
+        }
+        String historyDir = System.getProperty("history.dir");
+        HistoryArchive history = null;
+        if (historyDir != null) {
+            try {
+                history = HistoryArchive.open(Path.of(historyDir), Integer.getInteger("history.segmentRecords", 65_536));
+                schedule.addScheduleListener(history);
+                Runtime.getRuntime().addShutdownHook(new Thread(history::close));
+            } catch (IOException e) {
+                System.out.println("History archive unavailable: " + e.getMessage());
+            }
+        }
+        HistoryArchive archive = history;
+        Integer leaderPort = Integer.getInteger("replication.leaderPort");
+        if (leaderPort != null) {
+            ChangeFeed feed = new ChangeFeed(schedule, Integer.getInteger("replication.retain", 100_000));
+            ticketManager.addListener(feed);
+            new ChangeFeedServer(feed, leaderPort).start();
+        }
+        BookingAdmissionController admission = new BookingAdmissionController(ticketManager,
+                trainId -> schedule.getTrainById(trainId) != null,
+                Double.parseDouble(System.getProperty("admission.trainRate", "20")),
+                Integer.getInteger("admission.trainBurst", 40), Integer.getInteger("admission.queueCapacity", 256));
+
+        while (true) {
+            System.out.println("\n--- Train Management System ---");
+            System.out.println("1. Add Train");
+            System.out.println("2. Display All Trains");
+            System.out.println("3. Book Ticket");
+            System.out.println("4. Cancel Ticket");
+            System.out.println("5. Modify Ticket");
+            System.out.println("6. Add Station");
+            System.out.println("7. Display All Stations");
+            System.out.println("8. Update Train Status");
+            System.out.println("9. Train Operations start");
+            System.out.println("10. Display info by id");
+            System.out.println("11. Inspect");
+            System.out.println("12. Change Train State");
+            System.out.println("13. Clone Train");
+            System.out.println("14. Restore Train state");
+            System.out.println("16. Display Metrics");
+            System.out.println("17. Find Fastest Route");
+            System.out.println("18. Plan Journey");
+            System.out.println("19. Display Platform Conflicts");
+            System.out.println("20. Maintenance Due");
+            System.out.println("21. Advance Clock");
+            System.out.println("22. Simulate Network Day");
+            System.out.println("23. Add Train Dependency");
+            System.out.println("24. Expand Service Template");
+            System.out.println("25. Set Service Calendar");
+            System.out.println("26. Trains Running On Date");
+            System.out.println("27. Station Board");
+            System.out.println("28. Depot Servicing");
+            System.out.println("29. Fleet Operations");
+            System.out.println("30. Search Passengers");
+            System.out.println("31. Train Manifest");
+            System.out.println("32. Search Stations");
+            System.out.println("33. Add Consignment");
+            System.out.println("34. Cargo Plan");
+            System.out.println("35. Train History");
+            System.out.println("36. Booking Rush");
+            System.out.println("37. Undo Ticket Change");
+            System.out.println("38. Redo Ticket Change");
+            System.out.println("39. Ticket History");
+            System.out.println("40. Record Service");
+            System.out.println("15. Exit");
+            System.out.print("Select an option: ");
+
+            int choice = scanner.nextInt();
+            scanner.nextLine();
+
+            switch (choice) {
+                case 1 -> addTrain(schedule, scanner,transportFactory);
+                case 2 -> displayAllTrains(schedule);
+                case 3 -> bookTicket(admission, ticketManager, schedule, scanner);
+                case 4 -> cancelTicket(admission, ticketManager, scanner);
+                case 5 -> modifyTicket(admission, ticketManager, scanner);
+                case 6 -> addStation(schedule, scanner,transportFactory);
+                case 7 -> displayAllStations(schedule);
+                case 8 -> updateTrainStatus(schedule, scanner);
+                case 9 -> startTrainOperations(schedule,scanner);
+                case 10 -> manageTrain(trainManager,schedule,scanner);
+                case 11 -> inspectObjects(visitor, schedule, scanner);
+                case 12 ->  changeTrainState(schedule, scanner);
+                case 13 -> cloneTrain(schedule, scanner);
+                case 14 -> restoreTrainState(schedule,scanner,mementoManager);
+                case 15 -> {
+                    System.out.println("Exiting system...");
+                    return;
+                }
+                case 16 -> TrainMetrics.dump(System.out);
+                case 17 -> findFastestRoute(schedule, scanner);
+                case 18 -> planJourney(schedule, scanner);
+                case 19 -> displayPlatformConflicts(schedule);
+                case 20 -> showMaintenanceDue(schedule, scanner);
+                case 21 -> advanceClock(schedule, scanner);
+                case 22 -> simulateNetworkDay(schedule, scanner);
+                case 23 -> addTrainDependency(schedule, scanner);
+                case 24 -> expandServiceTemplate(schedule, scanner);
+                case 25 -> setServiceCalendar(schedule, scanner);
+                case 26 -> showTrainsRunning(schedule, scanner);
+                case 27 -> showStationBoard(schedule, scanner);
+                case 28 -> serviceAtDepot(schedule, scanner);
+                case 29 -> fleetOperations(trainManager, schedule, scanner);
+                case 30 -> searchPassengers(schedule, scanner);
+                case 31 -> showManifest(schedule, scanner);
+                case 32 -> searchStations(schedule, scanner);
+                case 33 -> addConsignment(schedule, scanner);
+                case 34 -> showCargoPlan(schedule);
+                case 35 -> showTrainHistory(archive, scanner);
+                case 36 -> bookingRush(admission, schedule, scanner);
+                case 37 -> undoTicketChange(ticketManager, scanner);
+                case 38 -> redoTicketChange(ticketManager, scanner);
+                case 39 -> showTicketHistory(ticketManager, scanner);
+                case 40 -> recordService(schedule, scanner);
+                default -> System.out.println("Invalid option. Please try again.");
+            }
+        }
+    }
+
+    private static void addTrain(TrainSchedule schedule, Scanner scanner,TransportFactory transportFactory) {
+        System.out.print("Enter Train ID: ");
+        String trainId = scanner.nextLine();
+        System.out.print("Enter Train Type: ");
+        String trainType = scanner.nextLine();
+        System.out.print("Enter Departure Time: ");
+        String departureTime = scanner.nextLine();
+        System.out.print("Enter Arrival Time: ");
+        String arrivalTime = scanner.nextLine();
+        System.out.print("Enter Status: ");
+        String status = scanner.nextLine();
+        System.out.print("Enter Stops as Station/Arrival/Departure separated by ';' (blank for none): ");
+        String stops = scanner.nextLine();
+        System.out.print("Enter Last Service Date (yyyy-MM-dd, blank for none): ");
+        String lastServiceDate = scanner.nextLine();
+
+        Train.TrainBuilder builder = new Train.TrainBuilder()
+                .withTrainId(trainId)
+                .withTrainType(trainType)
+                .withDepartureTime(departureTime)
+                .withArrivalTime(arrivalTime)
+                .withStatus(status);
+        for (String stop : stops.split(";")) {
+            String[] parts = stop.trim().split("/", -1);
+            if (parts.length == 3) {
+                builder.withStop(parts[0].trim(), parts[1].trim(), parts[2].trim());
+            }
+        }
+        if (!lastServiceDate.isBlank()) {
+            System.out.print("Enter Service Interval (days): ");
+            int serviceIntervalDays = scanner.nextInt();
+            scanner.nextLine();
+            builder.withMaintenance(transportFactory.createMaintenance(lastServiceDate, serviceIntervalDays));
+        }
+        Train train = builder.build();
+
+        train.addObserver(new TrainStatusLogger());
+        schedule.addTrain(train);
+        System.out.println("Train added successfully!");
+    }
+
+    private static void displayAllTrains(TrainSchedule schedule) {
+        for (TrainVersion train : schedule.snapshot()) {
+            train.displayTrainInfo();
+        }
+    }
+
+    private static final long TICKET_DEADLINE_MILLIS = Long.getLong("admission.deadlineMillis", 2000);
+
+    // Runs a ticket command through admission control and says so if it was turned away.
+    private static void submitTicketCommand(BookingAdmissionController admission, TicketCommand command) {
+        AdmissionResult result = admission.execute(command, TICKET_DEADLINE_MILLIS);
+        if (!result.isAdmitted()) {
+            System.out.println("Request for ticket " + command.getTicket().getTicketId() + " not accepted ("
+                    + result.getOutcome() + "); try again in " + result.getRetryAfterMillis() + " ms.");
+        }
+    }
+
+    private static void bookTicket(BookingAdmissionController admission, TicketManager ticketManager,
+                                   TrainSchedule schedule, Scanner scanner) {
+        System.out.print("Enter Ticket ID: ");
+        String ticketId = scanner.nextLine();
+        System.out.print("Enter Passenger Name: ");
+        String passengerName = scanner.nextLine();
+        System.out.print("Enter Seat Number: ");
+        String seatNumber = scanner.nextLine();
+        System.out.print("Enter Train ID (blank for none): ");
+        String trainId = scanner.nextLine();
+
+        // Rebooking a known ticket keeps its journal history and the undo that goes with it, but
+        // only with the details it has; changing them is what Modify Ticket is for.
+        Ticket ticket = ticketManager.getTicket(ticketId);
+        if (ticket != null) {
+            if (!ticket.getPassengerName().equals(passengerName) || !ticket.getSeatNumber().equals(seatNumber)
+                    || !Objects.equals(ticket.getTrainId(), trainId.isBlank() ? null : trainId)) {
+                System.out.println("Ticket " + ticketId + " already exists with other details. Use Modify Ticket to change them.");
+                return;
+            }
+        } else {
+            if (!trainId.isBlank() && schedule.getTrainById(trainId) == null) {
+                System.out.println("Train not found.");
+                return;
+            }
+            ticket = new Ticket(ticketId, passengerName, seatNumber, trainId.isBlank() ? null : trainId);
+        }
+        submitTicketCommand(admission, new BookTicketCommand(ticket));
+    }
+
+    // Fires many bookings for one train at once, as when sales open, and shows how many got in.
+    private static void bookingRush(BookingAdmissionController admission, TrainSchedule schedule, Scanner scanner) {
+        System.out.print("Enter Train ID: ");
+        String trainId = scanner.nextLine();
+        if (schedule.getTrainById(trainId) == null) {
+            System.out.println("Train not found.");
+            return;
+        }
+        System.out.print("Enter number of booking requests: ");
+        int requests = scanner.nextInt();
+        scanner.nextLine();
+
+        List<CompletableFuture<AdmissionResult>> results = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            Ticket ticket = new Ticket(trainId + "-R" + i, "Passenger " + i, "S" + i, trainId);
+            results.add(admission.submit(new BookTicketCommand(ticket), TICKET_DEADLINE_MILLIS));
+        }
+        int booked = 0;
+        for (CompletableFuture<AdmissionResult> result : results) {
+            if (result.join().isAdmitted()) {
+                booked++;
+            }
+        }
+        System.out.println(booked + " of " + requests + " booking requests admitted.");
+        admission.displayStats();
+    }
+
+    private static void undoTicketChange(TicketManager ticketManager, Scanner scanner) {
+        System.out.print("Enter Ticket ID: ");
+        String ticketId = scanner.nextLine();
+        if (ticketManager.undo(ticketId)) {
+            displayRestored(ticketManager.getTicket(ticketId));
+        } else {
+            System.out.println("Nothing to undo for ticket " + ticketId + ".");
+        }
+    }
+
+    private static void redoTicketChange(TicketManager ticketManager, Scanner scanner) {
+        System.out.print("Enter Ticket ID: ");
+        String ticketId = scanner.nextLine();
+        if (ticketManager.redo(ticketId)) {
+            displayRestored(ticketManager.getTicket(ticketId));
+        } else {
+            System.out.println("Nothing to redo for ticket " + ticketId + ".");
+        }
+    }
+
+    private static void displayRestored(Ticket ticket) {
+        System.out.println("Ticket " + ticket.getTicketId() + " restored: seat " + ticket.getSeatNumber() + ", "
+                + (ticket.isBooked() ? "Booked" : "Not Booked"));
+    }
+
+    private static void showTicketHistory(TicketManager ticketManager, Scanner scanner) {
+        System.out.print("Enter Ticket ID: ");
+        String ticketId = scanner.nextLine();
+        List<JournalEntry> history = ticketManager.getHistory(ticketId);
+        System.out.println("--- History of ticket " + ticketId + " (oldest first) ---");
+        for (JournalEntry entry : history) {
+            System.out.println(entry.describe());
+        }
+        System.out.println(history.size() + " change(s) to undo, " + ticketManager.getRedoCount(ticketId)
+                + " to redo.");
+        ticketManager.displayJournalStats();
+    }
+
+    private static void cancelTicket(BookingAdmissionController admission, TicketManager ticketManager,
+                                     Scanner scanner) {
+        System.out.print("Enter Ticket ID: ");
+        String ticketId = scanner.nextLine();
+        System.out.print("Enter Passenger Name: ");
+        String passengerName = scanner.nextLine();
+        System.out.print("Enter Seat Number: ");
+        String seatNumber = scanner.nextLine();
+
+        Ticket ticket = ticketManager.getTicket(ticketId);
+        if (ticket == null) {
+            ticket = new Ticket(ticketId, passengerName, seatNumber);
+        }
+        submitTicketCommand(admission, new CancelTicketCommand(ticket));
+    }
+
+    private static void modifyTicket(BookingAdmissionController admission, TicketManager ticketManager,
+                                     Scanner scanner) {
+        System.out.print("Enter Ticket ID: ");
+        String ticketId = scanner.nextLine();
+        System.out.print("Enter Passenger Name: ");
+        String passengerName = scanner.nextLine();
+        System.out.print("Enter Current Seat Number: ");
+        String currentSeat = scanner.nextLine();
+        System.out.print("Enter New Seat Number: ");
+        String newSeat = scanner.nextLine();
+
+        Ticket ticket = ticketManager.getTicket(ticketId);
+        if (ticket == null) {
+            ticket = new Ticket(ticketId, passengerName, currentSeat);
+        }
+        submitTicketCommand(admission, new ModifyTicketCommand(ticket, newSeat));
+    }
+
+    private static void updateTrainStatus(TrainSchedule schedule, Scanner scanner) {
+        System.out.print("Enter Train ID: ");
+        String trainId = scanner.nextLine();
+        System.out.print("Enter New Status: ");
+        String newStatus = scanner.nextLine();
+
+        TrainUpdaterStrategy updater = new TimedTrainUpdater(new TrainStatusUpdater(newStatus));
+        updater.update(schedule, trainId);
+    }
+
+    private static void startTrainOperations(TrainSchedule schedule, Scanner scanner) {
+        System.out.print("Enter Train ID to start operations: ");
+        String trainId = scanner.nextLine();
+        Train train = schedule.getLiveTrain(trainId);
+
+        if (train == null) {
+            System.out.println("Train not found.");
+            return;
+        }
+
+        TrainOperationTemplate operation = TrainManager.getInstance().operationFor(train);
+        if (operation == null) {
+            System.out.println("Invalid train type for operations.");
+            return;
+        }
+
+        long start = System.nanoTime();
+        operation.manageOperation();
+        TrainMetrics.operation(operation.getClass()).record(System.nanoTime() - start);
+    }
+
+    private static void manageTrain(TrainManager trainManager, TrainSchedule schedule, Scanner scanner) {
+        System.out.print("Enter Train ID to manage: ");
+        String trainId = scanner.nextLine();
+        TrainVersion train = schedule.getTrainById(trainId);
+
+        if (train == null) {
+            System.out.println("Train not found.");
+            return;
+        }
+
+
+        trainManager.manageTrain(train);
+    }
+    private static void inspectObjects(ConcreteTrainVisitor visitor, TrainSchedule schedule, Scanner scanner) {
+        System.out.println("\n--- Inspection Menu ---");
+        System.out.println("1. Inspect a Train");
+        System.out.println("2. Inspect a Passenger");
+        System.out.println("3. Inspect a Station");
+        System.out.print("Choose an option: ");
+
+        int option = scanner.nextInt();
+        scanner.nextLine();
+
+        switch (option) {
+            case 1 -> {
+                System.out.print("Enter Train ID to inspect: ");
+                String trainId = scanner.nextLine();
+                Train train = schedule.getLiveTrain(trainId);
+                if (train != null) {
+                    train.accept(visitor);
+                } else {
+                    System.out.println("Train not found.");
+                }
+            }
+            case 2 -> {
+                System.out.print("Enter Passenger Name to inspect: ");
+                String passengerName = scanner.nextLine();
+                List<Passenger> passengers = findPassengers(schedule, passengerName);
+                if (!passengers.isEmpty()) {
+                    for (Passenger passenger : passengers) {
+                        passenger.accept(visitor);
+                    }
+                } else {
+                    System.out.println("Passenger not found.");
+                    suggestPassengers(schedule, passengerName);
+                }
+            }
+
+            case 3 -> {
+                System.out.print("Enter Station Name to inspect: ");
+                String stationName = scanner.nextLine();
+                Station station = findStation(schedule, stationName);
+                if (station != null) {
+                    station.accept(visitor);
+                } else {
+                    System.out.println("Station not found.");
+                    suggestStations(schedule, stationName);
+                }
+            }
+            default -> System.out.println("Invalid option.");
+        }
+    }
+
+    private static List<Passenger> findPassengers(TrainSchedule schedule, String name) {
+        return schedule.getPassengers().findByName(name);
+    }
+
+    private static void suggestPassengers(TrainSchedule schedule, String prefix) {
+        List<Passenger> suggestions = schedule.getPassengers().searchByName(prefix, 5);
+        if (!suggestions.isEmpty()) {
+            System.out.println("Passengers starting with \"" + prefix + "\":");
+            for (Passenger passenger : suggestions) {
+                passenger.displayPassengerInfo();
+            }
+        }
+    }
+
+    private static Station findStation(TrainSchedule schedule, String stationName) {
+        return schedule.findStation(stationName);
+    }
+
+    private static void suggestStations(TrainSchedule schedule, String stationName) {
+        List<Station> suggestions = schedule.getStationNames().suggest(stationName, 5);
+        if (!suggestions.isEmpty()) {
+            System.out.println("Did you mean:");
+            for (Station station : suggestions) {
+                station.displayStationInfo();
+            }
+        }
+    }
+    private static void addStation(TrainSchedule schedule, Scanner scanner,TransportFactory transportFactory) {
+        System.out.print("Enter Station Name: ");
+        String stationName = scanner.nextLine();
+        System.out.print("Enter Station Location: ");
+        String location = scanner.nextLine();
+        System.out.print("Enter Number of Platforms: ");
+        int platformCount = scanner.nextInt();
+        scanner.nextLine();
+
+        Station station = transportFactory.createStation(stationName, location);
+        station.setPlatformCount(platformCount);
+        schedule.addStation(station);
+        System.out.println("Station added successfully!");
+    }
+
+    private static void findFastestRoute(TrainSchedule schedule, Scanner scanner) {
+        System.out.print("Enter From Station: ");
+        String from = scanner.nextLine();
+        System.out.print("Enter To Station: ");
+        String to = scanner.nextLine();
+
+        Route route = schedule.findFastestRoute(from, to);
+        if (route != null) {
+            route.displayRouteInfo();
+        } else {
+            System.out.println("No route found.");
+        }
+    }
+
+    private static void planJourney(TrainSchedule schedule, Scanner scanner) {
+        System.out.print("Enter From Station: ");
+        String from = scanner.nextLine();
+        System.out.print("Enter To Station: ");
+        String to = scanner.nextLine();
+        System.out.print("Enter Earliest Departure Time: ");
+        String departAfter = scanner.nextLine();
+
+        Journey journey = schedule.planJourney(from, to, departAfter);
+        if (journey != null) {
+            journey.displayJourneyInfo();
+        } else {
+            System.out.println("No journey found.");
+        }
+    }
+
+    private static void displayPlatformConflicts(TrainSchedule schedule) {
+        List<PlatformConflict> conflicts = schedule.getPlatformConflicts();
+        if (conflicts.isEmpty()) {
+            System.out.println("No platform conflicts.");
+        }
+        for (PlatformConflict conflict : conflicts) {
+            conflict.displayConflictInfo();
+        }
+    }
+
+    private static void showMaintenanceDue(TrainSchedule schedule, Scanner scanner) {
+        System.out.print("Enter Today's Date (yyyy-MM-dd): ");
+        String today = scanner.nextLine();
+        System.out.print("Show trains due within how many days: ");
+        int days = scanner.nextInt();
+        scanner.nextLine();
+
+        LocalDate date;
+        try {
+            date = LocalDate.parse(today);
+        } catch (DateTimeParseException e) {
+            System.out.println("Invalid date.");
+            return;
+        }
+        for (Train train : schedule.getMaintenanceScheduler().dueWithin(date, days)) {
+            System.out.println("Train " + train.getTrainId() + " due on " + train.getMaintenance().getDueDate());
+        }
+    }
+
+    private static void recordService(TrainSchedule schedule, Scanner scanner) {
+        System.out.print("Enter Train ID: ");
+        String trainId = scanner.nextLine();
+        System.out.print("Enter Service Date (yyyy-MM-dd): ");
+        String serviceDate = scanner.nextLine();
+
+        Train train = schedule.getLiveTrain(trainId);
+        if (train == null) {
+            System.out.println("Train not found.");
+            return;
+        }
+        try {
+            LocalDate.parse(serviceDate);
+        } catch (DateTimeParseException e) {
+            System.out.println("Invalid date.");
+            return;
+        }
+        schedule.getMaintenanceScheduler().recordService(train, serviceDate);
+        System.out.println("Service recorded for train " + trainId + ", next due "
+                + (train.getMaintenance() == null ? "-" : train.getMaintenance().getDueDate()));
+    }
+
+    private static void advanceClock(TrainSchedule schedule, Scanner scanner) {
+        TrainEventScheduler eventScheduler = schedule.getEventScheduler();
+        System.out.println("Current time: " + eventScheduler.getCurrentTime());
+        System.out.print("Advance to (yyyy-MM-ddTHH:mm): ");
+        String time = scanner.nextLine();
+
+        try {
+            int fired = eventScheduler.advanceTo(LocalDateTime.parse(time));
+            System.out.println(fired + " scheduled events fired.");
+        } catch (DateTimeParseException e) {
+            System.out.println("Invalid time.");
+        }
+    }
+
+    private static void simulateNetworkDay(TrainSchedule schedule, Scanner scanner) {
+        System.out.print("Enter Random Seed: ");
+        long seed = scanner.nextLong();
+        scanner.nextLine();
+
+        SimulationConfig config = new SimulationConfig.SimulationConfigBuilder()
+                .withSeed(seed)
+                .build();
+        new NetworkSimulator(schedule, config).run().displayReport();
+    }
+
+    private static void addTrainDependency(TrainSchedule schedule, Scanner scanner) {
+        System.out.print("Enter First Train ID: ");
+        String firstTrainId = scanner.nextLine();
+        System.out.print("Enter Dependent Train ID: ");
+        String nextTrainId = scanner.nextLine();
+        System.out.println("1. Turnaround");
+        System.out.println("2. Guaranteed Connection");
+        System.out.println("3. Platform Succession");
+        System.out.print("Enter your choice: ");
+        int kind = scanner.nextInt();
+        scanner.nextLine();
+
+        DelayPropagator propagator = schedule.getDelayPropagator();
+        boolean added;
+        if (kind == 1) {
+            System.out.print("Enter Minimum Turnaround (minutes): ");
+            int minutes = scanner.nextInt();
+            scanner.nextLine();
+            added = propagator.addTurnaround(firstTrainId, nextTrainId, minutes);
+        } else if (kind == 2 || kind == 3) {
+            System.out.print("Enter Station Name: ");
+            String stationName = scanner.nextLine();
+            System.out.print(kind == 2 ? "Enter Minimum Transfer (minutes): " : "Enter Headway (minutes): ");
+            int minutes = scanner.nextInt();
+            scanner.nextLine();
+            if (kind == 2) {
+                System.out.print("Enter Maximum Hold (minutes): ");
+                int maxHold = scanner.nextInt();
+                scanner.nextLine();
+                added = propagator.addGuaranteedConnection(firstTrainId, nextTrainId, stationName, minutes, maxHold);
+            } else {
+                added = propagator.addPlatformSuccession(firstTrainId, nextTrainId, stationName, minutes);
+            }
+        } else {
+            System.out.println("Invalid option.");
+            return;
+        }
+        System.out.println(added ? "Dependency added." : "Dependency not added.");
+    }
+
+    private static void expandServiceTemplate(TrainSchedule schedule, Scanner scanner) {
+        System.out.print("Enter Template Train ID: ");
+        String templateId = scanner.nextLine();
+        if (schedule.getTrainById(templateId) == null) {
+            System.out.println("Train not found.");
+            return;
+        }
+        System.out.print("Enter ID Pattern ({id}, {n}, {day}, {time}): ");
+        String idPattern = scanner.nextLine();
+        System.out.print("Enter Number of Instances: ");
+        int count = scanner.nextInt();
+        System.out.print("Enter First Offset (minutes): ");
+        int firstOffset = scanner.nextInt();
+        System.out.print("Enter Interval (minutes): ");
+        int interval = scanner.nextInt();
+        scanner.nextLine();
+
+        int added = schedule.expandTemplate(templateId, idPattern, count, firstOffset, interval);
+        System.out.println(added + " trains added, " + (count - added) + " skipped as duplicate IDs.");
+    }
+
+    private static void setServiceCalendar(TrainSchedule schedule, Scanner scanner) {
+        System.out.print("Enter Train ID: ");
+        String trainId = scanner.nextLine();
+        Train train = schedule.getLiveTrain(trainId);
+        if (train == null) {
+            System.out.println("Train not found.");
+            return;
+        }
+        System.out.print("Enter Valid From (yyyy-MM-dd): ");
+        String validFrom = scanner.nextLine();
+        System.out.print("Enter Valid To (yyyy-MM-dd): ");
+        String validTo = scanner.nextLine();
+        System.out.print("Enter Operating Days (e.g. Mon-Fri,Sun): ");
+        Set<DayOfWeek> weekdays = ServiceCalendar.parseWeekdays(scanner.nextLine());
+        System.out.print("Enter Exceptions as date+ (extra day) or date- (no service), separated by ',' (blank for none): ");
+        String exceptions = scanner.nextLine();
+
+        if (weekdays == null) {
+            System.out.println("Invalid operating days.");
+            return;
+        }
+        try {
+            ServiceCalendar calendar = new ServiceCalendar(LocalDate.parse(validFrom), LocalDate.parse(validTo), weekdays);
+            for (String exception : exceptions.split(",")) {
+                String date = exception.trim();
+                if (date.endsWith("+") || date.endsWith("-")) {
+                    calendar.setException(LocalDate.parse(date.substring(0, date.length() - 1)), date.endsWith("+"));
+                }
+            }
+            train.setCalendar(calendar);
+            System.out.println("Service calendar set.");
+        } catch (DateTimeParseException e) {
+            System.out.println("Invalid date.");
+        }
+    }
+
+    private static void showTrainsRunning(TrainSchedule schedule, Scanner scanner) {
+        System.out.print("Enter Date (yyyy-MM-dd): ");
+        String from = scanner.nextLine();
+        System.out.print("Enter End Date for every-day query (blank for single date): ");
+        String to = scanner.nextLine();
+
+        try {
+            List<Train> running;
+            if (to.isBlank()) {
+                running = schedule.getTrainsRunningOn(LocalDate.parse(from));
+            } else {
+                System.out.print("Enter Weekdays (e.g. Mon-Fri): ");
+                Set<DayOfWeek> weekdays = ServiceCalendar.parseWeekdays(scanner.nextLine());
+                if (weekdays == null) {
+                    System.out.println("Invalid weekdays.");
+                    return;
+                }
+                running = schedule.getCalendarIndex().runningEvery(LocalDate.parse(from), LocalDate.parse(to), weekdays);
+            }
+            for (Train train : running) {
+                train.displayTrainInfo();
+            }
+            System.out.println(running.size() + " trains running.");
+        } catch (DateTimeParseException e) {
+            System.out.println("Invalid date.");
+        }
+    }
+
+    private static void showStationBoard(TrainSchedule schedule, Scanner scanner) {
+        System.out.print("Enter Station Name: ");
+        String stationName = scanner.nextLine();
+        System.out.print("Enter Time From (HH:mm): ");
+        String fromTime = scanner.nextLine();
+
+        System.out.println("--- Departures from " + stationName + " ---");
+        for (BoardEntry entry : schedule.getDepartures(stationName, fromTime, 10)) {
+            entry.displayEntry();
+        }
+        System.out.println("--- Arrivals at " + stationName + " ---");
+        for (BoardEntry entry : schedule.getArrivals(stationName, fromTime, 10)) {
+            entry.displayEntry();
+        }
+        schedule.getDepartureBoards().displayStats();
+    }
+
+    private static void serviceAtDepot(TrainSchedule schedule, Scanner scanner) {
+        System.out.print("Enter Train IDs separated by ',' (blank for all): ");
+        String trainIds = scanner.nextLine();
+        System.out.print("Enter Bays per step (" + String.join(", ", TrainWithTemplate.STEPS) + "), e.g. 1,2,1,1: ");
+        String[] bayCounts = scanner.nextLine().split(",");
+        System.out.print("Enter Queue Capacity per step: ");
+        int queueCapacity = scanner.nextInt();
+        System.out.print("Enter Simulated Time per step in ms (0 for none): ");
+        long stepMillis = scanner.nextLong();
+        scanner.nextLine();
+
+        List<Train> trains = new ArrayList<>();
+        if (trainIds.isBlank()) {
+            for (TrainVersion version : schedule.snapshot()) {
+                trains.add(version.getLiveTrain());
+            }
+        } else {
+            for (String trainId : trainIds.split(",")) {
+                Train train = schedule.getLiveTrain(trainId.trim());
+                if (train == null) {
+                    System.out.println("Train " + trainId.trim() + " not found.");
+                } else {
+                    trains.add(train);
+                }
+            }
+        }
+        int[] bays = new int[TrainWithTemplate.STEPS.length];
+        try {
+            for (int step = 0; step < bays.length; step++) {
+                bays[step] = step < bayCounts.length ? Integer.parseInt(bayCounts[step].trim()) : 1;
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid bay count: " + e.getMessage());
+            return;
+        }
+
+        DepotServicingPipeline depot = new DepotServicingPipeline(bays, queueCapacity, stepMillis);
+        depot.start();
+        try {
+            for (Train train : trains) {
+                depot.submit(train.getTrainId(), TrainWithTemplate.forTrain(train));
+            }
+            depot.awaitCompletion();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            depot.shutdown();
+        }
+        depot.displayStats();
+        // A full pass through the depot counts as the train's service.
+        String serviceDate = LocalDate.now().toString();
+        for (String trainId : depot.getServiced()) {
+            Train train = schedule.getLiveTrain(trainId);
+            if (train != null && train.getMaintenance() != null) {
+                schedule.getMaintenanceScheduler().recordService(train, serviceDate);
+            }
+        }
+    }
+
+    private static void fleetOperations(TrainManager trainManager, TrainSchedule schedule, Scanner scanner) {
+        System.out.println("\n--- Fleet Operations ---");
+        System.out.println("1. Start All Trains");
+        System.out.println("2. Show Progress");
+        System.out.println("3. Stop");
+        System.out.print("Choose an option: ");
+
+        int option = scanner.nextInt();
+        scanner.nextLine();
+
+        switch (option) {
+            case 1 -> {
+                System.out.print("Enter Maximum Trains Operating at Once: ");
+                int maxConcurrent = scanner.nextInt();
+                scanner.nextLine();
+                List<Train> trains = new ArrayList<>();
+                for (TrainVersion version : schedule.snapshot()) {
+                    trains.add(version.getLiveTrain());
+                }
+                trainManager.startFleet(trains, maxConcurrent);
+                System.out.println("Fleet operations started for " + trains.size() + " trains.");
+            }
+            case 2 -> {
+                FleetOperationRun run = trainManager.getFleetRun();
+                if (run == null) {
+                    System.out.println("No fleet operations have been started.");
+                } else {
+                    run.displayProgress();
+                }
+            }
+            case 3 -> System.out.println(trainManager.stopFleet()
+                    ? "Fleet operations stopping; trains already operating will finish."
+                    : "No fleet operations are running.");
+            default -> System.out.println("Invalid option.");
+        }
+    }
+
+    private static void searchPassengers(TrainSchedule schedule, Scanner scanner) {
+        System.out.print("Enter Name or Ticket Number Prefix: ");
+        String prefix = scanner.nextLine();
+
+        PassengerDirectory passengers = schedule.getPassengers();
+        List<Passenger> byName = passengers.searchByName(prefix, 20);
+        List<Passenger> byTicket = passengers.searchByTicket(prefix, 20);
+        if (byName.isEmpty() && byTicket.isEmpty()) {
+            System.out.println("No passengers found.");
+            return;
+        }
+        for (Passenger passenger : byName) {
+            passenger.displayPassengerInfo();
+        }
+        for (Passenger passenger : byTicket) {
+            if (!byName.contains(passenger)) {
+                passenger.displayPassengerInfo();
+            }
+        }
+    }
+
+    private static void showManifest(TrainSchedule schedule, Scanner scanner) {
+        System.out.print("Enter Train ID: ");
+        String trainId = scanner.nextLine();
+
+        List<Passenger> manifest = schedule.getPassengers().getManifest(trainId);
+        System.out.println("--- Manifest of " + trainId + " (" + manifest.size() + " passengers) ---");
+        for (Passenger passenger : manifest) {
+            passenger.displayPassengerInfo();
+        }
+    }
+
+    private static void searchStations(TrainSchedule schedule, Scanner scanner) {
+        System.out.print("Enter Station Name or Beginning of Name: ");
+        String typed = scanner.nextLine();
+
+        Station station = schedule.findStation(typed);
+        if (station != null) {
+            station.displayStationInfo();
+            return;
+        }
+        List<Station> suggestions = schedule.getStationNames().suggest(typed, 10);
+        if (suggestions.isEmpty()) {
+            System.out.println("No stations found.");
+        }
+        for (Station suggestion : suggestions) {
+            suggestion.displayStationInfo();
+        }
+    }
+
+    private static void addConsignment(TrainSchedule schedule, Scanner scanner) {
+        System.out.print("Enter Consignment ID: ");
+        String consignmentId = scanner.nextLine();
+        System.out.print("Enter Origin Station: ");
+        String origin = scanner.nextLine();
+        System.out.print("Enter Destination Station: ");
+        String destination = scanner.nextLine();
+        System.out.print("Enter Weight (tons): ");
+        double weight = scanner.nextDouble();
+        scanner.nextLine();
+        System.out.print("Enter Ready Time (HH:mm): ");
+        String readyTime = scanner.nextLine();
+        System.out.print("Enter Due Time (HH:mm): ");
+        String dueTime = scanner.nextLine();
+
+        CargoAllocationEngine allocation = schedule.getCargoAllocation();
+        allocation.addConsignment(new Consignment(consignmentId, origin, destination, weight, readyTime, dueTime));
+        allocation.plan();
+        String trainId = allocation.getAssignedTrain(consignmentId);
+        System.out.println(trainId == null ? "No cargo train can take this consignment at the moment."
+                : "Consignment planned on train " + trainId + ".");
+    }
+
+    private static void showCargoPlan(TrainSchedule schedule) {
+        CargoAllocationEngine allocation = schedule.getCargoAllocation();
+        allocation.plan();
+        allocation.displayPlan();
+    }
+
+    private static void showTrainHistory(HistoryArchive archive, Scanner scanner) {
+        if (archive == null) {
+            System.out.println("No history archive; start with -Dhistory.dir=<directory>.");
+            return;
+        }
+        System.out.print("Enter Train ID (blank for all trains): ");
+        String trainId = scanner.nextLine().trim();
+        System.out.print("Enter hours to look back (blank for everything): ");
+        String hours = scanner.nextLine().trim();
+        long to = System.currentTimeMillis();
+        long from;
+        try {
+            from = hours.isEmpty() ? Long.MIN_VALUE : to - (long) (Double.parseDouble(hours) * 3_600_000L);
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid number of hours.");
+            return;
+        }
+        List<HistoryRecord> records = archive.history(trainId.isEmpty() ? null : trainId, from, to, 200);
+        System.out.println("--- History (" + records.size() + " records) ---");
+        for (HistoryRecord record : records) {
+            record.displayRecord();
+        }
+        archive.displayStats();
+    }
+
+    private static void displayAllStations(TrainSchedule schedule) {
+        System.out.println("--- All Stations ---");
+        schedule.displayAllStations();
+    }
+    private static void cloneTrain(TrainSchedule schedule, Scanner scanner) {
+        System.out.print("Enter Train ID to clone: ");
+        String trainId = scanner.nextLine();
+        Train originalTrain = schedule.getLiveTrain(trainId);
+
+        originalTrain.saveState();
+
+        if (originalTrain == null) {
+            System.out.println("Train not found.");
+            return;
+        }
+
+
+        Train clonedTrain = originalTrain.clone();
+        clonedTrain.setTrainId(trainId + "_CLONE");
+
+        schedule.addTrain(clonedTrain);
+        System.out.println("Train cloned successfully!");
+    }
+    private static void changeTrainState(TrainSchedule schedule, Scanner scanner) {
+        System.out.print("Enter Train ID to change state: ");
+        String trainId = scanner.nextLine();
+        Train train = schedule.getLiveTrain(trainId);
+
+        if (train == null) {
+            System.out.println("Train not found.");
+            return;
+        }
+
+        System.out.println("\nSelect New State for Train: ");
+        System.out.println("1. Running");
+        System.out.println("2. Stopped");
+        System.out.println("3. Under Maintenance");
+        System.out.print("Enter your choice: ");
+        int stateChoice = scanner.nextInt();
+        scanner.nextLine(); // Consume newline
+
+        TrainState state = switch (stateChoice) {
+            case 1 -> new RunningState();
+            case 2 -> new StoppedState();
+            case 3 -> new MaintenanceState();
+            default -> null;
+        };
+        if (state == null) {
+            System.out.println("Invalid option.");
+            return;
+        }
+
+        train.saveState();
+        train.changeState(state);
+    }
+    private static void restoreTrainState(TrainSchedule schedule, Scanner scanner, MementoManager mementoManager) {
+        System.out.print("Enter Train ID to restore state: ");
+        String trainId = scanner.nextLine();
+        Train train = schedule.getLiveTrain(trainId);
+
+        if (train == null) {
+            System.out.println("Train not found.");
+            return;
+        }
+
+
+        System.out.print("Enter memento index to restore (0 for the most recent): ");
+        int index = scanner.nextInt();
+        scanner.nextLine();
+
+
+        train.restoreState(index);
+    }
+
+}
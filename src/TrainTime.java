@@ -0,0 +1,69 @@
+// Times are kept as "HH:mm" strings everywhere; this converts them for arithmetic.
+final class TrainTime {
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    private TrainTime() {
+    }
+
+    // Minutes since midnight, or -1 if the text is not a valid HH:mm time.
+    public static int toMinutes(String time) {
+        if (time == null) {
+            return -1;
+        }
+        int colon = time.indexOf(':');
+        if (colon < 1 || colon > 2 || time.length() != colon + 3) {
+            return -1;
+        }
+        int hours = 0;
+        for (int i = 0; i < colon; i++) {
+            char c = time.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            hours = hours * 10 + (c - '0');
+        }
+        char tens = time.charAt(colon + 1);
+        char ones = time.charAt(colon + 2);
+        if (tens < '0' || tens > '5' || ones < '0' || ones > '9' || hours > 23) {
+            return -1;
+        }
+        return hours * 60 + (tens - '0') * 10 + (ones - '0');
+    }
+
+    // Every formatted time is one of these 1440 shared strings.
+    public static String format(int minutes) {
+        return FORMATTED[Math.floorMod(minutes, MINUTES_PER_DAY)];
+    }
+
+    private static final String[] FORMATTED = new String[MINUTES_PER_DAY];
+
+    static {
+        for (int minuteOfDay = 0; minuteOfDay < MINUTES_PER_DAY; minuteOfDay++) {
+            int hours = minuteOfDay / 60;
+            int mins = minuteOfDay % 60;
+            FORMATTED[minuteOfDay] = (hours < 10 ? "0" : "") + hours + ":" + (mins < 10 ? "0" : "") + mins;
+        }
+    }
+
+    // Minutes from one time to the next, wrapping past midnight; -1 if either time is invalid.
+    public static int duration(String from, String to) {
+        int start = toMinutes(from);
+        int end = toMinutes(to);
+        if (start < 0 || end < 0) {
+            return -1;
+        }
+        return Math.floorMod(end - start, MINUTES_PER_DAY);
+    }
+
+    // Moves a time forward by whole days until it is not before the previous time of the same
+    // trip, so trips running past midnight keep increasing minutes. Invalid times pass through.
+    public static int unwrap(int minute, int previous) {
+        if (minute < 0 || previous < 0) {
+            return minute;
+        }
+        while (minute < previous) {
+            minute += MINUTES_PER_DAY;
+        }
+        return minute;
+    }
+}
@@ -0,0 +1,23 @@
+class TrainTimeUpdater implements TrainUpdaterStrategy {
+    private String departureTime;
+    private String arrivalTime;
+
+    public TrainTimeUpdater(String departureTime, String arrivalTime) {
+        this.departureTime = departureTime;
+        this.arrivalTime = arrivalTime;
+    }
+
+    @Override
+    public void update(TrainSchedule schedule, String trainId) {
+        Train train = schedule.getLiveTrain(trainId);
+        if (train != null) {
+            System.out.println("Train " + trainId + " times updated.");
+            train.applyChanges(new TrainChange.TrainChangeBuilder()
+                    .withDepartureTime(departureTime)
+                    .withArrivalTime(arrivalTime)
+                    .build());
+        } else {
+            System.out.println("Train not found.");
+        }
+    }
+}
@@ -0,0 +1,3 @@
+interface TrainUpdaterStrategy {
+    void update(TrainSchedule schedule, String trainId);
+}
@@ -0,0 +1,80 @@
+import java.util.List;
+
+// Immutable copy of a train's fields as of one schedule version. The live Train stays the
+// object writers work on; readers only ever see these. Maintenance records and calendars are
+// replaced on the train rather than edited, so a version keeps the ones it was taken with and
+// hands out copies of them.
+final class TrainVersion {
+    private final Train train;
+    private final long version;
+    private final Class<? extends Train> trainClass;
+    private final String trainId;
+    private final String trainType;
+    private final String departureTime;
+    private final String arrivalTime;
+    private final String status;
+    private final List<TrainStop> stops;
+    private final TrainState state;
+    private final double cargoWeight;
+    private final Maintenance maintenance;
+    private final ServiceCalendar calendar;
+    private final List<TrainMemento> savedStates;
+
+    TrainVersion(Train train, long version) {
+        this.train = train;
+        this.version = version;
+        this.trainClass = train.getClass();
+        this.trainId = train.getTrainId();
+        this.trainType = train.getTrainType();
+        this.departureTime = train.getDepartureTime();
+        this.arrivalTime = train.getArrivalTime();
+        this.status = train.getStatus();
+        this.stops = train.getStops();
+        this.state = train.getTrainState();
+        this.cargoWeight = train instanceof CargoTrain cargo ? cargo.getCargoWeight() : 0;
+        this.maintenance = train.getMaintenance();
+        this.calendar = train.getCalendar();
+        this.savedStates = List.copyOf(train.getSavedStates());
+    }
+
+    // A version of a train that is not in a schedule, e.g. to send it to another node.
+    static TrainVersion of(Train train) {
+        return new TrainVersion(train, 0);
+    }
+
+    // The train this version was taken from, for writers only: anything read through it may
+    // already be newer than this version.
+    Train getLiveTrain() { return train; }
+
+    public long getVersion() { return version; }
+    public Class<? extends Train> getTrainClass() { return trainClass; }
+    public String getTrainId() { return trainId; }
+    public String getTrainType() { return trainType; }
+    public String getDepartureTime() { return departureTime; }
+    public String getArrivalTime() { return arrivalTime; }
+    public String getStatus() { return status; }
+    public List<TrainStop> getStops() { return stops; }
+    public TrainState getState() { return state; }
+    public List<TrainMemento> getSavedStates() { return savedStates; }
+
+    // 0 for anything but a cargo train.
+    public double getCargoWeight() { return cargoWeight; }
+
+    public Maintenance getMaintenance() {
+        return maintenance == null ? null : maintenance.copy();
+    }
+
+    // Null means the train runs every day.
+    public ServiceCalendar getCalendar() {
+        return calendar == null ? null : calendar.copy();
+    }
+
+    public int getScheduleOffsetMinutes() {
+        return Train.scheduleOffsetMinutes(stops, departureTime);
+    }
+
+    public void displayTrainInfo() {
+        System.out.println("Train ID: " + trainId + ", Type: " + trainType +
+                ", Departure: " + departureTime + ", Arrival: " + arrivalTime + ", Status: " + status);
+    }
+}
@@ -0,0 +1,92 @@
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Multi-version store behind TrainSchedule. Writers (adding a train, or any change a train
+// notifies about) are serialised and each publishes a new snapshot through a volatile field;
+// readers just read that field and keep using what they got. Adding a train writes into the
+// free slot past the current size, which no published snapshot reads, and publishes the same
+// arrays with the size one larger; the root doubles when it is full. Changing a train copies
+// the chunk and segment it is in and the root, which has one entry per 4096 trains. The ID
+// index only ever grows and slots never move, so it can be shared by all snapshots.
+class TrainVersionStore {
+    private final Map<String, Integer> slotById = new ConcurrentHashMap<>();
+    private final Map<Train, Integer> slotByTrain = new IdentityHashMap<>();
+    private volatile ScheduleSnapshot current = ScheduleSnapshot.EMPTY;
+
+    public ScheduleSnapshot snapshot() {
+        return current;
+    }
+
+    // Trains keep their slot for life; a second train with an existing ID gets its own slot
+    // but lookups by ID still find the first, as they always have.
+    public synchronized void add(Train train) {
+        if (slotByTrain.containsKey(train)) {
+            return;
+        }
+        ScheduleSnapshot snapshot = current;
+        long version = snapshot.getVersion() + 1;
+        int slot = snapshot.size();
+        TrainVersion[][][] segments = append(snapshot.segments(), slot, new TrainVersion(train, version));
+        slotByTrain.put(train, slot);
+        slotById.putIfAbsent(train.getTrainId(), slot);
+        current = new ScheduleSnapshot(version, segments, slot + 1, slotById);
+        train.addObserver((trainId, message, change) -> publish(train));
+    }
+
+    // Adds a batch of trains as a single new version.
+    public synchronized void addAll(List<Train> trains) {
+        ScheduleSnapshot snapshot = current;
+        long version = snapshot.getVersion() + 1;
+        int size = snapshot.size();
+        TrainVersion[][][] segments = snapshot.segments();
+        for (Train train : trains) {
+            if (slotByTrain.containsKey(train)) {
+                continue;
+            }
+            segments = append(segments, size, new TrainVersion(train, version));
+            slotByTrain.put(train, size);
+            slotById.putIfAbsent(train.getTrainId(), size);
+            size++;
+            train.addObserver((trainId, message, change) -> publish(train));
+        }
+        current = new ScheduleSnapshot(version, segments, size, slotById);
+    }
+
+    // Publishes the train's current fields as a new version.
+    public synchronized void publish(Train train) {
+        Integer slot = slotByTrain.get(train);
+        if (slot == null) {
+            return;
+        }
+        ScheduleSnapshot snapshot = current;
+        TrainVersion[][][] segments = snapshot.segments().clone();
+        int segment = ScheduleSnapshot.segment(slot);
+        int chunk = ScheduleSnapshot.chunk(slot);
+        segments[segment] = segments[segment].clone();
+        segments[segment][chunk] = segments[segment][chunk].clone();
+        segments[segment][chunk][slot & (ScheduleSnapshot.CHUNK_SIZE - 1)] =
+                new TrainVersion(train, snapshot.getVersion() + 1);
+        current = new ScheduleSnapshot(snapshot.getVersion() + 1, segments, snapshot.size(), slotById);
+    }
+
+    // Stores the version at slot, the first slot no snapshot reads yet, allocating the root,
+    // segment and chunk as needed. Returns the root, which is new only when it had to grow.
+    private static TrainVersion[][][] append(TrainVersion[][][] segments, int slot, TrainVersion version) {
+        int segment = ScheduleSnapshot.segment(slot);
+        if (segment == segments.length) {
+            segments = Arrays.copyOf(segments, Math.max(1, segments.length * 2));
+        }
+        if (segments[segment] == null) {
+            segments[segment] = new TrainVersion[ScheduleSnapshot.SEGMENT_SIZE][];
+        }
+        int chunk = ScheduleSnapshot.chunk(slot);
+        if (segments[segment][chunk] == null) {
+            segments[segment][chunk] = new TrainVersion[ScheduleSnapshot.CHUNK_SIZE];
+        }
+        segments[segment][chunk][slot & (ScheduleSnapshot.CHUNK_SIZE - 1)] = version;
+        return segments;
+    }
+}
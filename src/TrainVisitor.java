@@ -0,0 +1,5 @@
+interface TrainVisitor {
+    void visitTrain(Train train);
+    void visitPassenger(Passenger passenger);
+    void visitStation(Station station);
+}
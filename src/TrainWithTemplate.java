@@ -0,0 +1,36 @@
+abstract class TrainWithTemplate {
+    static final String[] STEPS = {"Check Systems", "Clean", "Refuel/Recharge", "Test Run"};
+
+    public final void performService() {
+        for (int step = 0; step < STEPS.length; step++) {
+            performStep(step);
+        }
+    }
+
+    // One step of performService on its own, for depots that run each step in its own bay.
+    public final void performStep(int step) {
+        switch (step) {
+            case 0 -> checkSystems();
+            case 1 -> cleanTrain();
+            case 2 -> refuelOrRecharge();
+            case 3 -> testRun();
+            default -> throw new IllegalArgumentException("No servicing step " + step);
+        }
+    }
+
+    // Electric trains get the electric routine; everything else runs on diesel.
+    static TrainWithTemplate forTrain(Train train) {
+        return train instanceof ElectricTrain ? new ElectricTrainWithTemplate() : new DieselTrainWithTemplate();
+    }
+
+    protected abstract void checkSystems();
+    protected abstract void refuelOrRecharge();
+
+    private void cleanTrain() {
+        System.out.println("Train is being cleaned...");
+    }
+
+    private void testRun() {
+        System.out.println("Performing test run...");
+    }
+}
@@ -0,0 +1,5 @@
+interface TransportFactory {
+    Maintenance createMaintenance(String lastServiceDate, int serviceIntervalDays);
+    Passenger createPassenger(String name, String ticketNumber, String seatNumber);
+    Station createStation(String stationName, String location);
+}
@@ -0,0 +1,3 @@
+interface Visitable {
+    void accept(TrainVisitor visitor);
+}
@@ -0,0 +1,124 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class BookingAdmissionControllerTest {
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void bucketAllowsABurstThenRefillsAtItsRate() {
+        TokenBucket bucket = new TokenBucket(2, 3, 0);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(0));
+        }
+        assertEquals(SECOND / 2, bucket.tryAcquire(0));
+        assertEquals(SECOND / 4, bucket.tryAcquire(SECOND / 4));
+        assertEquals(0, bucket.tryAcquire(SECOND / 2));
+        assertTrue(bucket.tryAcquire(SECOND / 2) > 0);
+
+        // Idle for a long time it only fills up to the burst.
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(100 * SECOND));
+        }
+        assertTrue(bucket.tryAcquire(100 * SECOND) > 0);
+        bucket.refund();
+        assertEquals(0, bucket.tryAcquire(100 * SECOND));
+    }
+
+    private static List<AdmissionResult> rush(BookingAdmissionController admission, String trainId, int bookings) {
+        List<CompletableFuture<AdmissionResult>> futures = new ArrayList<>();
+        for (int i = 0; i < bookings; i++) {
+            Ticket ticket = new Ticket(trainId + "-" + i, "Passenger " + i, "S" + i, trainId);
+            futures.add(admission.submit(new BookTicketCommand(ticket), 10_000));
+        }
+        List<AdmissionResult> results = new ArrayList<>();
+        for (CompletableFuture<AdmissionResult> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    private static int admitted(List<AdmissionResult> results) {
+        int admitted = 0;
+        for (AdmissionResult result : results) {
+            if (result.isAdmitted()) {
+                admitted++;
+            } else {
+                assertEquals(AdmissionResult.RATE_LIMITED, result.getOutcome());
+                assertTrue(result.getRetryAfterMillis() > 0);
+            }
+        }
+        return admitted;
+    }
+
+    // Refills are far too slow to matter here, so each bucket admits exactly its burst.
+    @Test
+    void rushOnOneTrainIsShedWithoutStarvingOthers() {
+        TicketManager tickets = new TicketManager();
+        BookingAdmissionController admission = new BookingAdmissionController(tickets,
+                Set.of("IC1", "IC2")::contains, 0.001, 5, 1000);
+        assertEquals(5, admitted(rush(admission, "IC1", 40)));
+        assertEquals(5, admitted(rush(admission, "IC2", 10)));
+        assertEquals(10, admission.getAdmitted());
+        assertEquals(40, admission.getShed());
+        assertTrue(tickets.getTicket("IC1-0").isBooked());
+
+        // Trains the schedule does not know all share one bucket.
+        assertEquals(5, admitted(rush(admission, "Made-up-1", 4)) + admitted(rush(admission, "Made-up-2", 4)));
+    }
+
+    // Holds the worker until released.
+    private static class BlockingCommand implements TicketCommand {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void execute() {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public Ticket getTicket() {
+            return new Ticket("Blocking", "Nobody", "0", null);
+        }
+    }
+
+    // While the worker is stuck on a command, the queue fills and further commands are turned
+    // away at the door, before they take a token from their train.
+    @Test
+    void fullQueueShedsBeforeTakingATrainsToken() throws InterruptedException {
+        BookingAdmissionController admission = new BookingAdmissionController(new TicketManager(), "IC1"::equals,
+                0.001, 1, 1);
+        BlockingCommand blocking = new BlockingCommand();
+        CompletableFuture<AdmissionResult> first = admission.submit(blocking, 10_000);
+        assertTrue(blocking.started.await(10, TimeUnit.SECONDS));
+        CompletableFuture<AdmissionResult> second =
+                admission.submit(new CancelTicketCommand(new Ticket("C1", "Bo", "2", null)), 10_000);
+
+        Ticket booking = new Ticket("B1", "Ada", "1", "IC1");
+        assertEquals(AdmissionResult.QUEUE_FULL, admission.submit(new BookTicketCommand(booking), 10_000).join()
+                .getOutcome());
+        assertEquals(AdmissionResult.DEADLINE, admission.submit(new BookTicketCommand(booking), 0).join()
+                .getOutcome());
+        blocking.release.countDown();
+        assertTrue(first.join().isAdmitted());
+        assertTrue(second.join().isAdmitted());
+
+        // The train's only token is still there.
+        assertTrue(admission.execute(new BookTicketCommand(booking), 10_000).isAdmitted());
+        assertTrue(booking.isBooked());
+        assertEquals(2, admission.getShed());
+    }
+}
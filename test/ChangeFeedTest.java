@@ -0,0 +1,109 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ChangeFeedTest {
+
+    private static Train train(String id) {
+        return new Train.TrainBuilder().withTrainId(id).withTrainType("Passenger").withStatus("On Time")
+                .withDepartureTime("08:00").withArrivalTime("09:00").build();
+    }
+
+    private static void replay(ReplicaNode replica, List<ChangeRecord> records) {
+        for (ChangeRecord record : records) {
+            replica.apply(record);
+        }
+    }
+
+    private static List<Long> sequences(List<ChangeRecord> records) {
+        List<Long> sequences = new ArrayList<>();
+        for (ChangeRecord record : records) {
+            sequences.add(record.sequence);
+        }
+        return sequences;
+    }
+
+    private static void assertSameTrains(TrainSchedule expected, TrainSchedule actual) {
+        assertEquals(expected.snapshot().size(), actual.snapshot().size());
+        for (TrainVersion train : expected.snapshot()) {
+            TrainVersion copy = actual.getTrainById(train.getTrainId());
+            assertEquals(train.getDepartureTime(), copy.getDepartureTime());
+            assertEquals(train.getArrivalTime(), copy.getArrivalTime());
+            assertEquals(train.getStatus(), copy.getStatus());
+            assertEquals(String.valueOf(train.getState()), String.valueOf(copy.getState()));
+        }
+    }
+
+    private final TrainSchedule leader = new TrainSchedule();
+    private final ChangeFeed feed = new ChangeFeed(leader, 3);
+    private final Train first = train("IC1");
+    private final Train second = train("IC2");
+
+    // Station, two trains, new times for one and a new state for the other.
+    private void fiveChanges() {
+        leader.addStation(new Station("Alpha", "A", 2));
+        leader.addTrain(first);
+        leader.addTrain(second);
+        first.setTimes("08:10", "09:10");
+        second.changeState(new RunningState());
+    }
+
+    @Test
+    void replayingTheLogRebuildsTheSchedule() throws InterruptedException {
+        fiveChanges();
+        List<ChangeRecord> records = feed.since(0, 0);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), sequences(records));
+        assertEquals(List.of(4L, 5L), sequences(feed.since(3, 0)));
+        assertEquals(List.of(), feed.since(5, 0));
+
+        TrainSchedule follower = new TrainSchedule();
+        ReplicaNode replica = new ReplicaNode(follower, 0);
+        replay(replica, records);
+        assertSameTrains(leader, follower);
+        assertTrue(follower.getTrainById("IC2").getState() instanceof RunningState);
+        assertEquals(2, follower.getStations().get(0).getPlatformCount());
+
+        // Replaying again, as after a reconnect, changes nothing.
+        replay(replica, records);
+        assertSameTrains(leader, follower);
+        assertEquals(1, follower.getStations().size());
+    }
+
+    // Once the log is trimmed past a follower's position it has to start from a snapshot, and
+    // can tail the log from the snapshot's sequence on.
+    @Test
+    void followerBehindTheTrimmedLogStartsFromASnapshot() throws InterruptedException {
+        fiveChanges();
+        first.setStatus("Delayed");
+        Ticket ticket = new Ticket("T1", "Ada", "12", "IC1");
+        feed.ticketChanged(ticket);
+        ticket.book();
+        feed.ticketChanged(ticket);
+        assertEquals(8, feed.getSequence());
+        assertNull(feed.since(0, 0));
+        assertNull(feed.since(2, 0));
+        assertEquals(List.of(4L, 5L, 6L, 7L, 8L), sequences(feed.since(3, 0)));
+
+        List<ChangeRecord> snapshot = feed.snapshot();
+        for (ChangeRecord record : snapshot) {
+            assertEquals(8, record.sequence);
+        }
+        // One station, two trains and the latest record for the ticket.
+        assertEquals(4, snapshot.size());
+        TrainSchedule follower = new TrainSchedule();
+        ReplicaNode replica = new ReplicaNode(follower, 0);
+        replay(replica, snapshot);
+        assertSameTrains(leader, follower);
+        assertEquals("Delayed", follower.getTrainById("IC1").getStatus());
+
+        second.changeState(new StoppedState());
+        List<ChangeRecord> tail = feed.since(8, 0);
+        assertEquals(List.of(9L), sequences(tail));
+        replay(replica, tail);
+        assertSameTrains(leader, follower);
+    }
+}
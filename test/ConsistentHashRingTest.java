@@ -0,0 +1,70 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+    private static final int KEYS = 20_000;
+    private static final long HASH_OF_EMPTY = 0xefd01f60ba992926L;
+    private static final long HASH_OF_IC1 = 0x32492ce0f99f99ebL;
+
+    @Test
+    void emptyRingOwnsNothing() {
+        assertNull(new ConsistentHashRing(16).ownerOf("IC1"));
+    }
+
+    // Owners are persisted by partition nodes, so the hash must not change between releases.
+    @Test
+    void hashIsStable() {
+        assertEquals(HASH_OF_EMPTY, ConsistentHashRing.hash(""));
+        assertEquals(HASH_OF_IC1, ConsistentHashRing.hash("IC1"));
+    }
+
+    @Test
+    void ownersDependOnlyOnTheNodeSet() {
+        ConsistentHashRing ring = new ConsistentHashRing(64, List.of("a", "b", "c"));
+        ConsistentHashRing reordered = new ConsistentHashRing(64, List.of("c", "a", "b"));
+        reordered.addNode("a");
+        assertEquals(List.of("c", "a", "b"), reordered.getNodes());
+        for (int i = 0; i < KEYS; i++) {
+            assertEquals(ring.ownerOf("train-" + i), reordered.ownerOf("train-" + i));
+        }
+    }
+
+    @Test
+    void keysSpreadAcrossNodes() {
+        ConsistentHashRing ring = new ConsistentHashRing(128, List.of("a", "b", "c", "d"));
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.ownerOf("train-" + i), 1, Integer::sum);
+        }
+        for (String node : ring.getNodes()) {
+            int count = counts.getOrDefault(node, 0);
+            assertTrue(count > KEYS / 4 / 2 && count < KEYS / 4 * 2, node + " owns " + count);
+        }
+    }
+
+    // Adding a node moves only keys to it, and roughly its share of them.
+    @Test
+    void addingANodeOnlyMovesKeysToIt() {
+        ConsistentHashRing ring = new ConsistentHashRing(128, List.of("a", "b", "c"));
+        String[] before = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            before[i] = ring.ownerOf("train-" + i);
+        }
+        ring.addNode("d");
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String owner = ring.ownerOf("train-" + i);
+            if (!owner.equals(before[i])) {
+                assertEquals("d", owner);
+                moved++;
+            }
+        }
+        assertTrue(moved > KEYS / 4 / 2 && moved < KEYS / 4 * 2, moved + " keys moved");
+    }
+}
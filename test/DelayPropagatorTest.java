@@ -0,0 +1,94 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class DelayPropagatorTest {
+
+    private static Train train(String id, String departure, String arrival) {
+        return builder(id, departure, arrival).build();
+    }
+
+    private static Train.TrainBuilder builder(String id, String departure, String arrival) {
+        return new Train.TrainBuilder().withTrainId(id).withTrainType("Passenger").withStatus("On Time")
+                .withDepartureTime(departure).withArrivalTime(arrival);
+    }
+
+    private final Train inbound = train("A", "08:00", "09:00");
+    private final Train outbound = train("B", "09:20", "10:00");
+    private final Train connecting = builder("C", "10:10", "11:00")
+            .withStop("Y", null, "10:10").withStop("Z", "11:00", null).build();
+    private final Train follower = builder("D", "11:05", "12:00")
+            .withStop("Z", null, "11:05").withStop("W", "12:00", null).build();
+
+    // A -> B turnaround with 10 minutes to spare, B -> C connection at Y with 5 minutes to spare
+    // and a hold of at most 20, C -> D on the same platform with 5 minutes to spare.
+    private DelayPropagator chain() {
+        DelayPropagator propagator = new DelayPropagator();
+        for (Train train : new Train[] {inbound, outbound, connecting, follower}) {
+            propagator.addTrain(train);
+        }
+        assertTrue(propagator.addTurnaround("A", "B", 10));
+        assertTrue(propagator.addGuaranteedConnection("B", "C", "Y", 5, 20));
+        assertTrue(propagator.addPlatformSuccession("C", "D", "Z", 0));
+        return propagator;
+    }
+
+    @Test
+    void delayRunsDownTheChainLessEachSlack() {
+        DelayPropagator propagator = chain();
+        inbound.setTimes("08:30", "09:30");
+        assertEquals(30, propagator.getDelay("A"));
+        assertEquals(20, propagator.getDelay("B"));
+        assertEquals(15, propagator.getDelay("C"));
+        assertEquals(10, propagator.getDelay("D"));
+        assertEquals("09:40", outbound.getDepartureTime());
+        assertEquals("10:20", outbound.getArrivalTime());
+        assertEquals("10:25", connecting.getDepartureTime());
+        assertEquals("11:15", follower.getDepartureTime());
+
+        // Back on time, everything downstream goes back to its plan.
+        inbound.setTimes("08:00", "09:00");
+        assertEquals(0, propagator.getDelay("D"));
+        assertEquals("09:20", outbound.getDepartureTime());
+        assertEquals("11:05", follower.getDepartureTime());
+    }
+
+    @Test
+    void slackAbsorbsSmallDelays() {
+        DelayPropagator propagator = chain();
+        inbound.setTimes("08:08", "09:08");
+        assertEquals(8, propagator.getDelay("A"));
+        assertEquals(0, propagator.getDelay("B"));
+        assertEquals("09:20", outbound.getDepartureTime());
+    }
+
+    // Past the longest hold the connection is given up, and the chain stops there.
+    @Test
+    void connectionIsNotHeldPastItsMaximum() {
+        DelayPropagator propagator = chain();
+        inbound.setTimes("09:00", "10:00");
+        assertEquals(50, propagator.getDelay("B"));
+        assertEquals(0, propagator.getDelay("C"));
+        assertEquals("10:10", connecting.getDepartureTime());
+        assertEquals(0, propagator.getDelay("D"));
+    }
+
+    @Test
+    void ownDelayOfADependentTrainStillCounts() {
+        DelayPropagator propagator = chain();
+        inbound.setTimes("08:20", "09:20");
+        connecting.setTimes("10:40", "11:30");
+        assertEquals(30, propagator.getDelay("C"));
+        assertEquals(25, propagator.getDelay("D"));
+    }
+
+    @Test
+    void dependencyClosingACycleIsRejected() {
+        DelayPropagator propagator = chain();
+        assertFalse(propagator.addTurnaround("D", "A", 0));
+        inbound.setTimes("08:30", "09:30");
+        assertEquals(10, propagator.getDelay("D"));
+    }
+}
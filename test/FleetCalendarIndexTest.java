@@ -0,0 +1,105 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class FleetCalendarIndexTest {
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 9);
+    private static final Set<DayOfWeek> WEEKDAYS = ServiceCalendar.parseWeekdays("Mon-Fri");
+
+    private static Train train(String id, Set<DayOfWeek> weekdays) {
+        return new Train.TrainBuilder().withTrainId(id).withTrainType("Passenger").withStatus("On Time")
+                .withDepartureTime("08:00").withArrivalTime("09:00")
+                .withCalendar(weekdays == null ? null : new ServiceCalendar(MONDAY, MONDAY.plusYears(1), weekdays))
+                .build();
+    }
+
+    private static List<String> ids(List<Train> trains) {
+        List<String> ids = new ArrayList<>();
+        for (Train train : trains) {
+            ids.add(train.getTrainId());
+        }
+        return ids;
+    }
+
+    private final Train weekdays = train("Weekdays", WEEKDAYS);
+    private final Train mondays = train("Mondays", EnumSet.of(DayOfWeek.MONDAY));
+    private final Train weekends = train("Weekends", ServiceCalendar.parseWeekdays("sat,sun"));
+    private final Train daily = train("Daily", null);
+
+    private FleetCalendarIndex index() {
+        FleetCalendarIndex index = new FleetCalendarIndex(MONDAY, 28);
+        for (Train train : new Train[] {weekdays, mondays, weekends, daily}) {
+            index.addTrain(train);
+        }
+        return index;
+    }
+
+    @Test
+    void runningEveryIntersectsAndRunningAnyUnitesTheDays() {
+        FleetCalendarIndex index = index();
+        LocalDate friday = MONDAY.plusDays(4);
+        assertEquals(List.of("Weekdays", "Daily"), ids(index.runningEvery(MONDAY, friday, WEEKDAYS)));
+        assertEquals(List.of("Weekdays", "Mondays", "Daily"),
+                ids(index.runningEvery(MONDAY, MONDAY.plusDays(13), EnumSet.of(DayOfWeek.MONDAY))));
+        assertEquals(List.of("Weekdays", "Mondays", "Weekends", "Daily"),
+                ids(index.runningAny(MONDAY, MONDAY.plusDays(6), EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.SATURDAY))));
+        assertEquals(List.of("Weekends", "Daily"), ids(index.runningOn(MONDAY.plusDays(5))));
+    }
+
+    @Test
+    void exceptionsAddAndRemoveSingleDays() {
+        FleetCalendarIndex index = index();
+        LocalDate wednesday = MONDAY.plusDays(2);
+        ServiceCalendar cancelled = weekdays.getCalendar().copy();
+        cancelled.setException(wednesday, false);
+        weekdays.setCalendar(cancelled);
+        ServiceCalendar extra = weekends.getCalendar().copy();
+        extra.setException(wednesday, true);
+        weekends.setCalendar(extra);
+
+        assertEquals(List.of("Weekends", "Daily"), ids(index.runningOn(wednesday)));
+        assertEquals(List.of("Daily"), ids(index.runningEvery(MONDAY, MONDAY.plusDays(4), WEEKDAYS)));
+        assertEquals(List.of("Weekdays", "Weekends", "Daily"),
+                ids(index.runningAny(wednesday, wednesday.plusDays(1), WEEKDAYS)));
+        assertEquals(List.of("Weekdays", "Daily"), ids(index.runningOn(wednesday.plusDays(7))));
+    }
+
+    // Past the horizon the index asks the calendars themselves.
+    @Test
+    void datesOutsideTheHorizonUseTheCalendars() {
+        FleetCalendarIndex index = index();
+        LocalDate later = MONDAY.plusWeeks(10);
+        assertEquals(List.of("Weekdays", "Mondays", "Daily"), ids(index.runningOn(later)));
+        assertEquals(List.of("Weekdays", "Daily"), ids(index.runningEvery(later, later.plusDays(4), WEEKDAYS)));
+    }
+
+    // The exception goes onto a copy set through the train, so the index and every other
+    // observer hear about it.
+    @Test
+    void scheduleSetsExceptionsThroughTheTrain() {
+        TrainSchedule schedule = new TrainSchedule();
+        LocalDate today = LocalDate.now();
+        Train train = new Train.TrainBuilder().withTrainId("IC1").withTrainType("Passenger").withStatus("On Time")
+                .withDepartureTime("08:00").withArrivalTime("09:00")
+                .withCalendar(new ServiceCalendar(today, today.plusDays(30), EnumSet.allOf(DayOfWeek.class))).build();
+        schedule.addTrain(train);
+        ServiceCalendar before = train.getCalendar();
+        List<TrainChange> changes = new ArrayList<>();
+        train.addObserver((trainId, message, change) -> changes.add(change));
+
+        assertTrue(schedule.setCalendarException("IC1", today.plusDays(1), false));
+        assertNotSame(before, train.getCalendar());
+        assertTrue(before.runsOn(today.plusDays(1)));
+        assertTrue(changes.get(0).isCalendarChanged());
+        assertEquals(List.of(), ids(schedule.getTrainsRunningOn(today.plusDays(1))));
+        assertEquals(List.of("IC1"), ids(schedule.getTrainsRunningOn(today.plusDays(2))));
+    }
+}
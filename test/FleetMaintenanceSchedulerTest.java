@@ -0,0 +1,78 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FleetMaintenanceSchedulerTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 10);
+
+    private static Train train(String id, String lastService, int intervalDays) {
+        return new Train.TrainBuilder().withTrainId(id).withTrainType("Passenger").withStatus("On Time")
+                .withDepartureTime("08:00").withArrivalTime("09:00")
+                .withMaintenance(new Maintenance(lastService, intervalDays)).build();
+    }
+
+    private static List<String> ids(List<Train> trains) {
+        List<String> ids = new ArrayList<>();
+        for (Train train : trains) {
+            ids.add(train.getTrainId());
+        }
+        return ids;
+    }
+
+    @Test
+    void dueWithinListsTrainsEarliestFirst() {
+        FleetMaintenanceScheduler scheduler = new FleetMaintenanceScheduler(TODAY);
+        scheduler.addTrain(train("Late", "2026-03-01", 30));
+        scheduler.addTrain(train("Soon", "2026-03-01", 12));
+        scheduler.addTrain(train("Next", "2026-03-01", 15));
+        assertEquals(List.of("Soon", "Next"), ids(scheduler.dueWithin(TODAY, 7)));
+        assertEquals(LocalDate.of(2026, 3, 13), scheduler.nextDueDate());
+    }
+
+    @Test
+    void trainAlreadyDueGoesIntoMaintenanceWhenAdded() {
+        FleetMaintenanceScheduler scheduler = new FleetMaintenanceScheduler(TODAY);
+        Train overdue = train("Overdue", "2026-01-01", 30);
+        Train fine = train("Fine", "2026-03-01", 30);
+        scheduler.addTrain(overdue);
+        scheduler.addTrain(fine);
+        assertTrue(overdue.getTrainState() instanceof MaintenanceState);
+        assertTrue(fine.getTrainState() instanceof StoppedState);
+        assertEquals(1, scheduler.size());
+    }
+
+    @Test
+    void processDueMovesTrainsAsTheDateAdvances() {
+        FleetMaintenanceScheduler scheduler = new FleetMaintenanceScheduler(TODAY);
+        Train train = train("IC1", "2026-03-01", 12);
+        scheduler.addTrain(train);
+        assertEquals(List.of(), scheduler.processDue(TODAY.plusDays(2)));
+        assertEquals(List.of("IC1"), ids(scheduler.processDue(TODAY.plusDays(3))));
+        assertTrue(train.getTrainState() instanceof MaintenanceState);
+        assertEquals(0, scheduler.size());
+    }
+
+    // The service reaches the train's observers as a maintenance change, and the train is released
+    // and put back on the calendar.
+    @Test
+    void recordServiceNotifiesAndReschedules() {
+        FleetMaintenanceScheduler scheduler = new FleetMaintenanceScheduler(TODAY);
+        Train train = train("IC1", "2026-01-01", 30);
+        List<TrainChange> changes = new ArrayList<>();
+        train.addObserver((trainId, message, change) -> changes.add(change));
+        Maintenance before = train.getMaintenance();
+        scheduler.addTrain(train);
+        assertTrue(train.getTrainState() instanceof MaintenanceState);
+
+        scheduler.recordService(train, "2026-03-10");
+        assertTrue(train.getTrainState() instanceof StoppedState);
+        assertEquals("2026-03-10", train.getMaintenance().getLastServiceDate());
+        assertEquals("2026-01-01", before.getLastServiceDate());
+        assertTrue(changes.get(changes.size() - 1).isMaintenanceChanged());
+        assertEquals(LocalDate.of(2026, 4, 9), scheduler.nextDueDate());
+    }
+}
@@ -0,0 +1,131 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class HistoryArchiveTest {
+    private static final long START = Instant.parse("2026-03-10T06:00:00Z").toEpochMilli();
+
+    @TempDir
+    Path directory;
+
+    // 23 records over three trains: events, with a null and non-ASCII text among them, and
+    // every fourth one a memento.
+    private static List<HistoryRecord> records() {
+        List<HistoryRecord> records = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            String trainId = "IC" + i % 3;
+            long time = START + i * 60_000L;
+            records.add(i % 4 == 3
+                    ? new HistoryRecord(time, HistoryRecord.MEMENTO, trainId,
+                            new String[]{"Express", "08:0" + i % 10, "09:00", i % 2 == 0 ? "On Time" : null})
+                    : new HistoryRecord(time, HistoryRecord.EVENT, trainId,
+                            new String[]{i == 5 ? null : "Status updated to Verspätet " + i}));
+        }
+        return records;
+    }
+
+    private static void assertSameRecords(List<HistoryRecord> expected, List<HistoryRecord> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).timestampMillis, actual.get(i).timestampMillis);
+            assertEquals(expected.get(i).kind, actual.get(i).kind);
+            assertEquals(expected.get(i).trainId, actual.get(i).trainId);
+            assertArrayEquals(expected.get(i).fields, actual.get(i).fields);
+        }
+    }
+
+    private static List<HistoryRecord> ofTrain(List<HistoryRecord> records, String trainId, long from, long to) {
+        List<HistoryRecord> matching = new ArrayList<>();
+        for (HistoryRecord record : records) {
+            if (record.trainId.equals(trainId) && record.timestampMillis >= from && record.timestampMillis <= to) {
+                matching.add(record);
+            }
+        }
+        return matching;
+    }
+
+    // Four rolled segments and three records left in the active log, all read back after a restart.
+    @Test
+    void recordsSurviveARestart() throws IOException {
+        List<HistoryRecord> records = records();
+        HistoryArchive archive = HistoryArchive.open(directory, 5);
+        for (HistoryRecord record : records) {
+            archive.append(record);
+        }
+        archive.close();
+
+        HistoryArchive reopened = HistoryArchive.open(directory, 5);
+        assertSameRecords(records, reopened.history(null, Long.MIN_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE));
+        long from = START + 4 * 60_000L;
+        long to = START + 19 * 60_000L;
+        assertSameRecords(ofTrain(records, "IC1", from, to), reopened.history("IC1", from, to, Integer.MAX_VALUE));
+        assertSameRecords(records.subList(0, 7), reopened.history(null, Long.MIN_VALUE, Long.MAX_VALUE, 7));
+        assertEquals(List.of("08:03", "08:05"), departures(reopened.mementos("IC0")));
+
+        // Appending after the restart carries on in the same log.
+        HistoryRecord later = new HistoryRecord(START + 3_600_000L, HistoryRecord.EVENT, "IC2", new String[]{"Later"});
+        reopened.append(later);
+        reopened.close();
+        List<HistoryRecord> all = HistoryArchive.open(directory, 5)
+                .history(null, Long.MIN_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE);
+        assertEquals(24, all.size());
+        assertArrayEquals(later.fields, all.get(23).fields);
+    }
+
+    // A crash in the middle of writing a record leaves the records before it.
+    @Test
+    void tornLastRecordIsDropped() throws IOException {
+        List<HistoryRecord> records = records().subList(0, 3);
+        HistoryArchive archive = HistoryArchive.open(directory, 10);
+        for (HistoryRecord record : records) {
+            archive.append(record);
+        }
+        archive.close();
+        Files.write(directory.resolve("active.log"), new byte[]{0, 0, 1}, StandardOpenOption.APPEND);
+
+        HistoryArchive reopened = HistoryArchive.open(directory, 10);
+        assertSameRecords(records, reopened.history(null, Long.MIN_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE));
+        reopened.append(records().get(3));
+        reopened.close();
+        assertSameRecords(records().subList(0, 4), HistoryArchive.open(directory, 10)
+                .history(null, Long.MIN_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void scheduledTrainsArchiveTheirNotificationsAndMementos() throws IOException {
+        HistoryArchive archive = HistoryArchive.open(directory, 100);
+        TrainSchedule schedule = new TrainSchedule();
+        schedule.addScheduleListener(archive);
+        Train train = new Train.TrainBuilder().withTrainId("IC1").withTrainType("Express").withStatus("On Time")
+                .withDepartureTime("08:00").withArrivalTime("09:00").build();
+        schedule.addTrain(train);
+        train.saveState();
+        train.setStatus("Delayed");
+        archive.close();
+
+        List<HistoryRecord> history = HistoryArchive.open(directory, 100)
+                .history("IC1", Long.MIN_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE);
+        assertEquals(3, history.size());
+        assertEquals("Added to schedule", history.get(0).fields[0]);
+        assertEquals(HistoryRecord.MEMENTO, history.get(1).kind);
+        assertEquals("On Time", history.get(1).toMemento().getStatus());
+        assertEquals("Status updated to Delayed", history.get(2).fields[0]);
+    }
+
+    private static List<String> departures(List<TrainMemento> mementos) {
+        List<String> departures = new ArrayList<>();
+        for (TrainMemento memento : mementos) {
+            departures.add(memento.getDepartureTime());
+        }
+        return departures;
+    }
+}
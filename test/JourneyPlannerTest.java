@@ -0,0 +1,80 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class JourneyPlannerTest {
+
+    private static Train train(String id, String... stops) {
+        Train.TrainBuilder builder = new Train.TrainBuilder().withTrainId(id).withTrainType("Passenger")
+                .withStatus("On Time");
+        for (int i = 0; i < stops.length; i += 3) {
+            builder.withStop(stops[i], stops[i + 1], stops[i + 2]);
+        }
+        return builder.withDepartureTime(stops[2]).withArrivalTime(stops[stops.length - 2]).build();
+    }
+
+    private static List<String> legs(Journey journey) {
+        List<String> legs = new ArrayList<>();
+        for (JourneyLeg leg : journey.getLegs()) {
+            legs.add(leg.getTrainId() + " " + leg.getFromStation() + " " + leg.getDepartureTime() + " -> "
+                    + leg.getToStation() + " " + leg.getArrivalTime());
+        }
+        return legs;
+    }
+
+    private static JourneyPlanner planner(int minTransferMinutes, Train... trains) {
+        JourneyPlanner planner = new JourneyPlanner(minTransferMinutes);
+        for (Train train : trains) {
+            planner.addTrain(train);
+        }
+        return planner;
+    }
+
+    private final Train feeder = train("T1", "A", null, "08:00", "B", "09:00", null);
+    private final Train tightConnection = train("T2", "B", null, "09:03", "C", "10:00", null);
+    private final Train laterConnection = train("T3", "B", null, "09:10", "C", "10:30", null);
+    private final Train direct = train("T4", "A", null, "08:30", "C", "11:00", null);
+
+    @Test
+    void earliestArrivalUsesATransferWhenItIsFaster() {
+        JourneyPlanner planner = planner(5, feeder, tightConnection, laterConnection, direct);
+        assertEquals(TrainTime.toMinutes("10:30"), planner.earliestArrival("A", "C", "07:00"));
+        assertEquals(List.of("T1 A 08:00 -> B 09:00", "T3 B 09:10 -> C 10:30"),
+                legs(planner.planJourney("A", "C", "07:00")));
+    }
+
+    @Test
+    void transferTimeDecidesWhichConnectionCanBeMade() {
+        JourneyPlanner planner = planner(2, feeder, tightConnection, laterConnection, direct);
+        assertEquals(List.of("T1 A 08:00 -> B 09:00", "T2 B 09:03 -> C 10:00"),
+                legs(planner.planJourney("A", "C", "07:00")));
+    }
+
+    @Test
+    void departingAfterTheFeederLeavesOnlyTheDirectTrain() {
+        JourneyPlanner planner = planner(5, feeder, tightConnection, laterConnection, direct);
+        assertEquals(List.of("T4 A 08:30 -> C 11:00"), legs(planner.planJourney("A", "C", "08:01")));
+        assertNull(planner.planJourney("A", "C", "08:31"));
+        assertEquals(-1, planner.earliestArrival("C", "A", "00:00"));
+    }
+
+    // A delay on the feeder reaches the planner through its observer and breaks the transfer.
+    @Test
+    void delayedFeederMissesTheConnection() {
+        JourneyPlanner planner = planner(5, feeder, tightConnection, laterConnection, direct);
+        assertEquals(TrainTime.toMinutes("10:30"), planner.earliestArrival("A", "C", "07:00"));
+        feeder.setTimes("08:10", "09:10");
+        assertEquals(List.of("T4 A 08:30 -> C 11:00"), legs(planner.planJourney("A", "C", "07:00")));
+    }
+
+    // Staying aboard through an intermediate stop is not a transfer.
+    @Test
+    void stayingOnBoardNeedsNoTransferTime() {
+        Train through = train("T5", "A", null, "08:00", "B", "08:50", "08:51", "C", "09:40", null);
+        JourneyPlanner planner = planner(30, through, direct);
+        assertEquals(List.of("T5 A 08:00 -> C 09:40"), legs(planner.planJourney("A", "C", "07:00")));
+    }
+}
@@ -0,0 +1,51 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class NetworkSimulatorTest {
+
+    private static TrainSchedule schedule() {
+        TrainSchedule schedule = new TrainSchedule();
+        for (int i = 0; i < 20; i++) {
+            String departure = TrainTime.format(360 + i * 15);
+            String middle = TrainTime.format(360 + i * 15 + 40);
+            String arrival = TrainTime.format(360 + i * 15 + 90);
+            schedule.addTrain(new Train.TrainBuilder().withTrainId("T" + i).withTrainType("Passenger")
+                    .withStatus("On Time").withDepartureTime(departure).withArrivalTime(arrival)
+                    .withStop("A", null, departure).withStop("B", middle, middle).withStop("C", arrival, null)
+                    .build());
+        }
+        return schedule;
+    }
+
+    private static SimulationConfig config(long seed) {
+        return new SimulationConfig.SimulationConfigBuilder().withSeed(seed).withDelays(0.3, 20)
+                .withBreakdowns(0.2, 30).withBookings(50, 40, 0.2).build();
+    }
+
+    @Test
+    void sameSeedGivesTheSameReport() {
+        TrainSchedule schedule = schedule();
+        SimulationReport first = new NetworkSimulator(schedule, config(7)).run();
+        SimulationReport second = new NetworkSimulator(schedule, config(7)).run();
+        assertEquals(20, first.trainsSimulated);
+        assertEquals(first.eventsProcessed, second.eventsProcessed);
+        assertEquals(first.totalDelayMinutes, second.totalDelayMinutes);
+        assertEquals(first.breakdowns, second.breakdowns);
+        assertEquals(first.bookingsAccepted, second.bookingsAccepted);
+        assertEquals(first.cancellations, second.cancellations);
+        assertEquals(first.departuresByStation, second.departuresByStation);
+        assertTrue(first.seatsOccupied <= first.seatsOffered);
+    }
+
+    @Test
+    void simulationLeavesTheLiveScheduleAlone() {
+        TrainSchedule schedule = schedule();
+        new NetworkSimulator(schedule, config(3)).run();
+        for (TrainVersion train : schedule.snapshot()) {
+            assertTrue(train.getState() instanceof StoppedState, train.getTrainId());
+            assertEquals("On Time", train.getStatus());
+        }
+    }
+}
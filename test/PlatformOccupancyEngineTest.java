@@ -0,0 +1,96 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PlatformOccupancyEngineTest {
+
+    // Calls at X from arrival to departure, with a stop either side.
+    private static Train callingAtX(String id, String arrival, String departure) {
+        return new Train.TrainBuilder().withTrainId(id).withTrainType("Passenger").withStatus("On Time")
+                .withDepartureTime(arrival).withArrivalTime(departure)
+                .withStop("P", null, arrival)
+                .withStop("X", arrival, departure)
+                .withStop("Q", departure, null)
+                .build();
+    }
+
+    private static List<String> conflictingTrains(PlatformOccupancyEngine engine) {
+        List<String> trains = new ArrayList<>();
+        for (PlatformConflict conflict : engine.getConflicts("X")) {
+            trains.add(conflict.getTrainId());
+        }
+        return trains;
+    }
+
+    @Test
+    void overlappingTrainsGetDifferentPlatforms() {
+        PlatformOccupancyEngine engine = new PlatformOccupancyEngine();
+        engine.setPlatformCount("X", 2);
+        engine.addTrain(callingAtX("A", "10:00", "10:20"));
+        engine.addTrain(callingAtX("B", "10:10", "10:15"));
+        engine.addTrain(callingAtX("C", "10:20", "10:30"));
+        assertEquals(0, engine.getPlatform("A", "X"));
+        assertEquals(1, engine.getPlatform("B", "X"));
+        // A has left by 10:20, so C can have its platform.
+        assertEquals(0, engine.getPlatform("C", "X"));
+        assertEquals(List.of(), conflictingTrains(engine));
+        assertEquals(-1, engine.getPlatform("A", "Nowhere"));
+    }
+
+    // A delay that creates a conflict is reported, and recolouring clears it once the train
+    // moves away again.
+    @Test
+    void delayRecoloursTheStationAndReportsConflicts() {
+        PlatformOccupancyEngine engine = new PlatformOccupancyEngine();
+        engine.setPlatformCount("X", 1);
+        Train early = callingAtX("A", "10:00", "10:10");
+        Train late = callingAtX("B", "10:30", "10:40");
+        engine.addTrain(early);
+        engine.addTrain(late);
+        assertEquals(List.of(), conflictingTrains(engine));
+
+        early.setTimes("10:25", "10:35");
+        assertEquals(List.of("B"), conflictingTrains(engine));
+        assertEquals(1, engine.getPlatform("B", "X"));
+        assertEquals(2, engine.getConflicts("X").get(0).getPlatformsNeeded());
+
+        engine.setPlatformCount("X", 2);
+        assertEquals(List.of(), conflictingTrains(engine));
+
+        engine.setPlatformCount("X", 1);
+        early.setTimes("10:00", "10:10");
+        assertEquals(List.of(), conflictingTrains(engine));
+        assertEquals(0, engine.getPlatform("B", "X"));
+    }
+
+    @Test
+    void stayOverMidnightConflictsWithEarlyMorningTrains() {
+        PlatformOccupancyEngine engine = new PlatformOccupancyEngine();
+        engine.setPlatformCount("X", 1);
+        engine.addTrain(callingAtX("Night", "23:50", "00:10"));
+        engine.addTrain(callingAtX("Morning", "00:05", "00:08"));
+        engine.addTrain(callingAtX("Later", "00:10", "00:20"));
+        assertEquals(List.of("Morning"), conflictingTrains(engine));
+        assertEquals(0, engine.getPlatform("Night", "X"));
+    }
+
+    @Test
+    void delayPastMidnightWrapsIntoTheMorning() {
+        PlatformOccupancyEngine engine = new PlatformOccupancyEngine();
+        engine.setPlatformCount("X", 1);
+        engine.addTrain(callingAtX("Morning", "00:00", "00:10"));
+        Train evening = callingAtX("Evening", "23:40", "23:45");
+        engine.addTrain(evening);
+        assertEquals(List.of(), conflictingTrains(engine));
+
+        evening.setTimes("00:05", "00:10");
+        assertEquals(1, conflictingTrains(engine).size());
+        assertTrue(engine.getPlatform("Evening", "X") + engine.getPlatform("Morning", "X") == 1);
+
+        evening.setTimes("00:10", "00:15");
+        assertEquals(List.of(), conflictingTrains(engine));
+    }
+}
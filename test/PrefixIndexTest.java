@@ -0,0 +1,105 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+
+class PrefixIndexTest {
+
+    @Test
+    void findsByExactKeyAndPrefixIgnoringCase() {
+        PrefixIndex<String> index = new PrefixIndex<>();
+        index.add("Smith", "smith-1");
+        index.add("smithson", "smithson-1");
+        index.add("SMITH", "smith-2");
+        index.add("Jones", "jones-1");
+        assertEquals(List.of("smith-1", "smith-2"), index.exact("sMiTh"));
+        assertEquals(List.of("smith-1", "smith-2", "smithson-1"), index.prefix("smi", 10));
+        assertEquals(List.of("smith-1"), index.prefix("SMI", 1));
+        assertEquals(List.of(), index.prefix("x", 10));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void removesByIdentity() {
+        PrefixIndex<String> index = new PrefixIndex<>();
+        String first = new String("value");
+        String second = new String("value");
+        index.add("key", first);
+        index.add("key", second);
+        assertTrue(index.remove("key", second));
+        assertFalse(index.remove("key", second));
+        assertFalse(index.remove("other", first));
+        assertEquals(1, index.exact("key").size());
+        assertTrue(index.exact("key").get(0) == first);
+    }
+
+    // Enough changes to merge the buffer into the arrays several times, checked against a
+    // TreeMap after each round, including removals and re-adds of values already in the arrays.
+    @Test
+    void staysConsistentAcrossMerges() {
+        Random random = new Random(11);
+        PrefixIndex<Integer> index = new PrefixIndex<>();
+        TreeMap<String, List<Integer>> expected = new TreeMap<>();
+        List<Integer> values = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        for (int round = 0; round < 6; round++) {
+            for (int i = 0; i < 1_500; i++) {
+                Integer value = values.size();
+                String key = "p" + Integer.toString(random.nextInt(5_000), 36);
+                values.add(value);
+                keys.add(key);
+                index.add(key.toUpperCase(), value);
+                expected.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+            }
+            for (int i = 0; i < 400; i++) {
+                int victim = random.nextInt(values.size());
+                Integer value = values.get(victim);
+                String key = keys.get(victim);
+                List<Integer> under = expected.get(key);
+                if (under != null && under.remove(value)) {
+                    assertTrue(index.remove(key, value));
+                    if (random.nextInt(4) == 0) {
+                        index.add(key, value);
+                        under.add(value);
+                    }
+                    if (under.isEmpty()) {
+                        expected.remove(key);
+                    }
+                } else {
+                    assertFalse(index.remove(key, value));
+                }
+            }
+            assertMatches(expected, index);
+        }
+    }
+
+    private static void assertMatches(TreeMap<String, List<Integer>> expected, PrefixIndex<Integer> index) {
+        int total = 0;
+        List<Integer> all = new ArrayList<>();
+        for (Map.Entry<String, List<Integer>> entry : expected.entrySet()) {
+            total += entry.getValue().size();
+            assertEquals(sorted(entry.getValue()), sorted(index.exact(entry.getKey())));
+            all.addAll(entry.getValue());
+        }
+        assertEquals(total, index.size());
+        assertEquals(sorted(all), sorted(index.prefix("P", Integer.MAX_VALUE)));
+        for (String prefix : List.of("p1", "pa", "pz", "p10")) {
+            List<Integer> matching = new ArrayList<>();
+            expected.subMap(prefix, prefix + Character.MAX_VALUE).values().forEach(matching::addAll);
+            assertEquals(sorted(matching), sorted(index.prefix(prefix, Integer.MAX_VALUE)));
+            assertEquals(Math.min(3, matching.size()), index.prefix(prefix, 3).size());
+        }
+    }
+
+    private static List<Integer> sorted(List<Integer> values) {
+        List<Integer> copy = new ArrayList<>(values);
+        copy.sort(null);
+        return copy;
+    }
+}
@@ -0,0 +1,116 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class RoutingEngineTest {
+
+    @Test
+    void routeFollowsAConnectionThatGotFaster() {
+        StationGraph graph = new StationGraph();
+        RoutingEngine engine = new RoutingEngine(graph, 2);
+        graph.addConnection("A", "B", 10);
+        graph.addConnection("B", "C", 10);
+        graph.addConnection("C", "D", 10);
+        graph.addConnection("A", "D", 50);
+
+        Route route = engine.findFastestRoute("A", "D");
+        assertEquals(List.of("A", "B", "C", "D"), route.getStationNames());
+        assertEquals(30, route.getTotalMinutes());
+
+        graph.addConnection("A", "D", 20);
+        route = engine.findFastestRoute("A", "D");
+        assertEquals(List.of("A", "D"), route.getStationNames());
+        assertEquals(20, route.getTotalMinutes());
+
+        // A slower train on the same pair does not make the connection slower.
+        graph.addConnection("A", "D", 45);
+        assertEquals(20, engine.findFastestTime("A", "D"));
+
+        graph.addConnection("A", "B", 2);
+        graph.addConnection("B", "C", 1);
+        assertEquals(List.of("A", "B", "C", "D"), engine.findFastestRoute("A", "D").getStationNames());
+        assertEquals(13, engine.findFastestTime("A", "D"));
+    }
+
+    @Test
+    void unknownOrUnreachableStationsHaveNoRoute() {
+        StationGraph graph = new StationGraph();
+        RoutingEngine engine = new RoutingEngine(graph, 2);
+        graph.addConnection("A", "B", 5);
+        assertNull(engine.findFastestRoute("B", "A"));
+        assertEquals(-1, engine.findFastestTime("B", "A"));
+        assertNull(engine.findFastestRoute("A", "Nowhere"));
+    }
+
+    // Random network grown and sped up edge by edge, so the landmark tables are both rebuilt and
+    // patched; every answer is checked against Floyd-Warshall.
+    @Test
+    void agreesWithAllPairsShortestPathsAsEdgesImprove() {
+        Random random = new Random(3);
+        int stations = 60;
+        StationGraph graph = new StationGraph();
+        RoutingEngine engine = new RoutingEngine(graph, 4);
+        int[][] best = new int[stations][stations];
+        for (int[] row : best) {
+            Arrays.fill(row, StationGraph.INFINITY);
+        }
+        for (int round = 0; round < 8; round++) {
+            for (int i = 0; i < 40; i++) {
+                int from = random.nextInt(stations);
+                int to = random.nextInt(stations);
+                if (from == to) {
+                    continue;
+                }
+                int minutes = 1 + random.nextInt(round < 4 ? 120 : 30);
+                graph.addConnection("S" + from, "S" + to, minutes);
+                best[from][to] = Math.min(best[from][to], minutes);
+            }
+            int[][] expected = allPairs(best);
+            for (int query = 0; query < 200; query++) {
+                int from = random.nextInt(stations);
+                int to = random.nextInt(stations);
+                if (graph.getStationId("S" + from) < 0 || graph.getStationId("S" + to) < 0) {
+                    continue;
+                }
+                int want = expected[from][to] >= StationGraph.INFINITY ? -1 : expected[from][to];
+                assertEquals(want, engine.findFastestTime("S" + from, "S" + to), "S" + from + " -> S" + to);
+                Route route = engine.findFastestRoute("S" + from, "S" + to);
+                if (want >= 0) {
+                    assertEquals(want, route.getTotalMinutes());
+                    assertEquals(want, pathLength(route.getStationNames(), best));
+                }
+            }
+        }
+    }
+
+    private static int[][] allPairs(int[][] edges) {
+        int n = edges.length;
+        int[][] d = new int[n][];
+        for (int i = 0; i < n; i++) {
+            d[i] = edges[i].clone();
+            d[i][i] = 0;
+        }
+        for (int k = 0; k < n; k++) {
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    if (d[i][k] + d[k][j] < d[i][j]) {
+                        d[i][j] = d[i][k] + d[k][j];
+                    }
+                }
+            }
+        }
+        return d;
+    }
+
+    private static int pathLength(List<String> stations, int[][] edges) {
+        int total = 0;
+        for (int i = 1; i < stations.size(); i++) {
+            total += edges[Integer.parseInt(stations.get(i - 1).substring(1))][Integer.parseInt(stations.get(i).substring(1))];
+        }
+        return total;
+    }
+}
@@ -0,0 +1,116 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+
+class StationTrieTest {
+    private static final List<String> NAMES = List.of("Bern", "Berne", "Basel", "Baden", "Biel", "Brig", "Lausanne",
+            "Lucerne", "Lugano", "Geneva", "Zurich", "Zug", "Chur");
+
+    private static StationTrie trie() {
+        TreeMap<String, List<Station>> byName = new TreeMap<>();
+        for (String name : NAMES) {
+            byName.computeIfAbsent(StationNameIndex.normalize(name), n -> new ArrayList<>()).add(new Station(name, name));
+        }
+        return StationTrie.build(byName);
+    }
+
+    @Test
+    void exactAndPrefixLookups() {
+        StationTrie trie = trie();
+        assertEquals(List.of("Bern"), names(trie.exact("bern")));
+        assertEquals(List.of(), names(trie.exact("ber")));
+        assertEquals(List.of("Lausanne", "Lucerne", "Lugano"), names(trie.prefix("l", 10)));
+        assertEquals(List.of("Baden", "Basel"), names(trie.prefix("ba", 10)));
+        assertEquals(List.of("Bern", "Berne"), names(trie.prefix("bern", 10)));
+        assertEquals(List.of("Zug"), names(trie.prefix("z", 1)));
+        assertEquals(List.of(), names(trie.prefix("x", 10)));
+        assertEquals(List.of(), names(StationTrie.EMPTY.prefix("", 10)));
+    }
+
+    @Test
+    void fuzzyFindsTyposClosestFirst() {
+        StationTrie trie = trie();
+        // Substitution, insertion, deletion and a swap of adjacent characters each cost one edit.
+        assertEquals(Map.of("Basel", 1), distances(trie.fuzzy("basil", 1)));
+        assertEquals(Map.of("Zurich", 1), distances(trie.fuzzy("zuerich", 1)));
+        assertEquals(Map.of("Lugano", 1), distances(trie.fuzzy("lugno", 1)));
+        assertEquals(Map.of("Geneva", 1), distances(trie.fuzzy("genvea", 1)));
+
+        List<StationMatch> matches = trie.fuzzy("bern", 1);
+        assertEquals(List.of("Bern", "Berne"), names(stations(matches)));
+        assertEquals(0, matches.get(0).getDistance());
+        assertEquals(1, matches.get(1).getDistance());
+    }
+
+    // The pruned walk returns exactly what a brute-force edit distance over every name does.
+    @Test
+    void fuzzyAgreesWithBruteForce() {
+        StationTrie trie = trie();
+        for (String query : List.of("bren", "lucern", "zg", "cuhr", "baden", "lausane", "b", "")) {
+            for (int maxEdits = 0; maxEdits <= 2; maxEdits++) {
+                Map<String, Integer> expected = new TreeMap<>();
+                for (String name : NAMES) {
+                    int distance = editDistance(query, StationNameIndex.normalize(name));
+                    if (distance <= maxEdits) {
+                        expected.put(name, distance);
+                    }
+                }
+                List<StationMatch> matches = trie.fuzzy(query, maxEdits);
+                assertEquals(expected, distances(matches), query + " within " + maxEdits);
+                for (int i = 1; i < matches.size(); i++) {
+                    assertTrue(matches.get(i - 1).getDistance() <= matches.get(i).getDistance());
+                }
+            }
+        }
+    }
+
+    // Optimal string alignment distance: Levenshtein plus swaps of adjacent characters.
+    private static int editDistance(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    private static Map<String, Integer> distances(List<StationMatch> matches) {
+        Map<String, Integer> distances = new TreeMap<>();
+        for (StationMatch match : matches) {
+            distances.put(match.getStation().getStationName(), match.getDistance());
+        }
+        return distances;
+    }
+
+    private static List<Station> stations(List<StationMatch> matches) {
+        List<Station> stations = new ArrayList<>();
+        for (StationMatch match : matches) {
+            stations.add(match.getStation());
+        }
+        return stations;
+    }
+
+    private static List<String> names(List<Station> stations) {
+        List<String> names = new ArrayList<>();
+        for (Station station : stations) {
+            names.add(station.getStationName());
+        }
+        return names;
+    }
+}
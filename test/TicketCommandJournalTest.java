@@ -0,0 +1,132 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TicketCommandJournalTest {
+
+    // Runs the command and records it the way TicketManager does.
+    private static List<String> run(TicketCommandJournal journal, TicketCommand command) {
+        TicketSnapshot before = command.getTicket().snapshot();
+        command.execute();
+        return journal.record(command, before, command.getTicket().snapshot());
+    }
+
+    @Test
+    void compactionFoldsOlderEntriesAndKeepsTheUndoWindow() {
+        TicketCommandJournal journal = new TicketCommandJournal(2, 1_000);
+        Ticket ticket = new Ticket("T1", "Ada", "1A", "IC1");
+        run(journal, new BookTicketCommand(ticket));
+        run(journal, new ModifyTicketCommand(ticket, "2A"));
+        run(journal, new ModifyTicketCommand(ticket, "3A"));
+        run(journal, new ModifyTicketCommand(ticket, "4A"));
+        run(journal, new ModifyTicketCommand(ticket, "5A"));
+
+        assertEquals(List.of(), journal.compact());
+        List<JournalEntry> history = journal.getHistory("T1");
+        assertEquals(3, history.size());
+        assertEquals(3, history.get(0).commands);
+        assertFalse(history.get(0).before.isBooked());
+        assertEquals("3A", history.get(0).after.getSeatNumber());
+        assertEquals("net change", history.get(0).name);
+        assertEquals("Modify", history.get(1).name);
+
+        // Undoing walks back through the two kept commands, then the net entry.
+        ticket.restore(journal.undo("T1").before);
+        assertEquals("4A", ticket.getSeatNumber());
+        ticket.restore(journal.undo("T1").before);
+        assertEquals("3A", ticket.getSeatNumber());
+        ticket.restore(journal.undo("T1").before);
+        assertFalse(ticket.isBooked());
+        assertEquals("1A", ticket.getSeatNumber());
+        assertNull(journal.undo("T1"));
+
+        ticket.restore(journal.redo("T1").after);
+        assertTrue(ticket.isBooked());
+        assertEquals("3A", ticket.getSeatNumber());
+        assertEquals(2, journal.getRedoCount("T1"));
+    }
+
+    @Test
+    void cancelledTicketsAreForgottenOnceIdle() {
+        TicketCommandJournal journal = new TicketCommandJournal(1, 1_000);
+        Ticket ticket = new Ticket("T1", "Ada", "1A", "IC1");
+        run(journal, new BookTicketCommand(ticket));
+        run(journal, new ModifyTicketCommand(ticket, "2A"));
+        run(journal, new CancelTicketCommand(ticket));
+
+        // Still recently used: only the folded book and modify go, the cancel stays undoable.
+        assertEquals(List.of(), journal.compact());
+        assertEquals(1, journal.getHistory("T1").size());
+        assertTrue(journal.getHistory("T1").get(0).before.isBooked());
+
+        assertEquals(List.of("T1"), journal.compact());
+        assertEquals(List.of(), journal.getHistory("T1"));
+    }
+
+    @Test
+    void ticketsWithSomethingToRedoAreKept() {
+        TicketCommandJournal journal = new TicketCommandJournal(1, 1_000);
+        Ticket ticket = new Ticket("T1", "Ada", "1A", "IC1");
+        run(journal, new BookTicketCommand(ticket));
+        ticket.restore(journal.undo("T1").before);
+
+        journal.compact();
+        assertEquals(List.of(), journal.compact());
+        ticket.restore(journal.redo("T1").after);
+        assertTrue(ticket.isBooked());
+    }
+
+    @Test
+    void recordCompactsEveryCompactEveryCommands() {
+        TicketCommandJournal journal = new TicketCommandJournal(1, 4);
+        Ticket cancelled = new Ticket("A", "Ada", "1A", "IC1");
+        Ticket booked = new Ticket("B", "Bob", "1B", "IC1");
+        assertEquals(List.of(), run(journal, new BookTicketCommand(cancelled)));
+        assertEquals(List.of(), run(journal, new CancelTicketCommand(cancelled)));
+        assertEquals(List.of(), run(journal, new BookTicketCommand(booked)));
+        // The fourth command compacts, but A was used since the last compaction.
+        assertEquals(List.of(), run(journal, new ModifyTicketCommand(booked, "2B")));
+        assertEquals(1, journal.getHistory("A").size());
+        assertEquals(2, journal.getHistory("B").size());
+
+        run(journal, new ModifyTicketCommand(booked, "3B"));
+        run(journal, new ModifyTicketCommand(booked, "4B"));
+        run(journal, new ModifyTicketCommand(booked, "5B"));
+        assertEquals(List.of("A"), run(journal, new ModifyTicketCommand(booked, "6B")));
+        assertEquals(2, journal.getHistory("B").size());
+        assertEquals(5, journal.getHistory("B").get(0).commands);
+    }
+
+    @Test
+    void ticketManagerUndoAndRedoRestoreSnapshots() {
+        TicketManager manager = new TicketManager();
+        Ticket ticket = new Ticket("T1", "Ada", "1A", "IC1");
+        manager.setCommand(new BookTicketCommand(ticket));
+        manager.executeCommand();
+        manager.setCommand(new ModifyTicketCommand(ticket, "7C"));
+        manager.executeCommand();
+        assertTrue(ticket == manager.getTicket("T1"));
+
+        assertTrue(manager.undo("T1"));
+        assertEquals("1A", ticket.getSeatNumber());
+        assertTrue(ticket.isBooked());
+        assertTrue(manager.undo("T1"));
+        assertFalse(ticket.isBooked());
+        assertFalse(manager.undo("T1"));
+
+        assertTrue(manager.redo("T1"));
+        assertTrue(manager.redo("T1"));
+        assertEquals("7C", ticket.getSeatNumber());
+        assertFalse(manager.redo("T1"));
+
+        manager.setCommand(new CancelTicketCommand(ticket));
+        manager.executeCommand();
+        manager.compactJournal();
+        manager.compactJournal();
+        assertNull(manager.getTicket("T1"));
+    }
+}
@@ -0,0 +1,101 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+    @Test
+    void eventsFireOnTheirTickAcrossCascades() {
+        TimingWheel wheel = new TimingWheel(0);
+        List<long[]> fired = new ArrayList<>();
+        long[] expiries = {1, 255, 256, 257, 511, 4_000, 16_383, 16_384, 16_385, 70_000, 1_048_576, 1_100_000};
+        for (long expiry : expiries) {
+            wheel.schedule(expiry, () -> fired.add(new long[] {expiry, wheel.getCurrentTick()}));
+        }
+        assertEquals(expiries.length, wheel.size());
+        assertEquals(expiries.length, wheel.advanceTo(1_200_000));
+        assertEquals(expiries.length, fired.size());
+        for (int i = 0; i < expiries.length; i++) {
+            assertEquals(expiries[i], fired.get(i)[0]);
+            assertEquals(expiries[i], fired.get(i)[1]);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void randomScheduleFiresInOrderAndOnTime() {
+        Random random = new Random(7);
+        long start = 1_000_003;
+        TimingWheel wheel = new TimingWheel(start);
+        List<long[]> fired = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            long expiry = start + 1 + random.nextInt(random.nextBoolean() ? 300 : 2_000_000);
+            wheel.schedule(expiry, () -> fired.add(new long[] {expiry, wheel.getCurrentTick()}));
+        }
+        long tick = start;
+        while (wheel.size() > 0) {
+            tick += 1 + random.nextInt(5_000);
+            wheel.advanceTo(tick);
+            assertEquals(tick, wheel.getCurrentTick());
+        }
+        assertEquals(5_000, fired.size());
+        long previous = start;
+        for (long[] event : fired) {
+            assertEquals(event[0], event[1]);
+            assertTrue(event[1] >= previous);
+            previous = event[1];
+        }
+    }
+
+    @Test
+    void rescheduleMovesAnEventAndCancelRemovesIt() {
+        TimingWheel wheel = new TimingWheel(0);
+        List<String> fired = new ArrayList<>();
+        TimerEvent moved = wheel.schedule(50_000, () -> fired.add("moved@" + wheel.getCurrentTick()));
+        TimerEvent cancelled = wheel.schedule(300, () -> fired.add("cancelled"));
+        wheel.reschedule(moved, 10);
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled));
+        assertEquals(1, wheel.size());
+
+        assertEquals(1, wheel.advanceTo(100_000));
+        assertEquals(List.of("moved@10"), fired);
+        assertFalse(moved.isScheduled());
+
+        wheel.reschedule(moved, 100_300);
+        assertTrue(moved.isScheduled());
+        wheel.advanceTo(100_299);
+        assertEquals(1, fired.size());
+        wheel.advanceTo(100_300);
+        assertEquals(List.of("moved@10", "moved@100300"), fired);
+    }
+
+    @Test
+    void overdueEventsFireOnTheNextTick() {
+        TimingWheel wheel = new TimingWheel(1_000);
+        List<Long> fired = new ArrayList<>();
+        wheel.schedule(10, () -> fired.add(wheel.getCurrentTick()));
+        wheel.advanceTo(5_000);
+        assertEquals(List.of(1_001L), fired);
+    }
+
+    // An event that re-arms itself from its own action, as the train departure events do.
+    @Test
+    void eventsCanRescheduleThemselvesWhileFiring() {
+        TimingWheel wheel = new TimingWheel(0);
+        List<Long> fired = new ArrayList<>();
+        TimerEvent[] daily = new TimerEvent[1];
+        daily[0] = wheel.schedule(600, () -> {
+            fired.add(wheel.getCurrentTick());
+            wheel.reschedule(daily[0], wheel.getCurrentTick() + 1_440);
+        });
+        wheel.advanceTo(600 + 1_440 * 3);
+        assertEquals(List.of(600L, 2_040L, 3_480L, 4_920L), fired);
+        assertEquals(1, wheel.size());
+    }
+}
@@ -0,0 +1,81 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+class TrainEventSchedulerTest {
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 10, 6, 0);
+
+    private static Train train(String id, String departure, String arrival) {
+        return new Train.TrainBuilder().withTrainId(id).withTrainType("Passenger").withStatus("On Time")
+                .withDepartureTime(departure).withArrivalTime(arrival).build();
+    }
+
+    private static String timeOf(LocalDateTime time) {
+        return TrainTime.format(time.getHour() * 60 + time.getMinute());
+    }
+
+    private static TrainEventScheduler scheduler(LocalDateTime start) {
+        return new TrainEventScheduler(start, new FleetMaintenanceScheduler(start.toLocalDate()));
+    }
+
+    @Test
+    void trainsRunFromDepartureToArrivalEveryDay() {
+        TrainEventScheduler scheduler = scheduler(START);
+        Train train = train("IC1", "08:00", "09:30");
+        scheduler.addTrain(train);
+
+        scheduler.advanceTo(START.withHour(7).withMinute(59));
+        assertTrue(train.getTrainState() instanceof StoppedState);
+        scheduler.advanceTo(START.withHour(8));
+        assertTrue(train.getTrainState() instanceof RunningState);
+        scheduler.advanceTo(START.withHour(9).withMinute(30));
+        assertTrue(train.getTrainState() instanceof StoppedState);
+
+        // Next day's departure, with the start-of-day maintenance run in between.
+        assertEquals(2, scheduler.advanceTo(START.plusDays(1).withHour(8)));
+        assertTrue(train.getTrainState() instanceof RunningState);
+    }
+
+    @Test
+    void changedTimesMoveTheEvents() {
+        TrainEventScheduler scheduler = scheduler(START);
+        Train train = train("IC1", "08:00", "09:30");
+        scheduler.addTrain(train);
+        train.setTimes("08:20", "09:50");
+        scheduler.advanceTo(START.withHour(8).withMinute(19));
+        assertTrue(train.getTrainState() instanceof StoppedState);
+        scheduler.advanceTo(START.withHour(8).withMinute(20));
+        assertTrue(train.getTrainState() instanceof RunningState);
+    }
+
+    @Test
+    void trainsInMaintenanceDoNotDepart() {
+        TrainEventScheduler scheduler = scheduler(START);
+        Train train = train("IC1", "08:00", "09:30");
+        train.changeState(new MaintenanceState());
+        scheduler.addTrain(train);
+        scheduler.advanceTo(START.withHour(8).withMinute(30));
+        assertTrue(train.getTrainState() instanceof MaintenanceState);
+    }
+
+    // With the real-time clock on, departures are applied by the clock thread itself.
+    @Test
+    void realTimeClockAppliesStateChangesOnItsOwn() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        TrainEventScheduler scheduler = scheduler(now.minusMinutes(10));
+        Train train = train("IC1", timeOf(now.minusMinutes(5)), timeOf(now.plusMinutes(60)));
+        scheduler.addTrain(train);
+        scheduler.startRealTime(1);
+        try {
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (!(train.getTrainState() instanceof RunningState) && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            assertTrue(train.getTrainState() instanceof RunningState);
+        } finally {
+            scheduler.stopRealTime();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class TrainScheduleTest {
+
+    private static Train train(String id, String departure, String arrival) {
+        return new Train.TrainBuilder().withTrainId(id).withTrainType("Passenger").withStatus("On Time")
+                .withDepartureTime(departure).withArrivalTime(arrival).build();
+    }
+
+    @Test
+    void addTrainsSkipsIdsAlreadyScheduledOrRepeatedInTheBatch() {
+        TrainSchedule schedule = new TrainSchedule();
+        Train existing = train("IC1", "08:00", "09:00");
+        schedule.addTrain(existing);
+        Train second = train("IC2", "09:00", "10:00");
+        int added = schedule.addTrains(List.of(train("IC1", "10:00", "11:00"), second, train("IC2", "11:00", "12:00"),
+                train("IC3", "12:00", "13:00")));
+        assertEquals(2, added);
+        assertEquals(3, schedule.snapshot().size());
+        assertEquals("08:00", schedule.snapshot().find("IC1").getDepartureTime());
+        assertSame(second, schedule.getLiveTrain("IC2"));
+    }
+
+    // Readers get versions: what they hold never changes, and every version has a departure and
+    // arrival that were set together, however the writer interleaves with them.
+    @Test
+    void snapshotsStayIsolatedFromAConcurrentWriter() throws InterruptedException {
+        TrainSchedule schedule = new TrainSchedule();
+        for (int i = 0; i < 50; i++) {
+            schedule.addTrain(train("T" + i, "08:00", "09:00"));
+        }
+        ScheduleSnapshot before = schedule.snapshot();
+        TrainVersion first = schedule.getTrainById("T0");
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            try {
+                for (int round = 0; round < 200; round++) {
+                    Train train = schedule.getLiveTrain("T" + round % 50);
+                    train.setTimes(TrainTime.format(480 + round), TrainTime.format(540 + round));
+                    if (round % 10 == 0) {
+                        schedule.addTrain(train("New" + round, "10:00", "11:00"));
+                    }
+                }
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            for (TrainVersion version : schedule.snapshot()) {
+                assertEquals(60, TrainTime.toMinutes(version.getArrivalTime())
+                        - TrainTime.toMinutes(version.getDepartureTime()), version.getTrainId());
+            }
+        }
+        writer.join();
+        assertNull(failure.get());
+
+        assertEquals(50, before.size());
+        for (TrainVersion version : before) {
+            assertEquals("08:00", version.getDepartureTime());
+        }
+        assertEquals("08:00", first.getDepartureTime());
+        assertEquals(70, schedule.snapshot().size());
+        assertEquals(TrainTime.format(480 + 150), schedule.getTrainById("T0").getDepartureTime());
+    }
+}
@@ -0,0 +1,32 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import org.junit.jupiter.api.Test;
+
+class TrainTest {
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 9);
+
+    @Test
+    void cloneGetsItsOwnCalendarAndMaintenance() {
+        Train train = new Train.TrainBuilder().withTrainId("IC1").withTrainType("Passenger").withStatus("On Time")
+                .withDepartureTime("08:00").withArrivalTime("09:00")
+                .withCalendar(new ServiceCalendar(MONDAY, MONDAY.plusDays(30), EnumSet.of(DayOfWeek.MONDAY)))
+                .withMaintenance(new Maintenance("2026-03-01", 30)).build();
+        Train clone = train.clone();
+        assertNotSame(train.getCalendar(), clone.getCalendar());
+        assertNotSame(train.getMaintenance(), clone.getMaintenance());
+        assertTrue(clone.getCalendar().runsOn(MONDAY));
+        assertEquals("2026-03-01", clone.getMaintenance().getLastServiceDate());
+
+        clone.getCalendar().setException(MONDAY, false);
+        clone.getMaintenance().recordService("2026-03-09");
+        assertTrue(train.getCalendar().runsOn(MONDAY));
+        assertFalse(clone.getCalendar().runsOn(MONDAY));
+        assertEquals("2026-03-01", train.getMaintenance().getLastServiceDate());
+    }
+}